@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.cluster;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load of a collector as published to the cluster. ip and port are the tcp address agents connect to.
+ */
+public class CollectorLoad {
+
+    private static final Charset charset = Charset.forName("UTF-8");
+
+    private static final String LINE_SEPARATOR = "\r\n";
+    private static final String KEY_VALUE_SEPARATOR = "=";
+
+    private static final String IP = "ip";
+    private static final String PORT = "port";
+    private static final String RECEIVE_RATE = "receiveRate";
+    private static final String QUEUE_DEPTH = "queueDepth";
+    private static final String HBASE_BACKLOG = "hbaseBacklog";
+
+    private final String ip;
+    private final int port;
+    // packets per second
+    private final long receiveRate;
+    private final long queueDepth;
+    private final long hbaseBacklog;
+
+    public CollectorLoad(String ip, int port, long receiveRate, long queueDepth, long hbaseBacklog) {
+        if (ip == null) {
+            throw new NullPointerException("ip must not be null");
+        }
+        this.ip = ip;
+        this.port = port;
+        this.receiveRate = receiveRate;
+        this.queueDepth = queueDepth;
+        this.hbaseBacklog = hbaseBacklog;
+    }
+
+    public String getIp() {
+        return ip;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getAddress() {
+        return ip + ":" + port;
+    }
+
+    public long getReceiveRate() {
+        return receiveRate;
+    }
+
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getHbaseBacklog() {
+        return hbaseBacklog;
+    }
+
+    public byte[] toBytes() {
+        StringBuilder sb = new StringBuilder();
+        append(sb, IP, ip);
+        append(sb, PORT, String.valueOf(port));
+        append(sb, RECEIVE_RATE, String.valueOf(receiveRate));
+        append(sb, QUEUE_DEPTH, String.valueOf(queueDepth));
+        append(sb, HBASE_BACKLOG, String.valueOf(hbaseBacklog));
+        return sb.toString().getBytes(charset);
+    }
+
+    private void append(StringBuilder sb, String key, String value) {
+        sb.append(key).append(KEY_VALUE_SEPARATOR).append(value).append(LINE_SEPARATOR);
+    }
+
+    /**
+     * @return null if contents is not a valid collector load
+     */
+    public static CollectorLoad fromBytes(byte[] contents) {
+        if (contents == null) {
+            return null;
+        }
+        final Map<String, String> values = new HashMap<>();
+        for (String line : new String(contents, charset).split(LINE_SEPARATOR)) {
+            final int index = line.indexOf(KEY_VALUE_SEPARATOR);
+            if (index > 0) {
+                values.put(line.substring(0, index), line.substring(index + 1));
+            }
+        }
+
+        final String ip = values.get(IP);
+        final int port = NumberUtils.toInt(values.get(PORT), -1);
+        if (StringUtils.isBlank(ip) || port <= 0) {
+            return null;
+        }
+        final long receiveRate = NumberUtils.toLong(values.get(RECEIVE_RATE));
+        final long queueDepth = NumberUtils.toLong(values.get(QUEUE_DEPTH));
+        final long hbaseBacklog = NumberUtils.toLong(values.get(HBASE_BACKLOG));
+        return new CollectorLoad(ip, port, receiveRate, queueDepth, hbaseBacklog);
+    }
+
+    @Override
+    public String toString() {
+        return "CollectorLoad{" +
+                "address=" + getAddress() +
+                ", receiveRate=" + receiveRate +
+                ", queueDepth=" + queueDepth +
+                ", hbaseBacklog=" + hbaseBacklog +
+                '}';
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.cluster;
+
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import com.navercorp.pinpoint.collector.receiver.tcp.TCPReceiver;
+import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
+import com.navercorp.pinpoint.common.util.NetUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Samples the load of this collector, and keeps the loads of the other collectors published to the cluster.
+ */
+public class CollectorLoadMonitor {
+
+    static final long DEFAULT_SAMPLE_INTERVAL = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final String ip;
+    private final int port;
+    private final long sampleInterval;
+
+    // registered by TCPReceiver itself, autowiring it here would cycle through the cluster service
+    private volatile TCPReceiver tcpReceiver;
+
+    @Autowired(required = false)
+    private HBaseAsyncOperation asyncOperation;
+
+    private final Object sampleLock = new Object();
+    private long lastSampleTime;
+    private long lastReceiveCount;
+    private volatile CollectorLoad localLoad;
+
+    private volatile List<CollectorLoad> clusterLoadList = Collections.emptyList();
+
+    public CollectorLoadMonitor(CollectorConfiguration configuration) {
+        this(getAdvertisedIp(configuration), configuration.getTcpListenPort(), DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    public CollectorLoadMonitor(String ip, int port, long sampleInterval) {
+        if (ip == null) {
+            throw new NullPointerException("ip must not be null");
+        }
+        this.ip = ip;
+        this.port = port;
+        this.sampleInterval = sampleInterval;
+        logger.info("CollectorLoadMonitor address:{}:{}", ip, port);
+    }
+
+    private static String getAdvertisedIp(CollectorConfiguration configuration) {
+        final String loadBalanceIp = configuration.getLoadBalanceIp();
+        if (StringUtils.isNotBlank(loadBalanceIp)) {
+            return loadBalanceIp;
+        }
+        return NetUtils.getLocalV4Ip();
+    }
+
+    public void setTcpReceiver(TCPReceiver tcpReceiver) {
+        this.tcpReceiver = tcpReceiver;
+    }
+
+    void setAsyncOperation(HBaseAsyncOperation asyncOperation) {
+        this.asyncOperation = asyncOperation;
+    }
+
+    /**
+     * @return the load of this collector, sampled at most once per sample interval
+     */
+    public CollectorLoad getLocalLoad() {
+        synchronized (sampleLock) {
+            final long currentTime = System.currentTimeMillis();
+            final CollectorLoad localLoad = this.localLoad;
+            if (localLoad != null && currentTime - lastSampleTime < sampleInterval) {
+                return localLoad;
+            }
+            final CollectorLoad newLoad = sample(currentTime);
+            this.localLoad = newLoad;
+            return newLoad;
+        }
+    }
+
+    private CollectorLoad sample(long currentTime) {
+        long receiveRate = 0;
+        long queueDepth = 0;
+        final TCPReceiver tcpReceiver = this.tcpReceiver;
+        if (tcpReceiver != null) {
+            final long receiveCount = tcpReceiver.getReceiveCount();
+            final long elapsed = currentTime - lastSampleTime;
+            if (lastSampleTime > 0 && elapsed > 0) {
+                receiveRate = (receiveCount - lastReceiveCount) * 1000 / elapsed;
+            }
+            lastReceiveCount = receiveCount;
+            queueDepth = tcpReceiver.getWorkerQueueDepth();
+        }
+        lastSampleTime = currentTime;
+
+        long hbaseBacklog = 0;
+        final HBaseAsyncOperation asyncOperation = this.asyncOperation;
+        if (asyncOperation != null && asyncOperation.isAvailable()) {
+            final Long currentOpsCount = asyncOperation.getCurrentOpsCount();
+            if (currentOpsCount != null) {
+                hbaseBacklog = currentOpsCount;
+            }
+        }
+        return new CollectorLoad(ip, port, receiveRate, queueDepth, hbaseBacklog);
+    }
+
+    public void updateClusterLoad(List<CollectorLoad> clusterLoadList) {
+        if (clusterLoadList == null) {
+            throw new NullPointerException("clusterLoadList must not be null");
+        }
+        this.clusterLoadList = new ArrayList<>(clusterLoadList);
+    }
+
+    /**
+     * @return loads of all collectors in the cluster, or only this collector when nothing was published yet
+     */
+    public List<CollectorLoad> getCollectorLoadList() {
+        final CollectorLoad localLoad = getLocalLoad();
+        final List<CollectorLoad> clusterLoadList = this.clusterLoadList;
+
+        final List<CollectorLoad> result = new ArrayList<>(clusterLoadList.size() + 1);
+        result.add(localLoad);
+        for (CollectorLoad collectorLoad : clusterLoadList) {
+            if (!localLoad.getAddress().equals(collectorLoad.getAddress())) {
+                result.add(collectorLoad);
+            }
+        }
+        return result;
+    }
+}
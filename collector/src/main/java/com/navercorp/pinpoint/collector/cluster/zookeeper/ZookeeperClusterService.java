@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.collector.cluster.zookeeper;
 
 import com.navercorp.pinpoint.collector.cluster.AbstractClusterService;
 import com.navercorp.pinpoint.collector.cluster.ClusterPointRouter;
+import com.navercorp.pinpoint.collector.cluster.CollectorLoadMonitor;
 import com.navercorp.pinpoint.common.server.util.concurrent.CommonState;
 import com.navercorp.pinpoint.common.server.util.concurrent.CommonStateContext;
 import com.navercorp.pinpoint.collector.cluster.connection.*;
@@ -32,6 +33,7 @@ import org.apache.zookeeper.Watcher.Event.KeeperState;
 import org.apache.zookeeper.proto.WatcherEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -49,6 +51,7 @@ public class ZookeeperClusterService extends AbstractClusterService {
     private static final String PINPOINT_CLUSTER_PATH = "/pinpoint-cluster";
     private static final String PINPOINT_WEB_CLUSTER_PATH = PINPOINT_CLUSTER_PATH + "/web";
     private static final String PINPOINT_PROFILER_CLUSTER_PATH = PINPOINT_CLUSTER_PATH + "/profiler";
+    private static final String PINPOINT_COLLECTOR_LOAD_PATH = PINPOINT_CLUSTER_PATH + "/collector-load";
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -68,6 +71,12 @@ public class ZookeeperClusterService extends AbstractClusterService {
     // ProfilerClusterManager detects/manages profiler -> collector connections, and saves their information in Zookeeper.
     private ZookeeperProfilerClusterManager profilerClusterManager;
 
+    @Autowired(required = false)
+    private CollectorLoadMonitor collectorLoadMonitor;
+
+    // CollectorLoadManager publishes the load of this collector, and reads the loads of the others.
+    private ZookeeperCollectorLoadManager collectorLoadManager;
+
     public ZookeeperClusterService(CollectorConfiguration config, ClusterPointRouter clusterPointRouter) {
         super(config, clusterPointRouter);
 
@@ -111,6 +120,11 @@ public class ZookeeperClusterService extends AbstractClusterService {
                     this.webClusterManager = new ZookeeperWebClusterManager(client, PINPOINT_WEB_CLUSTER_PATH, serverIdentifier, clusterConnectionManager);
                     this.webClusterManager.start();
 
+                    if (collectorLoadMonitor != null && config.isLoadBalanceEnable()) {
+                        this.collectorLoadManager = new ZookeeperCollectorLoadManager(client, PINPOINT_COLLECTOR_LOAD_PATH, collectorLoadMonitor, config.getLoadBalancePublishIntervalMillis());
+                        this.collectorLoadManager.start();
+                    }
+
                     this.serviceState.changeStateStarted();
                     logger.info("{} initialization completed.", this.getClass().getSimpleName());
 
@@ -162,6 +176,10 @@ public class ZookeeperClusterService extends AbstractClusterService {
             webClusterManager.stop();
         }
 
+        if (this.collectorLoadManager != null) {
+            collectorLoadManager.stop();
+        }
+
         if (client != null) {
             client.close();
         }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.cluster.zookeeper;
+
+import com.navercorp.pinpoint.collector.cluster.CollectorLoad;
+import com.navercorp.pinpoint.collector.cluster.CollectorLoadMonitor;
+import com.navercorp.pinpoint.collector.cluster.zookeeper.exception.NoNodeException;
+import com.navercorp.pinpoint.collector.cluster.zookeeper.exception.PinpointZookeeperException;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically publishes the load of this collector as an ephemeral node, and reads back the loads of every collector.
+ */
+public class ZookeeperCollectorLoadManager {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ZookeeperClient client;
+    private final String loadPath;
+    private final CollectorLoadMonitor loadMonitor;
+    private final long publishInterval;
+
+    private final ScheduledExecutorService executor;
+
+    public ZookeeperCollectorLoadManager(ZookeeperClient client, String loadPath, CollectorLoadMonitor loadMonitor, long publishInterval) {
+        if (client == null) {
+            throw new NullPointerException("client must not be null");
+        }
+        if (loadPath == null) {
+            throw new NullPointerException("loadPath must not be null");
+        }
+        if (loadMonitor == null) {
+            throw new NullPointerException("loadMonitor must not be null");
+        }
+        if (publishInterval <= 0) {
+            throw new IllegalArgumentException("publishInterval must be greater than 0");
+        }
+        this.client = client;
+        this.loadPath = loadPath;
+        this.loadMonitor = loadMonitor;
+        this.publishInterval = publishInterval;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory(this.getClass().getSimpleName(), true));
+    }
+
+    public void start() {
+        logger.info("{} started. path:{}, interval:{}", this.getClass().getSimpleName(), loadPath, publishInterval);
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                publishAndRefresh();
+            }
+        }, 0, publishInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("{} stopped.", this.getClass().getSimpleName());
+    }
+
+    void publishAndRefresh() {
+        if (!client.isConnected()) {
+            return;
+        }
+        try {
+            publish(loadMonitor.getLocalLoad());
+            loadMonitor.updateClusterLoad(readClusterLoad());
+        } catch (PinpointZookeeperException e) {
+            logger.warn("collector load sync failed. caused:{}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("collector load sync failed. caused:{}", e.getMessage(), e);
+        }
+    }
+
+    private void publish(CollectorLoad localLoad) throws PinpointZookeeperException, InterruptedException {
+        final String nodePath = loadPath + "/" + localLoad.getAddress();
+        final byte[] contents = localLoad.toBytes();
+        if (client.exists(nodePath)) {
+            client.setData(nodePath, contents);
+        } else {
+            client.createPath(nodePath);
+            client.createNode(nodePath, contents);
+        }
+    }
+
+    private List<CollectorLoad> readClusterLoad() throws PinpointZookeeperException, InterruptedException {
+        final List<String> childNodeList = client.getChildrenNode(loadPath, false);
+        final List<CollectorLoad> result = new ArrayList<>(childNodeList.size());
+        for (String childNode : childNodeList) {
+            final CollectorLoad collectorLoad;
+            try {
+                collectorLoad = CollectorLoad.fromBytes(client.getData(loadPath + "/" + childNode));
+            } catch (NoNodeException e) {
+                // collector left the cluster after the children were listed
+                continue;
+            }
+            if (collectorLoad == null) {
+                logger.info("invalid collector load node:{}", childNode);
+                continue;
+            }
+            result.add(collectorLoad);
+        }
+        return result;
+    }
+}
@@ -57,6 +57,13 @@ public class CollectorConfiguration implements InitializingBean {
     private int tcpWorkerThread;
     private int tcpWorkerQueueSize;
     private boolean tcpWorkerMonitor;
+    private boolean tcpSlicePayload;
+    private boolean tcpCompressionEnable;
+    private boolean tcpWorkerLaneEnable;
+    private int tcpWorkerLaneRequestWeight;
+    private int tcpWorkerLaneSpanWeight;
+    private int tcpWorkerLaneStatWeight;
+    private int tcpWorkerLaneDefaultWeight;
 
     private String udpStatListenIp = DEFAULT_LISTEN_IP;
     private int udpStatListenPort;
@@ -86,6 +93,10 @@ public class CollectorConfiguration implements InitializingBean {
     private String clusterListenIp;
     private int clusterListenPort;
 
+    private boolean loadBalanceEnable;
+    private String loadBalanceIp;
+    private long loadBalancePublishIntervalMillis;
+
     public String getTcpListenIp() {
         return tcpListenIp;
     }
@@ -126,6 +137,62 @@ public class CollectorConfiguration implements InitializingBean {
         this.tcpWorkerMonitor = tcpWorkerMonitor;
     }
 
+    public boolean isTcpSlicePayload() {
+        return tcpSlicePayload;
+    }
+
+    public void setTcpSlicePayload(boolean tcpSlicePayload) {
+        this.tcpSlicePayload = tcpSlicePayload;
+    }
+
+    public boolean isTcpCompressionEnable() {
+        return tcpCompressionEnable;
+    }
+
+    public void setTcpCompressionEnable(boolean tcpCompressionEnable) {
+        this.tcpCompressionEnable = tcpCompressionEnable;
+    }
+
+    public boolean isTcpWorkerLaneEnable() {
+        return tcpWorkerLaneEnable;
+    }
+
+    public void setTcpWorkerLaneEnable(boolean tcpWorkerLaneEnable) {
+        this.tcpWorkerLaneEnable = tcpWorkerLaneEnable;
+    }
+
+    public int getTcpWorkerLaneRequestWeight() {
+        return tcpWorkerLaneRequestWeight;
+    }
+
+    public void setTcpWorkerLaneRequestWeight(int tcpWorkerLaneRequestWeight) {
+        this.tcpWorkerLaneRequestWeight = tcpWorkerLaneRequestWeight;
+    }
+
+    public int getTcpWorkerLaneSpanWeight() {
+        return tcpWorkerLaneSpanWeight;
+    }
+
+    public void setTcpWorkerLaneSpanWeight(int tcpWorkerLaneSpanWeight) {
+        this.tcpWorkerLaneSpanWeight = tcpWorkerLaneSpanWeight;
+    }
+
+    public int getTcpWorkerLaneStatWeight() {
+        return tcpWorkerLaneStatWeight;
+    }
+
+    public void setTcpWorkerLaneStatWeight(int tcpWorkerLaneStatWeight) {
+        this.tcpWorkerLaneStatWeight = tcpWorkerLaneStatWeight;
+    }
+
+    public int getTcpWorkerLaneDefaultWeight() {
+        return tcpWorkerLaneDefaultWeight;
+    }
+
+    public void setTcpWorkerLaneDefaultWeight(int tcpWorkerLaneDefaultWeight) {
+        this.tcpWorkerLaneDefaultWeight = tcpWorkerLaneDefaultWeight;
+    }
+
     public String getUdpStatListenIp() {
         return udpStatListenIp;
     }
@@ -286,6 +353,30 @@ public class CollectorConfiguration implements InitializingBean {
         this.clusterListenPort = clusterListenPort;
     }
 
+    public boolean isLoadBalanceEnable() {
+        return loadBalanceEnable;
+    }
+
+    public void setLoadBalanceEnable(boolean loadBalanceEnable) {
+        this.loadBalanceEnable = loadBalanceEnable;
+    }
+
+    public String getLoadBalanceIp() {
+        return loadBalanceIp;
+    }
+
+    public void setLoadBalanceIp(String loadBalanceIp) {
+        this.loadBalanceIp = loadBalanceIp;
+    }
+
+    public long getLoadBalancePublishIntervalMillis() {
+        return loadBalancePublishIntervalMillis;
+    }
+
+    public void setLoadBalancePublishIntervalMillis(long loadBalancePublishIntervalMillis) {
+        this.loadBalancePublishIntervalMillis = loadBalancePublishIntervalMillis;
+    }
+
     public void readConfigFile() {
 
         // may be useful for some kind of standalone like testcase. It should be modified to read a classpath for testcase.
@@ -320,6 +411,13 @@ public class CollectorConfiguration implements InitializingBean {
         this.tcpWorkerThread = readInt(properties, "collector.tcpWorkerThread", 128);
         this.tcpWorkerQueueSize = readInt(properties, "collector.tcpWorkerQueueSize", 1024 * 5);
         this.tcpWorkerMonitor = readBoolean(properties, "collector.tcpWorker.monitor");
+        this.tcpSlicePayload = readBoolean(properties, "collector.tcpSlicePayload");
+        this.tcpCompressionEnable = readBoolean(properties, "collector.tcpCompression.enable");
+        this.tcpWorkerLaneEnable = readBoolean(properties, "collector.tcpWorkerLane.enable");
+        this.tcpWorkerLaneRequestWeight = readInt(properties, "collector.tcpWorkerLane.requestWeight", 2);
+        this.tcpWorkerLaneSpanWeight = readInt(properties, "collector.tcpWorkerLane.spanWeight", 4);
+        this.tcpWorkerLaneStatWeight = readInt(properties, "collector.tcpWorkerLane.statWeight", 1);
+        this.tcpWorkerLaneDefaultWeight = readInt(properties, "collector.tcpWorkerLane.defaultWeight", 1);
 
         this.udpStatListenIp = readString(properties, "collector.udpStatListenIp", DEFAULT_LISTEN_IP);
         this.udpStatListenPort = readInt(properties, "collector.udpStatListenPort", 9995);
@@ -358,6 +456,10 @@ public class CollectorConfiguration implements InitializingBean {
 
         this.clusterListenIp = readString(properties, "cluster.listen.ip", "");
         this.clusterListenPort = readInt(properties, "cluster.listen.port", -1);
+
+        this.loadBalanceEnable = readBoolean(properties, "collector.loadBalance.enable");
+        this.loadBalanceIp = readString(properties, "collector.loadBalance.ip", "");
+        this.loadBalancePublishIntervalMillis = readLong(properties, "collector.loadBalance.publishIntervalMillis", 10000);
     }
 
     private String readString(Properties properties, String propertyName, String defaultValue) {
@@ -408,6 +510,13 @@ public class CollectorConfiguration implements InitializingBean {
         sb.append(", tcpWorkerThread=").append(tcpWorkerThread);
         sb.append(", tcpWorkerQueueSize=").append(tcpWorkerQueueSize);
         sb.append(", tcpWorkerMonitor=").append(tcpWorkerMonitor);
+        sb.append(", tcpSlicePayload=").append(tcpSlicePayload);
+        sb.append(", tcpCompressionEnable=").append(tcpCompressionEnable);
+        sb.append(", tcpWorkerLaneEnable=").append(tcpWorkerLaneEnable);
+        sb.append(", tcpWorkerLaneRequestWeight=").append(tcpWorkerLaneRequestWeight);
+        sb.append(", tcpWorkerLaneSpanWeight=").append(tcpWorkerLaneSpanWeight);
+        sb.append(", tcpWorkerLaneStatWeight=").append(tcpWorkerLaneStatWeight);
+        sb.append(", tcpWorkerLaneDefaultWeight=").append(tcpWorkerLaneDefaultWeight);
         sb.append(", udpStatListenIp='").append(udpStatListenIp).append('\'');
         sb.append(", udpStatListenPort=").append(udpStatListenPort);
         sb.append(", udpStatWorkerThread=").append(udpStatWorkerThread);
@@ -428,6 +537,9 @@ public class CollectorConfiguration implements InitializingBean {
         sb.append(", clusterSessionTimeout=").append(clusterSessionTimeout);
         sb.append(", clusterListenIp=").append(clusterListenIp);
         sb.append(", clusterListenPort=").append(clusterListenPort);
+        sb.append(", loadBalanceEnable=").append(loadBalanceEnable);
+        sb.append(", loadBalanceIp='").append(loadBalanceIp).append('\'');
+        sb.append(", loadBalancePublishIntervalMillis=").append(loadBalancePublishIntervalMillis);
 
         sb.append('}');
         return sb.toString();
@@ -18,10 +18,14 @@ package com.navercorp.pinpoint.collector.dao;
 
 import com.navercorp.pinpoint.common.server.bo.AgentEventBo;
 
+import java.util.List;
+
 /**
  * @author HyunGil Jeong
  */
 public interface AgentEventDao {
 
     void insert(AgentEventBo agentEventBo);
+
+    void insert(List<AgentEventBo> agentEventBoList);
 }
@@ -18,6 +18,8 @@ package com.navercorp.pinpoint.collector.dao;
 
 import com.navercorp.pinpoint.common.server.bo.AgentLifeCycleBo;
 
+import java.util.List;
+
 /**
  * @author HyunGil Jeong
  */
@@ -25,4 +27,6 @@ public interface AgentLifeCycleDao {
 
     void insert(AgentLifeCycleBo agentLifeCycleBo);
 
+    void insert(List<AgentLifeCycleBo> agentLifeCycleBoList);
+
 }
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase;
 
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,9 @@ import com.navercorp.pinpoint.common.util.BytesUtils;
 import com.navercorp.pinpoint.common.server.util.RowKeyUtils;
 import com.navercorp.pinpoint.common.util.TimeUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author HyunGil Jeong
  */
@@ -67,6 +71,30 @@ public class HbaseAgentEventDao implements AgentEventDao {
         this.hbaseTemplate.put(HBaseTables.AGENT_EVENT, rowKey, HBaseTables.AGENT_EVENT_CF_EVENTS, qualifier, agentEventBo, this.valueMapper);
     }
 
+    @Override
+    public void insert(List<AgentEventBo> agentEventBoList) {
+        if (agentEventBoList == null) {
+            throw new NullPointerException("agentEventBoList must not be null");
+        }
+        if (agentEventBoList.isEmpty()) {
+            return;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("insert events. size:{}", agentEventBoList.size());
+        }
+
+        List<Put> puts = new ArrayList<>(agentEventBoList.size());
+        for (AgentEventBo agentEventBo : agentEventBoList) {
+            byte[] rowKey = createRowKey(agentEventBo.getAgentId(), agentEventBo.getEventTimestamp());
+            byte[] qualifier = Bytes.toBytes(agentEventBo.getEventType().getCode());
+            Put put = new Put(rowKey);
+            put.addColumn(HBaseTables.AGENT_EVENT_CF_EVENTS, qualifier, this.valueMapper.mapValue(agentEventBo));
+            puts.add(put);
+        }
+        this.hbaseTemplate.put(HBaseTables.AGENT_EVENT, puts);
+    }
+
     byte[] createRowKey(String agentId, long eventTimestamp) {
         byte[] agentIdKey = BytesUtils.toBytes(agentId);
         long reverseStartTimestamp = TimeUtils.reverseTimeMillis(eventTimestamp);
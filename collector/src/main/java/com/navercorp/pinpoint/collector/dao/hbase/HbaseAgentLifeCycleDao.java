@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase;
 
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,9 @@ import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.util.BytesUtils;
 import com.navercorp.pinpoint.common.util.TimeUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author HyunGil Jeong
  */
@@ -64,6 +68,29 @@ public class HbaseAgentLifeCycleDao implements AgentLifeCycleDao {
                 agentLifeCycleBo, this.valueMapper);
     }
 
+    @Override
+    public void insert(List<AgentLifeCycleBo> agentLifeCycleBoList) {
+        if (agentLifeCycleBoList == null) {
+            throw new NullPointerException("agentLifeCycleBoList must not be null");
+        }
+        if (agentLifeCycleBoList.isEmpty()) {
+            return;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("insert agent life cycles. size:{}", agentLifeCycleBoList.size());
+        }
+
+        List<Put> puts = new ArrayList<>(agentLifeCycleBoList.size());
+        for (AgentLifeCycleBo agentLifeCycleBo : agentLifeCycleBoList) {
+            byte[] rowKey = createRowKey(agentLifeCycleBo.getAgentId(), agentLifeCycleBo.getStartTimestamp(), agentLifeCycleBo.getEventIdentifier());
+            Put put = new Put(rowKey);
+            put.addColumn(HBaseTables.AGENT_LIFECYCLE_CF_STATUS, HBaseTables.AGENT_LIFECYCLE_CF_STATUS_QUALI_STATES, this.valueMapper.mapValue(agentLifeCycleBo));
+            puts.add(put);
+        }
+        this.hbaseTemplate.put(HBaseTables.AGENT_LIFECYCLE, puts);
+    }
+
     byte[] createRowKey(String agentId, long startTimestamp, long eventIdentifier) {
         byte[] agentIdKey = Bytes.toBytes(agentId);
         long reverseStartTimestamp = TimeUtils.reverseTimeMillis(startTimestamp);
@@ -32,6 +32,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author emeroad
  * @author minwoo.jung
@@ -55,6 +58,30 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         }
 
 
+        final Put put = createPut(apiMetaData);
+        hbaseTemplate.put(HBaseTables.API_METADATA, put);
+    }
+
+    @Override
+    public void insert(List<TApiMetaData> apiMetaDataList) {
+        if (apiMetaDataList == null) {
+            throw new NullPointerException("apiMetaDataList must not be null");
+        }
+        if (apiMetaDataList.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("insert api metadata. size:{}", apiMetaDataList.size());
+        }
+
+        List<Put> puts = new ArrayList<>(apiMetaDataList.size());
+        for (TApiMetaData apiMetaData : apiMetaDataList) {
+            puts.add(createPut(apiMetaData));
+        }
+        hbaseTemplate.put(HBaseTables.API_METADATA, puts);
+    }
+
+    private Put createPut(TApiMetaData apiMetaData) {
         ApiMetaDataBo apiMetaDataBo = new ApiMetaDataBo(apiMetaData.getAgentId(), apiMetaData.getAgentStartTime(), apiMetaData.getApiId());
         byte[] rowKey = getDistributedKey(apiMetaDataBo.toRowKey());
 
@@ -76,8 +103,7 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         
         final byte[] apiMetaDataBytes = buffer.getBuffer();
         put.addColumn(HBaseTables.API_METADATA_CF_API, HBaseTables.API_METADATA_CF_API_QUALI_SIGNATURE, apiMetaDataBytes);
-
-        hbaseTemplate.put(HBaseTables.API_METADATA, put);
+        return put;
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
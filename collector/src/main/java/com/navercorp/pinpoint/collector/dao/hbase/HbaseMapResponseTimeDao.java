@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.util.DefaultTimeSlot;
 import com.navercorp.pinpoint.common.util.TimeSlot;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
@@ -31,15 +32,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 
 /**
  * Save response time data of WAS
+ * <p>
+ * When rollup is enabled, the same counters are also written to 5 minute and 1 hour time slot rows
+ * so that long ranges can be read without merging every minute row.
  * 
  * @author netspider
  * @author emeroad
@@ -48,6 +54,9 @@ import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 @Repository
 public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
 
+    private static final TimeSlot FIVE_MINUTE_TIME_SLOT = new DefaultTimeSlot(TimeUnit.MINUTES.toMillis(5));
+    private static final TimeSlot ONE_HOUR_TIME_SLOT = new DefaultTimeSlot(TimeUnit.HOURS.toMillis(1));
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
@@ -63,6 +72,17 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
     @Qualifier("selfMerge")
     private RowKeyMerge rowKeyMerge;
 
+    @Autowired
+    @Qualifier("selfMerge5m")
+    private RowKeyMerge fiveMinuteRowKeyMerge;
+
+    @Autowired
+    @Qualifier("selfMerge1h")
+    private RowKeyMerge oneHourRowKeyMerge;
+
+    @Value("#{pinpoint_collector_properties['collector.statistics.self.rollup.enable'] ?: false}")
+    private boolean rollup;
+
     @Autowired
     @Qualifier("statisticsSelfRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
@@ -70,6 +90,8 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
     private final boolean useBulk;
 
     private final ConcurrentCounterMap<RowInfo> counter = new ConcurrentCounterMap<>();
+    private final ConcurrentCounterMap<RowInfo> fiveMinuteCounter = new ConcurrentCounterMap<>();
+    private final ConcurrentCounterMap<RowInfo> oneHourCounter = new ConcurrentCounterMap<>();
 
     public HbaseMapResponseTimeDao() {
         this(true);
@@ -98,26 +120,39 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
         final RowKey selfRowKey = new CallRowKey(applicationName, applicationServiceType.getCode(), rowTimeSlot);
 
         final short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(applicationServiceType, elapsed, isError);
+        increment(this.counter, MAP_STATISTICS_SELF_VER2_CF_COUNTER, selfRowKey, agentId, slotNumber);
+
+        if (rollup) {
+            final RowKey fiveMinuteRowKey = new CallRowKey(applicationName, applicationServiceType.getCode(), FIVE_MINUTE_TIME_SLOT.getTimeSlot(acceptedTime));
+            increment(this.fiveMinuteCounter, MAP_STATISTICS_SELF_VER2_CF_COUNTER_5M, fiveMinuteRowKey, agentId, slotNumber);
+
+            final RowKey oneHourRowKey = new CallRowKey(applicationName, applicationServiceType.getCode(), ONE_HOUR_TIME_SLOT.getTimeSlot(acceptedTime));
+            increment(this.oneHourCounter, MAP_STATISTICS_SELF_VER2_CF_COUNTER_1H, oneHourRowKey, agentId, slotNumber);
+        }
+    }
+
+    private void increment(ConcurrentCounterMap<RowInfo> counter, byte[] family, RowKey selfRowKey, String agentId, short slotNumber) {
+        // ColumnName carries the merged call count, so each counter needs its own instance
         final ColumnName selfColumnName = new ResponseColumnName(agentId, slotNumber);
         if (useBulk) {
             RowInfo rowInfo = new DefaultRowInfo(selfRowKey, selfColumnName);
-            this.counter.increment(rowInfo, 1L);
+            counter.increment(rowInfo, 1L);
         } else {
             final byte[] rowKey = getDistributedKey(selfRowKey.getRowKey());
             // column name is the name of caller app.
             byte[] columnName = selfColumnName.getColumnName();
-            increment(rowKey, columnName, 1L);
+            increment(rowKey, family, columnName, 1L);
         }
     }
 
-    private void increment(byte[] rowKey, byte[] columnName, long increment) {
+    private void increment(byte[] rowKey, byte[] family, byte[] columnName, long increment) {
         if (rowKey == null) {
             throw new NullPointerException("rowKey must not be null");
         }
         if (columnName == null) {
             throw new NullPointerException("columnName must not be null");
         }
-        hbaseTemplate.incrementColumnValue(MAP_STATISTICS_SELF_VER2, rowKey, MAP_STATISTICS_SELF_VER2_CF_COUNTER, columnName, increment);
+        hbaseTemplate.incrementColumnValue(MAP_STATISTICS_SELF_VER2, rowKey, family, columnName, increment);
     }
 
 
@@ -127,8 +162,16 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
             throw new IllegalStateException("useBulk is " + useBulk);
         }
 
+        flush(this.counter, this.rowKeyMerge);
+        if (rollup) {
+            flush(this.fiveMinuteCounter, this.fiveMinuteRowKeyMerge);
+            flush(this.oneHourCounter, this.oneHourRowKeyMerge);
+        }
+    }
+
+    private void flush(ConcurrentCounterMap<RowInfo> counter, RowKeyMerge rowKeyMerge) {
         // update statistics by rowkey and column for now. need to update it by rowkey later.
-        Map<RowInfo,ConcurrentCounterMap.LongAdder> remove = this.counter.remove();
+        Map<RowInfo,ConcurrentCounterMap.LongAdder> remove = counter.remove();
         List<Increment> merge = rowKeyMerge.createBulkIncrement(remove, rowKeyDistributorByHashPrefix);
         if (!merge.isEmpty()) {
             if (logger.isDebugEnabled()) {
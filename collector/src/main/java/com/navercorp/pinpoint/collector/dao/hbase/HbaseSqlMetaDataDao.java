@@ -30,6 +30,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author minwoo.jung
  */
@@ -54,6 +57,30 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
             logger.debug("insert:{}", sqlMetaData);
         }
 
+        Put put = createPut(sqlMetaData);
+        hbaseTemplate.put(HBaseTables.SQL_METADATA_VER2, put);
+    }
+
+    @Override
+    public void insert(List<TSqlMetaData> sqlMetaDataList) {
+        if (sqlMetaDataList == null) {
+            throw new NullPointerException("sqlMetaDataList must not be null");
+        }
+        if (sqlMetaDataList.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("insert sql metadata. size:{}", sqlMetaDataList.size());
+        }
+
+        List<Put> puts = new ArrayList<>(sqlMetaDataList.size());
+        for (TSqlMetaData sqlMetaData : sqlMetaDataList) {
+            puts.add(createPut(sqlMetaData));
+        }
+        hbaseTemplate.put(HBaseTables.SQL_METADATA_VER2, puts);
+    }
+
+    private Put createPut(TSqlMetaData sqlMetaData) {
         SqlMetaDataBo sqlMetaDataBo = new SqlMetaDataBo(sqlMetaData.getAgentId(), sqlMetaData.getAgentStartTime(), sqlMetaData.getSqlId());
         final byte[] rowKey = getDistributedKey(sqlMetaDataBo.toRowKey());
 
@@ -63,8 +90,7 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         byte[] sqlBytes = Bytes.toBytes(sql);
 
         put.addColumn(HBaseTables.SQL_METADATA_VER2_CF_SQL, HBaseTables.SQL_METADATA_VER2_CF_SQL_QUALI_SQLSTATEMENT, sqlBytes);
-
-        hbaseTemplate.put(HBaseTables.SQL_METADATA_VER2, put);
+        return put;
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
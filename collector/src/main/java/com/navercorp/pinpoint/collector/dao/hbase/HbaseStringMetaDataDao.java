@@ -31,6 +31,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author emeroad
  * @author minwoo.jung
@@ -56,6 +59,30 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
             logger.debug("insert:{}", stringMetaData);
         }
 
+        Put put = createPut(stringMetaData);
+        hbaseTemplate.put(HBaseTables.STRING_METADATA, put);
+    }
+
+    @Override
+    public void insert(List<TStringMetaData> stringMetaDataList) {
+        if (stringMetaDataList == null) {
+            throw new NullPointerException("stringMetaDataList must not be null");
+        }
+        if (stringMetaDataList.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("insert string metadata. size:{}", stringMetaDataList.size());
+        }
+
+        List<Put> puts = new ArrayList<>(stringMetaDataList.size());
+        for (TStringMetaData stringMetaData : stringMetaDataList) {
+            puts.add(createPut(stringMetaData));
+        }
+        hbaseTemplate.put(HBaseTables.STRING_METADATA, puts);
+    }
+
+    private Put createPut(TStringMetaData stringMetaData) {
         final StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(stringMetaData.getAgentId(), stringMetaData.getAgentStartTime(), stringMetaData.getStringId());
         final byte[] rowKey = getDistributedKey(stringMetaDataBo.toRowKey());
 
@@ -64,8 +91,7 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
         String stringValue = stringMetaData.getStringValue();
         byte[] sqlBytes = Bytes.toBytes(stringValue);
         put.addColumn(HBaseTables.STRING_METADATA_CF_STR, HBaseTables.STRING_METADATA_CF_STR_QUALI_STRING, sqlBytes);
-
-        hbaseTemplate.put(HBaseTables.STRING_METADATA, put);
+        return put;
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
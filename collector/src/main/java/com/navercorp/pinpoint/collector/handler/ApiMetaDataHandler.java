@@ -26,6 +26,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author emeroad
  */
@@ -37,6 +40,9 @@ public class ApiMetaDataHandler implements RequestResponseHandler {
     @Autowired
     private ApiMetaDataDao sqlMetaDataDao;
 
+    @Autowired
+    private MetaDataDedupCache metaDataDedupCache;
+
     @Override
     public TBase<?, ?> handleRequest(TBase<?, ?> tbase) {
         if (!(tbase instanceof TApiMetaData)) {
@@ -51,8 +57,46 @@ public class ApiMetaDataHandler implements RequestResponseHandler {
             logger.info("Received ApiMetaData={}", apiMetaData);
         }
 
+        if (metaDataDedupCache.isDuplicate(apiMetaData)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Skip duplicate ApiMetaData:{}", apiMetaData);
+            }
+            return new TResult(true);
+        }
+
         try {
             sqlMetaDataDao.insert(apiMetaData);
+            metaDataDedupCache.written(apiMetaData);
+        } catch (Exception e) {
+            logger.warn("{} handler error. Caused:{}", this.getClass(), e.getMessage(), e);
+            TResult result = new TResult(false);
+            result.setMessage(e.getMessage());
+            return result;
+        }
+        return new TResult(true);
+    }
+
+    public TResult handleBatch(List<TApiMetaData> apiMetaDataList) {
+        if (apiMetaDataList == null) {
+            throw new NullPointerException("apiMetaDataList must not be null");
+        }
+        // Because api meta data is important , logging it at info level.
+        if (logger.isInfoEnabled()) {
+            for (TApiMetaData apiMetaData : apiMetaDataList) {
+                logger.info("Received ApiMetaData={}", apiMetaData);
+            }
+        }
+
+        final List<TApiMetaData> writeList = filterDuplicate(apiMetaDataList);
+        if (writeList.isEmpty()) {
+            return new TResult(true);
+        }
+
+        try {
+            sqlMetaDataDao.insert(writeList);
+            for (TApiMetaData apiMetaData : writeList) {
+                metaDataDedupCache.written(apiMetaData);
+            }
         } catch (Exception e) {
             logger.warn("{} handler error. Caused:{}", this.getClass(), e.getMessage(), e);
             TResult result = new TResult(false);
@@ -61,4 +105,17 @@ public class ApiMetaDataHandler implements RequestResponseHandler {
         }
         return new TResult(true);
     }
+
+    private List<TApiMetaData> filterDuplicate(List<TApiMetaData> apiMetaDataList) {
+        final List<TApiMetaData> writeList = new ArrayList<>(apiMetaDataList.size());
+        for (TApiMetaData apiMetaData : apiMetaDataList) {
+            if (!metaDataDedupCache.isDuplicate(apiMetaData)) {
+                writeList.add(apiMetaData);
+            }
+        }
+        if (logger.isDebugEnabled() && writeList.size() != apiMetaDataList.size()) {
+            logger.debug("Skip duplicate ApiMetaData. skipped:{}", apiMetaDataList.size() - writeList.size());
+        }
+        return writeList;
+    }
 }
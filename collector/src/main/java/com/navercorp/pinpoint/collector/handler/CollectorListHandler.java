@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.collector.cluster.CollectorLoad;
+import com.navercorp.pinpoint.collector.cluster.CollectorLoadMonitor;
+import com.navercorp.pinpoint.thrift.dto.TCollectorInfo;
+import com.navercorp.pinpoint.thrift.dto.TCollectorList;
+import com.navercorp.pinpoint.thrift.dto.TCollectorListRequest;
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers the collectors of the cluster weighted by their load. A less loaded collector gets a higher weight.
+ */
+@Service("collectorListHandler")
+public class CollectorListHandler implements RequestResponseHandler {
+
+    static final int MAX_WEIGHT = 100;
+    static final int MIN_WEIGHT = 1;
+
+    // loads below these are treated as idle, so small differences between lightly loaded collectors do not move agents
+    static final long MIN_RECEIVE_RATE_SCALE = 1000;
+    static final long MIN_QUEUE_DEPTH_SCALE = 100;
+    static final long MIN_HBASE_BACKLOG_SCALE = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private CollectorLoadMonitor collectorLoadMonitor;
+
+    @Override
+    public TBase<?, ?> handleRequest(TBase<?, ?> tbase) {
+        if (!(tbase instanceof TCollectorListRequest)) {
+            logger.warn("invalid tbase:{}", tbase);
+            return null;
+        }
+
+        final TCollectorListRequest request = (TCollectorListRequest) tbase;
+        final List<TCollectorInfo> collectorList = weight(collectorLoadMonitor.getCollectorLoadList());
+        if (logger.isDebugEnabled()) {
+            logger.debug("CollectorList agentId:{}, {}", request.getAgentId(), collectorList);
+        }
+        final TCollectorList result = new TCollectorList();
+        result.setCollectorList(collectorList);
+        return result;
+    }
+
+    /**
+     * Each metric is normalized by its maximum over the cluster, but at least by an absolute floor,
+     * and the weight decreases with the average of those ratios.
+     */
+    static List<TCollectorInfo> weight(List<CollectorLoad> collectorLoadList) {
+        long maxReceiveRate = MIN_RECEIVE_RATE_SCALE;
+        long maxQueueDepth = MIN_QUEUE_DEPTH_SCALE;
+        long maxHbaseBacklog = MIN_HBASE_BACKLOG_SCALE;
+        for (CollectorLoad collectorLoad : collectorLoadList) {
+            maxReceiveRate = Math.max(maxReceiveRate, collectorLoad.getReceiveRate());
+            maxQueueDepth = Math.max(maxQueueDepth, collectorLoad.getQueueDepth());
+            maxHbaseBacklog = Math.max(maxHbaseBacklog, collectorLoad.getHbaseBacklog());
+        }
+
+        final List<TCollectorInfo> result = new ArrayList<>(collectorLoadList.size());
+        for (CollectorLoad collectorLoad : collectorLoadList) {
+            final double load = (ratio(collectorLoad.getReceiveRate(), maxReceiveRate)
+                    + ratio(collectorLoad.getQueueDepth(), maxQueueDepth)
+                    + ratio(collectorLoad.getHbaseBacklog(), maxHbaseBacklog)) / 3;
+            final int weight = Math.max(MIN_WEIGHT, (int) Math.round(MAX_WEIGHT * (1 - load)));
+
+            final TCollectorInfo collectorInfo = new TCollectorInfo(collectorLoad.getIp(), collectorLoad.getPort(), weight);
+            collectorInfo.setReceiveRate(collectorLoad.getReceiveRate());
+            collectorInfo.setQueueDepth(collectorLoad.getQueueDepth());
+            collectorInfo.setHbaseBacklog(collectorLoad.getHbaseBacklog());
+            result.add(collectorInfo);
+        }
+        return result;
+    }
+
+    private static double ratio(long value, long max) {
+        if (max <= 0) {
+            return 0;
+        }
+        return (double) value / max;
+    }
+}
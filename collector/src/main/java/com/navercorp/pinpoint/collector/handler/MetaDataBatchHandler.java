@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.thrift.dto.TMetaDataBatch;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores a batch of sql, api and string metadata with one multi-put per table.
+ * The agent retries the whole batch when any of the puts fails.
+ */
+@Service
+public class MetaDataBatchHandler implements RequestResponseHandler {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private SqlMetaDataHandler sqlMetaDataHandler;
+
+    @Autowired
+    private ApiMetaDataHandler apiMetaDataHandler;
+
+    @Autowired
+    private StringMetaDataHandler stringMetaDataHandler;
+
+    @Override
+    public TBase<?, ?> handleRequest(TBase<?, ?> tbase) {
+        if (!(tbase instanceof TMetaDataBatch)) {
+            logger.error("invalid tbase:{}", tbase);
+            return null;
+        }
+
+        final TMetaDataBatch metaDataBatch = (TMetaDataBatch) tbase;
+
+        TResult result = new TResult(true);
+        if (metaDataBatch.isSetSqlMetaDataList()) {
+            result = merge(result, sqlMetaDataHandler.handleBatch(metaDataBatch.getSqlMetaDataList()));
+        }
+        if (metaDataBatch.isSetApiMetaDataList()) {
+            result = merge(result, apiMetaDataHandler.handleBatch(metaDataBatch.getApiMetaDataList()));
+        }
+        if (metaDataBatch.isSetStringMetaDataList()) {
+            result = merge(result, stringMetaDataHandler.handleBatch(metaDataBatch.getStringMetaDataList()));
+        }
+        return result;
+    }
+
+    private TResult merge(TResult result, TResult next) {
+        if (!result.isSuccess()) {
+            return result;
+        }
+        return next;
+    }
+}
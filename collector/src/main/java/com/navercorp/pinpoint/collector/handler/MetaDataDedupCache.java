@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TSqlMetaData;
+import com.navercorp.pinpoint.thrift.dto.TStringMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers recently written metadata so that entries resent after agent or collector reconnects are acknowledged
+ * without another HBase write.
+ * Entries are keyed by their row key (type, agentId, agentStartTime, id) and hold a hash of the content,
+ * so metadata whose content changed under the same id is written again.
+ */
+public class MetaDataDedupCache {
+
+    private static final int SQL = 0;
+    private static final int API = 1;
+    private static final int STRING = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Cache<RowKey, Integer> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public MetaDataDedupCache(long maximumSize, long expireAfterWriteMillis) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("negative maximumSize:" + maximumSize);
+        }
+        if (expireAfterWriteMillis <= 0) {
+            throw new IllegalArgumentException("expireAfterWriteMillis must be positive:" + expireAfterWriteMillis);
+        }
+        if (maximumSize == 0) {
+            this.cache = null;
+        } else {
+            this.cache = CacheBuilder.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS)
+                    .build();
+        }
+        logger.info("MetaDataDedupCache maximumSize:{}, expireAfterWriteMillis:{}", maximumSize, expireAfterWriteMillis);
+    }
+
+    public boolean isEnable() {
+        return cache != null;
+    }
+
+    public boolean isDuplicate(TSqlMetaData sqlMetaData) {
+        return isDuplicate(sqlKey(sqlMetaData), sqlHash(sqlMetaData));
+    }
+
+    public void written(TSqlMetaData sqlMetaData) {
+        written(sqlKey(sqlMetaData), sqlHash(sqlMetaData));
+    }
+
+    public boolean isDuplicate(TApiMetaData apiMetaData) {
+        return isDuplicate(apiKey(apiMetaData), apiHash(apiMetaData));
+    }
+
+    public void written(TApiMetaData apiMetaData) {
+        written(apiKey(apiMetaData), apiHash(apiMetaData));
+    }
+
+    public boolean isDuplicate(TStringMetaData stringMetaData) {
+        return isDuplicate(stringKey(stringMetaData), stringHash(stringMetaData));
+    }
+
+    public void written(TStringMetaData stringMetaData) {
+        written(stringKey(stringMetaData), stringHash(stringMetaData));
+    }
+
+    private boolean isDuplicate(RowKey rowKey, int contentHash) {
+        if (cache == null) {
+            return false;
+        }
+        final Integer writtenHash = cache.getIfPresent(rowKey);
+        if (writtenHash != null && writtenHash == contentHash) {
+            hitCount.incrementAndGet();
+            return true;
+        }
+        missCount.incrementAndGet();
+        return false;
+    }
+
+    private void written(RowKey rowKey, int contentHash) {
+        if (cache == null) {
+            return;
+        }
+        cache.put(rowKey, contentHash);
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public double getHitRate() {
+        final long hit = hitCount.get();
+        final long total = hit + missCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        return (double) hit / total;
+    }
+
+    public long size() {
+        if (cache == null) {
+            return 0;
+        }
+        return cache.size();
+    }
+
+    private static RowKey sqlKey(TSqlMetaData sqlMetaData) {
+        return new RowKey(SQL, sqlMetaData.getAgentId(), sqlMetaData.getAgentStartTime(), sqlMetaData.getSqlId());
+    }
+
+    private static int sqlHash(TSqlMetaData sqlMetaData) {
+        return hash(sqlMetaData.getSql());
+    }
+
+    private static RowKey apiKey(TApiMetaData apiMetaData) {
+        return new RowKey(API, apiMetaData.getAgentId(), apiMetaData.getAgentStartTime(), apiMetaData.getApiId());
+    }
+
+    private static int apiHash(TApiMetaData apiMetaData) {
+        int result = hash(apiMetaData.getApiInfo());
+        result = 31 * result + apiMetaData.getLine();
+        result = 31 * result + apiMetaData.getType();
+        return result;
+    }
+
+    private static RowKey stringKey(TStringMetaData stringMetaData) {
+        return new RowKey(STRING, stringMetaData.getAgentId(), stringMetaData.getAgentStartTime(), stringMetaData.getStringId());
+    }
+
+    private static int stringHash(TStringMetaData stringMetaData) {
+        return hash(stringMetaData.getStringValue());
+    }
+
+    private static int hash(String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "MetaDataDedupCache{size=" + size() + ", hitCount=" + hitCount.get() + ", missCount=" + missCount.get() + '}';
+    }
+
+    private static final class RowKey {
+        private final int type;
+        private final String agentId;
+        private final long agentStartTime;
+        private final int id;
+
+        private RowKey(int type, String agentId, long agentStartTime, int id) {
+            this.type = type;
+            this.agentId = agentId;
+            this.agentStartTime = agentStartTime;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            RowKey rowKey = (RowKey) o;
+
+            if (type != rowKey.type) return false;
+            if (agentStartTime != rowKey.agentStartTime) return false;
+            if (id != rowKey.id) return false;
+            return agentId != null ? agentId.equals(rowKey.agentId) : rowKey.agentId == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type;
+            result = 31 * result + (agentId != null ? agentId.hashCode() : 0);
+            result = 31 * result + (int) (agentStartTime ^ (agentStartTime >>> 32));
+            result = 31 * result + id;
+            return result;
+        }
+    }
+}
@@ -24,6 +24,9 @@ import org.apache.thrift.TBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author emeroad
  */
@@ -34,6 +37,8 @@ public class SqlMetaDataHandler implements RequestResponseHandler {
 //    @Autowired
     private SqlMetaDataDao sqlMetaDataDao;
 
+    private MetaDataDedupCache metaDataDedupCache;
+
     @Override
     public TBase<?, ?> handleRequest(TBase<?, ?> tbase) {
         if (!(tbase instanceof TSqlMetaData)) {
@@ -48,8 +53,16 @@ public class SqlMetaDataHandler implements RequestResponseHandler {
         }
 
 
+        if (metaDataDedupCache.isDuplicate(sqlMetaData)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Skip duplicate SqlMetaData:{}", sqlMetaData);
+            }
+            return new TResult(true);
+        }
+
         try {
             sqlMetaDataDao.insert(sqlMetaData);
+            metaDataDedupCache.written(sqlMetaData);
         } catch (Exception e) {
             logger.warn("{} handler error. Caused:{}", this.getClass(), e.getMessage(), e);
             TResult result = new TResult(false);
@@ -58,8 +71,52 @@ public class SqlMetaDataHandler implements RequestResponseHandler {
         }
         return new TResult(true);
     }
-    
+
+    public TResult handleBatch(List<TSqlMetaData> sqlMetaDataList) {
+        if (sqlMetaDataList == null) {
+            throw new NullPointerException("sqlMetaDataList must not be null");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received SqlMetaData batch. size:{}", sqlMetaDataList.size());
+        }
+
+        final List<TSqlMetaData> writeList = filterDuplicate(sqlMetaDataList);
+        if (writeList.isEmpty()) {
+            return new TResult(true);
+        }
+
+        try {
+            sqlMetaDataDao.insert(writeList);
+            for (TSqlMetaData sqlMetaData : writeList) {
+                metaDataDedupCache.written(sqlMetaData);
+            }
+        } catch (Exception e) {
+            logger.warn("{} handler error. Caused:{}", this.getClass(), e.getMessage(), e);
+            TResult result = new TResult(false);
+            result.setMessage(e.getMessage());
+            return result;
+        }
+        return new TResult(true);
+    }
+
     public void setSqlMetaDataDao(SqlMetaDataDao sqlMetaDataDao) {
         this.sqlMetaDataDao = sqlMetaDataDao;
     }
+
+    public void setMetaDataDedupCache(MetaDataDedupCache metaDataDedupCache) {
+        this.metaDataDedupCache = metaDataDedupCache;
+    }
+
+    private List<TSqlMetaData> filterDuplicate(List<TSqlMetaData> sqlMetaDataList) {
+        final List<TSqlMetaData> writeList = new ArrayList<>(sqlMetaDataList.size());
+        for (TSqlMetaData sqlMetaData : sqlMetaDataList) {
+            if (!metaDataDedupCache.isDuplicate(sqlMetaData)) {
+                writeList.add(sqlMetaData);
+            }
+        }
+        if (logger.isDebugEnabled() && writeList.size() != sqlMetaDataList.size()) {
+            logger.debug("Skip duplicate SqlMetaData. skipped:{}", sqlMetaDataList.size() - writeList.size());
+        }
+        return writeList;
+    }
 }
@@ -26,6 +26,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author emeroad
  */
@@ -37,6 +40,9 @@ public class StringMetaDataHandler implements RequestResponseHandler {
     @Autowired
     private StringMetaDataDao stringMetaDataDao;
 
+    @Autowired
+    private MetaDataDedupCache metaDataDedupCache;
+
     @Override
     public TBase<?, ?> handleRequest(TBase<?, ?> tbase) {
         if (!(tbase instanceof TStringMetaData)) {
@@ -50,8 +56,16 @@ public class StringMetaDataHandler implements RequestResponseHandler {
             logger.info("Received StringMetaData={}", stringMetaData);
         }
 
+        if (metaDataDedupCache.isDuplicate(stringMetaData)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Skip duplicate StringMetaData:{}", stringMetaData);
+            }
+            return new TResult(true);
+        }
+
         try {
             stringMetaDataDao.insert(stringMetaData);
+            metaDataDedupCache.written(stringMetaData);
         } catch (Exception e) {
             logger.warn("{} handler error. Caused:{}", this.getClass(), e.getMessage(), e);
             TResult result = new TResult(false);
@@ -60,4 +74,46 @@ public class StringMetaDataHandler implements RequestResponseHandler {
         }
         return new TResult(true);
     }
+
+    public TResult handleBatch(List<TStringMetaData> stringMetaDataList) {
+        if (stringMetaDataList == null) {
+            throw new NullPointerException("stringMetaDataList must not be null");
+        }
+        if (logger.isInfoEnabled()) {
+            for (TStringMetaData stringMetaData : stringMetaDataList) {
+                logger.info("Received StringMetaData={}", stringMetaData);
+            }
+        }
+
+        final List<TStringMetaData> writeList = filterDuplicate(stringMetaDataList);
+        if (writeList.isEmpty()) {
+            return new TResult(true);
+        }
+
+        try {
+            stringMetaDataDao.insert(writeList);
+            for (TStringMetaData stringMetaData : writeList) {
+                metaDataDedupCache.written(stringMetaData);
+            }
+        } catch (Exception e) {
+            logger.warn("{} handler error. Caused:{}", this.getClass(), e.getMessage(), e);
+            TResult result = new TResult(false);
+            result.setMessage(e.getMessage());
+            return result;
+        }
+        return new TResult(true);
+    }
+
+    private List<TStringMetaData> filterDuplicate(List<TStringMetaData> stringMetaDataList) {
+        final List<TStringMetaData> writeList = new ArrayList<>(stringMetaDataList.size());
+        for (TStringMetaData stringMetaData : stringMetaDataList) {
+            if (!metaDataDedupCache.isDuplicate(stringMetaData)) {
+                writeList.add(stringMetaData);
+            }
+        }
+        if (logger.isDebugEnabled() && writeList.size() != stringMetaDataList.size()) {
+            logger.debug("Skip duplicate StringMetaData. skipped:{}", stringMetaDataList.size() - writeList.size());
+        }
+        return writeList;
+    }
 }
@@ -16,8 +16,10 @@
 
 package com.navercorp.pinpoint.collector.manage;
 
+import com.navercorp.pinpoint.collector.handler.MetaDataDedupCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * @author Taejin Koo
@@ -28,6 +30,9 @@ public class HandlerManager extends AbstractCollectorManager implements HandlerM
 
     private volatile boolean enable = true;
 
+    @Autowired(required = false)
+    private MetaDataDedupCache metaDataDedupCache;
+
     @Override
     public void enableAccess() {
         logger.warn("Enable access to manager.");
@@ -45,4 +50,28 @@ public class HandlerManager extends AbstractCollectorManager implements HandlerM
         return enable;
     }
 
+    @Override
+    public long getMetaDataDedupHitCount() {
+        if (metaDataDedupCache == null) {
+            return 0;
+        }
+        return metaDataDedupCache.getHitCount();
+    }
+
+    @Override
+    public long getMetaDataDedupMissCount() {
+        if (metaDataDedupCache == null) {
+            return 0;
+        }
+        return metaDataDedupCache.getMissCount();
+    }
+
+    @Override
+    public double getMetaDataDedupHitRate() {
+        if (metaDataDedupCache == null) {
+            return 0;
+        }
+        return metaDataDedupCache.getHitRate();
+    }
+
 }
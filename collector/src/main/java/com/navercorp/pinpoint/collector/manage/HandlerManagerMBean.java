@@ -27,4 +27,10 @@ public interface HandlerManagerMBean {
 
     boolean isEnable();
 
+    long getMetaDataDedupHitCount();
+
+    long getMetaDataDedupMissCount();
+
+    double getMetaDataDedupHitRate();
+
 }
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.collector.receiver;
 
 import com.navercorp.pinpoint.collector.handler.AgentInfoHandler;
+import com.navercorp.pinpoint.collector.handler.Handler;
 import com.navercorp.pinpoint.collector.handler.RequestResponseHandler;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.thrift.dto.*;
@@ -48,6 +49,27 @@ public class TcpDispatchHandler extends AbstractDispatchHandler {
     @Qualifier("stringMetaDataHandler")
     private RequestResponseHandler stringMetaDataHandler;
 
+    @Autowired()
+    @Qualifier("metaDataBatchHandler")
+    private RequestResponseHandler metaDataBatchHandler;
+
+    @Autowired()
+    @Qualifier("collectorListHandler")
+    private RequestResponseHandler collectorListHandler;
+
+    // spans and stats sent through TraceSendPacket
+    @Autowired()
+    @Qualifier("spanHandler")
+    private SimpleHandler spanDataHandler;
+
+    @Autowired()
+    @Qualifier("spanChunkHandler")
+    private SimpleHandler spanChunkHandler;
+
+    @Autowired
+    @Qualifier("agentStatHandlerFactory")
+    private Handler agentStatHandler;
+
 
 
     public TcpDispatchHandler() {
@@ -66,9 +88,15 @@ public class TcpDispatchHandler extends AbstractDispatchHandler {
         if (tBase instanceof TStringMetaData) {
             return stringMetaDataHandler;
         }
+        if (tBase instanceof TMetaDataBatch) {
+            return metaDataBatchHandler;
+        }
         if (tBase instanceof TAgentInfo) {
             return agentInfoHandler;
         }
+        if (tBase instanceof TCollectorListRequest) {
+            return collectorListHandler;
+        }
         return null;
     }
 
@@ -78,7 +106,21 @@ public class TcpDispatchHandler extends AbstractDispatchHandler {
         if (tBase instanceof TAgentInfo) {
             return agentInfoHandler;
         }
+        if (tBase instanceof TSpan) {
+            return spanDataHandler;
+        }
+        if (tBase instanceof TSpanChunk) {
+            return spanChunkHandler;
+        }
 
         return null;
     }
+
+    @Override
+    Handler getHandler(TBase<?, ?> tBase) {
+        if (tBase instanceof TAgentStat || tBase instanceof TAgentStatBatch) {
+            return agentStatHandler;
+        }
+        return null;
+    }
 }
@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.collector.receiver.tcp;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.collector.cluster.CollectorLoadMonitor;
 import com.navercorp.pinpoint.collector.cluster.zookeeper.ZookeeperClusterService;
 import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
 import com.navercorp.pinpoint.collector.monitor.MonitoredExecutorService;
@@ -29,17 +31,21 @@ import com.navercorp.pinpoint.common.server.util.AgentLifeCycleState;
 import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.rpc.PinpointSocket;
+import com.navercorp.pinpoint.rpc.codec.CompressionMetric;
 import com.navercorp.pinpoint.rpc.packet.HandshakePropertyType;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseCode;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseType;
 import com.navercorp.pinpoint.rpc.packet.PingPacket;
 import com.navercorp.pinpoint.rpc.packet.RequestPacket;
 import com.navercorp.pinpoint.rpc.packet.SendPacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendPacket;
 import com.navercorp.pinpoint.rpc.server.PinpointServer;
 import com.navercorp.pinpoint.rpc.server.PinpointServerAcceptor;
 import com.navercorp.pinpoint.rpc.server.ServerMessageListener;
 import com.navercorp.pinpoint.rpc.server.handler.ServerStateChangeEventHandler;
 import com.navercorp.pinpoint.rpc.util.MapUtils;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
@@ -52,6 +58,7 @@ import com.navercorp.pinpoint.thrift.util.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,12 +71,16 @@ import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author emeroad
@@ -87,14 +98,21 @@ public class TCPReceiver {
 
     private final ZookeeperClusterService clusterService;
 
-    private ExecutorService worker;
+    private TCPWorkerLanes workerLanes;
+    private final List<ThreadPoolExecutor> workerPools = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong receiveCount = new AtomicLong();
 
     private final SerializerFactory<HeaderTBaseSerializer> serializerFactory = new ThreadLocalHeaderTBaseSerializerFactory<>(new HeaderTBaseSerializerFactory(true, HeaderTBaseSerializerFactory.DEFAULT_UDP_STREAM_MAX_SIZE));
     private final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<>(new HeaderTBaseDeserializerFactory());
+    private final DeserializerFactory<ChunkHeaderTBaseDeserializer> chunkDeserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<>(new ChunkHeaderTBaseDeserializerFactory());
 
     @Autowired(required=false)
     private MetricRegistry metricRegistry;
 
+    @Autowired(required=false)
+    private CollectorLoadMonitor collectorLoadMonitor;
+
     @Resource(name="agentEventWorker")
     private ExecutorService agentEventWorker;
     
@@ -126,17 +144,7 @@ public class TCPReceiver {
     }
 
     public void afterPropertiesSet() {
-        ExecutorService worker = ExecutorFactory.newFixedThreadPool(configuration.getTcpWorkerThread(), configuration.getTcpWorkerQueueSize(), tcpWorkerThreadFactory);
-        if (configuration.isTcpWorkerMonitor()) {
-            if (metricRegistry == null) {
-                logger.warn("metricRegistry not autowired. Can't enable monitoring.");
-                this.worker = worker;
-            } else {
-                this.worker = new MonitoredExecutorService(worker, metricRegistry, this.getClass().getSimpleName() + "-Worker");
-            }
-        } else {
-            this.worker = worker;
-        }
+        this.workerLanes = newWorkerLanes();
 
         if (clusterService != null && clusterService.isEnable()) {
             this.serverAcceptor.addStateChangeEventHandler(clusterService.getChannelStateChangeEventHandler());
@@ -146,9 +154,115 @@ public class TCPReceiver {
             serverAcceptor.addStateChangeEventHandler(channelStateChangeEventHandler);
         }
 
+        if (collectorLoadMonitor != null) {
+            collectorLoadMonitor.setTcpReceiver(this);
+        }
+
         setL4TcpChannel(serverAcceptor, configuration.getL4IpList());
+        serverAcceptor.setSlicePayload(configuration.isTcpSlicePayload());
+        serverAcceptor.setCompressionEnable(configuration.isTcpCompressionEnable());
+        registerCompressionMetric();
+    }
+
+    private void registerCompressionMetric() {
+        if (!configuration.isTcpCompressionEnable()) {
+            return;
+        }
+        if (metricRegistry == null) {
+            logger.warn("metricRegistry not autowired. Can't monitor tcp compression.");
+            return;
+        }
+        registerCompressionMetric("tcp.compression.deflate", serverAcceptor.getDeflateMetric());
+        registerCompressionMetric("tcp.compression.inflate", serverAcceptor.getInflateMetric());
+    }
+
+    private void registerCompressionMetric(String name, final CompressionMetric compressionMetric) {
+        metricRegistry.register(MetricRegistry.name(name, "packetCount"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return compressionMetric.getPacketCount();
+            }
+        });
+        metricRegistry.register(MetricRegistry.name(name, "rawBytes"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return compressionMetric.getRawBytes();
+            }
+        });
+        metricRegistry.register(MetricRegistry.name(name, "compressedBytes"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return compressionMetric.getCompressedBytes();
+            }
+        });
+        metricRegistry.register(MetricRegistry.name(name, "ratio"), new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+                return compressionMetric.getRatio();
+            }
+        });
+        metricRegistry.register(MetricRegistry.name(name, "elapsedMillis"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return TimeUnit.NANOSECONDS.toMillis(compressionMetric.getElapsedNanos());
+            }
+        });
     }
     
+    private TCPWorkerLanes newWorkerLanes() {
+        final Map<TCPWorkerLanes.Lane, ExecutorService> executorMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        if (!isWorkerLaneEnable()) {
+            final ExecutorService worker = newWorker(configuration.getTcpWorkerThread(), configuration.getTcpWorkerQueueSize(), tcpWorkerThreadFactory, this.getClass().getSimpleName() + "-Worker");
+            for (TCPWorkerLanes.Lane lane : TCPWorkerLanes.Lane.values()) {
+                executorMap.put(lane, worker);
+            }
+            return new TCPWorkerLanes(executorMap);
+        }
+
+        final Map<TCPWorkerLanes.Lane, Integer> weightMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        weightMap.put(TCPWorkerLanes.Lane.REQUEST, configuration.getTcpWorkerLaneRequestWeight());
+        weightMap.put(TCPWorkerLanes.Lane.SPAN, configuration.getTcpWorkerLaneSpanWeight());
+        weightMap.put(TCPWorkerLanes.Lane.STAT, configuration.getTcpWorkerLaneStatWeight());
+        weightMap.put(TCPWorkerLanes.Lane.DEFAULT, configuration.getTcpWorkerLaneDefaultWeight());
+        final Map<TCPWorkerLanes.Lane, Integer> threadMap = TCPWorkerLanes.divideThreads(configuration.getTcpWorkerThread(), weightMap);
+        final Map<TCPWorkerLanes.Lane, Integer> queueSizeMap = TCPWorkerLanes.divideQueueSize(configuration.getTcpWorkerQueueSize(), threadMap);
+        logger.info("tcp worker lanes threads:{}, queueSize:{}", threadMap, queueSizeMap);
+
+        for (TCPWorkerLanes.Lane lane : TCPWorkerLanes.Lane.values()) {
+            final ThreadFactory threadFactory = new PinpointThreadFactory("Pinpoint-TCP-" + lane.getName() + "-Worker");
+            final String metricName = this.getClass().getSimpleName() + "-" + lane.getName() + "-Worker";
+            executorMap.put(lane, newWorker(threadMap.get(lane), queueSizeMap.get(lane), threadFactory, metricName));
+        }
+        return new TCPWorkerLanes(executorMap);
+    }
+
+    private boolean isWorkerLaneEnable() {
+        if (!configuration.isTcpWorkerLaneEnable()) {
+            return false;
+        }
+        // every lane needs a thread and a queue slot of its own
+        final int laneCount = TCPWorkerLanes.Lane.values().length;
+        if (configuration.getTcpWorkerThread() < laneCount || configuration.getTcpWorkerQueueSize() < laneCount) {
+            logger.warn("tcp worker lanes disabled. {} lanes need at least as many threads and queue slots. tcpWorkerThread:{}, tcpWorkerQueueSize:{}",
+                    laneCount, configuration.getTcpWorkerThread(), configuration.getTcpWorkerQueueSize());
+            return false;
+        }
+        return true;
+    }
+
+    private ExecutorService newWorker(int threadCount, int queueSize, ThreadFactory threadFactory, String metricName) {
+        final ThreadPoolExecutor worker = ExecutorFactory.newFixedThreadPool(threadCount, queueSize, threadFactory);
+        workerPools.add(worker);
+        if (!configuration.isTcpWorkerMonitor()) {
+            return worker;
+        }
+        if (metricRegistry == null) {
+            logger.warn("metricRegistry not autowired. Can't enable monitoring.");
+            return worker;
+        }
+        return new MonitoredExecutorService(worker, metricRegistry, metricName);
+    }
+
     private void setL4TcpChannel(PinpointServerAcceptor serverFactory, List<String> l4ipList) {
         if (l4ipList == null) {
             return;
@@ -219,8 +333,15 @@ public class TCPReceiver {
     }
 
     private void receive(SendPacket sendPacket, PinpointSocket pinpointSocket) {
+        receiveCount.incrementAndGet();
         try {
-            worker.execute(new Dispatch(sendPacket.getPayload(), pinpointSocket.getRemoteAddress()));
+            final ChannelBuffer payload = sendPacket.getPayloadBuffer();
+            if (sendPacket instanceof TraceSendPacket && pinpointSocket instanceof PinpointServer) {
+                // not acked when rejected, the agent resends the chunk later
+                workerLanes.executeSend(payload, new TraceDispatch((TraceSendPacket) sendPacket, (PinpointServer) pinpointSocket));
+                return;
+            }
+            workerLanes.executeSend(payload, new Dispatch(payload, pinpointSocket.getRemoteAddress()));
         } catch (RejectedExecutionException e) {
             // cause is clear - full stack trace not necessary 
             logger.warn("RejectedExecutionException Caused:{}", e.getMessage());
@@ -228,14 +349,33 @@ public class TCPReceiver {
     }
 
     private void requestResponse(RequestPacket requestPacket, PinpointSocket pinpointSocket) {
+        receiveCount.incrementAndGet();
         try {
-            worker.execute(new RequestResponseDispatch(requestPacket, pinpointSocket));
+            workerLanes.executeRequest(new RequestResponseDispatch(requestPacket, pinpointSocket));
         } catch (RejectedExecutionException e) {
             // cause is clear - full stack trace not necessary
             logger.warn("RejectedExecutionException Caused:{}", e.getMessage());
         }
     }
     
+    /**
+     * number of send and request packets received so far
+     */
+    public long getReceiveCount() {
+        return receiveCount.get();
+    }
+
+    /**
+     * number of packets waiting in the worker queues
+     */
+    public int getWorkerQueueDepth() {
+        int queueDepth = 0;
+        for (ThreadPoolExecutor workerPool : workerPools) {
+            queueDepth += workerPool.getQueue().size();
+        }
+        return queueDepth;
+    }
+
     private void recordPing(PingPacket pingPacket, PinpointServer pinpointServer) {
         final int eventCounter = pingPacket.getPingId();
         long pingTimestamp = System.currentTimeMillis();
@@ -249,29 +389,51 @@ public class TCPReceiver {
         }
     }
 
+    private TBase<?, ?> deserialize(ChannelBuffer payload) throws TException {
+        final HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
+        if (payload.hasArray()) {
+            // read straight from the socket buffer
+            return deserializer.deserialize(payload.array(), payload.arrayOffset() + payload.readerIndex(), payload.readableBytes());
+        }
+        // composite buffer of a frame split across reads
+        final byte[] bytes = new byte[payload.readableBytes()];
+        payload.getBytes(payload.readerIndex(), bytes);
+        return deserializer.deserialize(bytes);
+    }
+
+    private List<TBase<?, ?>> deserializeChunk(ChannelBuffer payload) throws TException {
+        final ChunkHeaderTBaseDeserializer deserializer = chunkDeserializerFactory.createDeserializer();
+        if (payload.hasArray()) {
+            return deserializer.deserialize(payload.array(), payload.arrayOffset() + payload.readerIndex(), payload.readableBytes());
+        }
+        final byte[] bytes = new byte[payload.readableBytes()];
+        payload.getBytes(payload.readerIndex(), bytes);
+        return deserializer.deserialize(bytes, 0, bytes.length);
+    }
+
     private class Dispatch implements Runnable {
-        private final byte[] bytes;
+        private final ChannelBuffer payload;
         private final SocketAddress remoteAddress;
 
-        private Dispatch(byte[] bytes, SocketAddress remoteAddress) {
-            if (bytes == null) {
-                throw new NullPointerException("bytes");
+        private Dispatch(ChannelBuffer payload, SocketAddress remoteAddress) {
+            if (payload == null) {
+                throw new NullPointerException("payload");
             }
-            this.bytes = bytes;
+            this.payload = payload;
             this.remoteAddress = remoteAddress;
         }
 
         @Override
         public void run() {
             try {
-                TBase<?, ?> tBase = SerializationUtils.deserialize(bytes, deserializerFactory);
+                TBase<?, ?> tBase = deserialize(payload);
                 dispatchHandler.dispatchSendMessage(tBase);
             } catch (TException e) {
                 if (logger.isWarnEnabled()) {
                     logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
                 }
                 if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpChannelBuffer(payload));
                 }
             } catch (Exception e) {
                 // there are cases where invalid headers are received
@@ -279,9 +441,57 @@ public class TCPReceiver {
                     logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
                 }
                 if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpChannelBuffer(payload));
+                }
+            }
+        }
+    }
+
+    /**
+     * Dispatches a chunk of spans or stats, and acks it once every message has been handed to its handler.
+     */
+    private class TraceDispatch implements Runnable {
+        private final TraceSendPacket traceSendPacket;
+        private final PinpointServer pinpointServer;
+
+        private TraceDispatch(TraceSendPacket traceSendPacket, PinpointServer pinpointServer) {
+            if (traceSendPacket == null) {
+                throw new NullPointerException("traceSendPacket");
+            }
+            this.traceSendPacket = traceSendPacket;
+            this.pinpointServer = pinpointServer;
+        }
+
+        @Override
+        public void run() {
+            final ChannelBuffer payload = traceSendPacket.getPayloadBuffer();
+            final SocketAddress remoteAddress = pinpointServer.getRemoteAddress();
+            try {
+                List<TBase<?, ?>> list = deserializeChunk(payload);
+                for (TBase<?, ?> tBase : list) {
+                    dispatchHandler.dispatchSendMessage(tBase);
+                }
+            } catch (TException e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpChannelBuffer(payload));
+                }
+            } catch (Exception e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpChannelBuffer(payload));
                 }
             }
+            // broken chunks are acked as well, resending them would fail the same way
+            try {
+                pinpointServer.sendTraceAck(traceSendPacket);
+            } catch (IllegalStateException e) {
+                logger.info("trace ack failed. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage());
+            }
         }
     }
 
@@ -301,10 +511,10 @@ public class TCPReceiver {
         @Override
         public void run() {
 
-            byte[] bytes = requestPacket.getPayload();
+            ChannelBuffer payload = requestPacket.getPayloadBuffer();
             SocketAddress remoteAddress = pinpointSocket.getRemoteAddress();
             try {
-                TBase<?, ?> tBase = SerializationUtils.deserialize(bytes, deserializerFactory);
+                TBase<?, ?> tBase = deserialize(payload);
                 TBase result = dispatchHandler.dispatchRequestMessage(tBase);
                 if (result != null) {
                     byte[] resultBytes = SerializationUtils.serialize(result, serializerFactory);
@@ -315,7 +525,7 @@ public class TCPReceiver {
                     logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
                 }
                 if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpChannelBuffer(payload));
                 }
             } catch (Exception e) {
                 // there are cases where invalid headers are received
@@ -323,7 +533,7 @@ public class TCPReceiver {
                     logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
                 }
                 if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpChannelBuffer(payload));
                 }
             }
         }
@@ -333,7 +543,11 @@ public class TCPReceiver {
     public void stop() {
         logger.info("Pinpoint-TCP-Server stop");
         serverAcceptor.close();
-        shutdownExecutor(worker);
+        if (workerLanes != null) {
+            for (ExecutorService worker : workerLanes.getExecutors()) {
+                shutdownExecutor(worker);
+            }
+        }
         shutdownExecutor(agentEventWorker);
     }
     
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.tcp;
+
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.io.Header;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.TBaseLocator;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.jboss.netty.buffer.ChannelBuffer;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Worker pools of the tcp receiver, one per kind of traffic.
+ * Requests the agent waits on run on their own pool so that they never queue behind bulk span or stat packets.
+ */
+class TCPWorkerLanes {
+
+    enum Lane {
+        REQUEST("Request"),
+        SPAN("Span"),
+        STAT("Stat"),
+        DEFAULT("Default");
+
+        private final String name;
+
+        Lane(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final short UNKNOWN_TYPE = -1;
+
+    private final Map<Short, Lane> sendLaneMap;
+    private final short chunkHeaderType;
+    private final EnumMap<Lane, ExecutorService> executorMap;
+
+    TCPWorkerLanes(Map<Lane, ExecutorService> executorMap) {
+        if (executorMap == null) {
+            throw new NullPointerException("executorMap must not be null");
+        }
+        for (Lane lane : Lane.values()) {
+            if (executorMap.get(lane) == null) {
+                throw new IllegalArgumentException("executor of " + lane + " lane not found");
+            }
+        }
+        this.executorMap = new EnumMap<>(executorMap);
+        this.sendLaneMap = createSendLaneMap();
+        this.chunkHeaderType = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.getLocator().getChunkHeader().getType();
+    }
+
+    private static Map<Short, Lane> createSendLaneMap() {
+        final TBaseLocator locator = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.getLocator();
+        final Map<Short, Lane> sendLaneMap = new HashMap<>();
+        putType(sendLaneMap, locator, new TSpan(), Lane.SPAN);
+        putType(sendLaneMap, locator, new TSpanChunk(), Lane.SPAN);
+        putType(sendLaneMap, locator, new TAgentStat(), Lane.STAT);
+        putType(sendLaneMap, locator, new TAgentStatBatch(), Lane.STAT);
+        return sendLaneMap;
+    }
+
+    private static void putType(Map<Short, Lane> sendLaneMap, TBaseLocator locator, TBase<?, ?> tBase, Lane lane) {
+        try {
+            final Header header = locator.headerLookup(tBase);
+            sendLaneMap.put(header.getType(), lane);
+        } catch (TException e) {
+            throw new IllegalStateException("header not found. tBase:" + tBase.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Peeks the thrift header type of the payload, without deserializing it.
+     * A chunk goes to the lane of its first message.
+     */
+    Lane getSendLane(ChannelBuffer payload) {
+        int readerIndex = payload.readerIndex();
+        short type = peekType(payload, readerIndex);
+        if (type == chunkHeaderType) {
+            readerIndex += Header.HEADER_SIZE;
+            type = peekType(payload, readerIndex);
+        }
+        final Lane lane = sendLaneMap.get(type);
+        if (lane == null) {
+            return Lane.DEFAULT;
+        }
+        return lane;
+    }
+
+    private short peekType(ChannelBuffer payload, int index) {
+        if (payload.writerIndex() - index < Header.HEADER_SIZE) {
+            return UNKNOWN_TYPE;
+        }
+        if (payload.getByte(index) != Header.SIGNATURE) {
+            return UNKNOWN_TYPE;
+        }
+        return payload.getShort(index + 2);
+    }
+
+    ExecutorService getExecutor(Lane lane) {
+        return executorMap.get(lane);
+    }
+
+    void executeSend(ChannelBuffer payload, Runnable task) {
+        getExecutor(getSendLane(payload)).execute(task);
+    }
+
+    void executeRequest(Runnable task) {
+        getExecutor(Lane.REQUEST).execute(task);
+    }
+
+    List<ExecutorService> getExecutors() {
+        final List<ExecutorService> executors = new ArrayList<>(executorMap.size());
+        for (ExecutorService executor : executorMap.values()) {
+            // lanes may share a single executor
+            if (!executors.contains(executor)) {
+                executors.add(executor);
+            }
+        }
+        return executors;
+    }
+
+    /**
+     * Splits the worker threads between the lanes in proportion to their weights.
+     * Each lane gets at least one thread, and the lanes never get more than {@code threadCount} in total.
+     */
+    static Map<Lane, Integer> divideThreads(int threadCount, Map<Lane, Integer> weightMap) {
+        return divide(threadCount, weightMap);
+    }
+
+    /**
+     * Splits the worker queue capacity between the lanes in proportion to their threads.
+     */
+    static Map<Lane, Integer> divideQueueSize(int queueSize, Map<Lane, Integer> threadMap) {
+        return divide(queueSize, threadMap);
+    }
+
+    private static Map<Lane, Integer> divide(int total, Map<Lane, Integer> weightMap) {
+        if (weightMap == null) {
+            throw new NullPointerException("weightMap must not be null");
+        }
+        final Lane[] lanes = Lane.values();
+        if (total < lanes.length) {
+            throw new IllegalArgumentException("at least " + lanes.length + " needed for the lanes. total:" + total);
+        }
+        long weightSum = 0;
+        for (Lane lane : lanes) {
+            final Integer weight = weightMap.get(lane);
+            if (weight == null || weight <= 0) {
+                throw new IllegalArgumentException("weight of " + lane + " lane must be positive. weight:" + weight);
+            }
+            weightSum += weight;
+        }
+
+        final Map<Lane, Integer> shareMap = new EnumMap<>(Lane.class);
+        final Map<Lane, Long> remainderMap = new EnumMap<>(Lane.class);
+        int assigned = 0;
+        for (Lane lane : lanes) {
+            final long weighted = (long) total * weightMap.get(lane);
+            final int share = Math.max(1, (int) (weighted / weightSum));
+            shareMap.put(lane, share);
+            remainderMap.put(lane, weighted % weightSum);
+            assigned += share;
+        }
+        // leftover of the rounding goes to the lanes with the largest remainders
+        while (assigned < total) {
+            Lane target = null;
+            for (Lane lane : lanes) {
+                if (target == null || remainderMap.get(lane) > remainderMap.get(target)) {
+                    target = lane;
+                }
+            }
+            remainderMap.put(target, -1L);
+            shareMap.put(target, shareMap.get(target) + 1);
+            assigned++;
+        }
+        // lanes raised to the minimum of one are paid for by the largest lanes
+        while (assigned > total) {
+            Lane target = null;
+            for (Lane lane : lanes) {
+                if (target == null || shareMap.get(lane) > shareMap.get(target)) {
+                    target = lane;
+                }
+            }
+            shareMap.put(target, shareMap.get(target) - 1);
+            assigned--;
+        }
+        return shareMap;
+    }
+}
@@ -34,6 +34,7 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.Resource;
 import java.util.Map;
@@ -62,6 +63,9 @@ public class AgentEventHandler {
     @Resource
     private DeserializerFactory<HeaderTBaseDeserializer> commandDeserializerFactory;
 
+    @Autowired(required = false)
+    private AgentPingCoalescer agentPingCoalescer;
+
     public void handleEvent(PinpointServer pinpointServer, long eventTimestamp, AgentEventType eventType) {
         handleEvent(pinpointServer, eventTimestamp, eventType, null);
     }
@@ -81,10 +85,26 @@ public class AgentEventHandler {
         final long startTimestamp = MapUtils.getLong(channelProperties,
                 HandshakePropertyType.START_TIMESTAMP.getName());
 
+        if (eventType == AgentEventType.AGENT_PING && agentPingCoalescer != null) {
+            if (offerPingEvent(agentId, startTimestamp, eventTimestamp)) {
+                return;
+            }
+        }
         this.executor.execute(new AgentEventHandlerDispatch(agentId, startTimestamp, eventTimestamp, eventType,
                 eventMessage));
     }
 
+    private boolean offerPingEvent(String agentId, long startTimestamp, long eventTimestamp) {
+        AgentEventBo event = new AgentEventBo(agentId, startTimestamp, eventTimestamp, AgentEventType.AGENT_PING);
+        try {
+            event.setEventBody(agentEventMessageSerializer.serialize(AgentEventType.AGENT_PING, null));
+        } catch (Exception e) {
+            logger.warn("error handling agent event", e);
+            return false;
+        }
+        return agentPingCoalescer.offer(event);
+    }
+
     public void handleResponseEvent(ResponseEvent responseEvent, long eventTimestamp) {
         if (responseEvent == null) {
             throw new NullPointerException("responseEvent may not be null");
@@ -48,6 +48,9 @@ public class AgentLifeCycleHandler {
     @Autowired
     private AgentLifeCycleDao agentLifeCycleDao;
 
+    @Autowired(required = false)
+    private AgentPingCoalescer agentPingCoalescer;
+
     public void handleLifeCycleEvent(PinpointServer pinpointServer, long eventTimestamp,
             AgentLifeCycleState agentLifeCycleState, int eventCounter) {
         if (pinpointServer == null) {
@@ -76,6 +79,12 @@ public class AgentLifeCycleHandler {
         final AgentLifeCycleBo agentLifeCycleBo = new AgentLifeCycleBo(agentId, startTimestamp, eventTimestamp,
                 eventIdentifier, agentLifeCycleState);
 
+        // repeated RUNNING states only need the latest one written
+        if (agentLifeCycleState == AgentLifeCycleState.RUNNING && agentPingCoalescer != null) {
+            if (agentPingCoalescer.offer(agentLifeCycleBo)) {
+                return;
+            }
+        }
         this.executor.execute(new AgentLifeCycleHandlerDispatch(agentLifeCycleBo));
 
     }
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.rpc.handler;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.collector.dao.AgentEventDao;
+import com.navercorp.pinpoint.collector.dao.AgentLifeCycleDao;
+import com.navercorp.pinpoint.common.server.bo.AgentEventBo;
+import com.navercorp.pinpoint.common.server.bo.AgentLifeCycleBo;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps only the latest ping lifecycle state and ping event of each agent during a flush period,
+ * and writes them as batched puts.
+ * Row keys of both tables order the states by themselves, so writing them late never hides a newer state.
+ */
+public class AgentPingCoalescer {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpoint_collector_properties['collector.agentPing.coalescing.enable'] ?: true}")
+    private boolean enable = true;
+
+    @Value("#{pinpoint_collector_properties['collector.agentPing.coalescing.flushPeriod'] ?: 3000}")
+    private long flushPeriod = 3000;
+
+    @Value("#{pinpoint_collector_properties['collector.agentPing.coalescing.queueSize'] ?: 10000}")
+    private int queueSize = 10000;
+
+    @Autowired
+    private AgentLifeCycleDao agentLifeCycleDao;
+
+    @Autowired
+    private AgentEventDao agentEventDao;
+
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
+    private final ConcurrentMap<String, AgentLifeCycleBo> lifeCycleQueue = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AgentEventBo> eventQueue = new ConcurrentHashMap<>();
+
+    private final AtomicLong savedWriteCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    public AgentPingCoalescer() {
+    }
+
+    AgentPingCoalescer(AgentLifeCycleDao agentLifeCycleDao, AgentEventDao agentEventDao, int queueSize) {
+        if (agentLifeCycleDao == null) {
+            throw new NullPointerException("agentLifeCycleDao must not be null");
+        }
+        if (agentEventDao == null) {
+            throw new NullPointerException("agentEventDao must not be null");
+        }
+        this.agentLifeCycleDao = agentLifeCycleDao;
+        this.agentEventDao = agentEventDao;
+        this.queueSize = queueSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enable) {
+            logger.info("agent ping coalescing disabled");
+            return;
+        }
+        if (metricRegistry != null) {
+            metricRegistry.register("agentPing.coalescing.savedWrite", new CounterGauge(savedWriteCount));
+            metricRegistry.register("agentPing.coalescing.write", new CounterGauge(writeCount));
+            metricRegistry.register("agentPing.coalescing.overflow", new CounterGauge(overflowCount));
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory("Pinpoint-AgentPingCoalescer", true));
+        this.executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    flush();
+                } catch (Throwable th) {
+                    logger.error("agent ping flush failed. Caused:{}", th.getMessage(), th);
+                }
+            }
+        }, flushPeriod, flushPeriod, TimeUnit.MILLISECONDS);
+        logger.info("agent ping coalescing started. flushPeriod:{}, queueSize:{}", flushPeriod, queueSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000 + flushPeriod, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("agent ping coalescing stopped. write:{}, savedWrite:{}, overflow:{}", writeCount.get(), savedWriteCount.get(), overflowCount.get());
+    }
+
+    /**
+     * @return false if not queued, the caller has to write it by itself
+     */
+    public boolean offer(AgentLifeCycleBo agentLifeCycleBo) {
+        if (agentLifeCycleBo == null) {
+            throw new NullPointerException("agentLifeCycleBo must not be null");
+        }
+        if (!isRunning()) {
+            return false;
+        }
+        final String key = createKey(agentLifeCycleBo.getAgentId(), agentLifeCycleBo.getStartTimestamp());
+        while (true) {
+            final AgentLifeCycleBo queued = lifeCycleQueue.get(key);
+            if (queued == null) {
+                if (isFull()) {
+                    overflowCount.incrementAndGet();
+                    return false;
+                }
+                if (lifeCycleQueue.putIfAbsent(key, agentLifeCycleBo) == null) {
+                    return true;
+                }
+                continue;
+            }
+            savedWriteCount.incrementAndGet();
+            if (queued.getEventIdentifier() > agentLifeCycleBo.getEventIdentifier()) {
+                return true;
+            }
+            if (lifeCycleQueue.replace(key, queued, agentLifeCycleBo)) {
+                return true;
+            }
+            savedWriteCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return false if not queued, the caller has to write it by itself
+     */
+    public boolean offer(AgentEventBo agentEventBo) {
+        if (agentEventBo == null) {
+            throw new NullPointerException("agentEventBo must not be null");
+        }
+        if (!isRunning()) {
+            return false;
+        }
+        final String key = createKey(agentEventBo.getAgentId(), agentEventBo.getStartTimestamp());
+        while (true) {
+            final AgentEventBo queued = eventQueue.get(key);
+            if (queued == null) {
+                if (isFull()) {
+                    overflowCount.incrementAndGet();
+                    return false;
+                }
+                if (eventQueue.putIfAbsent(key, agentEventBo) == null) {
+                    return true;
+                }
+                continue;
+            }
+            savedWriteCount.incrementAndGet();
+            if (queued.getEventTimestamp() > agentEventBo.getEventTimestamp()) {
+                return true;
+            }
+            if (eventQueue.replace(key, queued, agentEventBo)) {
+                return true;
+            }
+            savedWriteCount.decrementAndGet();
+        }
+    }
+
+    private boolean isRunning() {
+        return executor != null && !executor.isShutdown();
+    }
+
+    private boolean isFull() {
+        return lifeCycleQueue.size() + eventQueue.size() >= queueSize;
+    }
+
+    private String createKey(String agentId, long startTimestamp) {
+        return agentId + '^' + startTimestamp;
+    }
+
+    void flush() {
+        final List<AgentLifeCycleBo> agentLifeCycleBoList = drain(lifeCycleQueue);
+        if (!agentLifeCycleBoList.isEmpty()) {
+            writeCount.addAndGet(agentLifeCycleBoList.size());
+            agentLifeCycleDao.insert(agentLifeCycleBoList);
+        }
+
+        final List<AgentEventBo> agentEventBoList = drain(eventQueue);
+        if (!agentEventBoList.isEmpty()) {
+            writeCount.addAndGet(agentEventBoList.size());
+            agentEventDao.insert(agentEventBoList);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("agent ping flushed. lifeCycle:{}, event:{}, savedWrite:{}", agentLifeCycleBoList.size(), agentEventBoList.size(), savedWriteCount.get());
+        }
+    }
+
+    private <T> List<T> drain(ConcurrentMap<String, T> queue) {
+        final List<T> drained = new ArrayList<>(queue.size());
+        for (Map.Entry<String, T> entry : queue.entrySet()) {
+            // a value replaced in between stays queued for the next flush
+            if (queue.remove(entry.getKey(), entry.getValue())) {
+                drained.add(entry.getValue());
+            }
+        }
+        return drained;
+    }
+
+    public long getSavedWriteCount() {
+        return savedWriteCount.get();
+    }
+
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    private static class CounterGauge implements Gauge<Long> {
+
+        private final AtomicLong counter;
+
+        private CounterGauge(AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public Long getValue() {
+            return counter.get();
+        }
+    }
+}
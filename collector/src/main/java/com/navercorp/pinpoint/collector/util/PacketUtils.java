@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.collector.util;
 
 import org.apache.hadoop.hbase.util.Bytes;
+import org.jboss.netty.buffer.ChannelBuffer;
 
 import java.net.DatagramPacket;
 
@@ -40,4 +41,13 @@ public final class PacketUtils {
         }
         return Bytes.toStringBinary(bytes, 0, bytes.length);
     }
+
+    public static String dumpChannelBuffer(ChannelBuffer buffer) {
+        if (buffer == null) {
+            return "null";
+        }
+        final byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return dumpByteArray(bytes);
+    }
 }
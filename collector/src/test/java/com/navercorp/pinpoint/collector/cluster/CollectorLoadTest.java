@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.cluster;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+public class CollectorLoadTest {
+
+    @Test
+    public void bytes() {
+        CollectorLoad collectorLoad = new CollectorLoad("10.0.0.1", 9994, 1000, 20, 300);
+
+        CollectorLoad copy = CollectorLoad.fromBytes(collectorLoad.toBytes());
+
+        Assert.assertEquals("10.0.0.1", copy.getIp());
+        Assert.assertEquals(9994, copy.getPort());
+        Assert.assertEquals("10.0.0.1:9994", copy.getAddress());
+        Assert.assertEquals(1000, copy.getReceiveRate());
+        Assert.assertEquals(20, copy.getQueueDepth());
+        Assert.assertEquals(300, copy.getHbaseBacklog());
+    }
+
+    @Test
+    public void bytes_invalid() {
+        Assert.assertNull(CollectorLoad.fromBytes(null));
+        Assert.assertNull(CollectorLoad.fromBytes(new byte[0]));
+        Assert.assertNull(CollectorLoad.fromBytes("port=9994\r\n".getBytes(Charset.forName("UTF-8"))));
+        Assert.assertNull(CollectorLoad.fromBytes("ip=10.0.0.1\r\nport=abc\r\n".getBytes(Charset.forName("UTF-8"))));
+    }
+
+    @Test
+    public void collectorLoadList() {
+        CollectorLoadMonitor monitor = new CollectorLoadMonitor("10.0.0.1", 9994, CollectorLoadMonitor.DEFAULT_SAMPLE_INTERVAL);
+
+        List<CollectorLoad> localOnly = monitor.getCollectorLoadList();
+        Assert.assertEquals(1, localOnly.size());
+        Assert.assertEquals("10.0.0.1:9994", localOnly.get(0).getAddress());
+
+        // the published node of this collector is replaced by the local sample
+        monitor.updateClusterLoad(Arrays.asList(new CollectorLoad("10.0.0.1", 9994, 5, 5, 5), new CollectorLoad("10.0.0.2", 9994, 7, 7, 7)));
+
+        List<CollectorLoad> collectorLoadList = monitor.getCollectorLoadList();
+        Assert.assertEquals(2, collectorLoadList.size());
+        Assert.assertEquals("10.0.0.1:9994", collectorLoadList.get(0).getAddress());
+        Assert.assertEquals(0, collectorLoadList.get(0).getReceiveRate());
+        Assert.assertEquals("10.0.0.2:9994", collectorLoadList.get(1).getAddress());
+        Assert.assertEquals(7, collectorLoadList.get(1).getReceiveRate());
+    }
+}
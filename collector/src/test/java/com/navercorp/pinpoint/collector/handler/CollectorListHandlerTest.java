@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.collector.cluster.CollectorLoad;
+import com.navercorp.pinpoint.thrift.dto.TCollectorInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CollectorListHandlerTest {
+
+    @Test
+    public void weight() {
+        CollectorLoad busy = new CollectorLoad("10.0.0.1", 9994, 1000, 500, 200);
+        CollectorLoad half = new CollectorLoad("10.0.0.2", 9994, 500, 250, 100);
+        CollectorLoad idle = new CollectorLoad("10.0.0.3", 9994, 0, 0, 0);
+
+        List<TCollectorInfo> collectorList = CollectorListHandler.weight(Arrays.asList(busy, half, idle));
+
+        Assert.assertEquals(3, collectorList.size());
+        Assert.assertEquals("10.0.0.1", collectorList.get(0).getIp());
+        Assert.assertEquals(9994, collectorList.get(0).getPort());
+        Assert.assertEquals(CollectorListHandler.MIN_WEIGHT, collectorList.get(0).getWeight());
+        Assert.assertEquals(50, collectorList.get(1).getWeight());
+        Assert.assertEquals(CollectorListHandler.MAX_WEIGHT, collectorList.get(2).getWeight());
+
+        Assert.assertEquals(1000, collectorList.get(0).getReceiveRate());
+        Assert.assertEquals(500, collectorList.get(0).getQueueDepth());
+        Assert.assertEquals(200, collectorList.get(0).getHbaseBacklog());
+    }
+
+    @Test
+    public void weight_metricAveraged() {
+        // only the hbase backlog differs
+        CollectorLoad backlog = new CollectorLoad("10.0.0.1", 9994, 2000, 200, 300);
+        CollectorLoad other = new CollectorLoad("10.0.0.2", 9994, 2000, 200, 0);
+
+        List<TCollectorInfo> collectorList = CollectorListHandler.weight(Arrays.asList(backlog, other));
+
+        Assert.assertEquals(CollectorListHandler.MIN_WEIGHT, collectorList.get(0).getWeight());
+        Assert.assertEquals(33, collectorList.get(1).getWeight());
+    }
+
+    @Test
+    public void weight_lightlyLoaded() {
+        // far below the absolute floors, the relative difference does not matter
+        CollectorLoad busier = new CollectorLoad("10.0.0.1", 9994, 30, 2, 1);
+        CollectorLoad idle = new CollectorLoad("10.0.0.2", 9994, 0, 0, 0);
+
+        List<TCollectorInfo> collectorList = CollectorListHandler.weight(Arrays.asList(busier, idle));
+
+        Assert.assertEquals(98, collectorList.get(0).getWeight());
+        Assert.assertEquals(CollectorListHandler.MAX_WEIGHT, collectorList.get(1).getWeight());
+    }
+
+    @Test
+    public void weight_empty() {
+        Assert.assertTrue(CollectorListHandler.weight(Collections.<CollectorLoad>emptyList()).isEmpty());
+    }
+}
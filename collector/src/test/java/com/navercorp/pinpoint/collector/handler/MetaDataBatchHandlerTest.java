@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TMetaDataBatch;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.dto.TSqlMetaData;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.*;
+
+public class MetaDataBatchHandlerTest {
+
+    @Mock
+    private SqlMetaDataHandler sqlMetaDataHandler;
+
+    @Mock
+    private ApiMetaDataHandler apiMetaDataHandler;
+
+    @Mock
+    private StringMetaDataHandler stringMetaDataHandler;
+
+    @InjectMocks
+    private MetaDataBatchHandler metaDataBatchHandler = new MetaDataBatchHandler();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void handleRequest() {
+        List<TSqlMetaData> sqlMetaDataList = Collections.singletonList(new TSqlMetaData("agentId", 1L, 1, "select 1"));
+        List<TApiMetaData> apiMetaDataList = Collections.singletonList(new TApiMetaData("agentId", 1L, 2, "api"));
+        TMetaDataBatch metaDataBatch = new TMetaDataBatch();
+        metaDataBatch.setSqlMetaDataList(sqlMetaDataList);
+        metaDataBatch.setApiMetaDataList(apiMetaDataList);
+        when(sqlMetaDataHandler.handleBatch(sqlMetaDataList)).thenReturn(new TResult(true));
+        when(apiMetaDataHandler.handleBatch(apiMetaDataList)).thenReturn(new TResult(true));
+
+        TResult result = (TResult) metaDataBatchHandler.handleRequest(metaDataBatch);
+
+        Assert.assertTrue(result.isSuccess());
+        verify(sqlMetaDataHandler).handleBatch(sqlMetaDataList);
+        verify(apiMetaDataHandler).handleBatch(apiMetaDataList);
+        verifyZeroInteractions(stringMetaDataHandler);
+    }
+
+    @Test
+    public void handleRequest_failure() {
+        List<TSqlMetaData> sqlMetaDataList = Collections.singletonList(new TSqlMetaData("agentId", 1L, 1, "select 1"));
+        List<TApiMetaData> apiMetaDataList = Collections.singletonList(new TApiMetaData("agentId", 1L, 2, "api"));
+        TMetaDataBatch metaDataBatch = new TMetaDataBatch();
+        metaDataBatch.setSqlMetaDataList(sqlMetaDataList);
+        metaDataBatch.setApiMetaDataList(apiMetaDataList);
+        TResult fail = new TResult(false);
+        fail.setMessage("put fail");
+        when(sqlMetaDataHandler.handleBatch(anyListOf(TSqlMetaData.class))).thenReturn(fail);
+        when(apiMetaDataHandler.handleBatch(anyListOf(TApiMetaData.class))).thenReturn(new TResult(true));
+
+        TResult result = (TResult) metaDataBatchHandler.handleRequest(metaDataBatch);
+
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals("put fail", result.getMessage());
+    }
+}
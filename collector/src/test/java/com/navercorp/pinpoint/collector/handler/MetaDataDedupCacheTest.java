@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.collector.dao.SqlMetaDataDao;
+import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.dto.TSqlMetaData;
+import com.navercorp.pinpoint.thrift.dto.TStringMetaData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MetaDataDedupCacheTest {
+
+    @Test
+    public void duplicate() {
+        MetaDataDedupCache cache = new MetaDataDedupCache(100, 60000);
+        TSqlMetaData sqlMetaData = new TSqlMetaData("agentId", 1L, 10, "select 1");
+
+        Assert.assertFalse(cache.isDuplicate(sqlMetaData));
+        cache.written(sqlMetaData);
+        Assert.assertTrue(cache.isDuplicate(new TSqlMetaData("agentId", 1L, 10, "select 1")));
+
+        Assert.assertFalse(cache.isDuplicate(new TSqlMetaData("agentId", 1L, 10, "select 2")));
+        Assert.assertFalse(cache.isDuplicate(new TSqlMetaData("agentId", 2L, 10, "select 1")));
+        Assert.assertFalse(cache.isDuplicate(new TApiMetaData("agentId", 1L, 10, "select 1")));
+        Assert.assertFalse(cache.isDuplicate(new TStringMetaData("agentId", 1L, 10, "select 1")));
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(5, cache.getMissCount());
+        Assert.assertEquals(1.0 / 6, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void disable() {
+        MetaDataDedupCache cache = new MetaDataDedupCache(0, 60000);
+        TApiMetaData apiMetaData = new TApiMetaData("agentId", 1L, 10, "api");
+
+        cache.written(apiMetaData);
+        Assert.assertFalse(cache.isEnable());
+        Assert.assertFalse(cache.isDuplicate(apiMetaData));
+        Assert.assertEquals(0, cache.getHitRate(), 0);
+    }
+
+    @Test
+    public void handleRequest() {
+        SqlMetaDataDao sqlMetaDataDao = mock(SqlMetaDataDao.class);
+        SqlMetaDataHandler handler = new SqlMetaDataHandler();
+        handler.setSqlMetaDataDao(sqlMetaDataDao);
+        handler.setMetaDataDedupCache(new MetaDataDedupCache(100, 60000));
+
+        TSqlMetaData sqlMetaData = new TSqlMetaData("agentId", 1L, 10, "select 1");
+        Assert.assertTrue(((TResult) handler.handleRequest(sqlMetaData)).isSuccess());
+        Assert.assertTrue(((TResult) handler.handleRequest(sqlMetaData)).isSuccess());
+
+        verify(sqlMetaDataDao, times(1)).insert(sqlMetaData);
+    }
+
+    @Test
+    public void handleRequest_failure() {
+        SqlMetaDataDao sqlMetaDataDao = mock(SqlMetaDataDao.class);
+        SqlMetaDataHandler handler = new SqlMetaDataHandler();
+        handler.setSqlMetaDataDao(sqlMetaDataDao);
+        handler.setMetaDataDedupCache(new MetaDataDedupCache(100, 60000));
+
+        TSqlMetaData sqlMetaData = new TSqlMetaData("agentId", 1L, 10, "select 1");
+        doThrow(new RuntimeException("hbase error")).when(sqlMetaDataDao).insert(sqlMetaData);
+        Assert.assertFalse(((TResult) handler.handleRequest(sqlMetaData)).isSuccess());
+        Assert.assertFalse(((TResult) handler.handleRequest(sqlMetaData)).isSuccess());
+
+        verify(sqlMetaDataDao, times(2)).insert(sqlMetaData);
+    }
+
+    @Test
+    public void handleBatch() {
+        SqlMetaDataDao sqlMetaDataDao = mock(SqlMetaDataDao.class);
+        SqlMetaDataHandler handler = new SqlMetaDataHandler();
+        handler.setSqlMetaDataDao(sqlMetaDataDao);
+        handler.setMetaDataDedupCache(new MetaDataDedupCache(100, 60000));
+
+        TSqlMetaData sql1 = new TSqlMetaData("agentId", 1L, 1, "select 1");
+        TSqlMetaData sql2 = new TSqlMetaData("agentId", 1L, 2, "select 2");
+        handler.handleRequest(sql1);
+
+        Assert.assertTrue(handler.handleBatch(Arrays.asList(sql1, sql2)).isSuccess());
+        verify(sqlMetaDataDao).insert(Collections.singletonList(sql2));
+
+        Assert.assertTrue(handler.handleBatch(Arrays.asList(sql1, sql2)).isSuccess());
+        verify(sqlMetaDataDao, never()).insert(Arrays.asList(sql1, sql2));
+        verify(sqlMetaDataDao, times(1)).insert(anyListOf(TSqlMetaData.class));
+    }
+}
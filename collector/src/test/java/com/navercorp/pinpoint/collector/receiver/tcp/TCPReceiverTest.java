@@ -44,6 +44,23 @@ public class TCPReceiverTest {
         }
     }
 
+    @Test
+    public void server_workerLane() throws InterruptedException {
+        CollectorConfiguration configuration = createConfiguration();
+        configuration.setTcpWorkerLaneEnable(true);
+        configuration.setTcpWorkerLaneRequestWeight(2);
+        configuration.setTcpWorkerLaneSpanWeight(4);
+        configuration.setTcpWorkerLaneStatWeight(1);
+        configuration.setTcpWorkerLaneDefaultWeight(1);
+
+        TCPReceiver tcpReceiver = new TCPReceiver(configuration, new UdpDispatchHandler());
+        try {
+            tcpReceiver.start();
+        } finally {
+            tcpReceiver.stop();
+        }
+    }
+
     @Test
     public void l4ip() throws UnknownHostException {
         InetAddress byName = InetAddress.getByName("10.118.202.30");
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.tcp;
+
+import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
+import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.io.Header;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.apache.thrift.TBase;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class TCPWorkerLanesTest {
+
+    private final HeaderTBaseSerializer serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+
+    @Test
+    public void getSendLane() throws Exception {
+        TCPWorkerLanes lanes = new TCPWorkerLanes(newExecutorMap());
+
+        Assert.assertEquals(TCPWorkerLanes.Lane.SPAN, lanes.getSendLane(serialize(new TSpan())));
+        Assert.assertEquals(TCPWorkerLanes.Lane.SPAN, lanes.getSendLane(serialize(new TSpanChunk())));
+        Assert.assertEquals(TCPWorkerLanes.Lane.STAT, lanes.getSendLane(serialize(new TAgentStatBatch())));
+        Assert.assertEquals(TCPWorkerLanes.Lane.DEFAULT, lanes.getSendLane(serialize(new TAgentInfo())));
+        Assert.assertEquals(TCPWorkerLanes.Lane.DEFAULT, lanes.getSendLane(ChannelBuffers.wrappedBuffer(new byte[] {1, 2})));
+        Assert.assertEquals(TCPWorkerLanes.Lane.DEFAULT, lanes.getSendLane(ChannelBuffers.wrappedBuffer(new byte[] {1, 2, 0, 40})));
+    }
+
+    @Test
+    public void getSendLane_slice() throws Exception {
+        TCPWorkerLanes lanes = new TCPWorkerLanes(newExecutorMap());
+
+        ChannelBuffer buffer = ChannelBuffers.dynamicBuffer();
+        buffer.writeBytes(new byte[] {0, 0, 0});
+        buffer.writeBytes(serialize(new TSpan()));
+        buffer.skipBytes(3);
+
+        Assert.assertEquals(TCPWorkerLanes.Lane.SPAN, lanes.getSendLane(buffer.slice()));
+    }
+
+    @Test
+    public void getSendLane_chunk() throws Exception {
+        TCPWorkerLanes lanes = new TCPWorkerLanes(newExecutorMap());
+
+        Assert.assertEquals(TCPWorkerLanes.Lane.SPAN, lanes.getSendLane(chunk(new TSpan())));
+        Assert.assertEquals(TCPWorkerLanes.Lane.STAT, lanes.getSendLane(chunk(new TAgentStatBatch())));
+
+        Header chunkHeader = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.getLocator().getChunkHeader();
+        ChannelBuffer empty = ChannelBuffers.buffer(Header.HEADER_SIZE);
+        writeHeader(empty, chunkHeader);
+        Assert.assertEquals(TCPWorkerLanes.Lane.DEFAULT, lanes.getSendLane(empty));
+    }
+
+    @Test
+    public void execute() throws Exception {
+        Map<TCPWorkerLanes.Lane, ExecutorService> executorMap = newExecutorMap();
+        TCPWorkerLanes lanes = new TCPWorkerLanes(executorMap);
+
+        Runnable span = mock(Runnable.class);
+        lanes.executeSend(serialize(new TSpan()), span);
+        verify(executorMap.get(TCPWorkerLanes.Lane.SPAN)).execute(span);
+
+        Runnable request = mock(Runnable.class);
+        lanes.executeRequest(request);
+        verify(executorMap.get(TCPWorkerLanes.Lane.REQUEST)).execute(request);
+
+        Assert.assertEquals(4, lanes.getExecutors().size());
+    }
+
+    @Test
+    public void sharedExecutor() {
+        ExecutorService executor = mock(ExecutorService.class);
+        Map<TCPWorkerLanes.Lane, ExecutorService> executorMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        for (TCPWorkerLanes.Lane lane : TCPWorkerLanes.Lane.values()) {
+            executorMap.put(lane, executor);
+        }
+        TCPWorkerLanes lanes = new TCPWorkerLanes(executorMap);
+
+        Assert.assertEquals(1, lanes.getExecutors().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingLane() {
+        Map<TCPWorkerLanes.Lane, ExecutorService> executorMap = newExecutorMap();
+        executorMap.remove(TCPWorkerLanes.Lane.STAT);
+        new TCPWorkerLanes(executorMap);
+    }
+
+    @Test
+    public void divideThreads() {
+        Map<TCPWorkerLanes.Lane, Integer> weightMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        weightMap.put(TCPWorkerLanes.Lane.REQUEST, 2);
+        weightMap.put(TCPWorkerLanes.Lane.SPAN, 4);
+        weightMap.put(TCPWorkerLanes.Lane.STAT, 1);
+        weightMap.put(TCPWorkerLanes.Lane.DEFAULT, 1);
+
+        Map<TCPWorkerLanes.Lane, Integer> threadMap = TCPWorkerLanes.divideThreads(128, weightMap);
+        Assert.assertEquals(32, (int) threadMap.get(TCPWorkerLanes.Lane.REQUEST));
+        Assert.assertEquals(64, (int) threadMap.get(TCPWorkerLanes.Lane.SPAN));
+        Assert.assertEquals(16, (int) threadMap.get(TCPWorkerLanes.Lane.STAT));
+        Assert.assertEquals(16, (int) threadMap.get(TCPWorkerLanes.Lane.DEFAULT));
+
+        // leftover of the rounding goes to the largest remainder
+        threadMap = TCPWorkerLanes.divideThreads(10, weightMap);
+        Assert.assertEquals(3, (int) threadMap.get(TCPWorkerLanes.Lane.REQUEST));
+        Assert.assertEquals(5, (int) threadMap.get(TCPWorkerLanes.Lane.SPAN));
+        Assert.assertEquals(1, (int) threadMap.get(TCPWorkerLanes.Lane.STAT));
+        Assert.assertEquals(1, (int) threadMap.get(TCPWorkerLanes.Lane.DEFAULT));
+
+        // the minimum of one thread per lane is taken from the largest lane
+        threadMap = TCPWorkerLanes.divideThreads(4, weightMap);
+        for (TCPWorkerLanes.Lane lane : TCPWorkerLanes.Lane.values()) {
+            Assert.assertEquals(1, (int) threadMap.get(lane));
+        }
+
+        for (int threadCount = 4; threadCount <= 64; threadCount++) {
+            Assert.assertEquals(threadCount, sum(TCPWorkerLanes.divideThreads(threadCount, weightMap)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void divideThreads_lessThanLanes() {
+        Map<TCPWorkerLanes.Lane, Integer> weightMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        weightMap.put(TCPWorkerLanes.Lane.REQUEST, 2);
+        weightMap.put(TCPWorkerLanes.Lane.SPAN, 4);
+        weightMap.put(TCPWorkerLanes.Lane.STAT, 1);
+        weightMap.put(TCPWorkerLanes.Lane.DEFAULT, 1);
+        TCPWorkerLanes.divideThreads(2, weightMap);
+    }
+
+    @Test
+    public void divideQueueSize() {
+        Map<TCPWorkerLanes.Lane, Integer> threadMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        threadMap.put(TCPWorkerLanes.Lane.REQUEST, 2);
+        threadMap.put(TCPWorkerLanes.Lane.SPAN, 4);
+        threadMap.put(TCPWorkerLanes.Lane.STAT, 1);
+        threadMap.put(TCPWorkerLanes.Lane.DEFAULT, 1);
+
+        Map<TCPWorkerLanes.Lane, Integer> queueSizeMap = TCPWorkerLanes.divideQueueSize(1024, threadMap);
+        Assert.assertEquals(256, (int) queueSizeMap.get(TCPWorkerLanes.Lane.REQUEST));
+        Assert.assertEquals(512, (int) queueSizeMap.get(TCPWorkerLanes.Lane.SPAN));
+        Assert.assertEquals(128, (int) queueSizeMap.get(TCPWorkerLanes.Lane.STAT));
+        Assert.assertEquals(128, (int) queueSizeMap.get(TCPWorkerLanes.Lane.DEFAULT));
+        Assert.assertEquals(1000, sum(TCPWorkerLanes.divideQueueSize(1000, threadMap)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void divideThreads_invalidWeight() {
+        Map<TCPWorkerLanes.Lane, Integer> weightMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        weightMap.put(TCPWorkerLanes.Lane.REQUEST, 0);
+        weightMap.put(TCPWorkerLanes.Lane.SPAN, 4);
+        weightMap.put(TCPWorkerLanes.Lane.STAT, 1);
+        weightMap.put(TCPWorkerLanes.Lane.DEFAULT, 1);
+        TCPWorkerLanes.divideThreads(8, weightMap);
+    }
+
+    private int sum(Map<TCPWorkerLanes.Lane, Integer> shareMap) {
+        int sum = 0;
+        for (Integer share : shareMap.values()) {
+            sum += share;
+        }
+        return sum;
+    }
+
+    private Map<TCPWorkerLanes.Lane, ExecutorService> newExecutorMap() {
+        Map<TCPWorkerLanes.Lane, ExecutorService> executorMap = new EnumMap<>(TCPWorkerLanes.Lane.class);
+        for (TCPWorkerLanes.Lane lane : TCPWorkerLanes.Lane.values()) {
+            executorMap.put(lane, mock(ExecutorService.class));
+        }
+        return executorMap;
+    }
+
+    private ChannelBuffer chunk(TBase<?, ?> tBase) throws Exception {
+        Header chunkHeader = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.getLocator().getChunkHeader();
+        ChannelBuffer buffer = ChannelBuffers.dynamicBuffer();
+        writeHeader(buffer, chunkHeader);
+        buffer.writeBytes(serialize(tBase));
+        return buffer;
+    }
+
+    private void writeHeader(ChannelBuffer buffer, Header header) {
+        buffer.writeByte(header.getSignature());
+        buffer.writeByte(header.getVersion());
+        buffer.writeShort(header.getType());
+    }
+
+    private ChannelBuffer serialize(TBase<?, ?> tBase) throws Exception {
+        return ChannelBuffers.wrappedBuffer(serializer.serialize(tBase));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.rpc.handler;
+
+import com.navercorp.pinpoint.collector.dao.AgentEventDao;
+import com.navercorp.pinpoint.collector.dao.AgentLifeCycleDao;
+import com.navercorp.pinpoint.common.server.bo.AgentEventBo;
+import com.navercorp.pinpoint.common.server.bo.AgentLifeCycleBo;
+import com.navercorp.pinpoint.common.server.util.AgentEventType;
+import com.navercorp.pinpoint.common.server.util.AgentLifeCycleState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class AgentPingCoalescerTest {
+
+    private static final long START_TIMESTAMP = 1000L;
+
+    private AgentLifeCycleDao agentLifeCycleDao;
+    private AgentEventDao agentEventDao;
+    private AgentPingCoalescer agentPingCoalescer;
+
+    @Before
+    public void setUp() {
+        agentLifeCycleDao = mock(AgentLifeCycleDao.class);
+        agentEventDao = mock(AgentEventDao.class);
+        agentPingCoalescer = new AgentPingCoalescer(agentLifeCycleDao, agentEventDao, 3);
+        agentPingCoalescer.start();
+    }
+
+    @After
+    public void tearDown() {
+        agentPingCoalescer.stop();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void latestLifeCycleStateWritten() {
+        assertTrue(agentPingCoalescer.offer(newLifeCycle("agent1", 2L)));
+        assertTrue(agentPingCoalescer.offer(newLifeCycle("agent1", 3L)));
+        assertTrue(agentPingCoalescer.offer(newLifeCycle("agent1", 1L)));
+        assertTrue(agentPingCoalescer.offer(newLifeCycle("agent2", 1L)));
+
+        agentPingCoalescer.flush();
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(agentLifeCycleDao).insert(captor.capture());
+        List<AgentLifeCycleBo> written = captor.getValue();
+        assertEquals(2, written.size());
+        for (AgentLifeCycleBo agentLifeCycleBo : written) {
+            if (agentLifeCycleBo.getAgentId().equals("agent1")) {
+                assertEquals(3L, agentLifeCycleBo.getEventIdentifier());
+            }
+        }
+        assertEquals(2, agentPingCoalescer.getSavedWriteCount());
+        assertEquals(2, agentPingCoalescer.getWriteCount());
+        verify(agentEventDao, never()).insert(anyListOf(AgentEventBo.class));
+
+        // nothing left
+        agentPingCoalescer.flush();
+        verify(agentLifeCycleDao, times(1)).insert(anyListOf(AgentLifeCycleBo.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void latestPingEventWritten() {
+        assertTrue(agentPingCoalescer.offer(newPingEvent("agent1", 2000L)));
+        assertTrue(agentPingCoalescer.offer(newPingEvent("agent1", 3000L)));
+
+        agentPingCoalescer.flush();
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(agentEventDao).insert(captor.capture());
+        List<AgentEventBo> written = captor.getValue();
+        assertEquals(1, written.size());
+        assertEquals(3000L, written.get(0).getEventTimestamp());
+        assertEquals(1, agentPingCoalescer.getSavedWriteCount());
+    }
+
+    @Test
+    public void overflow() {
+        assertTrue(agentPingCoalescer.offer(newLifeCycle("agent1", 1L)));
+        assertTrue(agentPingCoalescer.offer(newLifeCycle("agent2", 1L)));
+        assertTrue(agentPingCoalescer.offer(newPingEvent("agent1", 2000L)));
+
+        assertFalse(agentPingCoalescer.offer(newLifeCycle("agent3", 1L)));
+        // already queued agents are still coalesced
+        assertTrue(agentPingCoalescer.offer(newLifeCycle("agent1", 2L)));
+        assertEquals(1, agentPingCoalescer.getOverflowCount());
+    }
+
+    @Test
+    public void notQueuedAfterStop() {
+        agentPingCoalescer.stop();
+        assertFalse(agentPingCoalescer.offer(newLifeCycle("agent1", 1L)));
+    }
+
+    private AgentLifeCycleBo newLifeCycle(String agentId, long eventIdentifier) {
+        return new AgentLifeCycleBo(agentId, START_TIMESTAMP, START_TIMESTAMP + eventIdentifier, eventIdentifier, AgentLifeCycleState.RUNNING);
+    }
+
+    private AgentEventBo newPingEvent(String agentId, long eventTimestamp) {
+        return new AgentEventBo(agentId, START_TIMESTAMP, eventTimestamp, AgentEventType.AGENT_PING);
+    }
+}
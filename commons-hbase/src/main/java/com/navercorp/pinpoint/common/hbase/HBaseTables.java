@@ -116,6 +116,9 @@ public final class HBaseTables {
 
     public static final TableName MAP_STATISTICS_SELF_VER2 = TableName.valueOf("ApplicationMapStatisticsSelf_Ver2");
     public static final byte[] MAP_STATISTICS_SELF_VER2_CF_COUNTER = Bytes.toBytes("C");
+    // rolled-up response time counters keyed by 5 minute / 1 hour time slots
+    public static final byte[] MAP_STATISTICS_SELF_VER2_CF_COUNTER_5M = Bytes.toBytes("C5");
+    public static final byte[] MAP_STATISTICS_SELF_VER2_CF_COUNTER_1H = Bytes.toBytes("CH");
 
     public static final TableName HOST_APPLICATION_MAP_VER2 = TableName.valueOf("HostApplicationMap_Ver2");
     public static final byte[] HOST_APPLICATION_MAP_VER2_CF_MAP = Bytes.toBytes("M");
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.common.hbase;
 
 import com.google.common.collect.Lists;
 import com.navercorp.pinpoint.common.hbase.parallel.ParallelResultScanner;
+import com.navercorp.pinpoint.common.hbase.parallel.PartitionMergeResultScanner;
 import com.navercorp.pinpoint.common.hbase.parallel.ScanTaskException;
 import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
@@ -659,6 +660,49 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
         }
     }
 
+    @Override
+    public <T> List<T> findParallelMerged(TableName tableName, Scan scan, AbstractRowKeyDistributor rowKeyDistributor, int limit, RowMapper<T> action, LimitEventHandler limitEventHandler) {
+        final LimitRowMapperResultsExtractor<T> resultsExtractor = new LimitRowMapperResultsExtractor<>(action, limit, limitEventHandler);
+        return findParallelMerged(tableName, scan, rowKeyDistributor, resultsExtractor);
+    }
+
+    @Override
+    public <T> T findParallelMerged(TableName tableName, Scan scan, AbstractRowKeyDistributor rowKeyDistributor, ResultsExtractor<T> action) {
+        if (!this.enableParallelScan) {
+            // DistributedScanner also merges partitions in row key order, one partition at a time
+            return find(tableName, scan, rowKeyDistributor, action);
+        }
+        assertAccessAvailable();
+        try {
+            StopWatch watch = null;
+            if (debugEnabled) {
+                watch = new StopWatch();
+                watch.start();
+            }
+            PartitionMergeResultScanner scanner = new PartitionMergeResultScanner(tableName, getTableFactory(), this.executor, scan, rowKeyDistributor);
+            try {
+                return action.extractData(scanner);
+            } finally {
+                scanner.close();
+                if (debugEnabled) {
+                    logger.debug("PartitionMergeResultScanner scanTime: {}ms", watch.stop());
+                }
+            }
+        } catch (Throwable th) {
+            Throwable throwable = th;
+            if (th instanceof ScanTaskException) {
+                throwable = th.getCause();
+            }
+            if (throwable instanceof Error) {
+                throw ((Error) throwable);
+            }
+            if (throwable instanceof RuntimeException) {
+                throw ((RuntimeException) throwable);
+            }
+            throw new HbaseSystemException((Exception) throwable);
+        }
+    }
+
     protected final <T> T executeParallelDistributedScan(TableName tableName, Scan scan, AbstractRowKeyDistributor rowKeyDistributor, ResultsExtractor<T> action, int numParallelThreads) {
         assertAccessAvailable();
         try {
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.parallel;
+
+import com.navercorp.pinpoint.common.hbase.TableFactory;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Scans every partition of a distributed scan concurrently and merges the partitions in original row key order through a heap.
+ * Each partition fetches one batch ahead of the consumer, and pool threads never block on a full queue,
+ * so all partitions can be scanned at once regardless of the executor size.
+ * A fetch rejected by a saturated executor runs on the calling thread instead.
+ * Closing the scanner stops every partition, so a caller that stops at a limit does not scan further.
+ */
+public class PartitionMergeResultScanner implements ResultScanner {
+
+    private final AbstractRowKeyDistributor keyDistributor;
+    private final Partition[] partitions;
+    private final PriorityQueue<Partition> heap;
+    private boolean initialized = false;
+    private boolean closed = false;
+
+    public PartitionMergeResultScanner(TableName tableName, TableFactory tableFactory, ExecutorService executor, Scan originalScan, AbstractRowKeyDistributor keyDistributor) throws IOException {
+        if (tableName == null) {
+            throw new NullPointerException("tableName must not be null");
+        }
+        if (tableFactory == null) {
+            throw new NullPointerException("tableFactory must not be null");
+        }
+        if (executor == null) {
+            throw new NullPointerException("executor must not be null");
+        }
+        if (originalScan == null) {
+            throw new NullPointerException("originalScan must not be null");
+        }
+        if (keyDistributor == null) {
+            throw new NullPointerException("keyDistributor must not be null");
+        }
+        this.keyDistributor = keyDistributor;
+
+        final int batchSize = Math.max(originalScan.getCaching(), 1);
+        final Scan[] scans = keyDistributor.getDistributedScans(originalScan);
+        this.partitions = new Partition[scans.length];
+        for (int i = 0; i < scans.length; i++) {
+            scans[i].setId(originalScan.getId() + "-" + i);
+            partitions[i] = new Partition(tableName, tableFactory, executor, scans[i], batchSize);
+        }
+        this.heap = new PriorityQueue<>(Math.max(scans.length, 1), newComparator(originalScan.isReversed()));
+
+        boolean started = false;
+        try {
+            for (Partition partition : partitions) {
+                partition.fetch();
+            }
+            started = true;
+        } finally {
+            if (!started) {
+                // release the partitions already opened by earlier fetches
+                close();
+            }
+        }
+    }
+
+    private static Comparator<Partition> newComparator(final boolean reversed) {
+        return new Comparator<Partition>() {
+            @Override
+            public int compare(Partition o1, Partition o2) {
+                final int compare = Bytes.compareTo(o1.currentKey, o2.currentKey);
+                return reversed ? -compare : compare;
+            }
+        };
+    }
+
+    @Override
+    public Result next() throws IOException {
+        if (closed) {
+            return null;
+        }
+        try {
+            if (!initialized) {
+                initialized = true;
+                for (Partition partition : partitions) {
+                    if (partition.advance()) {
+                        heap.add(partition);
+                    }
+                }
+            }
+            final Partition partition = heap.poll();
+            if (partition == null) {
+                return null;
+            }
+            final Result result = partition.current;
+            if (partition.advance()) {
+                heap.add(partition);
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public Result[] next(int nbRows) throws IOException {
+        ArrayList<Result> resultSets = new ArrayList<>(nbRows);
+        for (int i = 0; i < nbRows; i++) {
+            Result next = next();
+            if (next != null) {
+                resultSets.add(next);
+            } else {
+                break;
+            }
+        }
+        return resultSets.toArray(new Result[resultSets.size()]);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Partition partition : partitions) {
+            partition.close();
+        }
+    }
+
+    @Override
+    public Iterator<Result> iterator() {
+        return new Iterator<Result>() {
+            private Result next = null;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = PartitionMergeResultScanner.this.next();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Result next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Result result = next;
+                next = null;
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private class Partition implements Callable<Result[]> {
+
+        private final TableName tableName;
+        private final TableFactory tableFactory;
+        private final ExecutorService executor;
+        private final Scan scan;
+        private final int batchSize;
+
+        // opened by the first fetch, closed once no fetch is pending
+        private Table table;
+        private ResultScanner scanner;
+
+        private Future<Result[]> pending;
+        private Result[] batch = new Result[0];
+        private int batchIndex = 0;
+        private boolean exhausted = false;
+
+        private Result current;
+        private byte[] currentKey;
+
+        private Partition(TableName tableName, TableFactory tableFactory, ExecutorService executor, Scan scan, int batchSize) {
+            this.tableName = tableName;
+            this.tableFactory = tableFactory;
+            this.executor = executor;
+            this.scan = scan;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public Result[] call() throws Exception {
+            if (scanner == null) {
+                table = tableFactory.getTable(tableName);
+                scanner = table.getScanner(scan);
+            }
+            return scanner.next(batchSize);
+        }
+
+        private void fetch() {
+            try {
+                pending = executor.submit(this);
+            } catch (RejectedExecutionException e) {
+                final FutureTask<Result[]> task = new FutureTask<>(this);
+                task.run();
+                pending = task;
+            }
+        }
+
+        /**
+         * @return false if the partition has no more rows
+         */
+        private boolean advance() throws IOException, InterruptedException {
+            if (batchIndex >= batch.length) {
+                if (exhausted || pending == null) {
+                    current = null;
+                    return false;
+                }
+                batch = await();
+                batchIndex = 0;
+                if (batch.length < batchSize) {
+                    exhausted = true;
+                } else {
+                    fetch();
+                }
+                if (batch.length == 0) {
+                    current = null;
+                    return false;
+                }
+            }
+            current = batch[batchIndex++];
+            currentKey = keyDistributor.getOriginalKey(current.getRow());
+            return true;
+        }
+
+        private Result[] await() throws IOException, InterruptedException {
+            final Future<Result[]> future = pending;
+            pending = null;
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new ScanTaskException(cause);
+            }
+        }
+
+        private void close() {
+            final Future<Result[]> future = pending;
+            pending = null;
+            if (future != null && !future.cancel(false)) {
+                // a fetch is running, wait for it before closing the scanner it uses
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ignore) {
+                    // already failed
+                }
+            }
+            if (scanner != null) {
+                scanner.close();
+            }
+            if (table != null) {
+                tableFactory.releaseTable(table);
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.hbase.parallel;
+
+import com.navercorp.pinpoint.common.hbase.TableFactory;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import com.sematext.hbase.wd.RowKeyDistributorByOneBytePrefix;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PartitionMergeResultScannerTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("test");
+    private static final byte[] FAMILY = Bytes.toBytes("F");
+
+    private final AbstractRowKeyDistributor keyDistributor = new RowKeyDistributorByOneBytePrefix((byte) 2);
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(1);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void mergeInRowKeyOrder() throws Exception {
+        TableFactory tableFactory = newTableFactory(Arrays.asList("a", "c", "e", "g"), Arrays.asList("b", "d", "f"), false);
+        Scan scan = new Scan();
+        scan.setCaching(2);
+
+        PartitionMergeResultScanner scanner = new PartitionMergeResultScanner(TABLE_NAME, tableFactory, executor, scan, keyDistributor);
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f", "g"), readAll(scanner));
+        scanner.close();
+    }
+
+    @Test
+    public void mergeReversed() throws Exception {
+        TableFactory tableFactory = newTableFactory(Arrays.asList("e", "c", "a"), Arrays.asList("f", "d", "b"), true);
+        Scan scan = new Scan();
+        scan.setCaching(1);
+        scan.setReversed(true);
+
+        PartitionMergeResultScanner scanner = new PartitionMergeResultScanner(TABLE_NAME, tableFactory, executor, scan, keyDistributor);
+        Assert.assertEquals(Arrays.asList("f", "e", "d", "c", "b", "a"), readAll(scanner));
+        scanner.close();
+    }
+
+    @Test
+    public void closeStopsPartitions() throws Exception {
+        ResultScanner partitionScanner = mock(ResultScanner.class);
+        when(partitionScanner.next(anyInt())).thenReturn(new Result[] {createResult((byte) 0, "a")});
+        Table table = mock(Table.class);
+        when(table.getScanner(any(Scan.class))).thenReturn(partitionScanner);
+        TableFactory tableFactory = mock(TableFactory.class);
+        when(tableFactory.getTable(TABLE_NAME)).thenReturn(table);
+
+        Scan scan = new Scan();
+        scan.setCaching(1);
+        PartitionMergeResultScanner scanner = new PartitionMergeResultScanner(TABLE_NAME, tableFactory, executor, scan, keyDistributor);
+        Assert.assertNotNull(scanner.next());
+        scanner.close();
+
+        Assert.assertNull(scanner.next());
+        verify(tableFactory, times(2)).releaseTable(table);
+    }
+
+    @Test
+    public void runFetchOnCallerWhenRejected() throws Exception {
+        TableFactory tableFactory = newTableFactory(Arrays.asList("a", "c"), Arrays.asList("b", "d"), false);
+        Scan scan = new Scan();
+        scan.setCaching(1);
+        ExecutorService rejectingExecutor = new ThreadPoolExecutor(0, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>());
+        rejectingExecutor.shutdown();
+
+        PartitionMergeResultScanner scanner = new PartitionMergeResultScanner(TABLE_NAME, tableFactory, rejectingExecutor, scan, keyDistributor);
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), readAll(scanner));
+        scanner.close();
+    }
+
+    @Test
+    public void releaseOpenedPartitionsWhenConstructorFails() throws Exception {
+        TableFactory tableFactory = newTableFactory(Arrays.asList("a"), Arrays.asList("b"), false);
+        ExecutorService failingExecutor = mock(ExecutorService.class);
+        when(failingExecutor.submit(any(Callable.class))).thenAnswer(new Answer<Future<?>>() {
+            private int count = 0;
+
+            @Override
+            public Future<?> answer(InvocationOnMock invocation) throws Throwable {
+                if (count++ > 0) {
+                    throw new IllegalStateException("submit failed");
+                }
+                FutureTask<?> task = new FutureTask<>((Callable<?>) invocation.getArguments()[0]);
+                task.run();
+                return task;
+            }
+        });
+
+        try {
+            new PartitionMergeResultScanner(TABLE_NAME, tableFactory, failingExecutor, new Scan(), keyDistributor);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+        }
+        verify(tableFactory, times(1)).getTable(TABLE_NAME);
+        verify(tableFactory, times(1)).releaseTable(any(Table.class));
+    }
+
+    private List<String> readAll(PartitionMergeResultScanner scanner) {
+        List<String> keys = new ArrayList<>();
+        for (Result result : scanner) {
+            keys.add(Bytes.toString(keyDistributor.getOriginalKey(result.getRow())));
+        }
+        return keys;
+    }
+
+    private TableFactory newTableFactory(final List<String> partition0, final List<String> partition1, boolean reversed) throws Exception {
+        Table table = mock(Table.class);
+        when(table.getScanner(any(Scan.class))).thenAnswer(new Answer<ResultScanner>() {
+            @Override
+            public ResultScanner answer(InvocationOnMock invocation) throws Throwable {
+                Scan scan = (Scan) invocation.getArguments()[0];
+                byte prefix = scan.getStartRow()[0];
+                List<String> keys = prefix == 0 ? partition0 : partition1;
+                List<Result> results = new ArrayList<>();
+                for (String key : keys) {
+                    results.add(createResult(prefix, key));
+                }
+                return new ListResultScanner(results);
+            }
+        });
+        TableFactory tableFactory = mock(TableFactory.class);
+        when(tableFactory.getTable(TABLE_NAME)).thenReturn(table);
+        return tableFactory;
+    }
+
+    private Result createResult(byte prefix, String key) {
+        byte[] row = Bytes.add(new byte[] {prefix}, Bytes.toBytes(key));
+        Cell cell = new KeyValue(row, FAMILY, Bytes.toBytes("q"), Bytes.toBytes(key));
+        return Result.create(Collections.singletonList(cell));
+    }
+
+    private static class ListResultScanner implements ResultScanner {
+        private final List<Result> results;
+        private int index = 0;
+
+        private ListResultScanner(List<Result> results) {
+            this.results = results;
+        }
+
+        @Override
+        public Result next() {
+            if (index >= results.size()) {
+                return null;
+            }
+            return results.get(index++);
+        }
+
+        @Override
+        public Result[] next(int nbRows) {
+            List<Result> next = new ArrayList<>();
+            for (int i = 0; i < nbRows && index < results.size(); i++) {
+                next.add(results.get(index++));
+            }
+            return next.toArray(new Result[next.size()]);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Iterator<Result> iterator() {
+            return results.iterator();
+        }
+    }
+}
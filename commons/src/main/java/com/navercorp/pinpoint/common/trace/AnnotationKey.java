@@ -47,6 +47,7 @@ import static com.navercorp.pinpoint.common.trace.AnnotationKeyProperty.*;
  * <tr><td>-50</td><td>Exception</td></tr>
  * <tr><td>-51</td><td>ExceptionClass</td></tr>
  * <tr><td>-100</td><td>Asynchronous Invocation</td></tr>
+ * <tr><td>-110</td><td>Stack Sample</td></tr>
  * <tr><td>-9999</td><td>UNKNOWN</td></tr>
  * 
  * <tr><td>12</td><td>API</td></tr>
@@ -192,4 +193,6 @@ public interface AnnotationKey {
 
     AnnotationKey ASYNC = AnnotationKeyFactory.of(-100, "Asynchronous Invocation", VIEW_IN_RECORD_SET);
 
+    AnnotationKey STACK_SAMPLE = AnnotationKeyFactory.of(-110, "Stack Sample", VIEW_IN_RECORD_SET);
+
 }
\ No newline at end of file
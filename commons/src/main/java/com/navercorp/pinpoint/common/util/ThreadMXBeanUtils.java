@@ -92,6 +92,19 @@ public final class ThreadMXBeanUtils {
         }
     }
 
+    /**
+     * dumps several threads in a single call, which is cheaper than calling {@link #findThread(long, int)} for each of them
+     */
+    public static ThreadInfo[] findThread(long[] ids, int stackTraceMaxDepth) {
+        Asserts.notNull(ids, "ids may not be null.");
+
+        if (stackTraceMaxDepth <= 0) {
+            return THREAD_MX_BEAN.getThreadInfo(ids);
+        } else {
+            return THREAD_MX_BEAN.getThreadInfo(ids, stackTraceMaxDepth);
+        }
+    }
+
     public static List<ThreadInfo> findThread(String threadName) {
         Asserts.notNull(threadName, "threadName may not be null.");
 
@@ -14,4 +14,14 @@ public interface ClassFileTransformerDispatcher extends ClassFileTransformer {
     @Override
     byte[] transform(ClassLoader classLoader, String classInternalName, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer) throws IllegalClassFormatException;
 
+    /**
+     * @return number of classes returned without invoking a transformer
+     */
+    long getFilteredClassCount();
+
+    /**
+     * @return number of classes handed to a transformer
+     */
+    long getTransformedClassCount();
+
 }
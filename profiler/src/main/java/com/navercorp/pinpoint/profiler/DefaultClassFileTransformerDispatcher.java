@@ -18,9 +18,11 @@ package com.navercorp.pinpoint.profiler;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.security.ProtectionDomain;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.inject.Inject;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.config.SkipFilter;
 import com.navercorp.pinpoint.bootstrap.instrument.DynamicTransformTrigger;
 import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 import com.navercorp.pinpoint.profiler.instrument.transformer.DebugTransformerRegistry;
@@ -40,6 +42,9 @@ import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
  * @author jaehong.kim
  */
 public class DefaultClassFileTransformerDispatcher implements ClassFileTransformerDispatcher {
+
+    private static final String FAST_REJECT_ENABLE = "profiler.transform.fastreject.enable";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
@@ -52,6 +57,11 @@ public class DefaultClassFileTransformerDispatcher implements ClassFileTransform
 
     private final ClassFileFilter pinpointClassFilter;
     private final ClassFileFilter unmodifiableFilter;
+    // null if disabled
+    private final ClassFileFilter fastRejectFilter;
+
+    private final AtomicLong filteredClassCount = new AtomicLong();
+    private final AtomicLong transformedClassCount = new AtomicLong();
 
     @Inject
     public DefaultClassFileTransformerDispatcher(ProfilerConfig profilerConfig, PluginContextLoadResult pluginContextLoadResult, InstrumentEngine instrumentEngine,
@@ -74,14 +84,31 @@ public class DefaultClassFileTransformerDispatcher implements ClassFileTransform
         this.pinpointClassFilter = new PinpointClassFilter(agentClassLoader);
         this.unmodifiableFilter = new UnmodifiableClassFilter();
 
-        this.transformerRegistry = createTransformerRegistry(pluginContextLoadResult);
+        final DefaultTransformerRegistry transformerRegistry = createTransformerRegistry(pluginContextLoadResult);
+        this.transformerRegistry = transformerRegistry;
+        this.fastRejectFilter = createFastRejectFilter(profilerConfig, transformerRegistry);
         this.dynamicTransformerRegistry = dynamicTransformerRegistry;
     }
 
+    private ClassFileFilter createFastRejectFilter(ProfilerConfig profilerConfig, DefaultTransformerRegistry transformerRegistry) {
+        final boolean fastRejectEnable = profilerConfig.readBoolean(FAST_REJECT_ENABLE, true);
+        logger.info("{}:{}", FAST_REJECT_ENABLE, fastRejectEnable);
+        if (!fastRejectEnable) {
+            return null;
+        }
+        // debug transformer(profiler.include) may match any class
+        if (!(profilerConfig.getProfilableClassFilter() instanceof SkipFilter)) {
+            logger.info("fast reject filter disabled. profilableClassFilter:{}", profilerConfig.getProfilableClassFilter());
+            return null;
+        }
+        return new FastRejectClassFilter(transformerRegistry.getClassInternalNames());
+    }
+
 
     @Override
     public byte[] transform(ClassLoader classLoader, String classInternalName, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer) throws IllegalClassFormatException {
         if (!pinpointClassFilter.accept(classLoader, classInternalName, classBeingRedefined, protectionDomain, classFileBuffer)) {
+            filteredClassCount.incrementAndGet();
             return null;
         }
 
@@ -90,7 +117,15 @@ public class DefaultClassFileTransformerDispatcher implements ClassFileTransform
             return transform0(classLoader, classInternalName, classBeingRedefined, protectionDomain, classFileBuffer, dynamicTransformer);
         }
 
+        if (fastRejectFilter != null) {
+            if (!fastRejectFilter.accept(classLoader, classInternalName, classBeingRedefined, protectionDomain, classFileBuffer)) {
+                filteredClassCount.incrementAndGet();
+                return null;
+            }
+        }
+
         if (!unmodifiableFilter.accept(classLoader, classInternalName, classBeingRedefined, protectionDomain, classFileBuffer)) {
+            filteredClassCount.incrementAndGet();
             return null;
         }
 
@@ -100,6 +135,7 @@ public class DefaultClassFileTransformerDispatcher implements ClassFileTransform
             // TODO What if a modifier is duplicated?
             transformer = this.debugTransformerRegistry.findTransformer(classInternalName);
             if (transformer == null) {
+                filteredClassCount.incrementAndGet();
                 return null;
             }
         }
@@ -108,6 +144,7 @@ public class DefaultClassFileTransformerDispatcher implements ClassFileTransform
     }
 
     private byte[] transform0(ClassLoader classLoader, String classInternalName, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer, ClassFileTransformer transformer) {
+        transformedClassCount.incrementAndGet();
         final String className = JavaAssistUtils.jvmNameToJavaName(classInternalName);
 
         if (isDebug) {
@@ -149,7 +186,17 @@ public class DefaultClassFileTransformerDispatcher implements ClassFileTransform
         }
     }
 
-    private TransformerRegistry createTransformerRegistry(PluginContextLoadResult pluginContexts) {
+    @Override
+    public long getFilteredClassCount() {
+        return filteredClassCount.get();
+    }
+
+    @Override
+    public long getTransformedClassCount() {
+        return transformedClassCount.get();
+    }
+
+    private DefaultTransformerRegistry createTransformerRegistry(PluginContextLoadResult pluginContexts) {
         DefaultTransformerRegistry registry = new DefaultTransformerRegistry();
 
         for (ClassFileTransformer transformer : pluginContexts.getClassFileTransformer()) {
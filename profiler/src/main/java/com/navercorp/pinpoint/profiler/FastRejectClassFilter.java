@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler;
+
+import com.navercorp.pinpoint.profiler.instrument.transformer.ClassNameBloomFilter;
+import com.navercorp.pinpoint.profiler.instrument.transformer.PackageNameTrie;
+
+import java.security.ProtectionDomain;
+import java.util.Collection;
+
+/**
+ * Skips classes that can not have a registered transformer.
+ * The package trie rejects most classes within the first few characters, and the bloom filter rejects
+ * the remaining classes living in instrumented packages. False positives fall through to the registry lookup.
+ */
+public class FastRejectClassFilter implements ClassFileFilter {
+
+    private final PackageNameTrie packageNameTrie;
+    private final ClassNameBloomFilter classNameBloomFilter;
+
+    public FastRejectClassFilter(Collection<String> classInternalNames) {
+        if (classInternalNames == null) {
+            throw new NullPointerException("classInternalNames must not be null");
+        }
+        this.packageNameTrie = new PackageNameTrie(classInternalNames);
+        this.classNameBloomFilter = new ClassNameBloomFilter(classInternalNames);
+    }
+
+    @Override
+    public boolean accept(ClassLoader classLoader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer) {
+        if (className == null) {
+            return SKIP;
+        }
+        if (!packageNameTrie.containsPackageOf(className)) {
+            return SKIP;
+        }
+        if (!classNameBloomFilter.mightContain(className)) {
+            return SKIP;
+        }
+        return CONTINUE;
+    }
+}
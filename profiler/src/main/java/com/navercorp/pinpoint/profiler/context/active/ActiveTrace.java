@@ -27,7 +27,11 @@ import com.navercorp.pinpoint.profiler.context.Span;
  */
 public class ActiveTrace {
 
+    static final int NO_SLOT = -1;
+
     private final Trace trace;
+    // slot of ThreadSlotActiveTraceRepository holding this trace
+    private volatile int slotIndex = NO_SLOT;
 
     public ActiveTrace(Trace trace) {
         if (trace == null) {
@@ -36,6 +40,14 @@ public class ActiveTrace {
         this.trace = trace;
     }
 
+    int getSlotIndex() {
+        return slotIndex;
+    }
+
+    void setSlotIndex(int slotIndex) {
+        this.slotIndex = slotIndex;
+    }
+
     public long getStartTime() {
         return this.trace.getStartTime();
     }
@@ -31,6 +31,8 @@ public class ActiveTraceFactory implements TraceFactory, TraceFactoryWrapper {
 
     private final TraceFactory delegate;
     private final ActiveTraceRepository activeTraceRepository;
+    // ActiveTrace attached by the current thread, so that detach does not look it up by id
+    private final ThreadLocal<ActiveTrace> currentActiveTrace = new ThreadLocal<ActiveTrace>();
 
     private ActiveTraceFactory(TraceFactory delegate, ActiveTraceRepository activeTraceRepository) {
         if (delegate == null) {
@@ -132,15 +134,22 @@ public class ActiveTraceFactory implements TraceFactory, TraceFactoryWrapper {
         if (trace == null) {
             return;
         }
-        this.activeTraceRepository.put(new ActiveTrace(trace));
+        final ActiveTrace activeTrace = new ActiveTrace(trace);
+        this.activeTraceRepository.put(activeTrace);
+        this.currentActiveTrace.set(activeTrace);
     }
 
     private void detachTrace(Trace trace) {
         if (trace == null) {
             return;
         }
-        final long id = trace.getId();
-        this.activeTraceRepository.remove(id);
+        final ActiveTrace activeTrace = this.currentActiveTrace.get();
+        if (activeTrace == null || activeTrace.getId() != trace.getId()) {
+            // not attached by this thread (e.g. continueTraceObject(Trace))
+            return;
+        }
+        this.currentActiveTrace.remove();
+        this.activeTraceRepository.remove(activeTrace);
     }
 
 }
@@ -62,9 +62,9 @@ public class ActiveTraceHistogramFactory {
 
         long currentTime = System.currentTimeMillis();
 
-        List<ActiveTraceInfo> collectedActiveTraceInfo = activeTraceRepository.collect();
-        for (ActiveTraceInfo activeTraceInfo : collectedActiveTraceInfo) {
-            HistogramSlot slot = histogramSchema.findHistogramSlot((int) (currentTime - activeTraceInfo.getStartTime()), false);
+        final long[] collectedStartTime = activeTraceRepository.collectStartTime();
+        for (long startTime : collectedStartTime) {
+            HistogramSlot slot = histogramSchema.findHistogramSlot((int) (currentTime - startTime), false);
             mappedSlot.get(slot.getSlotType()).incrementAndGet();
         }
 
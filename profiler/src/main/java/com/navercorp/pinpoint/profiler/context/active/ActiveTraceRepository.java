@@ -27,6 +27,16 @@ public interface ActiveTraceRepository {
 
     ActiveTrace remove(Long key);
 
+    /**
+     * Removes the given trace put by {@link #put(ActiveTrace)}, without looking it up by id.
+     */
+    ActiveTrace remove(ActiveTrace activeTrace);
+
     List<ActiveTraceInfo> collect();
 
+    /**
+     * @return start times of started active traces, cheaper than {@link #collect()} when only elapsed time is needed
+     */
+    long[] collectStartTime();
+
 }
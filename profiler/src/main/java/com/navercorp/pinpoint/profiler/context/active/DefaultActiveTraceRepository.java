@@ -64,6 +64,11 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
         return this.activeTraceInfoMap.remove(key);
     }
 
+    @Override
+    public ActiveTrace remove(ActiveTrace activeTrace) {
+        return this.activeTraceInfoMap.remove(activeTrace.getId());
+    }
+
     // @ThreadSafe
     @Override
     public List<ActiveTraceInfo> collect() {
@@ -86,4 +91,29 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
         return collectData;
     }
 
+    // @ThreadSafe
+    @Override
+    public long[] collectStartTime() {
+        final Collection<ActiveTrace> copied = this.activeTraceInfoMap.values();
+        final long[] buffer = new long[copied.size()];
+        int size = 0;
+        for (ActiveTrace trace : copied) {
+            final long startTime = trace.getStartTime();
+            // not started
+            if (startTime > 0) {
+                if (size == buffer.length) {
+                    // grown while iterating
+                    break;
+                }
+                buffer[size++] = startTime;
+            }
+        }
+        if (size == buffer.length) {
+            return buffer;
+        }
+        final long[] result = new long[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size {@link ActiveTraceRepository} where every thread owns one slot.
+ * put/remove only write the slot of the current thread, and collect scans the slots without locks,
+ * so there is no map churn per request. Slots of dead threads are reclaimed when a new thread needs one.
+ * The slot index is kept on the {@link ActiveTrace}, so {@link #remove(ActiveTrace)} never scans the slots.
+ */
+public class ThreadSlotActiveTraceRepository implements ActiveTraceRepository {
+
+    private static final int NOT_ASSIGNED = ActiveTrace.NO_SLOT;
+    private static final long NOT_STARTED = 0;
+    private static final long ASSIGN_RETRY_INTERVAL = 1000;
+
+    private final int slotSize;
+
+    private final AtomicReferenceArray<ActiveTrace> activeTraces;
+    // cached start time of activeTraces. NOT_STARTED if empty or not resolved yet
+    private final AtomicLongArray startTimes;
+    private final AtomicReferenceArray<WeakReference<Thread>> slotOwners;
+
+    // upper bound of assigned slots. collect never scans beyond this index
+    private final AtomicInteger slotHighWaterMark = new AtomicInteger();
+    private final AtomicLong droppedTraceCount = new AtomicLong();
+
+    private final ThreadLocal<SlotIndex> slotIndex = new ThreadLocal<SlotIndex>() {
+        @Override
+        protected SlotIndex initialValue() {
+            return new SlotIndex();
+        }
+    };
+
+    public ThreadSlotActiveTraceRepository(int slotSize) {
+        if (slotSize <= 0) {
+            throw new IllegalArgumentException("slotSize must be positive");
+        }
+        this.slotSize = slotSize;
+        this.activeTraces = new AtomicReferenceArray<ActiveTrace>(slotSize);
+        this.startTimes = new AtomicLongArray(slotSize);
+        this.slotOwners = new AtomicReferenceArray<WeakReference<Thread>>(slotSize);
+    }
+
+    @Override
+    public void put(ActiveTrace activeTrace) {
+        final int index = currentThreadSlot();
+        if (index == NOT_ASSIGNED) {
+            droppedTraceCount.incrementAndGet();
+            return;
+        }
+        activeTrace.setSlotIndex(index);
+        this.activeTraces.set(index, activeTrace);
+        this.startTimes.set(index, activeTrace.getStartTime());
+    }
+
+    @Override
+    public ActiveTrace remove(ActiveTrace activeTrace) {
+        final int index = activeTrace.getSlotIndex();
+        if (index == NOT_ASSIGNED) {
+            // dropped by put
+            return null;
+        }
+        if (this.activeTraces.compareAndSet(index, activeTrace, null)) {
+            this.startTimes.set(index, NOT_STARTED);
+            return activeTrace;
+        }
+        return null;
+    }
+
+    /**
+     * Only looks at the slot of the current thread.
+     * Traces put by another thread are removed with {@link #remove(ActiveTrace)}.
+     */
+    @Override
+    public ActiveTrace remove(Long key) {
+        final int index = slotIndex.get().index;
+        if (index == NOT_ASSIGNED) {
+            return null;
+        }
+        return removeIfMatch(index, key);
+    }
+
+    private ActiveTrace removeIfMatch(int index, long id) {
+        final ActiveTrace activeTrace = this.activeTraces.get(index);
+        if (activeTrace == null || activeTrace.getId() != id) {
+            return null;
+        }
+        if (this.activeTraces.compareAndSet(index, activeTrace, null)) {
+            this.startTimes.set(index, NOT_STARTED);
+            return activeTrace;
+        }
+        return null;
+    }
+
+    // @ThreadSafe
+    @Override
+    public List<ActiveTraceInfo> collect() {
+        final int highWaterMark = slotHighWaterMark.get();
+        final List<ActiveTraceInfo> collectData = new ArrayList<ActiveTraceInfo>();
+        for (int i = 0; i < highWaterMark; i++) {
+            final ActiveTrace trace = this.activeTraces.get(i);
+            if (trace == null) {
+                continue;
+            }
+            final long startTime = trace.getStartTime();
+            // not started
+            if (startTime > 0) {
+                if (trace.isSampled()) {
+                    collectData.add(new ActiveTraceInfo(trace.getId(), startTime, trace.getBindThread(), true, trace.getTransactionId(), trace.getEntryPoint()));
+                } else {
+                    // clear Trace reference
+                    collectData.add(new ActiveTraceInfo(trace.getId(), startTime, trace.getBindThread()));
+                }
+            }
+        }
+        return collectData;
+    }
+
+    // @ThreadSafe
+    @Override
+    public long[] collectStartTime() {
+        final int highWaterMark = slotHighWaterMark.get();
+        final long[] buffer = new long[highWaterMark];
+        int size = 0;
+        for (int i = 0; i < highWaterMark; i++) {
+            final long startTime = getStartTime(i);
+            // not started
+            if (startTime > 0) {
+                buffer[size++] = startTime;
+            }
+        }
+        if (size == buffer.length) {
+            return buffer;
+        }
+        final long[] result = new long[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+
+    private long getStartTime(int index) {
+        final long startTime = this.startTimes.get(index);
+        if (startTime != NOT_STARTED) {
+            return startTime;
+        }
+        final ActiveTrace trace = this.activeTraces.get(index);
+        if (trace == null) {
+            return NOT_STARTED;
+        }
+        final long resolvedStartTime = trace.getStartTime();
+        if (resolvedStartTime > 0) {
+            // only cache if the slot still holds the same trace
+            if (this.activeTraces.get(index) == trace) {
+                this.startTimes.compareAndSet(index, NOT_STARTED, resolvedStartTime);
+            }
+        }
+        return resolvedStartTime;
+    }
+
+    public long getDroppedTraceCount() {
+        return droppedTraceCount.get();
+    }
+
+    private int currentThreadSlot() {
+        final SlotIndex slotIndex = this.slotIndex.get();
+        if (slotIndex.index == NOT_ASSIGNED) {
+            // avoid scanning full slots on every request
+            final long currentTime = System.currentTimeMillis();
+            if (currentTime < slotIndex.nextAssignTime) {
+                return NOT_ASSIGNED;
+            }
+            slotIndex.index = assignSlot(Thread.currentThread());
+            if (slotIndex.index == NOT_ASSIGNED) {
+                slotIndex.nextAssignTime = currentTime + ASSIGN_RETRY_INTERVAL;
+            }
+        }
+        return slotIndex.index;
+    }
+
+    private int assignSlot(Thread thread) {
+        final WeakReference<Thread> owner = new WeakReference<Thread>(thread);
+        for (int i = 0; i < slotSize; i++) {
+            final WeakReference<Thread> currentOwner = slotOwners.get(i);
+            if (!isReclaimable(currentOwner)) {
+                continue;
+            }
+            if (slotOwners.compareAndSet(i, currentOwner, owner)) {
+                // clear leftovers of a dead thread
+                this.activeTraces.set(i, null);
+                this.startTimes.set(i, NOT_STARTED);
+                updateHighWaterMark(i + 1);
+                return i;
+            }
+        }
+        return NOT_ASSIGNED;
+    }
+
+    private boolean isReclaimable(WeakReference<Thread> owner) {
+        if (owner == null) {
+            return true;
+        }
+        final Thread thread = owner.get();
+        return thread == null || !thread.isAlive();
+    }
+
+    private void updateHighWaterMark(int newHighWaterMark) {
+        while (true) {
+            final int current = slotHighWaterMark.get();
+            if (current >= newHighWaterMark) {
+                return;
+            }
+            if (slotHighWaterMark.compareAndSet(current, newHighWaterMark)) {
+                return;
+            }
+        }
+    }
+
+    private static class SlotIndex {
+        private int index = NOT_ASSIGNED;
+        private long nextAssignTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadSlotActiveTraceRepository{" +
+                "slotSize=" + slotSize +
+                ", slotHighWaterMark=" + slotHighWaterMark.get() +
+                ", droppedTraceCount=" + droppedTraceCount.get() +
+                '}';
+    }
+}
@@ -26,6 +26,7 @@ import com.navercorp.pinpoint.bootstrap.context.ServerMetaDataHolder;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.instrument.DynamicTransformTrigger;
 import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.JdbcContext;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
@@ -63,9 +64,11 @@ import com.navercorp.pinpoint.profiler.context.provider.AgentStartTimeProvider;
 import com.navercorp.pinpoint.profiler.context.provider.ApiMetaDataServiceProvider;
 import com.navercorp.pinpoint.profiler.context.provider.ApplicationServerTypeProvider;
 import com.navercorp.pinpoint.profiler.context.provider.ClassFileTransformerDispatcherProvider;
+import com.navercorp.pinpoint.profiler.context.provider.CollectorRebalancerProvider;
 import com.navercorp.pinpoint.profiler.context.provider.CommandDispatcherProvider;
 import com.navercorp.pinpoint.profiler.context.provider.DataSourceMonitorRegistryServiceProvider;
 import com.navercorp.pinpoint.profiler.context.provider.DynamicTransformTriggerProvider;
+import com.navercorp.pinpoint.profiler.context.provider.ClassHierarchyMetadataCacheProvider;
 import com.navercorp.pinpoint.profiler.context.provider.InstrumentEngineProvider;
 import com.navercorp.pinpoint.profiler.context.provider.JdbcUrlParsingServiceProvider;
 import com.navercorp.pinpoint.profiler.context.provider.JvmInformationProvider;
@@ -75,12 +78,15 @@ import com.navercorp.pinpoint.profiler.context.provider.PinpointClientProvider;
 import com.navercorp.pinpoint.profiler.context.provider.PluginContextLoadResultProvider;
 import com.navercorp.pinpoint.profiler.context.provider.SamplerProvider;
 import com.navercorp.pinpoint.profiler.context.provider.ServerMetaDataHolderProvider;
+import com.navercorp.pinpoint.profiler.context.provider.SpanDataSenderProvider;
+import com.navercorp.pinpoint.profiler.context.provider.SpanDataSpoolProvider;
+import com.navercorp.pinpoint.profiler.context.provider.StackSamplerProvider;
+import com.navercorp.pinpoint.profiler.context.provider.StatDataSenderProvider;
+import com.navercorp.pinpoint.profiler.context.provider.StatDataSpoolProvider;
 import com.navercorp.pinpoint.profiler.context.provider.StorageFactoryProvider;
 import com.navercorp.pinpoint.profiler.context.provider.TcpDataSenderProvider;
 import com.navercorp.pinpoint.profiler.context.provider.TraceContextProvider;
 import com.navercorp.pinpoint.profiler.context.provider.TraceFactoryProvider;
-import com.navercorp.pinpoint.profiler.context.provider.UdpSpanDataSenderProvider;
-import com.navercorp.pinpoint.profiler.context.provider.UdpStatDataSenderProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.activethread.ActiveTraceMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.activethread.ActiveTraceMetricProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.cpu.CpuLoadMetricCollectorProvider;
@@ -90,6 +96,9 @@ import com.navercorp.pinpoint.profiler.context.provider.stat.datasource.DataSour
 import com.navercorp.pinpoint.profiler.context.provider.stat.jvmgc.GarbageCollectorMetricProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.jvmgc.JvmGcMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.jvmgc.MemoryMetricProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.stacksampling.StackSamplingMetricCollectorProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.dataspool.DataSpoolMetricCollectorProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.downsampling.DownsampledStatMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.transaction.TransactionMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.transaction.TransactionMetricProvider;
 import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
@@ -108,6 +117,9 @@ import com.navercorp.pinpoint.profiler.monitor.collector.activethread.ActiveTrac
 import com.navercorp.pinpoint.profiler.monitor.collector.cpu.CpuLoadMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.datasource.DataSourceMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.stacksampling.StackSamplingMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.dataspool.DataSpoolMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.downsampling.DownsampledStatMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.transaction.TransactionMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.metric.activethread.ActiveTraceMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetric;
@@ -116,10 +128,13 @@ import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.gc.GarbageCollectorMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.memory.MemoryMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetric;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.StackSampler;
 import com.navercorp.pinpoint.profiler.plugin.PluginContextLoadResult;
 import com.navercorp.pinpoint.profiler.receiver.CommandDispatcher;
+import com.navercorp.pinpoint.profiler.sender.CollectorRebalancer;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
@@ -188,6 +203,7 @@ public class ApplicationContextModule extends AbstractModule {
         bindTraceComponent();
 
         bind(ActiveTraceRepository.class).toProvider(ActiveTraceRepositoryProvider.class).in(Scopes.SINGLETON);
+        bind(StackSampler.class).toProvider(StackSamplerProvider.class).in(Scopes.SINGLETON);
 
         bind(PluginContextLoadResult.class).toProvider(PluginContextLoadResultProvider.class).in(Scopes.SINGLETON);
 
@@ -196,6 +212,7 @@ public class ApplicationContextModule extends AbstractModule {
 
         bind(AgentInformation.class).toProvider(AgentInformationProvider.class).in(Scopes.SINGLETON);
 
+        bind(ClassHierarchyMetadataCache.class).toProvider(ClassHierarchyMetadataCacheProvider.class).in(Scopes.SINGLETON);
         bind(InstrumentEngine.class).toProvider(InstrumentEngineProvider.class).in(Scopes.SINGLETON);
         bind(ObjectBinderFactory.class).toProvider(ObjectBinderFactoryProvider.class).in(Scopes.SINGLETON);
         bind(ClassFileTransformerDispatcher.class).toProvider(ClassFileTransformerDispatcherProvider.class).in(Scopes.SINGLETON);
@@ -228,13 +245,18 @@ public class ApplicationContextModule extends AbstractModule {
         bind(PinpointClientFactory.class).toProvider(PinpointClientFactoryProvider.class).in(Scopes.SINGLETON);
         bind(EnhancedDataSender.class).toProvider(TcpDataSenderProvider.class).in(Scopes.SINGLETON);
         bind(PinpointClient.class).toProvider(PinpointClientProvider.class).in(Scopes.SINGLETON);
+        bind(CollectorRebalancer.class).toProvider(CollectorRebalancerProvider.class).in(Scopes.SINGLETON);
 
         bind(CommandDispatcher.class).toProvider(CommandDispatcherProvider.class).in(Scopes.SINGLETON);
 
         bind(DataSender.class).annotatedWith(SpanDataSender.class)
-                .toProvider(UdpSpanDataSenderProvider.class).in(Scopes.SINGLETON);
+                .toProvider(SpanDataSenderProvider.class).in(Scopes.SINGLETON);
         bind(DataSender.class).annotatedWith(StatDataSender.class)
-                .toProvider(UdpStatDataSenderProvider.class).in(Scopes.SINGLETON);
+                .toProvider(StatDataSenderProvider.class).in(Scopes.SINGLETON);
+        bind(DataSpool.class).annotatedWith(SpanDataSender.class)
+                .toProvider(SpanDataSpoolProvider.class).in(Scopes.SINGLETON);
+        bind(DataSpool.class).annotatedWith(StatDataSender.class)
+                .toProvider(StatDataSpoolProvider.class).in(Scopes.SINGLETON);
     }
 
     private void bindServiceComponent() {
@@ -269,6 +291,11 @@ public class ApplicationContextModule extends AbstractModule {
         bind(DataSourceMetric.class).toProvider(DataSourceMetricProvider.class).in(Scopes.SINGLETON);
         bind(DataSourceMetricCollector.class).toProvider(DataSourceMetricCollectorProvider.class).in(Scopes.SINGLETON);
 
+        bind(StackSamplingMetricCollector.class).toProvider(StackSamplingMetricCollectorProvider.class).in(Scopes.SINGLETON);
+
+        bind(DownsampledStatMetricCollector.class).toProvider(DownsampledStatMetricCollectorProvider.class).in(Scopes.SINGLETON);
+        bind(DataSpoolMetricCollector.class).toProvider(DataSpoolMetricCollectorProvider.class).in(Scopes.SINGLETON);
+
         bind(new TypeLiteral<AgentStatMetricCollector<TAgentStat>>() {})
                 .annotatedWith(Names.named("AgentStatCollector"))
                 .to(AgentStatCollector.class).in(Scopes.SINGLETON);
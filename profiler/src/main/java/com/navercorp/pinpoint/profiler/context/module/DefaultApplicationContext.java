@@ -34,6 +34,8 @@ import com.navercorp.pinpoint.profiler.instrument.ASMBytecodeDumpService;
 import com.navercorp.pinpoint.profiler.instrument.BytecodeDumpTransformer;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.StackSampler;
+import com.navercorp.pinpoint.profiler.sender.CollectorRebalancer;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
@@ -55,12 +57,14 @@ public class DefaultApplicationContext implements ApplicationContext {
 
     private final AgentInfoSender agentInfoSender;
     private final AgentStatMonitor agentStatMonitor;
+    private final StackSampler stackSampler;
 
     private final TraceContext traceContext;
 
     private final PinpointClientFactory clientFactory;
     private final PinpointClient client;
     private final EnhancedDataSender tcpDataSender;
+    private final CollectorRebalancer collectorRebalancer;
 
     private final DataSender statDataSender;
     private final DataSender spanDataSender;
@@ -129,6 +133,8 @@ public class DefaultApplicationContext implements ApplicationContext {
 
         this.agentInfoSender = injector.getInstance(AgentInfoSender.class);
         this.agentStatMonitor = injector.getInstance(AgentStatMonitor.class);
+        this.stackSampler = injector.getInstance(StackSampler.class);
+        this.collectorRebalancer = injector.getInstance(CollectorRebalancer.class);
     }
 
     public ClassFileTransformer wrap(ClassFileTransformerDispatcher classFileTransformerDispatcher) {
@@ -201,12 +207,20 @@ public class DefaultApplicationContext implements ApplicationContext {
     public void start() {
         this.agentInfoSender.start();
         this.agentStatMonitor.start();
+        this.stackSampler.start();
+        this.collectorRebalancer.start();
     }
 
     @Override
     public void close() {
         this.agentInfoSender.stop();
         this.agentStatMonitor.stop();
+        this.stackSampler.stop();
+        this.collectorRebalancer.stop();
+
+        if (logger.isInfoEnabled()) {
+            logger.info("ClassFileTransformerDispatcher filtered:{} transformed:{}", classFileDispatcher.getFilteredClassCount(), classFileDispatcher.getTransformedClassCount());
+        }
 
         // Need to process stop
         this.spanDataSender.stop();
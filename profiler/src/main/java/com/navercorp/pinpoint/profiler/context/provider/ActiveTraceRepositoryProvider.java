@@ -23,6 +23,9 @@ import com.google.inject.Inject;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
 import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.ThreadSlotActiveTraceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 
@@ -31,6 +34,13 @@ import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceReposito
  */
 public class ActiveTraceRepositoryProvider implements Provider<ActiveTraceRepository> {
 
+    private static final String REPOSITORY_TYPE = "profiler.pinpoint.activethread.repository.type";
+    private static final String REPOSITORY_SLOT_SIZE = "profiler.pinpoint.activethread.repository.slot.size";
+    private static final String THREAD_SLOT = "THREAD_SLOT";
+    private static final int DEFAULT_SLOT_SIZE = 1024 * 4;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
     private final ProfilerConfig profilerConfig;
 
     @Inject
@@ -43,6 +53,12 @@ public class ActiveTraceRepositoryProvider implements Provider<ActiveTraceReposi
 
     public ActiveTraceRepository get() {
         if (profilerConfig.isTraceAgentActiveThread()) {
+            final String repositoryType = profilerConfig.readString(REPOSITORY_TYPE, "DEFAULT");
+            if (THREAD_SLOT.equalsIgnoreCase(repositoryType)) {
+                final int slotSize = profilerConfig.readInt(REPOSITORY_SLOT_SIZE, DEFAULT_SLOT_SIZE);
+                logger.info("{}:{} slotSize:{}", REPOSITORY_TYPE, repositoryType, slotSize);
+                return new ThreadSlotActiveTraceRepository(slotSize);
+            }
             return new DefaultActiveTraceRepository();
         }
         return null;
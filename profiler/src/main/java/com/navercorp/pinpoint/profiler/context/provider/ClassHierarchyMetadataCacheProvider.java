@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
+
+/**
+ * Creates the agent wide {@link ClassHierarchyMetadataCache} used by the ASM instrument engine.
+ */
+public class ClassHierarchyMetadataCacheProvider implements Provider<ClassHierarchyMetadataCache> {
+
+    @Inject
+    public ClassHierarchyMetadataCacheProvider() {
+    }
+
+    @Override
+    public ClassHierarchyMetadataCache get() {
+        return new ClassHierarchyMetadataCache(ClassHierarchyMetadataCache.DEFAULT_MAXIMUM_SIZE);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
+import com.navercorp.pinpoint.profiler.sender.CollectorRebalancer;
+import com.navercorp.pinpoint.profiler.sender.EmptyCollectorRebalancer;
+import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import com.navercorp.pinpoint.profiler.sender.LoadAwareCollectorRebalancer;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+
+public class CollectorRebalancerProvider implements Provider<CollectorRebalancer> {
+
+    private static final String INTERVAL = "profiler.collector.rebalance.interval";
+    private static final String THRESHOLD = "profiler.collector.rebalance.threshold";
+    private static final String MOVE_PERCENT = "profiler.collector.rebalance.move.percent";
+
+    private final ProfilerConfig profilerConfig;
+    private final String agentId;
+    private final Provider<EnhancedDataSender> enhancedDataSenderProvider;
+    private final Provider<PinpointClient> pinpointClientProvider;
+
+    @Inject
+    public CollectorRebalancerProvider(ProfilerConfig profilerConfig, @AgentId String agentId, Provider<EnhancedDataSender> enhancedDataSenderProvider, Provider<PinpointClient> pinpointClientProvider) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (enhancedDataSenderProvider == null) {
+            throw new NullPointerException("enhancedDataSenderProvider must not be null");
+        }
+        if (pinpointClientProvider == null) {
+            throw new NullPointerException("pinpointClientProvider must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.agentId = agentId;
+        this.enhancedDataSenderProvider = enhancedDataSenderProvider;
+        this.pinpointClientProvider = pinpointClientProvider;
+    }
+
+    @Override
+    public CollectorRebalancer get() {
+        final long interval = profilerConfig.readLong(INTERVAL, 0);
+        if (interval <= 0) {
+            return EmptyCollectorRebalancer.INSTANCE;
+        }
+        final int threshold = profilerConfig.readInt(THRESHOLD, 30);
+        final int movePercent = profilerConfig.readInt(MOVE_PERCENT, 20);
+        return new LoadAwareCollectorRebalancer(enhancedDataSenderProvider.get(), pinpointClientProvider.get(), agentId, interval, threshold, movePercent);
+    }
+}
@@ -25,6 +25,7 @@ import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 
 import com.navercorp.pinpoint.profiler.instrument.ASMEngine;
 import com.navercorp.pinpoint.profiler.instrument.JavassistEngine;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.metadata.ApiMetaDataService;
 import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
@@ -46,9 +47,10 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
     private final Provider<ApiMetaDataService> apiMetaDataServiceProvider;
     private final ObjectBinderFactory objectBinderFactory;
     private final Instrumentation instrumentation;
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache;
 
     @Inject
-    public InstrumentEngineProvider(ProfilerConfig profilerConfig, Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, AgentOption agentOption, InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataServiceProvider) {
+    public InstrumentEngineProvider(ProfilerConfig profilerConfig, Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, AgentOption agentOption, InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataServiceProvider, ClassHierarchyMetadataCache classHierarchyMetadataCache) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
@@ -67,6 +69,9 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
         if (apiMetaDataServiceProvider == null) {
             throw new NullPointerException("apiMetaDataServiceProvider must not be null");
         }
+        if (classHierarchyMetadataCache == null) {
+            throw new NullPointerException("classHierarchyMetadataCache must not be null");
+        }
 
         this.profilerConfig = profilerConfig;
         this.instrumentation = instrumentation;
@@ -74,13 +79,14 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
         this.agentOption = agentOption;
         this.interceptorRegistryBinder = interceptorRegistryBinder;
         this.apiMetaDataServiceProvider = apiMetaDataServiceProvider;
+        this.classHierarchyMetadataCache = classHierarchyMetadataCache;
     }
 
     public InstrumentEngine get() {
         final String instrumentEngine = profilerConfig.getProfileInstrumentEngine().toUpperCase();
         if (DefaultProfilerConfig.INSTRUMENT_ENGINE_ASM.equals(instrumentEngine)) {
             logger.info("ASM InstrumentEngine.");
-            return new ASMEngine(instrumentation, objectBinderFactory, interceptorRegistryBinder, apiMetaDataServiceProvider, agentOption.getBootstrapJarPaths());
+            return new ASMEngine(instrumentation, objectBinderFactory, interceptorRegistryBinder, apiMetaDataServiceProvider, classHierarchyMetadataCache, agentOption.getBootstrapJarPaths());
 
         } else if (DefaultProfilerConfig.INSTRUMENT_ENGINE_JAVASSIST.equals(instrumentEngine)) {
             logger.info("JAVASSIST InstrumentEngine.");
@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.profiler.AgentInformation;
 import com.navercorp.pinpoint.profiler.receiver.CommandDispatcher;
 import com.navercorp.pinpoint.rpc.client.DefaultPinpointClientFactory;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
+import com.navercorp.pinpoint.rpc.codec.PacketCompression;
 import com.navercorp.pinpoint.rpc.packet.HandshakePropertyType;
 
 import java.util.HashMap;
@@ -33,6 +34,8 @@ import java.util.Map;
  */
 public class PinpointClientFactoryProvider implements Provider<PinpointClientFactory> {
 
+    static final String TCP_COMPRESSION_ENABLE = "profiler.tcpdatasender.compression.enable";
+
     private final ProfilerConfig profilerConfig;
     private final Provider<AgentInformation> agentInformation;
     private final CommandDispatcher commandDispatcher;
@@ -72,11 +75,25 @@ public class PinpointClientFactoryProvider implements Provider<PinpointClientFac
             properties.put(HandshakePropertyType.SUPPORT_SERVER.getName(), false);
         }
 
+        if (isTcpTransport(SpanDataSenderProvider.TRANSPORT) || isTcpTransport(StatDataSenderProvider.TRANSPORT)) {
+            // the tcp span/stat senders fall back to udp unless the collector confirms this
+            properties.put(HandshakePropertyType.SUPPORT_TRACE_SEND.getName(), true);
+        }
+
+        final boolean compressionEnable = profilerConfig.readBoolean(TCP_COMPRESSION_ENABLE, false);
+        if (compressionEnable) {
+            properties.put(HandshakePropertyType.SUPPORT_COMPRESSION.getName(), PacketCompression.DEFLATE);
+        }
+
         pinpointClientFactory.setProperties(properties);
         return pinpointClientFactory;
 
     }
 
+    private boolean isTcpTransport(String transportKey) {
+        return "TCP".equalsIgnoreCase(profilerConfig.readString(transportKey, "UDP"));
+    }
+
     private Map<String, Object> toMap(AgentInformation agentInformation) {
         Map<String, Object> map = new HashMap<String, Object>();
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.TcpTraceDataSender;
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+
+/**
+ * Creates the span data sender of the transport set by profiler.spandatasender.transport.
+ * UDP by default, TCP sends the span data over the pinpoint tcp connection with acknowledgements,
+ * and over udp while the collector did not confirm it accepts them.
+ */
+public class SpanDataSenderProvider implements Provider<DataSender> {
+
+    static final String TRANSPORT = "profiler.spandatasender.transport";
+
+    private static final String threadName = "Pinpoint-TcpSpanDataExecutor";
+
+    private final ProfilerConfig profilerConfig;
+    private final Provider<PinpointClient> client;
+    private final DataSpool spool;
+
+    @Inject
+    public SpanDataSenderProvider(ProfilerConfig profilerConfig, Provider<PinpointClient> client, @SpanDataSender DataSpool spool) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (client == null) {
+            throw new NullPointerException("client must not be null");
+        }
+        if (spool == null) {
+            throw new NullPointerException("spool must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.client = client;
+        this.spool = spool;
+    }
+
+    @Override
+    public DataSender get() {
+        final String transport = profilerConfig.readString(TRANSPORT, "UDP");
+        final DataSender udpDataSender = new UdpSpanDataSenderProvider(profilerConfig).get();
+        if (!"TCP".equalsIgnoreCase(transport)) {
+            return udpDataSender;
+        }
+        final int writeQueueSize = profilerConfig.getSpanDataSenderWriteQueueSize();
+        final int chunkSize = profilerConfig.getSpanDataSenderChunkSize();
+        final int windowSize = profilerConfig.readInt("profiler.spandatasender.tcp.window.size", 8);
+        final int bufferSize = profilerConfig.readInt("profiler.spandatasender.tcp.buffer.size", 64);
+        final int replayRate = profilerConfig.readInt("profiler.spandatasender.spool.replay.rate", 10);
+        return new TcpTraceDataSender(client.get(), threadName, writeQueueSize, chunkSize, windowSize, bufferSize, spool, replayRate, udpDataSender);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
+import com.navercorp.pinpoint.profiler.sender.spool.EmptyDataSpool;
+import com.navercorp.pinpoint.profiler.sender.spool.MappedFileDataSpool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Creates the spool of the tcp span data sender, enabled by profiler.spandatasender.spool.enable.
+ * The spool file is created in profiler.spandatasender.spool.dir, or in the temporary directory if not set.
+ */
+public class SpanDataSpoolProvider implements Provider<DataSpool> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+    private final String agentId;
+
+    @Inject
+    public SpanDataSpoolProvider(ProfilerConfig profilerConfig, @AgentId String agentId) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.agentId = agentId;
+    }
+
+    @Override
+    public DataSpool get() {
+        final boolean enable = profilerConfig.readBoolean("profiler.spandatasender.spool.enable", false);
+        final String transport = profilerConfig.readString(SpanDataSenderProvider.TRANSPORT, "UDP");
+        if (!enable || !"TCP".equalsIgnoreCase(transport)) {
+            return EmptyDataSpool.INSTANCE;
+        }
+        final int size = profilerConfig.readInt("profiler.spandatasender.spool.size", 1024 * 1024 * 16);
+        final String dir = profilerConfig.readString("profiler.spandatasender.spool.dir", "");
+        final File directory = dir.length() == 0 ? null : new File(dir);
+        try {
+            final DataSpool spool = MappedFileDataSpool.create(directory, "pinpoint-" + agentId + "-span-", size);
+            logger.info("span data spool created. spool:{}", spool);
+            return spool;
+        } catch (IOException e) {
+            logger.warn("span data spool create fail. Caused:{}", e.getMessage(), e);
+            return EmptyDataSpool.INSTANCE;
+        }
+    }
+}
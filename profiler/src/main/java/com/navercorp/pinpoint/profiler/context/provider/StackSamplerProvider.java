@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.ActiveTraceStackSampler;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.EmptyStackSampler;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.StackSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class StackSamplerProvider implements Provider<StackSampler> {
+
+    private static final String ENABLE = "profiler.stacksampling.enable";
+    private static final String INTERVAL = "profiler.stacksampling.interval";
+    private static final String THRESHOLD = "profiler.stacksampling.threshold";
+    private static final String MAX_DEPTH = "profiler.stacksampling.maxdepth";
+    private static final String MAX_NODE_SIZE = "profiler.stacksampling.maxnode";
+    private static final String MAX_TRACE_SIZE = "profiler.stacksampling.maxtrace";
+    private static final String OVERHEAD_PERCENT = "profiler.stacksampling.overhead.percent";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+    private final Provider<ActiveTraceRepository> activeTraceRepositoryProvider;
+
+    @Inject
+    public StackSamplerProvider(ProfilerConfig profilerConfig, Provider<ActiveTraceRepository> activeTraceRepositoryProvider) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (activeTraceRepositoryProvider == null) {
+            throw new NullPointerException("activeTraceRepositoryProvider must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.activeTraceRepositoryProvider = activeTraceRepositoryProvider;
+    }
+
+    @Override
+    public StackSampler get() {
+        if (!profilerConfig.readBoolean(ENABLE, false)) {
+            return EmptyStackSampler.INSTANCE;
+        }
+        final ActiveTraceRepository activeTraceRepository = activeTraceRepositoryProvider.get();
+        if (activeTraceRepository == null) {
+            logger.info("{} requires profiler.pinpoint.activethread=true", ENABLE);
+            return EmptyStackSampler.INSTANCE;
+        }
+        final long interval = profilerConfig.readLong(INTERVAL, 100);
+        final long threshold = profilerConfig.readLong(THRESHOLD, 1000);
+        final int maxDepth = profilerConfig.readInt(MAX_DEPTH, 64);
+        final int maxNodeSize = profilerConfig.readInt(MAX_NODE_SIZE, 256);
+        final int maxTraceSize = profilerConfig.readInt(MAX_TRACE_SIZE, 64);
+        final int overheadPercent = profilerConfig.readInt(OVERHEAD_PERCENT, 1);
+        return new ActiveTraceStackSampler(activeTraceRepository, interval, threshold, maxDepth, maxNodeSize, maxTraceSize, overheadPercent);
+    }
+}
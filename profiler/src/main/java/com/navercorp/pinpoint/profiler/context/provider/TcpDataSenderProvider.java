@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.context.provider;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
@@ -27,19 +28,26 @@ import com.navercorp.pinpoint.rpc.client.PinpointClient;
  */
 public class TcpDataSenderProvider implements Provider<EnhancedDataSender> {
     private final Provider<PinpointClient> client;
+    private final int metaDataBatchSize;
+    private final int metaDataBatchWindowSize;
 
     @Inject
-    public TcpDataSenderProvider(Provider<PinpointClient> client) {
+    public TcpDataSenderProvider(ProfilerConfig profilerConfig, Provider<PinpointClient> client) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
         if (client == null) {
             throw new NullPointerException("client must not be null");
         }
 
         this.client = client;
+        this.metaDataBatchSize = profilerConfig.readInt("profiler.tcpdatasender.metadata.batch.size", 0);
+        this.metaDataBatchWindowSize = profilerConfig.readInt("profiler.tcpdatasender.metadata.batch.window", 8);
     }
 
     @Override
     public EnhancedDataSender get() {
         PinpointClient pinpointClient = client.get();
-        return new TcpDataSender(pinpointClient);
+        return new TcpDataSender(pinpointClient, metaDataBatchSize, metaDataBatchWindowSize);
     }
 }
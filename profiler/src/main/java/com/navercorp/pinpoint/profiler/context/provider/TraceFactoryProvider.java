@@ -33,6 +33,9 @@ import com.navercorp.pinpoint.profiler.context.id.TraceIdFactory;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceFactory;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.EmptyStackSampler;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.StackSampler;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.StackSamplingBaseTraceFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +53,7 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
     private final AsyncIdGenerator asyncIdGenerator;
 
     private final ActiveTraceRepository activeTraceRepository;
+    private final StackSampler stackSampler;
 
     private final CallStackFactory callStackFactory;
 
@@ -59,7 +63,7 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
 
     @Inject
     public TraceFactoryProvider(CallStackFactory callStackFactory, StorageFactory storageFactory, Sampler sampler, IdGenerator idGenerator, TraceIdFactory traceIdFactory, AsyncIdGenerator asyncIdGenerator,
-                                Provider<ActiveTraceRepository> activeTraceRepositoryProvider, SpanFactory spanFactory, RecorderFactory recorderFactory) {
+                                Provider<ActiveTraceRepository> activeTraceRepositoryProvider, StackSampler stackSampler, SpanFactory spanFactory, RecorderFactory recorderFactory) {
         if (callStackFactory == null) {
             throw new NullPointerException("callStackFactory must not be null");
         }
@@ -82,6 +86,9 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
         if (activeTraceRepositoryProvider == null) {
             throw new NullPointerException("activeTraceRepositoryProvider must not be null");
         }
+        if (stackSampler == null) {
+            throw new NullPointerException("stackSampler must not be null");
+        }
         if (spanFactory == null) {
             throw new NullPointerException("spanFactory must not be null");
         }
@@ -96,6 +103,7 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
         this.traceIdFactory = traceIdFactory;
         this.asyncIdGenerator = asyncIdGenerator;
         this.activeTraceRepository = activeTraceRepositoryProvider.get();
+        this.stackSampler = stackSampler;
 
         this.spanFactory = spanFactory;
         this.recorderFactory = recorderFactory;
@@ -107,6 +115,10 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
 
         BaseTraceFactory baseTraceFactory = new DefaultBaseTraceFactory(callStackFactory, storageFactory, sampler, traceIdFactory, idGenerator,
                 asyncIdGenerator, spanFactory, recorderFactory);
+        if (this.stackSampler != EmptyStackSampler.INSTANCE) {
+            this.logger.debug("enable StackSampling");
+            baseTraceFactory = StackSamplingBaseTraceFactory.wrap(baseTraceFactory, this.stackSampler);
+        }
         if (isDebugEnabled()) {
             baseTraceFactory = LoggingBaseTraceFactory.wrap(baseTraceFactory);
         }
@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.common.util.JvmType;
 import com.navercorp.pinpoint.common.util.JvmUtils;
 import com.navercorp.pinpoint.common.util.JvmVersion;
+import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CachedCpuLoadMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetric;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +42,7 @@ public class CpuLoadMetricProvider implements Provider<CpuLoadMetric> {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final String vendorName;
+    private final long cacheMs;
 
     @Inject
     public CpuLoadMetricProvider(ProfilerConfig profilerConfig) {
@@ -48,6 +50,7 @@ public class CpuLoadMetricProvider implements Provider<CpuLoadMetric> {
             throw new NullPointerException("profilerConfig must not be null");
         }
         vendorName = profilerConfig.getProfilerJvmVendorName();
+        cacheMs = profilerConfig.readLong("profiler.jvm.stat.cpuload.cache.ms", 0);
     }
 
     @Override
@@ -72,10 +75,39 @@ public class CpuLoadMetricProvider implements Provider<CpuLoadMetric> {
             }
         }
         CpuLoadMetric cpuLoadMetric = createCpuLoadMetric(classToLoad);
+        if (cacheMs > 0 && cpuLoadMetric != CpuLoadMetric.UNSUPPORTED_CPU_LOAD_METRIC) {
+            cpuLoadMetric = new CachedCpuLoadMetric(cpuLoadMetric, cacheMs);
+        }
         logger.info("loaded : {}", cpuLoadMetric);
         return cpuLoadMetric;
     }
 
+    /**
+     * Creates a metric that measures the jvm cpu load from its own process cpu time and uptime deltas,
+     * so it can be read independently of the one returned by {@link #get()}.
+     * Its system cpu load is not isolated and must not be read.
+     */
+    public CpuLoadMetric getProcessCpuTimeMetric() {
+        String classToLoad = null;
+        JvmType jvmType = JvmType.fromVendor(vendorName);
+        if (jvmType == JvmType.UNKNOWN) {
+            jvmType = JvmUtils.getType();
+        }
+        JvmVersion jvmVersion = JvmUtils.getVersion();
+        if (jvmType == JvmType.ORACLE || jvmType == JvmType.OPENJDK) {
+            if (jvmVersion.onOrAfter(JvmVersion.JAVA_5)) {
+                classToLoad = ORACLE_JDK6_CPU_LOAD_METRIC;
+            }
+        } else if (jvmType == JvmType.IBM) {
+            if (jvmVersion.onOrAfter(JvmVersion.JAVA_6)) {
+                classToLoad = IBM_JDK6_CPU_LOAD_METRIC;
+            }
+        }
+        CpuLoadMetric cpuLoadMetric = createCpuLoadMetric(classToLoad);
+        logger.info("loaded process cpu time metric : {}", cpuLoadMetric);
+        return cpuLoadMetric;
+    }
+
     private CpuLoadMetric createCpuLoadMetric(String classToLoad) {
         if (classToLoad == null) {
             return CpuLoadMetric.UNSUPPORTED_CPU_LOAD_METRIC;
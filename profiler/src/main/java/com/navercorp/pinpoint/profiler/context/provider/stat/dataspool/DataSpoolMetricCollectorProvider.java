@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.dataspool;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
+import com.navercorp.pinpoint.profiler.context.module.StatDataSender;
+import com.navercorp.pinpoint.profiler.monitor.collector.dataspool.DataSpoolMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.dataspool.DefaultDataSpoolMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.dataspool.UnsupportedDataSpoolMetricCollector;
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
+import com.navercorp.pinpoint.profiler.sender.spool.EmptyDataSpool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DataSpoolMetricCollectorProvider implements Provider<DataSpoolMetricCollector> {
+
+    private final DataSpool spanDataSpool;
+    private final DataSpool statDataSpool;
+
+    @Inject
+    public DataSpoolMetricCollectorProvider(@SpanDataSender DataSpool spanDataSpool, @StatDataSender DataSpool statDataSpool) {
+        if (spanDataSpool == null) {
+            throw new NullPointerException("spanDataSpool must not be null");
+        }
+        if (statDataSpool == null) {
+            throw new NullPointerException("statDataSpool must not be null");
+        }
+        this.spanDataSpool = spanDataSpool;
+        this.statDataSpool = statDataSpool;
+    }
+
+    @Override
+    public DataSpoolMetricCollector get() {
+        final List<DataSpool> spoolList = new ArrayList<DataSpool>(2);
+        if (spanDataSpool != EmptyDataSpool.INSTANCE) {
+            spoolList.add(spanDataSpool);
+        }
+        if (statDataSpool != EmptyDataSpool.INSTANCE) {
+            spoolList.add(statDataSpool);
+        }
+        if (spoolList.isEmpty()) {
+            return new UnsupportedDataSpoolMetricCollector();
+        }
+        return new DefaultDataSpoolMetricCollector(spoolList);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.downsampling;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.provider.stat.cpu.CpuLoadMetricProvider;
+import com.navercorp.pinpoint.profiler.monitor.DefaultAgentStatMonitor;
+import com.navercorp.pinpoint.profiler.monitor.collector.downsampling.DefaultDownsampledStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.downsampling.DownsampledStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.downsampling.UnsupportedDownsampledStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetric;
+
+import java.lang.management.ManagementFactory;
+
+public class DownsampledStatMetricCollectorProvider implements Provider<DownsampledStatMetricCollector> {
+
+    private final ProfilerConfig profilerConfig;
+    private final long samplingInterval;
+
+    @Inject
+    public DownsampledStatMetricCollectorProvider(ProfilerConfig profilerConfig) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.samplingInterval = DefaultAgentStatMonitor.getSamplingInterval(profilerConfig);
+    }
+
+    @Override
+    public DownsampledStatMetricCollector get() {
+        if (samplingInterval <= 0) {
+            return new UnsupportedDownsampledStatMetricCollector();
+        }
+        // the jdk7+ OperatingSystemMXBean cpu loads are measured since the previous call of any reader,
+        // so the downsampler computes the jvm cpu load from its own process cpu time deltas and leaves out the system cpu load
+        final CpuLoadMetric processCpuTimeMetric = new CpuLoadMetricProvider(profilerConfig).getProcessCpuTimeMetric();
+        final CpuLoadMetric cpuLoadMetric = new JvmCpuLoadOnlyMetric(processCpuTimeMetric);
+        return new DefaultDownsampledStatMetricCollector(ManagementFactory.getMemoryMXBean(), cpuLoadMetric, samplingInterval);
+    }
+
+    private static class JvmCpuLoadOnlyMetric implements CpuLoadMetric {
+
+        private final CpuLoadMetric delegate;
+        // the first reading only initializes the delta
+        private boolean initialized;
+
+        private JvmCpuLoadOnlyMetric(CpuLoadMetric delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Double jvmCpuLoad() {
+            final Double jvmCpuLoad = delegate.jvmCpuLoad();
+            if (!initialized) {
+                initialized = true;
+                return UNSUPPORTED_GAUGE.getValue();
+            }
+            return jvmCpuLoad;
+        }
+
+        @Override
+        public Double systemCpuLoad() {
+            return UNSUPPORTED_GAUGE.getValue();
+        }
+
+        @Override
+        public String toString() {
+            return "JvmCpuLoadOnlyMetric{" + delegate + '}';
+        }
+    }
+}
@@ -22,9 +22,12 @@ import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcDetailedMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcCommonMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcSnapshotMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.metric.gc.GarbageCollectorMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.memory.MemoryMetric;
 
+import java.lang.management.ManagementFactory;
+
 
 /**
  * @author HyunGil Jeong
@@ -32,6 +35,7 @@ import com.navercorp.pinpoint.profiler.monitor.metric.memory.MemoryMetric;
 public class JvmGcMetricCollectorProvider implements Provider<JvmGcMetricCollector> {
 
     private final boolean collectDetailedMetrics;
+    private final boolean collectSnapshot;
     private final MemoryMetric memoryMetric;
     private final GarbageCollectorMetric garbageCollectorMetric;
 
@@ -47,12 +51,17 @@ public class JvmGcMetricCollectorProvider implements Provider<JvmGcMetricCollect
             throw new NullPointerException("garbageCollectorMetric must not be null");
         }
         this.collectDetailedMetrics = profilerConfig.isProfilerJvmCollectDetailedMetrics();
+        this.collectSnapshot = profilerConfig.readBoolean("profiler.jvm.stat.snapshot.enable", false);
         this.memoryMetric = memoryMetric;
         this.garbageCollectorMetric = garbageCollectorMetric;
     }
 
     @Override
     public JvmGcMetricCollector get() {
+        if (collectSnapshot) {
+            return new JvmGcSnapshotMetricCollector(ManagementFactory.getMemoryMXBean(), ManagementFactory.getMemoryPoolMXBeans(),
+                    ManagementFactory.getGarbageCollectorMXBeans(), collectDetailedMetrics);
+        }
         JvmGcMetricCollector jvmGcMetricCollector;
         JvmGcCommonMetricCollector jvmGcCommonMetricCollector = new JvmGcCommonMetricCollector(memoryMetric, garbageCollectorMetric);
         if (collectDetailedMetrics) {
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.stacksampling;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.monitor.collector.stacksampling.DefaultStackSamplingMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.stacksampling.StackSamplingMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.stacksampling.UnsupportedStackSamplingMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.EmptyStackSampler;
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.StackSampler;
+
+public class StackSamplingMetricCollectorProvider implements Provider<StackSamplingMetricCollector> {
+
+    private final StackSampler stackSampler;
+
+    @Inject
+    public StackSamplingMetricCollectorProvider(StackSampler stackSampler) {
+        if (stackSampler == null) {
+            throw new NullPointerException("stackSampler must not be null");
+        }
+        this.stackSampler = stackSampler;
+    }
+
+    @Override
+    public StackSamplingMetricCollector get() {
+        if (stackSampler == EmptyStackSampler.INSTANCE) {
+            return new UnsupportedStackSamplingMetricCollector();
+        }
+        return new DefaultStackSamplingMetricCollector(stackSampler);
+    }
+}
@@ -33,6 +33,7 @@ import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
 import com.navercorp.pinpoint.bootstrap.plugin.ObjectFactory;
 import com.navercorp.pinpoint.common.util.Asserts;
 import com.navercorp.pinpoint.exception.PinpointException;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.metadata.ApiMetaDataService;
 import com.navercorp.pinpoint.profiler.objectfactory.AutoBindingObjectFactory;
@@ -58,6 +59,7 @@ public class ASMClass implements InstrumentClass {
 
     private final ObjectBinderFactory objectBinderFactory;
     private final InstrumentContext pluginContext;
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache;
     private final InterceptorRegistryBinder interceptorRegistryBinder;
     private final ApiMetaDataService apiMetaDataService;
     private final ClassLoader classLoader;
@@ -66,11 +68,11 @@ public class ASMClass implements InstrumentClass {
     private boolean modified = false;
     private String name;
 
-    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ClassNode classNode) {
-        this(objectBinderFactory, pluginContext, interceptorRegistryBinder, apiMetaDataService, classLoader, new ASMClassNodeAdapter(pluginContext, classLoader, classNode));
+    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final ClassHierarchyMetadataCache classHierarchyMetadataCache, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ClassNode classNode) {
+        this(objectBinderFactory, pluginContext, classHierarchyMetadataCache, interceptorRegistryBinder, apiMetaDataService, classLoader, new ASMClassNodeAdapter(pluginContext, classHierarchyMetadataCache, classLoader, classNode));
     }
 
-    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ASMClassNodeAdapter classNode) {
+    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final ClassHierarchyMetadataCache classHierarchyMetadataCache, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ASMClassNodeAdapter classNode) {
         if (objectBinderFactory == null) {
             throw new NullPointerException("objectBinderFactory must not be null");
         }
@@ -78,12 +80,16 @@ public class ASMClass implements InstrumentClass {
 //        if (pluginContext == null) {
 //            throw new NullPointerException("pluginContext must not be null");
 //        }
+        if (classHierarchyMetadataCache == null) {
+            throw new NullPointerException("classHierarchyMetadataCache must not be null");
+        }
         if (apiMetaDataService == null) {
             throw new NullPointerException("apiMetaDataService must not be null");
         }
 
         this.objectBinderFactory = objectBinderFactory;
         this.pluginContext = pluginContext;
+        this.classHierarchyMetadataCache = classHierarchyMetadataCache;
         this.interceptorRegistryBinder = interceptorRegistryBinder;
         this.apiMetaDataService = apiMetaDataService;
         this.classLoader = classLoader;
@@ -203,7 +209,7 @@ public class ASMClass implements InstrumentClass {
             throw new NotFoundInstrumentException("advice class name must not be null");
         }
 
-        final ASMClassNodeAdapter adviceClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, JavaAssistUtils.javaNameToJvmName(adviceClassName));
+        final ASMClassNodeAdapter adviceClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classHierarchyMetadataCache, this.classLoader, JavaAssistUtils.javaNameToJvmName(adviceClassName));
         if (adviceClassNode == null) {
             throw new NotFoundInstrumentException(adviceClassName + " not found.");
         }
@@ -220,7 +226,7 @@ public class ASMClass implements InstrumentClass {
             throw new InstrumentException(getName() + " already have method(" + methodName + ").");
         }
 
-        final ASMClassNodeAdapter superClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.getSuperClassInternalName());
+        final ASMClassNodeAdapter superClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classHierarchyMetadataCache, this.classLoader, this.classNode.getSuperClassInternalName());
         if (superClassNode == null) {
             throw new NotFoundInstrumentException(getName() + " not found super class(" + this.classNode.getSuperClassInternalName() + ")");
         }
@@ -574,7 +580,7 @@ public class ASMClass implements InstrumentClass {
     public List<InstrumentClass> getNestedClasses(ClassFilter filter) {
         final List<InstrumentClass> nestedClasses = new ArrayList<InstrumentClass>();
         for (ASMClassNodeAdapter innerClassNode : this.classNode.getInnerClasses()) {
-            final ASMNestedClass nestedClass = new ASMNestedClass(objectBinderFactory, this.pluginContext, this.interceptorRegistryBinder, apiMetaDataService, this.classLoader, innerClassNode);
+            final ASMNestedClass nestedClass = new ASMNestedClass(objectBinderFactory, this.pluginContext, this.classHierarchyMetadataCache, this.interceptorRegistryBinder, apiMetaDataService, this.classLoader, innerClassNode);
             if (filter.accept(nestedClass)) {
                 nestedClasses.add(nestedClass);
             }
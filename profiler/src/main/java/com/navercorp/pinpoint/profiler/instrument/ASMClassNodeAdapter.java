@@ -17,6 +17,8 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadata;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Opcodes;
@@ -42,11 +44,11 @@ import java.util.List;
  */
 public class ASMClassNodeAdapter {
 
-    public static ASMClassNodeAdapter get(final InstrumentContext pluginContext, final ClassLoader classLoader, final String classInternalName) {
-        return get(pluginContext, classLoader, classInternalName, false);
+    public static ASMClassNodeAdapter get(final InstrumentContext pluginContext, final ClassHierarchyMetadataCache classHierarchyMetadataCache, final ClassLoader classLoader, final String classInternalName) {
+        return get(pluginContext, classHierarchyMetadataCache, classLoader, classInternalName, false);
     }
 
-    public static ASMClassNodeAdapter get(final InstrumentContext pluginContext, final ClassLoader classLoader, final String classInternalName, final boolean skipCode) {
+    public static ASMClassNodeAdapter get(final InstrumentContext pluginContext, final ClassHierarchyMetadataCache classHierarchyMetadataCache, final ClassLoader classLoader, final String classInternalName, final boolean skipCode) {
         if (pluginContext == null || classInternalName == null) {
             throw new IllegalArgumentException("plugin context or class name must not be null.");
         }
@@ -63,7 +65,7 @@ public class ASMClassNodeAdapter {
                     classReader.accept(classNode, 0);
                 }
 
-                return new ASMClassNodeAdapter(pluginContext, classLoader, classNode, skipCode);
+                return new ASMClassNodeAdapter(pluginContext, classHierarchyMetadataCache, classLoader, classNode, skipCode);
             }
         } catch (IOException ignored) {
             // not found class.
@@ -80,16 +82,21 @@ public class ASMClassNodeAdapter {
     }
 
     private final InstrumentContext pluginContext;
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache;
     private final ClassLoader classLoader;
     private final ClassNode classNode;
     private final boolean skipCode;
 
-    public ASMClassNodeAdapter(final InstrumentContext pluginContext, final ClassLoader classLoader, final ClassNode classNode) {
-        this(pluginContext, classLoader, classNode, false);
+    public ASMClassNodeAdapter(final InstrumentContext pluginContext, final ClassHierarchyMetadataCache classHierarchyMetadataCache, final ClassLoader classLoader, final ClassNode classNode) {
+        this(pluginContext, classHierarchyMetadataCache, classLoader, classNode, false);
     }
 
-    public ASMClassNodeAdapter(final InstrumentContext pluginContext, final ClassLoader classLoader, final ClassNode classNode, final boolean skipCode) {
+    public ASMClassNodeAdapter(final InstrumentContext pluginContext, final ClassHierarchyMetadataCache classHierarchyMetadataCache, final ClassLoader classLoader, final ClassNode classNode, final boolean skipCode) {
+        if (classHierarchyMetadataCache == null) {
+            throw new NullPointerException("classHierarchyMetadataCache must not be null");
+        }
         this.pluginContext = pluginContext;
+        this.classHierarchyMetadataCache = classHierarchyMetadataCache;
         this.classLoader = classLoader;
         this.classNode = classNode;
         this.skipCode = skipCode;
@@ -210,7 +217,7 @@ public class ASMClassNodeAdapter {
 
         if (this.classNode.superName != null) {
             // skip code.
-            final ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.superName, true);
+            final ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(this.pluginContext, this.classHierarchyMetadataCache, this.classLoader, this.classNode.superName, true);
             if (classNode != null) {
                 return classNode.hasMethod(methodName, desc);
             }
@@ -239,7 +246,7 @@ public class ASMClassNodeAdapter {
                     continue;
                 }
 
-                final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, interfaceClassName, true);
+                final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classHierarchyMetadataCache, this.classLoader, interfaceClassName, true);
                 if (classNodeAdapter != null) {
                     final ASMFieldNodeAdapter fieldNode = classNodeAdapter.getField(fieldName, fieldDesc);
                     if (fieldNode != null) {
@@ -251,7 +258,7 @@ public class ASMClassNodeAdapter {
 
         // find super class.
         if (this.classNode.superName != null) {
-            final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.superName, true);
+            final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classHierarchyMetadataCache, this.classLoader, this.classNode.superName, true);
             if (classNodeAdapter != null) {
                 final ASMFieldNodeAdapter fieldNode = classNodeAdapter.getField(fieldName, fieldDesc);
                 if (fieldNode != null) {
@@ -415,22 +422,25 @@ public class ASMClassNodeAdapter {
             return true;
         }
 
-        ASMClassNodeAdapter classNode = this;
-        while (classNode != null) {
-            if (classInternalName.equals(classNode.getInternalName())) {
+        if (classInternalName.equals(getInternalName())) {
+            return true;
+        }
+
+        // walk up the hierarchy using cached metadata instead of building a ClassNode per super class.
+        String superClassInternalName = getSuperClassInternalName();
+        while (superClassInternalName != null && !superClassInternalName.equals("java/lang/Object")) {
+            if (classInternalName.equals(superClassInternalName)) {
                 return true;
             }
 
-            final String superClassInternalName = classNode.getSuperClassInternalName();
-            if (superClassInternalName == null || superClassInternalName.equals("java/lang/Object")) {
-                // find root annotation.
+            final ClassHierarchyMetadata superClassMetadata = this.classHierarchyMetadataCache.get(this.pluginContext, this.classLoader, superClassInternalName);
+            if (superClassMetadata == null) {
                 return false;
             }
-
-            // skip code.
-            classNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, superClassInternalName, true);
+            superClassInternalName = superClassMetadata.getSuperClassInternalName();
         }
 
+        // find root annotation.
         return false;
     }
 
@@ -446,7 +456,7 @@ public class ASMClassNodeAdapter {
                 continue;
             }
             // skip code.
-            ASMClassNodeAdapter adapter = get(this.pluginContext, this.classLoader, node.name, true);
+            ASMClassNodeAdapter adapter = get(this.pluginContext, this.classHierarchyMetadataCache, this.classLoader, node.name, true);
             if (adapter != null) {
                 innerClasses.add(adapter);
             }
@@ -463,7 +473,7 @@ public class ASMClassNodeAdapter {
             flags = ClassWriter.COMPUTE_MAXS;
         }
 
-        final ClassWriter classWriter = new ASMClassWriter(this.pluginContext, this.classNode.name, this.classNode.superName, flags, this.classLoader);
+        final ClassWriter classWriter = new ASMClassWriter(this.pluginContext, this.classHierarchyMetadataCache, this.classNode.name, this.classNode.superName, flags, this.classLoader);
         this.classNode.accept(classWriter);
         return classWriter.toByteArray();
     }
@@ -16,15 +16,14 @@
 package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
-import org.objectweb.asm.ClassReader;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadata;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import org.objectweb.asm.ClassWriter;
-import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -36,13 +35,18 @@ public final class ASMClassWriter extends ClassWriter {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final InstrumentContext pluginContext;
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache;
     private ClassLoader classLoader;
     private String classInternalName;
     private String superClassInternalName;
 
-    public ASMClassWriter(final InstrumentContext pluginContext, final String classInternalName, final String superClassInternalName, final int flags, final ClassLoader classLoader) {
+    public ASMClassWriter(final InstrumentContext pluginContext, final ClassHierarchyMetadataCache classHierarchyMetadataCache, final String classInternalName, final String superClassInternalName, final int flags, final ClassLoader classLoader) {
         super(flags);
+        if (classHierarchyMetadataCache == null) {
+            throw new NullPointerException("classHierarchyMetadataCache must not be null");
+        }
         this.pluginContext = pluginContext;
+        this.classHierarchyMetadataCache = classHierarchyMetadataCache;
         this.classInternalName = classInternalName;
         this.superClassInternalName = superClassInternalName;
         this.classLoader = classLoader;
@@ -81,22 +85,22 @@ public final class ASMClassWriter extends ClassWriter {
             return getCommonSuperClass(type1ClassInternalName, superClassInternalName);
         }
 
-        ClassReader type1ClassReader = getClassReader(type1ClassInternalName);
-        ClassReader type2ClassReader = getClassReader(type2ClassInternalName);
-        if (type1ClassReader == null || type2ClassReader == null) {
-            logger.warn("Skip get common super class. not found class {type1ClassInternalName={}, reader={}}, {type2ClassInternalName={}, reader={}}", type1ClassInternalName, type1ClassReader, type2ClassInternalName, type2ClassReader);
+        ClassHierarchyMetadata type1ClassMetadata = getClassMetadata(type1ClassInternalName);
+        ClassHierarchyMetadata type2ClassMetadata = getClassMetadata(type2ClassInternalName);
+        if (type1ClassMetadata == null || type2ClassMetadata == null) {
+            logger.warn("Skip get common super class. not found class {type1ClassInternalName={}, metadata={}}, {type2ClassInternalName={}, metadata={}}", type1ClassInternalName, type1ClassMetadata, type2ClassInternalName, type2ClassMetadata);
             return OBJECT_CLASS_INTERNAL_NAME;
         }
 
         // interface.
-        if (isInterface(type1ClassReader)) {
+        if (type1ClassMetadata.isInterface()) {
             String interfaceInternalName = type1ClassInternalName;
-            if (isImplements(interfaceInternalName, type2ClassReader)) {
+            if (isImplements(interfaceInternalName, type2ClassMetadata)) {
                 return interfaceInternalName;
             }
-            if (isInterface(type2ClassReader)) {
+            if (type2ClassMetadata.isInterface()) {
                 interfaceInternalName = type2ClassInternalName;
-                if (isImplements(interfaceInternalName, type1ClassReader)) {
+                if (isImplements(interfaceInternalName, type1ClassMetadata)) {
                     return interfaceInternalName;
                 }
             }
@@ -104,9 +108,9 @@ public final class ASMClassWriter extends ClassWriter {
         }
 
         // interface.
-        if (isInterface(type2ClassReader)) {
+        if (type2ClassMetadata.isInterface()) {
             String interfaceName = type2ClassInternalName;
-            if (isImplements(interfaceName, type1ClassReader)) {
+            if (isImplements(interfaceName, type1ClassMetadata)) {
                 return interfaceName;
             }
             return OBJECT_CLASS_INTERNAL_NAME;
@@ -117,13 +121,13 @@ public final class ASMClassWriter extends ClassWriter {
         superClassNames.add(type1ClassInternalName);
         superClassNames.add(type2ClassInternalName);
 
-        String type1SuperClassName = type1ClassReader.getSuperName();
+        String type1SuperClassName = type1ClassMetadata.getSuperClassInternalName();
         if (!superClassNames.add(type1SuperClassName)) {
             // find common superClass.
             return type1SuperClassName;
         }
 
-        String type2SuperClassName = type2ClassReader.getSuperName();
+        String type2SuperClassName = type2ClassMetadata.getSuperClassInternalName();
         if (!superClassNames.add(type2SuperClassName)) {
             // find common superClass.
             return type2SuperClassName;
@@ -153,15 +157,11 @@ public final class ASMClassWriter extends ClassWriter {
     }
 
 
-    private boolean isInterface(final ClassReader classReader) {
-        return (classReader.getAccess() & Opcodes.ACC_INTERFACE) != 0;
-    }
-
-    private boolean isImplements(final String interfaceInternalName, final ClassReader classReader) {
-        ClassReader classInfo = classReader;
+    private boolean isImplements(final String interfaceInternalName, final ClassHierarchyMetadata classMetadata) {
+        ClassHierarchyMetadata classInfo = classMetadata;
 
         while (classInfo != null) {
-            final String[] interfaceInternalNames = classInfo.getInterfaces();
+            final List<String> interfaceInternalNames = classInfo.getInterfaceInternalNames();
             for (String name : interfaceInternalNames) {
                 if (name != null && name.equals(interfaceInternalName)) {
                     return true;
@@ -170,7 +170,7 @@ public final class ASMClassWriter extends ClassWriter {
 
             for (String name : interfaceInternalNames) {
                 if(name != null) {
-                    final ClassReader interfaceInfo = getClassReader(name);
+                    final ClassHierarchyMetadata interfaceInfo = getClassMetadata(name);
                     if (interfaceInfo != null) {
                         if (isImplements(interfaceInternalName, interfaceInfo)) {
                             return true;
@@ -179,11 +179,11 @@ public final class ASMClassWriter extends ClassWriter {
                 }
             }
 
-            final String superClassInternalName = classInfo.getSuperName();
+            final String superClassInternalName = classInfo.getSuperClassInternalName();
             if (superClassInternalName == null || superClassInternalName.equals(OBJECT_CLASS_INTERNAL_NAME)) {
                 break;
             }
-            classInfo = getClassReader(superClassInternalName);
+            classInfo = getClassMetadata(superClassInternalName);
         }
 
         return false;
@@ -191,32 +191,15 @@ public final class ASMClassWriter extends ClassWriter {
 
 
     private String getSuperClassInternalName(final String classInternalName) {
-        final ClassReader classReader = getClassReader(classInternalName);
-        if (classReader == null) {
+        final ClassHierarchyMetadata classMetadata = getClassMetadata(classInternalName);
+        if (classMetadata == null) {
             return null;
         }
 
-        return classReader.getSuperName();
+        return classMetadata.getSuperClassInternalName();
     }
 
-    private ClassReader getClassReader(final String classInternalName) {
-        InputStream in = null;
-        try {
-            in = pluginContext.getResourceAsStream(this.classLoader, classInternalName + ".class");
-            if (in != null) {
-                return new ClassReader(in);
-            }
-        } catch (IOException ignored) {
-            // not found class.
-        } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (IOException ignored) {
-                }
-            }
-        }
-
-        return null;
+    private ClassHierarchyMetadata getClassMetadata(final String classInternalName) {
+        return classHierarchyMetadataCache.get(pluginContext, classLoader, classInternalName);
     }
 }
\ No newline at end of file
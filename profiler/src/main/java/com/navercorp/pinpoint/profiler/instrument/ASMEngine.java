@@ -19,6 +19,7 @@ import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.bootstrap.instrument.NotFoundInstrumentException;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.metadata.ApiMetaDataService;
 import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
@@ -43,9 +44,9 @@ public class ASMEngine implements InstrumentEngine {
     private final ObjectBinderFactory objectBinderFactory;
     private final InterceptorRegistryBinder interceptorRegistryBinder;
     private final Provider<ApiMetaDataService> apiMetaDataService;
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache;
 
-
-    public ASMEngine(Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, final InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataService, final List<String> bootStrapJars) {
+    public ASMEngine(Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, final InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataService, ClassHierarchyMetadataCache classHierarchyMetadataCache, final List<String> bootStrapJars) {
         if (instrumentation == null) {
             throw new NullPointerException("instrumentation must not be null");
         }
@@ -58,11 +59,15 @@ public class ASMEngine implements InstrumentEngine {
         if (apiMetaDataService == null) {
             throw new NullPointerException("apiMetaDataService must not be null");
         }
+        if (classHierarchyMetadataCache == null) {
+            throw new NullPointerException("classHierarchyMetadataCache must not be null");
+        }
 
         this.instrumentation = instrumentation;
         this.objectBinderFactory = objectBinderFactory;
         this.interceptorRegistryBinder = interceptorRegistryBinder;
         this.apiMetaDataService = apiMetaDataService;
+        this.classHierarchyMetadataCache = classHierarchyMetadataCache;
 
     }
 
@@ -74,12 +79,12 @@ public class ASMEngine implements InstrumentEngine {
 
         try {
             if (classFileBuffer == null) {
-                ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(instrumentContext, classLoader, JavaAssistUtils.javaNameToJvmName(className));
+                ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(instrumentContext, classHierarchyMetadataCache, classLoader, JavaAssistUtils.javaNameToJvmName(className));
                 if (classNode == null) {
                     return null;
                 }
                 ApiMetaDataService apiMetaDataService = this.apiMetaDataService.get();
-                return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
+                return new ASMClass(objectBinderFactory, instrumentContext, classHierarchyMetadataCache, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
             }
 
             // Use ASM tree api.
@@ -88,7 +93,7 @@ public class ASMEngine implements InstrumentEngine {
             classReader.accept(classNode, 0);
 
             ApiMetaDataService apiMetaDataService = this.apiMetaDataService.get();
-            return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
+            return new ASMClass(objectBinderFactory, instrumentContext, classHierarchyMetadataCache, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
         } catch (Exception e) {
             throw new NotFoundInstrumentException(e);
         }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import java.util.List;
+
+/**
+ * Class hierarchy information(super class, interfaces, annotations) without fields and methods.
+ * Holds only internal names, so caching it does not retain the class loader or the class binary.
+ */
+public class ClassHierarchyMetadata {
+
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private final int accessFlag;
+    private final String classInternalName;
+    private final String superClassInternalName;
+    private final List<String> interfaceInternalNames;
+    private final List<String> annotationDescriptors;
+
+    public ClassHierarchyMetadata(int accessFlag, String classInternalName, String superClassInternalName, List<String> interfaceInternalNames, List<String> annotationDescriptors) {
+        if (classInternalName == null) {
+            throw new NullPointerException("classInternalName must not be null");
+        }
+        if (interfaceInternalNames == null) {
+            throw new NullPointerException("interfaceInternalNames must not be null");
+        }
+        if (annotationDescriptors == null) {
+            throw new NullPointerException("annotationDescriptors must not be null");
+        }
+        this.accessFlag = accessFlag;
+        this.classInternalName = classInternalName;
+        this.superClassInternalName = superClassInternalName;
+        this.interfaceInternalNames = interfaceInternalNames;
+        this.annotationDescriptors = annotationDescriptors;
+    }
+
+    public int getAccessFlag() {
+        return accessFlag;
+    }
+
+    public boolean isInterface() {
+        return (accessFlag & ACC_INTERFACE) != 0;
+    }
+
+    public String getClassInternalName() {
+        return classInternalName;
+    }
+
+    /**
+     * @return null if java/lang/Object
+     */
+    public String getSuperClassInternalName() {
+        return superClassInternalName;
+    }
+
+    public List<String> getInterfaceInternalNames() {
+        return interfaceInternalNames;
+    }
+
+    public List<String> getAnnotationDescriptors() {
+        return annotationDescriptors;
+    }
+
+    public boolean hasAnnotation(String annotationDescriptor) {
+        return annotationDescriptors.contains(annotationDescriptor);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ClassHierarchyMetadata{");
+        sb.append("accessFlag=").append(accessFlag);
+        sb.append(", classInternalName='").append(classInternalName).append('\'');
+        sb.append(", superClassInternalName='").append(superClassInternalName).append('\'');
+        sb.append(", interfaceInternalNames=").append(interfaceInternalNames);
+        sb.append(", annotationDescriptors=").append(annotationDescriptors);
+        sb.append('}');
+        return sb.toString();
+    }
+}
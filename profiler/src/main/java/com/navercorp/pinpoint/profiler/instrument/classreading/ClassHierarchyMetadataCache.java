@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+/**
+ * Size bounded cache of {@link ClassHierarchyMetadata}, one instance per agent.
+ * Entries are keyed by plugin context, class loader and class name, since each context may resolve
+ * a class file differently. Contexts and class loaders are referenced weakly, so cached entries never pin them.
+ */
+public class ClassHierarchyMetadataCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024 * 8;
+
+    private final Cache<CacheKey, ClassHierarchyMetadata> cache;
+
+    public ClassHierarchyMetadataCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .concurrencyLevel(4)
+                .build();
+    }
+
+    /**
+     * @return null if the class file is not found
+     */
+    public ClassHierarchyMetadata get(InstrumentContext instrumentContext, ClassLoader classLoader, String classInternalName) {
+        if (instrumentContext == null) {
+            throw new NullPointerException("instrumentContext must not be null");
+        }
+        if (classInternalName == null) {
+            throw new NullPointerException("classInternalName must not be null");
+        }
+        final CacheKey cacheKey = new CacheKey(instrumentContext, classLoader, classInternalName);
+        final ClassHierarchyMetadata cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        final ClassHierarchyMetadata metadata = read(instrumentContext, classLoader, classInternalName);
+        if (metadata != null) {
+            cache.put(cacheKey, metadata);
+        }
+        return metadata;
+    }
+
+    private ClassHierarchyMetadata read(InstrumentContext instrumentContext, ClassLoader classLoader, String classInternalName) {
+        InputStream in = null;
+        try {
+            in = instrumentContext.getResourceAsStream(classLoader, classInternalName + ".class");
+            if (in != null) {
+                return ClassHierarchyMetadataReader.readClassHierarchyMetadata(in);
+            }
+        } catch (IOException ignored) {
+            // not found class.
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        return null;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static final class CacheKey {
+        private final WeakReference<InstrumentContext> instrumentContextReference;
+        // null : bootstrap class loader
+        private final WeakReference<ClassLoader> classLoaderReference;
+        private final String classInternalName;
+        private final int hashCode;
+
+        private CacheKey(InstrumentContext instrumentContext, ClassLoader classLoader, String classInternalName) {
+            this.instrumentContextReference = new WeakReference<InstrumentContext>(instrumentContext);
+            this.classLoaderReference = classLoader == null ? null : new WeakReference<ClassLoader>(classLoader);
+            this.classInternalName = classInternalName;
+            int result = System.identityHashCode(instrumentContext);
+            result = 31 * result + System.identityHashCode(classLoader);
+            result = 31 * result + classInternalName.hashCode();
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final CacheKey that = (CacheKey) o;
+            if (hashCode != that.hashCode) return false;
+            if (!classInternalName.equals(that.classInternalName)) return false;
+            final InstrumentContext instrumentContext = instrumentContextReference.get();
+            // collected context never matches
+            if (instrumentContext == null || instrumentContext != that.instrumentContextReference.get()) return false;
+            if (classLoaderReference == null || that.classLoaderReference == null) {
+                return classLoaderReference == that.classLoaderReference;
+            }
+            final ClassLoader classLoader = classLoaderReference.get();
+            // collected class loader never matches
+            return classLoader != null && classLoader == that.classLoaderReference.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
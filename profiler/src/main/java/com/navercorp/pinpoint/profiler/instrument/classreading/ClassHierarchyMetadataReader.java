@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads only the constant pool, the super class, interfaces and class level annotations.
+ * Fields and methods are skipped without building a {@link org.objectweb.asm.tree.ClassNode}.
+ */
+public class ClassHierarchyMetadataReader {
+
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    public static ClassHierarchyMetadata readClassHierarchyMetadata(byte[] classBinary) {
+        if (classBinary == null) {
+            throw new NullPointerException("classBinary must not be null");
+        }
+        return read(new ClassReader(classBinary));
+    }
+
+    public static ClassHierarchyMetadata readClassHierarchyMetadata(InputStream classStream) throws IOException {
+        if (classStream == null) {
+            throw new NullPointerException("classStream must not be null");
+        }
+        return read(new ClassReader(classStream));
+    }
+
+    private static ClassHierarchyMetadata read(ClassReader classReader) {
+        final HierarchyVisitor visitor = new HierarchyVisitor();
+        classReader.accept(visitor, PARSING_OPTIONS);
+
+        return visitor.toMetadata(classReader);
+    }
+
+    private static class HierarchyVisitor extends ClassVisitor {
+
+        private List<String> annotationDescriptors;
+
+        private HierarchyVisitor() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            if (annotationDescriptors == null) {
+                annotationDescriptors = new ArrayList<String>(2);
+            }
+            annotationDescriptors.add(desc);
+            return null;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            return null;
+        }
+
+        private ClassHierarchyMetadata toMetadata(ClassReader classReader) {
+            final String[] interfaces = classReader.getInterfaces();
+            final List<String> interfaceInternalNames = interfaces.length == 0 ? Collections.<String>emptyList() : Collections.unmodifiableList(Arrays.asList(interfaces));
+            final List<String> annotations = annotationDescriptors == null ? Collections.<String>emptyList() : Collections.unmodifiableList(annotationDescriptors);
+            return new ClassHierarchyMetadata(classReader.getAccess(), classReader.getClassName(), classReader.getSuperName(), interfaceInternalNames, annotations);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import java.util.Collection;
+
+/**
+ * Bloom filter of jvm internal class names.
+ * Hashes are derived from {@link String#hashCode()} which is cached by the string and reused by the registry lookup.
+ */
+public class ClassNameBloomFilter {
+
+    private static final int BITS_PER_ENTRY = 16;
+    private static final int MIN_BITS = 1024;
+    private static final int HASH_COUNT = 4;
+
+    private final long[] bits;
+    private final int mask;
+
+    public ClassNameBloomFilter(Collection<String> classInternalNames) {
+        if (classInternalNames == null) {
+            throw new NullPointerException("classInternalNames must not be null");
+        }
+        final int bitSize = bitSize(classInternalNames.size());
+        this.bits = new long[bitSize >>> 6];
+        this.mask = bitSize - 1;
+
+        for (String classInternalName : classInternalNames) {
+            put(classInternalName);
+        }
+    }
+
+    private static int bitSize(int expectedInsertions) {
+        final long required = Math.max((long) expectedInsertions * BITS_PER_ENTRY, MIN_BITS);
+        int bitSize = MIN_BITS;
+        while (bitSize < required && bitSize < (1 << 30)) {
+            bitSize <<= 1;
+        }
+        return bitSize;
+    }
+
+    private void put(String classInternalName) {
+        final int hash1 = classInternalName.hashCode();
+        final int hash2 = secondHash(hash1);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final int index = (hash1 + i * hash2) & mask;
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(String classInternalName) {
+        final int hash1 = classInternalName.hashCode();
+        final int hash2 = secondHash(hash1);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final int index = (hash1 + i * hash2) & mask;
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // murmur3 fmix32
+    private static int secondHash(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        // odd, so that every probe lands on a different bit
+        return hash | 1;
+    }
+}
@@ -17,9 +17,11 @@
 package com.navercorp.pinpoint.profiler.instrument.transformer;
 
 import java.lang.instrument.ClassFileTransformer;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.ClassNameMatcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
@@ -43,6 +45,10 @@ public class DefaultTransformerRegistry implements TransformerRegistry {
     public ClassFileTransformer findTransformer(String className) {
         return registry.get(className);
     }
+
+    public Set<String> getClassInternalNames() {
+        return Collections.unmodifiableSet(registry.keySet());
+    }
     
     public void addTransformer(Matcher matcher, ClassFileTransformer transformer) {
         // TODO extract matcher process
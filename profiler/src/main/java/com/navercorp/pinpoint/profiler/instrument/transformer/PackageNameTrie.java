@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import java.util.Collection;
+
+/**
+ * Character trie of jvm internal package names (e.g. "org/apache/catalina/core/").
+ * Built once and read-only afterwards, so lookups need no synchronization.
+ */
+public class PackageNameTrie {
+
+    private final Node root = new Node();
+
+    public PackageNameTrie(Collection<String> classInternalNames) {
+        if (classInternalNames == null) {
+            throw new NullPointerException("classInternalNames must not be null");
+        }
+        for (String classInternalName : classInternalNames) {
+            addPackage(classInternalName);
+        }
+    }
+
+    private void addPackage(String classInternalName) {
+        final int packageEnd = classInternalName.lastIndexOf('/') + 1;
+        Node node = root;
+        for (int i = 0; i < packageEnd; i++) {
+            node = node.getOrAddChild(classInternalName.charAt(i));
+        }
+        node.packageEnd = true;
+    }
+
+    /**
+     * @return true if the package of the given class is exactly one of the registered packages
+     */
+    public boolean containsPackageOf(String classInternalName) {
+        final int length = classInternalName.length();
+        Node node = root;
+        for (int i = 0; i < length; i++) {
+            if (node.packageEnd && classInternalName.indexOf('/', i) == -1) {
+                return true;
+            }
+            node = node.getChild(classInternalName.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private static final char[] EMPTY_KEYS = new char[0];
+        private static final Node[] EMPTY_CHILDREN = new Node[0];
+
+        private char[] keys = EMPTY_KEYS;
+        private Node[] children = EMPTY_CHILDREN;
+        private boolean packageEnd;
+
+        private Node getChild(char key) {
+            final char[] keys = this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrAddChild(char key) {
+            final Node child = getChild(key);
+            if (child != null) {
+                return child;
+            }
+            final int size = keys.length;
+            final char[] newKeys = new char[size + 1];
+            final Node[] newChildren = new Node[size + 1];
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            System.arraycopy(children, 0, newChildren, 0, size);
+
+            final Node newChild = new Node();
+            newKeys[size] = key;
+            newChildren[size] = newChild;
+            this.keys = newKeys;
+            this.children = newChildren;
+            return newChild;
+        }
+    }
+}
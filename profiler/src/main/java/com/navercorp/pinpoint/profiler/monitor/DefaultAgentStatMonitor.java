@@ -18,11 +18,14 @@ package com.navercorp.pinpoint.profiler.monitor;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.AgentStartTime;
 import com.navercorp.pinpoint.profiler.context.module.StatDataSender;
 import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.downsampling.DownsampledStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.downsampling.UnsupportedDownsampledStatMetricCollector;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EmptyDataSender;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
@@ -44,24 +47,39 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
     private static final long DEFAULT_COLLECTION_INTERVAL_MS = 1000 * 5;
     private static final int DEFAULT_NUM_COLLECTIONS_PER_SEND = 6;
 
+    public static final String SAMPLING_INTERVAL = "profiler.jvm.stat.sampling.interval";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final long collectionIntervalMs;
+    private final long samplingIntervalMs;
 
     private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-stat-monitor", true));
 
     private final CollectJob collectJob;
+    private final DownsampledStatMetricCollector downsampledStatMetricCollector;
 
     @Inject
-    public DefaultAgentStatMonitor(@StatDataSender DataSender dataSender,
+    public DefaultAgentStatMonitor(ProfilerConfig profilerConfig, @StatDataSender DataSender dataSender,
                                    @AgentId String agentId, @AgentStartTime long agentStartTimestamp,
-                                   @Named("AgentStatCollector") AgentStatMetricCollector<TAgentStat> agentStatCollector) {
-        this(dataSender, agentId, agentStartTimestamp, agentStatCollector, DEFAULT_COLLECTION_INTERVAL_MS, DEFAULT_NUM_COLLECTIONS_PER_SEND);
+                                   @Named("AgentStatCollector") AgentStatMetricCollector<TAgentStat> agentStatCollector,
+                                   DownsampledStatMetricCollector downsampledStatMetricCollector) {
+        this(dataSender, agentId, agentStartTimestamp, agentStatCollector, DEFAULT_COLLECTION_INTERVAL_MS, DEFAULT_NUM_COLLECTIONS_PER_SEND,
+                downsampledStatMetricCollector, getSamplingInterval(profilerConfig));
     }
 
     public DefaultAgentStatMonitor(DataSender dataSender,
                                    String agentId, long agentStartTimestamp,
                                    AgentStatMetricCollector<TAgentStat> agentStatCollector,
                                    long collectionInterval, int numCollectionsPerBatch) {
+        this(dataSender, agentId, agentStartTimestamp, agentStatCollector, collectionInterval, numCollectionsPerBatch,
+                new UnsupportedDownsampledStatMetricCollector(), 0);
+    }
+
+    public DefaultAgentStatMonitor(DataSender dataSender,
+                                   String agentId, long agentStartTimestamp,
+                                   AgentStatMetricCollector<TAgentStat> agentStatCollector,
+                                   long collectionInterval, int numCollectionsPerBatch,
+                                   DownsampledStatMetricCollector downsampledStatMetricCollector, long samplingInterval) {
         if (dataSender == null) {
             throw new NullPointerException("dataSender must not be null");
         }
@@ -71,12 +89,31 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
         if (agentStatCollector == null) {
             throw new NullPointerException("agentStatCollector must not be null");
         }
+        if (downsampledStatMetricCollector == null) {
+            throw new NullPointerException("downsampledStatMetricCollector must not be null");
+        }
         this.collectionIntervalMs = collectionInterval;
+        this.samplingIntervalMs = samplingInterval;
+        this.downsampledStatMetricCollector = downsampledStatMetricCollector;
         this.collectJob = new CollectJob(dataSender, agentId, agentStartTimestamp, agentStatCollector, numCollectionsPerBatch);
 
         preLoadClass(agentId, agentStartTimestamp, agentStatCollector);
     }
 
+    /**
+     * Returns the sub-collection sampling interval, or 0 if it is not configured or not shorter than the collection interval.
+     */
+    public static long getSamplingInterval(ProfilerConfig profilerConfig) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        final long samplingInterval = profilerConfig.readLong(SAMPLING_INTERVAL, 0);
+        if (samplingInterval <= 0 || samplingInterval >= DEFAULT_COLLECTION_INTERVAL_MS) {
+            return 0;
+        }
+        return samplingInterval;
+    }
+
     // https://github.com/naver/pinpoint/issues/2881
     // #2881 AppClassLoader and PinpointUrlClassLoader Circular dependency deadlock
     // prevent deadlock for JDK6
@@ -94,6 +131,11 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
 
     @Override
     public void start() {
+        if (samplingIntervalMs > 0) {
+            // samples share the collect thread, so a sample never runs concurrently with a collection
+            executor.scheduleAtFixedRate(new SampleJob(downsampledStatMetricCollector), this.samplingIntervalMs, this.samplingIntervalMs, TimeUnit.MILLISECONDS);
+            logger.info("AgentStat sampling interval:{}ms", samplingIntervalMs);
+        }
         executor.scheduleAtFixedRate(collectJob, this.collectionIntervalMs, this.collectionIntervalMs, TimeUnit.MILLISECONDS);
         logger.info("AgentStat monitor started");
     }
@@ -109,4 +151,24 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
         logger.info("AgentStat monitor stopped");
     }
 
+    private static class SampleJob implements Runnable {
+
+        private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+        private final DownsampledStatMetricCollector downsampledStatMetricCollector;
+
+        private SampleJob(DownsampledStatMetricCollector downsampledStatMetricCollector) {
+            this.downsampledStatMetricCollector = downsampledStatMetricCollector;
+        }
+
+        @Override
+        public void run() {
+            try {
+                downsampledStatMetricCollector.sample();
+            } catch (Exception ex) {
+                logger.warn("AgentStat sample failed. Caused:{}", ex.getMessage(), ex);
+            }
+        }
+    }
+
 }
@@ -21,8 +21,11 @@ import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.AgentStartTime;
 import com.navercorp.pinpoint.profiler.monitor.collector.activethread.ActiveTraceMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.cpu.CpuLoadMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.dataspool.DataSpoolMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.datasource.DataSourceMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.downsampling.DownsampledStatMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.stacksampling.StackSamplingMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.transaction.TransactionMetricCollector;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 
@@ -38,6 +41,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
     private final TransactionMetricCollector transactionMetricCollector;
     private final ActiveTraceMetricCollector activeTraceMetricCollector;
     private final DataSourceMetricCollector dataSourceMetricCollector;
+    private final StackSamplingMetricCollector stackSamplingMetricCollector;
+    private final DownsampledStatMetricCollector downsampledStatMetricCollector;
+    private final DataSpoolMetricCollector dataSpoolMetricCollector;
 
     @Inject
     public AgentStatCollector(
@@ -47,7 +53,10 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
             CpuLoadMetricCollector cpuLoadMetricCollector,
             TransactionMetricCollector transactionMetricCollector,
             ActiveTraceMetricCollector activeTraceMetricCollector,
-            DataSourceMetricCollector dataSourceMetricCollector) {
+            DataSourceMetricCollector dataSourceMetricCollector,
+            StackSamplingMetricCollector stackSamplingMetricCollector,
+            DownsampledStatMetricCollector downsampledStatMetricCollector,
+            DataSpoolMetricCollector dataSpoolMetricCollector) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
         }
@@ -66,6 +75,15 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         if (dataSourceMetricCollector == null) {
             throw new NullPointerException("dataSourceMetricCollector must not be null");
         }
+        if (stackSamplingMetricCollector == null) {
+            throw new NullPointerException("stackSamplingMetricCollector must not be null");
+        }
+        if (downsampledStatMetricCollector == null) {
+            throw new NullPointerException("downsampledStatMetricCollector must not be null");
+        }
+        if (dataSpoolMetricCollector == null) {
+            throw new NullPointerException("dataSpoolMetricCollector must not be null");
+        }
         this.agentId = agentId;
         this.agentStartTimestamp = agentStartTimestamp;
         this.jvmGcMetricCollector = jvmGcMetricCollector;
@@ -73,6 +91,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         this.transactionMetricCollector = transactionMetricCollector;
         this.activeTraceMetricCollector = activeTraceMetricCollector;
         this.dataSourceMetricCollector = dataSourceMetricCollector;
+        this.stackSamplingMetricCollector = stackSamplingMetricCollector;
+        this.downsampledStatMetricCollector = downsampledStatMetricCollector;
+        this.dataSpoolMetricCollector = dataSpoolMetricCollector;
     }
 
     @Override
@@ -85,6 +106,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         agentStat.setTransaction(transactionMetricCollector.collect());
         agentStat.setActiveTrace(activeTraceMetricCollector.collect());
         agentStat.setDataSourceList(dataSourceMetricCollector.collect());
+        agentStat.setStackSampling(stackSamplingMetricCollector.collect());
+        agentStat.setDownsampledStat(downsampledStatMetricCollector.collect());
+        agentStat.setDataSpool(dataSpoolMetricCollector.collect());
         return agentStat;
     }
 
@@ -98,6 +122,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         sb.append(", transactionMetricCollector=").append(transactionMetricCollector);
         sb.append(", activeTraceMetricCollector=").append(activeTraceMetricCollector);
         sb.append(", dataSourceMetricCollector=").append(dataSourceMetricCollector);
+        sb.append(", stackSamplingMetricCollector=").append(stackSamplingMetricCollector);
+        sb.append(", downsampledStatMetricCollector=").append(downsampledStatMetricCollector);
+        sb.append(", dataSpoolMetricCollector=").append(dataSpoolMetricCollector);
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.dataspool;
+
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
+import com.navercorp.pinpoint.thrift.dto.TDataSpool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Reports the size and age of the span and stat spools, and the counters accumulated since the previous collection.
+ * The replay rate is replayedCount over the collect interval.
+ * The collector does not store them, so every collection that finds spooled data or spool activity is also logged.
+ * Not thread safe, called by the single agent stat collecting thread.
+ */
+public class DefaultDataSpoolMetricCollector implements DataSpoolMetricCollector {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final List<DataSpool> spoolList;
+
+    private long prevSpooledCount;
+    private long prevReplayedCount;
+    private long prevDroppedCount;
+
+    public DefaultDataSpoolMetricCollector(List<DataSpool> spoolList) {
+        if (spoolList == null) {
+            throw new NullPointerException("spoolList must not be null");
+        }
+        this.spoolList = spoolList;
+    }
+
+    @Override
+    public TDataSpool collect() {
+        final long now = System.currentTimeMillis();
+        long spoolSize = 0;
+        int messageCount = 0;
+        long oldestAge = 0;
+        long spooledCount = 0;
+        long replayedCount = 0;
+        long droppedCount = 0;
+        for (DataSpool spool : spoolList) {
+            spoolSize += spool.getSpoolSize();
+            messageCount += spool.getMessageCount();
+            final long oldestTimestamp = spool.getOldestTimestamp();
+            if (oldestTimestamp != 0) {
+                oldestAge = Math.max(oldestAge, now - oldestTimestamp);
+            }
+            spooledCount += spool.getSpooledMessageCount();
+            replayedCount += spool.getReplayedMessageCount();
+            droppedCount += spool.getDroppedMessageCount();
+        }
+
+        final TDataSpool dataSpool = new TDataSpool();
+        dataSpool.setSpoolSize(spoolSize);
+        dataSpool.setMessageCount(messageCount);
+        dataSpool.setOldestAge(oldestAge);
+        dataSpool.setSpooledCount(spooledCount - prevSpooledCount);
+        dataSpool.setReplayedCount(replayedCount - prevReplayedCount);
+        dataSpool.setDroppedCount(droppedCount - prevDroppedCount);
+
+        this.prevSpooledCount = spooledCount;
+        this.prevReplayedCount = replayedCount;
+        this.prevDroppedCount = droppedCount;
+
+        if (messageCount > 0 || dataSpool.getSpooledCount() > 0 || dataSpool.getReplayedCount() > 0 || dataSpool.getDroppedCount() > 0) {
+            logger.info("data spool spoolSize:{}, messageCount:{}, oldestAge:{}ms, spooled:{}, replayed:{}, dropped:{}",
+                    spoolSize, messageCount, oldestAge, dataSpool.getSpooledCount(), dataSpool.getReplayedCount(), dataSpool.getDroppedCount());
+        }
+        return dataSpool;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultDataSpoolMetricCollector{");
+        sb.append("spoolList=").append(spoolList);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.downsampling;
+
+import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetric;
+import com.navercorp.pinpoint.thrift.dto.TDownsampledStat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.MemoryMXBean;
+
+public class DefaultDownsampledStatMetricCollector implements DownsampledStatMetricCollector {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final MemoryMXBean memoryMXBean;
+    private final CpuLoadMetric cpuLoadMetric;
+    private final long samplingInterval;
+
+    private int sampleCount;
+    private final LongSummary heapUsed = new LongSummary();
+    private final DoubleSummary jvmCpuLoad = new DoubleSummary();
+    private final DoubleSummary systemCpuLoad = new DoubleSummary();
+
+    public DefaultDownsampledStatMetricCollector(MemoryMXBean memoryMXBean, CpuLoadMetric cpuLoadMetric, long samplingInterval) {
+        if (memoryMXBean == null) {
+            throw new NullPointerException("memoryMXBean must not be null");
+        }
+        if (cpuLoadMetric == null) {
+            throw new NullPointerException("cpuLoadMetric must not be null");
+        }
+        this.memoryMXBean = memoryMXBean;
+        this.cpuLoadMetric = cpuLoadMetric;
+        this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    public synchronized void sample() {
+        this.sampleCount++;
+        this.heapUsed.add(memoryMXBean.getHeapMemoryUsage().getUsed());
+        this.jvmCpuLoad.add(cpuLoadMetric.jvmCpuLoad());
+        this.systemCpuLoad.add(cpuLoadMetric.systemCpuLoad());
+    }
+
+    @Override
+    public synchronized TDownsampledStat collect() {
+        if (sampleCount == 0) {
+            return null;
+        }
+        final TDownsampledStat downsampledStat = new TDownsampledStat();
+        downsampledStat.setSampleCount(sampleCount);
+        downsampledStat.setSamplingInterval(samplingInterval);
+        if (heapUsed.count > 0) {
+            downsampledStat.setHeapUsedMin(heapUsed.min);
+            downsampledStat.setHeapUsedMax(heapUsed.max);
+            downsampledStat.setHeapUsedAvg(heapUsed.sum / heapUsed.count);
+        }
+        if (jvmCpuLoad.count > 0) {
+            downsampledStat.setJvmCpuLoadMin(jvmCpuLoad.min);
+            downsampledStat.setJvmCpuLoadMax(jvmCpuLoad.max);
+            downsampledStat.setJvmCpuLoadAvg(jvmCpuLoad.sum / jvmCpuLoad.count);
+        }
+        if (systemCpuLoad.count > 0) {
+            downsampledStat.setSystemCpuLoadMin(systemCpuLoad.min);
+            downsampledStat.setSystemCpuLoadMax(systemCpuLoad.max);
+            downsampledStat.setSystemCpuLoadAvg(systemCpuLoad.sum / systemCpuLoad.count);
+        }
+
+        // the collector does not store downsampled stats yet, the agent log is where they can be read
+        if (logger.isInfoEnabled()) {
+            logger.info("downsampled stat sampleCount:{}, heapUsed min/avg/max:{}/{}/{}, jvmCpuLoad min/avg/max:{}/{}/{}",
+                    sampleCount, downsampledStat.getHeapUsedMin(), downsampledStat.getHeapUsedAvg(), downsampledStat.getHeapUsedMax(),
+                    downsampledStat.getJvmCpuLoadMin(), downsampledStat.getJvmCpuLoadAvg(), downsampledStat.getJvmCpuLoadMax());
+        }
+
+        this.sampleCount = 0;
+        this.heapUsed.reset();
+        this.jvmCpuLoad.reset();
+        this.systemCpuLoad.reset();
+        return downsampledStat;
+    }
+
+    private static class LongSummary {
+        private long min;
+        private long max;
+        private long sum;
+        private int count;
+
+        private void add(long value) {
+            if (count == 0 || value < min) {
+                min = value;
+            }
+            if (count == 0 || value > max) {
+                max = value;
+            }
+            sum += value;
+            count++;
+        }
+
+        private void reset() {
+            min = 0;
+            max = 0;
+            sum = 0;
+            count = 0;
+        }
+    }
+
+    private static class DoubleSummary {
+        private double min;
+        private double max;
+        private double sum;
+        private int count;
+
+        // unsupported or not yet available cpu loads are negative and left out of the summary
+        private void add(Double value) {
+            if (value == null || value < 0 || Double.isNaN(value)) {
+                return;
+            }
+            if (count == 0 || value < min) {
+                min = value;
+            }
+            if (count == 0 || value > max) {
+                max = value;
+            }
+            sum += value;
+            count++;
+        }
+
+        private void reset() {
+            min = 0;
+            max = 0;
+            sum = 0;
+            count = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultDownsampledStatMetricCollector{");
+        sb.append("cpuLoadMetric=").append(cpuLoadMetric);
+        sb.append(", samplingInterval=").append(samplingInterval);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.downsampling;
+
+import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
+import com.navercorp.pinpoint.thrift.dto.TDownsampledStat;
+
+/**
+ * Samples at a shorter interval than the agent stat collection, and reports the min/max/avg of the samples
+ * taken since the previous {@link #collect()}.
+ */
+public interface DownsampledStatMetricCollector extends AgentStatMetricCollector<TDownsampledStat> {
+
+    void sample();
+
+}
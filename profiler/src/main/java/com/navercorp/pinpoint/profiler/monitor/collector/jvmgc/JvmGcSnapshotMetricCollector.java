@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.jvmgc;
+
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TJvmGcDetailed;
+import com.navercorp.pinpoint.thrift.dto.TJvmGcType;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Reads heap, memory pool and garbage collector values in a single pass over the MXBeans.
+ * Pools and collectors are resolved once at construction, so each collection costs one call per value
+ * instead of one call per codahale gauge.
+ */
+public class JvmGcSnapshotMetricCollector implements JvmGcMetricCollector {
+
+    private static final long UNCOLLECTED_LONG = -1L;
+    private static final double UNCOLLECTED_DOUBLE = -1D;
+
+    private final MemoryMXBean memoryMXBean;
+    private final boolean collectDetailedMetrics;
+
+    private final TJvmGcType gcType;
+    private final GarbageCollectorMXBean oldGenCollector;
+    private final GarbageCollectorMXBean newGenCollector;
+
+    private final MemoryPoolMXBean newGenPool;
+    private final MemoryPoolMXBean oldGenPool;
+    private final MemoryPoolMXBean survivorPool;
+    private final MemoryPoolMXBean codeCachePool;
+    private final MemoryPoolMXBean permGenPool;
+    private final MemoryPoolMXBean metaspacePool;
+
+    public JvmGcSnapshotMetricCollector(MemoryMXBean memoryMXBean, List<MemoryPoolMXBean> memoryPoolMXBeans,
+                                        List<GarbageCollectorMXBean> garbageCollectorMXBeans, boolean collectDetailedMetrics) {
+        if (memoryMXBean == null) {
+            throw new NullPointerException("memoryMXBean must not be null");
+        }
+        if (memoryPoolMXBeans == null) {
+            throw new NullPointerException("memoryPoolMXBeans must not be null");
+        }
+        if (garbageCollectorMXBeans == null) {
+            throw new NullPointerException("garbageCollectorMXBeans must not be null");
+        }
+        this.memoryMXBean = memoryMXBean;
+        this.collectDetailedMetrics = collectDetailedMetrics;
+
+        TJvmGcType gcType = TJvmGcType.UNKNOWN;
+        GarbageCollectorMXBean oldGenCollector = null;
+        GarbageCollectorMXBean newGenCollector = null;
+        for (GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+            final String name = garbageCollectorMXBean.getName();
+            final TJvmGcType oldGenType = oldGenCollectorType(name);
+            if (oldGenType != null) {
+                gcType = oldGenType;
+                oldGenCollector = garbageCollectorMXBean;
+            } else if (isNewGenCollector(name)) {
+                newGenCollector = garbageCollectorMXBean;
+            }
+        }
+        this.gcType = gcType;
+        this.oldGenCollector = oldGenCollector;
+        this.newGenCollector = newGenCollector;
+
+        MemoryPoolMXBean newGenPool = null;
+        MemoryPoolMXBean oldGenPool = null;
+        MemoryPoolMXBean survivorPool = null;
+        MemoryPoolMXBean codeCachePool = null;
+        MemoryPoolMXBean permGenPool = null;
+        MemoryPoolMXBean metaspacePool = null;
+        for (MemoryPoolMXBean memoryPoolMXBean : memoryPoolMXBeans) {
+            final String name = memoryPoolMXBean.getName();
+            if (name.endsWith("Eden Space")) {
+                newGenPool = memoryPoolMXBean;
+            } else if (name.endsWith("Survivor Space")) {
+                survivorPool = memoryPoolMXBean;
+            } else if (name.endsWith("Old Gen") || name.equals("Tenured Gen")) {
+                oldGenPool = memoryPoolMXBean;
+            } else if (name.endsWith("Perm Gen")) {
+                permGenPool = memoryPoolMXBean;
+            } else if (name.equals("Metaspace")) {
+                metaspacePool = memoryPoolMXBean;
+            } else if (name.equals("Code Cache")) {
+                codeCachePool = memoryPoolMXBean;
+            }
+        }
+        this.newGenPool = newGenPool;
+        this.oldGenPool = oldGenPool;
+        this.survivorPool = survivorPool;
+        this.codeCachePool = codeCachePool;
+        this.permGenPool = permGenPool;
+        this.metaspacePool = metaspacePool;
+    }
+
+    private static TJvmGcType oldGenCollectorType(String name) {
+        if ("MarkSweepCompact".equals(name)) {
+            return TJvmGcType.SERIAL;
+        }
+        if ("PS MarkSweep".equals(name)) {
+            return TJvmGcType.PARALLEL;
+        }
+        if ("ConcurrentMarkSweep".equals(name)) {
+            return TJvmGcType.CMS;
+        }
+        if ("G1 Old Generation".equals(name)) {
+            return TJvmGcType.G1;
+        }
+        return null;
+    }
+
+    private static boolean isNewGenCollector(String name) {
+        return "Copy".equals(name) || "PS Scavenge".equals(name) || "ParNew".equals(name) || "G1 Young Generation".equals(name);
+    }
+
+    @Override
+    public TJvmGc collect() {
+        final MemoryUsage heapMemoryUsage = memoryMXBean.getHeapMemoryUsage();
+        final MemoryUsage nonHeapMemoryUsage = memoryMXBean.getNonHeapMemoryUsage();
+
+        final TJvmGc jvmGc = new TJvmGc();
+        jvmGc.setJvmMemoryHeapMax(heapMemoryUsage.getMax());
+        jvmGc.setJvmMemoryHeapUsed(heapMemoryUsage.getUsed());
+        jvmGc.setJvmMemoryNonHeapMax(nonHeapMemoryUsage.getMax());
+        jvmGc.setJvmMemoryNonHeapUsed(nonHeapMemoryUsage.getUsed());
+        jvmGc.setType(gcType);
+        if (oldGenCollector != null) {
+            jvmGc.setJvmGcOldCount(oldGenCollector.getCollectionCount());
+            jvmGc.setJvmGcOldTime(oldGenCollector.getCollectionTime());
+        } else {
+            jvmGc.setJvmGcOldCount(UNCOLLECTED_LONG);
+            jvmGc.setJvmGcOldTime(UNCOLLECTED_LONG);
+        }
+        if (collectDetailedMetrics) {
+            jvmGc.setJvmGcDetailed(collectDetailed());
+        }
+        return jvmGc;
+    }
+
+    private TJvmGcDetailed collectDetailed() {
+        final TJvmGcDetailed jvmGcDetailed = new TJvmGcDetailed();
+        jvmGcDetailed.setJvmPoolNewGenUsed(usage(newGenPool));
+        jvmGcDetailed.setJvmPoolOldGenUsed(usage(oldGenPool));
+        jvmGcDetailed.setJvmPoolCodeCacheUsed(usage(codeCachePool));
+        jvmGcDetailed.setJvmPoolSurvivorSpaceUsed(usage(survivorPool));
+        if (permGenPool != null) {
+            // metric for jvm < 1.8
+            jvmGcDetailed.setJvmPoolPermGenUsed(usage(permGenPool));
+        } else {
+            // metric for jvm >= 1.8
+            jvmGcDetailed.setJvmPoolMetaspaceUsed(usage(metaspacePool));
+        }
+        if (newGenCollector != null) {
+            jvmGcDetailed.setJvmGcNewCount(newGenCollector.getCollectionCount());
+            jvmGcDetailed.setJvmGcNewTime(newGenCollector.getCollectionTime());
+        } else {
+            jvmGcDetailed.setJvmGcNewCount(UNCOLLECTED_LONG);
+            jvmGcDetailed.setJvmGcNewTime(UNCOLLECTED_LONG);
+        }
+        return jvmGcDetailed;
+    }
+
+    // same ratio as codahale's MemoryUsageGaugeSet pool usage gauge
+    private static double usage(MemoryPoolMXBean memoryPoolMXBean) {
+        if (memoryPoolMXBean == null) {
+            return UNCOLLECTED_DOUBLE;
+        }
+        final MemoryUsage memoryUsage = memoryPoolMXBean.getUsage();
+        if (memoryUsage == null) {
+            // pool is no longer valid
+            return UNCOLLECTED_DOUBLE;
+        }
+        final long max = memoryUsage.getMax() == -1 ? memoryUsage.getCommitted() : memoryUsage.getMax();
+        if (max == 0) {
+            return Double.NaN;
+        }
+        return (double) memoryUsage.getUsed() / max;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("JvmGcSnapshotMetricCollector{");
+        sb.append("gcType=").append(gcType);
+        sb.append(", collectDetailedMetrics=").append(collectDetailedMetrics);
+        sb.append('}');
+        return sb.toString();
+    }
+}
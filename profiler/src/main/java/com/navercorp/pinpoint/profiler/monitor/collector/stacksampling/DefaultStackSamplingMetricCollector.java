@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.collector.stacksampling;
+
+import com.navercorp.pinpoint.profiler.monitor.stacksampling.StackSampler;
+import com.navercorp.pinpoint.thrift.dto.TStackSampling;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the stack sampler counters accumulated since the previous collection.
+ * Not thread safe, called by the single agent stat collecting thread.
+ */
+public class DefaultStackSamplingMetricCollector implements StackSamplingMetricCollector {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final StackSampler stackSampler;
+
+    private long prevSampleCount;
+    private long prevSkipCount;
+    private long prevDroppedCount;
+    private long prevSamplingTime;
+
+    public DefaultStackSamplingMetricCollector(StackSampler stackSampler) {
+        if (stackSampler == null) {
+            throw new NullPointerException("stackSampler must not be null");
+        }
+        this.stackSampler = stackSampler;
+    }
+
+    @Override
+    public TStackSampling collect() {
+        final long sampleCount = stackSampler.getSampleCount();
+        final long skipCount = stackSampler.getSkipCount();
+        final long droppedCount = stackSampler.getDroppedCount();
+        final long samplingTime = stackSampler.getSamplingTime();
+
+        final TStackSampling stackSampling = new TStackSampling();
+        stackSampling.setSampleCount(sampleCount - prevSampleCount);
+        stackSampling.setSkipCount(skipCount - prevSkipCount);
+        stackSampling.setDroppedCount(droppedCount - prevDroppedCount);
+        stackSampling.setSamplingTime(TimeUnit.NANOSECONDS.toMillis(samplingTime - prevSamplingTime));
+
+        // the collector does not store TStackSampling, the agent log is where the sampler overhead can be read
+        if (logger.isInfoEnabled() && (stackSampling.getSampleCount() > 0 || stackSampling.getSkipCount() > 0 || stackSampling.getDroppedCount() > 0)) {
+            logger.info("stack sampling sampleCount:{}, skipCount:{}, droppedCount:{}, samplingTime:{}ms",
+                    stackSampling.getSampleCount(), stackSampling.getSkipCount(), stackSampling.getDroppedCount(), stackSampling.getSamplingTime());
+        }
+
+        this.prevSampleCount = sampleCount;
+        this.prevSkipCount = skipCount;
+        this.prevDroppedCount = droppedCount;
+        this.prevSamplingTime = samplingTime;
+        return stackSampling;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultStackSamplingMetricCollector{");
+        sb.append("stackSampler=").append(stackSampler);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.metric.cpu;
+
+/**
+ * Reads jvm and system cpu load together and reuses them until they are older than {@code maxStalenessMs}.
+ * Frequent sampling would otherwise hit the OperatingSystemMXBean twice per sample, and HotSpot reports
+ * the load since the previous call, which gets noisy at very short intervals.
+ */
+public class CachedCpuLoadMetric implements CpuLoadMetric {
+
+    private final CpuLoadMetric delegate;
+    private final long maxStalenessMs;
+
+    private long lastReadTime = -1;
+    private Double jvmCpuLoad;
+    private Double systemCpuLoad;
+
+    public CachedCpuLoadMetric(CpuLoadMetric delegate, long maxStalenessMs) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (maxStalenessMs < 0) {
+            throw new IllegalArgumentException("maxStalenessMs must not be negative");
+        }
+        this.delegate = delegate;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    @Override
+    public synchronized Double jvmCpuLoad() {
+        refresh();
+        return jvmCpuLoad;
+    }
+
+    @Override
+    public synchronized Double systemCpuLoad() {
+        refresh();
+        return systemCpuLoad;
+    }
+
+    private void refresh() {
+        final long currentTime = currentTimeMillis();
+        if (lastReadTime != -1 && currentTime - lastReadTime < maxStalenessMs) {
+            return;
+        }
+        this.jvmCpuLoad = delegate.jvmCpuLoad();
+        this.systemCpuLoad = delegate.systemCpuLoad();
+        this.lastReadTime = currentTime;
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CachedCpuLoadMetric{");
+        sb.append("delegate=").append(delegate);
+        sb.append(", maxStalenessMs=").append(maxStalenessMs);
+        sb.append('}');
+        return sb.toString();
+    }
+}
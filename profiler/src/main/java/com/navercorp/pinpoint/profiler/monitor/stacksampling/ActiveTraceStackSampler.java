@@ -0,0 +1,268 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.ThreadMXBeanUtils;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceInfo;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ThreadInfo;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples the stacks of sampled active traces running longer than the threshold.
+ * All target threads are dumped with a single {@link java.lang.management.ThreadMXBean} call per run.
+ * After each run the sampler stays idle long enough to keep its own cpu usage under the overhead budget,
+ * runs falling into that idle time are skipped and counted.
+ */
+public class ActiveTraceStackSampler implements StackSampler {
+
+    private static final int MAX_OVERHEAD_PERCENT = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ActiveTraceRepository activeTraceRepository;
+    private final long samplingInterval;
+    private final long threshold;
+    private final int maxDepth;
+    private final int maxNodeSize;
+    private final int maxTraceSize;
+    private final int overheadPercent;
+
+    private final ConcurrentMap<Long, StackSampleTree> sampleTreeMap = new ConcurrentHashMap<Long, StackSampleTree>();
+
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicLong skipCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong samplingTime = new AtomicLong();
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-stack-sampler", true));
+
+    // accessed by the sampler thread only
+    private long nextSamplingTime = System.nanoTime();
+
+    public ActiveTraceStackSampler(ActiveTraceRepository activeTraceRepository, long samplingInterval, long threshold,
+                                   int maxDepth, int maxNodeSize, int maxTraceSize, int overheadPercent) {
+        if (activeTraceRepository == null) {
+            throw new NullPointerException("activeTraceRepository must not be null");
+        }
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("samplingInterval must be greater than 0");
+        }
+        if (maxNodeSize <= 0) {
+            throw new IllegalArgumentException("maxNodeSize must be greater than 0");
+        }
+        if (maxTraceSize <= 0) {
+            throw new IllegalArgumentException("maxTraceSize must be greater than 0");
+        }
+        if (overheadPercent <= 0 || overheadPercent > MAX_OVERHEAD_PERCENT) {
+            throw new IllegalArgumentException("overheadPercent must be between 1 and " + MAX_OVERHEAD_PERCENT);
+        }
+        this.activeTraceRepository = activeTraceRepository;
+        this.samplingInterval = samplingInterval;
+        this.threshold = threshold;
+        this.maxDepth = maxDepth;
+        this.maxNodeSize = maxNodeSize;
+        this.maxTraceSize = maxTraceSize;
+        this.overheadPercent = overheadPercent;
+    }
+
+    @Override
+    public void start() {
+        executor.scheduleAtFixedRate(new SamplingJob(), samplingInterval, samplingInterval, TimeUnit.MILLISECONDS);
+        logger.info("StackSampler started. interval:{}ms threshold:{}ms overhead:{}%", samplingInterval, threshold, overheadPercent);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sampleTreeMap.clear();
+        logger.info("StackSampler stopped");
+    }
+
+    void sample() {
+        final long startTime = System.nanoTime();
+        if (startTime - nextSamplingTime < 0) {
+            skipCount.incrementAndGet();
+            return;
+        }
+        try {
+            sample0(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warn("stack sampling failed. Caused:{}", e.getMessage(), e);
+        }
+        final long elapsedTime = System.nanoTime() - startTime;
+        samplingTime.addAndGet(elapsedTime);
+        // idle = elapsed * (100 - overhead) / overhead keeps elapsed / (elapsed + idle) under the budget
+        this.nextSamplingTime = startTime + elapsedTime + (elapsedTime * (MAX_OVERHEAD_PERCENT - overheadPercent) / overheadPercent);
+    }
+
+    private void sample0(long currentTime) {
+        final List<ActiveTraceInfo> activeTraceInfoList = activeTraceRepository.collect();
+
+        final int activeTraceSize = activeTraceInfoList.size();
+        final long[] threadIds = new long[activeTraceSize];
+        final long[] traceIds = new long[activeTraceSize];
+        int targetSize = 0;
+        for (ActiveTraceInfo activeTraceInfo : activeTraceInfoList) {
+            if (!activeTraceInfo.isSampled()) {
+                continue;
+            }
+            if (currentTime - activeTraceInfo.getStartTime() < threshold) {
+                continue;
+            }
+            final Thread thread = activeTraceInfo.getThread();
+            if (thread == null) {
+                continue;
+            }
+            threadIds[targetSize] = thread.getId();
+            traceIds[targetSize] = activeTraceInfo.getLocalTraceId();
+            targetSize++;
+        }
+
+        if (targetSize > 0) {
+            final ThreadInfo[] threadInfos = ThreadMXBeanUtils.findThread(Arrays.copyOf(threadIds, targetSize), maxDepth);
+            for (int i = 0; i < targetSize; i++) {
+                final ThreadInfo threadInfo = threadInfos[i];
+                // thread already terminated
+                if (threadInfo == null) {
+                    continue;
+                }
+                final StackSampleTree sampleTree = getSampleTree(traceIds[i]);
+                if (sampleTree == null) {
+                    droppedCount.incrementAndGet();
+                    continue;
+                }
+                sampleTree.addSample(threadInfo.getStackTrace());
+                sampleCount.incrementAndGet();
+            }
+        }
+
+        removeFinishedTrace(activeTraceInfoList);
+    }
+
+    private StackSampleTree getSampleTree(long traceId) {
+        final StackSampleTree sampleTree = sampleTreeMap.get(traceId);
+        if (sampleTree != null) {
+            return sampleTree;
+        }
+        if (sampleTreeMap.size() >= maxTraceSize) {
+            return null;
+        }
+        final StackSampleTree newSampleTree = new StackSampleTree(maxNodeSize);
+        sampleTreeMap.put(traceId, newSampleTree);
+        return newSampleTree;
+    }
+
+    // samples of traces ended without attachStackSample() (e.g. unsampled continuations)
+    private void removeFinishedTrace(List<ActiveTraceInfo> activeTraceInfoList) {
+        if (sampleTreeMap.isEmpty()) {
+            return;
+        }
+        final Set<Long> activeTraceIds = new HashSet<Long>(activeTraceInfoList.size());
+        for (ActiveTraceInfo activeTraceInfo : activeTraceInfoList) {
+            activeTraceIds.add(activeTraceInfo.getLocalTraceId());
+        }
+        final Iterator<Long> iterator = sampleTreeMap.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!activeTraceIds.contains(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public void attachStackSample(Trace trace) {
+        if (sampleTreeMap.isEmpty()) {
+            return;
+        }
+        final StackSampleTree sampleTree = sampleTreeMap.remove(trace.getId());
+        if (sampleTree == null) {
+            return;
+        }
+        if (!trace.canSampled()) {
+            return;
+        }
+        final SpanRecorder spanRecorder = trace.getSpanRecorder();
+        if (spanRecorder == null) {
+            return;
+        }
+        spanRecorder.recordAttribute(AnnotationKey.STACK_SAMPLE, sampleTree.toSampleString());
+    }
+
+    @Override
+    public long getSampleCount() {
+        return sampleCount.get();
+    }
+
+    @Override
+    public long getSkipCount() {
+        return skipCount.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public long getSamplingTime() {
+        return samplingTime.get();
+    }
+
+    private class SamplingJob implements Runnable {
+        @Override
+        public void run() {
+            sample();
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ActiveTraceStackSampler{");
+        sb.append("samplingInterval=").append(samplingInterval);
+        sb.append(", threshold=").append(threshold);
+        sb.append(", maxDepth=").append(maxDepth);
+        sb.append(", maxNodeSize=").append(maxNodeSize);
+        sb.append(", maxTraceSize=").append(maxTraceSize);
+        sb.append(", overheadPercent=").append(overheadPercent);
+        sb.append('}');
+        return sb.toString();
+    }
+}
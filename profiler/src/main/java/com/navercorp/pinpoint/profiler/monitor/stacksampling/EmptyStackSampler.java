@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+
+/**
+ * Used when stack sampling is disabled.
+ */
+public class EmptyStackSampler implements StackSampler {
+
+    public static final StackSampler INSTANCE = new EmptyStackSampler();
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public void attachStackSample(Trace trace) {
+    }
+
+    @Override
+    public long getSampleCount() {
+        return 0;
+    }
+
+    @Override
+    public long getSkipCount() {
+        return 0;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return 0;
+    }
+
+    @Override
+    public long getSamplingTime() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "EmptyStackSampler";
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges the stack samples of a single trace into a call tree.
+ * The tree is rooted at the sampled (innermost) frame so that hot methods show up at the top level,
+ * and truncating a deep stack only drops its outermost callers.
+ */
+public class StackSampleTree {
+
+    private final int maxNodeSize;
+    private final Node root = new Node(null, null);
+    private int nodeSize;
+
+    public StackSampleTree(int maxNodeSize) {
+        if (maxNodeSize <= 0) {
+            throw new IllegalArgumentException("maxNodeSize must be greater than 0");
+        }
+        this.maxNodeSize = maxNodeSize;
+    }
+
+    public synchronized void addSample(StackTraceElement[] stackTrace) {
+        if (stackTrace == null) {
+            throw new NullPointerException("stackTrace must not be null");
+        }
+        root.count++;
+        Node node = root;
+        for (StackTraceElement frame : stackTrace) {
+            Node child = node.findChild(frame.getClassName(), frame.getMethodName());
+            if (child == null) {
+                if (nodeSize >= maxNodeSize) {
+                    // keep the sample, truncated at the deepest known frame
+                    return;
+                }
+                child = node.addChild(frame.getClassName(), frame.getMethodName());
+                nodeSize++;
+            }
+            child.count++;
+            node = child;
+        }
+    }
+
+    public synchronized int getSampleCount() {
+        return root.count;
+    }
+
+    public synchronized int getNodeSize() {
+        return nodeSize;
+    }
+
+    /**
+     * Pre-order dump of the tree, one frame per line formatted as "depth count className.methodName".
+     */
+    public synchronized String toSampleString() {
+        final StringBuilder buffer = new StringBuilder(nodeSize * 64);
+        appendChildren(buffer, root, 0);
+        return buffer.toString();
+    }
+
+    private void appendChildren(StringBuilder buffer, Node node, int depth) {
+        if (node.children == null) {
+            return;
+        }
+        for (Node child : node.children) {
+            buffer.append(depth).append(' ').append(child.count).append(' ');
+            buffer.append(child.className).append('.').append(child.methodName).append('\n');
+            appendChildren(buffer, child, depth + 1);
+        }
+    }
+
+    private static final class Node {
+        private final String className;
+        private final String methodName;
+        private int count;
+        private List<Node> children;
+
+        private Node(String className, String methodName) {
+            this.className = className;
+            this.methodName = methodName;
+        }
+
+        private Node findChild(String className, String methodName) {
+            if (children == null) {
+                return null;
+            }
+            for (Node child : children) {
+                if (child.methodName.equals(methodName) && child.className.equals(className)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(String className, String methodName) {
+            if (children == null) {
+                children = new ArrayList<Node>(2);
+            }
+            final Node child = new Node(className, methodName);
+            children.add(child);
+            return child;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+
+/**
+ * Periodically samples the stacks of long-running active traces.
+ */
+public interface StackSampler {
+
+    void start();
+
+    void stop();
+
+    /**
+     * Records the samples collected for the given trace on its span.
+     * Called by the thread ending the trace, before the span is stored.
+     */
+    void attachStackSample(Trace trace);
+
+    long getSampleCount();
+
+    /**
+     * @return sampling runs skipped to stay within the overhead budget
+     */
+    long getSkipCount();
+
+    /**
+     * @return samples dropped because too many traces were being sampled at once
+     */
+    long getDroppedCount();
+
+    /**
+     * @return total time spent sampling in nanoseconds
+     */
+    long getSamplingTime();
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import com.navercorp.pinpoint.bootstrap.context.AsyncTraceId;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.annotations.InterfaceAudience;
+import com.navercorp.pinpoint.profiler.context.BaseTraceFactory;
+
+/**
+ * Wraps sampled traces in a {@link StackSamplingTrace} before they are bound to the thread,
+ * so every caller closing the trace records its stack samples.
+ */
+public class StackSamplingBaseTraceFactory implements BaseTraceFactory {
+
+    private final BaseTraceFactory baseTraceFactory;
+    private final StackSampler stackSampler;
+
+    public static BaseTraceFactory wrap(BaseTraceFactory baseTraceFactory, StackSampler stackSampler) {
+        return new StackSamplingBaseTraceFactory(baseTraceFactory, stackSampler);
+    }
+
+    private StackSamplingBaseTraceFactory(BaseTraceFactory baseTraceFactory, StackSampler stackSampler) {
+        if (baseTraceFactory == null) {
+            throw new NullPointerException("baseTraceFactory must not be null");
+        }
+        if (stackSampler == null) {
+            throw new NullPointerException("stackSampler must not be null");
+        }
+        this.baseTraceFactory = baseTraceFactory;
+        this.stackSampler = stackSampler;
+    }
+
+    @Override
+    public Trace disableSampling() {
+        return baseTraceFactory.disableSampling();
+    }
+
+    @Override
+    public Trace continueTraceObject(TraceId traceId) {
+        return wrapTrace(baseTraceFactory.continueTraceObject(traceId));
+    }
+
+    @Override
+    public Trace continueTraceObject(Trace trace) {
+        return baseTraceFactory.continueTraceObject(trace);
+    }
+
+    @Override
+    @InterfaceAudience.LimitedPrivate("vert.x")
+    public Trace continueAsyncTraceObject(TraceId traceId) {
+        return wrapTrace(baseTraceFactory.continueAsyncTraceObject(traceId));
+    }
+
+    @Override
+    public Trace continueAsyncTraceObject(AsyncTraceId traceId, int asyncId, long startTime) {
+        return baseTraceFactory.continueAsyncTraceObject(traceId, asyncId, startTime);
+    }
+
+    @Override
+    public Trace newTraceObject() {
+        return wrapTrace(baseTraceFactory.newTraceObject());
+    }
+
+    @Override
+    @InterfaceAudience.LimitedPrivate("vert.x")
+    public Trace newAsyncTraceObject() {
+        return wrapTrace(baseTraceFactory.newAsyncTraceObject());
+    }
+
+    private Trace wrapTrace(Trace trace) {
+        if (trace == null || !trace.canSampled()) {
+            return trace;
+        }
+        return new StackSamplingTrace(trace, stackSampler);
+    }
+}
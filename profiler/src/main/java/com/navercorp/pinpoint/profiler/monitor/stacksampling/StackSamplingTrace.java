@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import com.navercorp.pinpoint.bootstrap.context.AsyncTraceId;
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.bootstrap.context.scope.TraceScope;
+import com.navercorp.pinpoint.profiler.context.TraceWrap;
+import com.navercorp.pinpoint.profiler.context.TraceWrapper;
+
+/**
+ * Attaches the stack samples of the trace to its span right before the span is closed and stored.
+ */
+public class StackSamplingTrace implements TraceWrap {
+
+    private final Trace delegate;
+    private final StackSampler stackSampler;
+
+    public StackSamplingTrace(Trace delegate, StackSampler stackSampler) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (stackSampler == null) {
+            throw new NullPointerException("stackSampler must not be null");
+        }
+        this.delegate = delegate;
+        this.stackSampler = stackSampler;
+    }
+
+    @Override
+    public void wrap(Trace trace) {
+        throw new UnsupportedOperationException("StackSamplingTrace.wrap() unsupported.");
+    }
+
+    @Override
+    public Trace unwrap() {
+        final Trace delegate = this.delegate;
+        if (delegate instanceof TraceWrapper) {
+            return ((TraceWrapper) delegate).unwrap();
+        }
+        return delegate;
+    }
+
+    @Override
+    public long getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public long getStartTime() {
+        return delegate.getStartTime();
+    }
+
+    @Override
+    public Thread getBindThread() {
+        return delegate.getBindThread();
+    }
+
+    @Override
+    public TraceId getTraceId() {
+        return delegate.getTraceId();
+    }
+
+    @Override
+    public AsyncTraceId getAsyncTraceId() {
+        return delegate.getAsyncTraceId();
+    }
+
+    @Override
+    public AsyncTraceId getAsyncTraceId(boolean closeable) {
+        return delegate.getAsyncTraceId(closeable);
+    }
+
+    @Override
+    public boolean canSampled() {
+        return delegate.canSampled();
+    }
+
+    @Override
+    public boolean isRoot() {
+        return delegate.isRoot();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return delegate.isAsync();
+    }
+
+    @Override
+    public SpanRecorder getSpanRecorder() {
+        return delegate.getSpanRecorder();
+    }
+
+    @Override
+    public SpanEventRecorder currentSpanEventRecorder() {
+        return delegate.currentSpanEventRecorder();
+    }
+
+    @Override
+    public void close() {
+        // the span is stored by close(), interceptors may close the trace before removing it from the thread
+        stackSampler.attachStackSample(delegate);
+        delegate.close();
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    @Override
+    public TraceScope getScope(String name) {
+        return delegate.getScope(name);
+    }
+
+    @Override
+    public TraceScope addScope(String name) {
+        return delegate.addScope(name);
+    }
+
+    @Override
+    public SpanEventRecorder traceBlockBegin() {
+        return delegate.traceBlockBegin();
+    }
+
+    @Override
+    public SpanEventRecorder traceBlockBegin(int stackId) {
+        return delegate.traceBlockBegin(stackId);
+    }
+
+    @Override
+    public void traceBlockEnd() {
+        delegate.traceBlockEnd();
+    }
+
+    @Override
+    public void traceBlockEnd(int stackId) {
+        delegate.traceBlockEnd(stackId);
+    }
+
+    @Override
+    public boolean isRootStack() {
+        return delegate.isRootStack();
+    }
+
+    @Override
+    public int getCallStackFrameId() {
+        return delegate.getCallStackFrameId();
+    }
+
+    @Override
+    public String toString() {
+        return "StackSamplingTrace{" + delegate + '}';
+    }
+}
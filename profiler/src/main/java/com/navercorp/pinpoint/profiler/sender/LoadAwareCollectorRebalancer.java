@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.rpc.Future;
+import com.navercorp.pinpoint.rpc.FutureListener;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.thrift.dto.TCollectorInfo;
+import com.navercorp.pinpoint.thrift.dto.TCollectorList;
+import com.navercorp.pinpoint.thrift.dto.TCollectorListRequest;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically asks the collector for the load weighted collector list, and moves the tcp connection
+ * to a collector picked by weight when it is sufficiently less loaded than the current one.
+ * To keep agents from moving back and forth, an imbalance must be seen in consecutive responses,
+ * only a fraction of the agents seeing it move per interval, and an agent that moved waits several intervals.
+ * The collector list is handled and the reconnect is done on the rebalancer thread, not on the i/o thread.
+ */
+public class LoadAwareCollectorRebalancer implements CollectorRebalancer {
+
+    static final int IMBALANCE_COUNT_TO_MOVE = 2;
+    static final int COOLDOWN_INTERVAL_COUNT = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final EnhancedDataSender dataSender;
+    private final PinpointClient client;
+    private final String agentId;
+    private final long interval;
+    private final int threshold;
+    private final int movePercent;
+
+    private final Random random;
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-collector-rebalancer", true));
+
+    // accessed by the rebalancer thread only
+    private int imbalanceCount;
+    private int cooldownCount;
+
+    public LoadAwareCollectorRebalancer(EnhancedDataSender dataSender, PinpointClient client, String agentId, long interval, int threshold, int movePercent) {
+        this(dataSender, client, agentId, interval, threshold, movePercent, new Random());
+    }
+
+    LoadAwareCollectorRebalancer(EnhancedDataSender dataSender, PinpointClient client, String agentId, long interval, int threshold, int movePercent, Random random) {
+        if (dataSender == null) {
+            throw new NullPointerException("dataSender must not be null");
+        }
+        if (client == null) {
+            throw new NullPointerException("client must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be greater than 0");
+        }
+        if (movePercent <= 0 || movePercent > 100) {
+            throw new IllegalArgumentException("movePercent must be between 1 and 100");
+        }
+        this.dataSender = dataSender;
+        this.client = client;
+        this.agentId = agentId;
+        this.interval = interval;
+        this.threshold = threshold;
+        this.movePercent = movePercent;
+        this.random = random;
+    }
+
+    @Override
+    public void start() {
+        // spread the requests of agents started together
+        final long initialDelay = interval + (long) (random.nextDouble() * interval);
+        executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                requestCollectorList();
+            }
+        }, initialDelay, interval, TimeUnit.MILLISECONDS);
+        logger.info("CollectorRebalancer started. interval:{}ms threshold:{} movePercent:{}", interval, threshold, movePercent);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("CollectorRebalancer stopped");
+    }
+
+    void requestCollectorList() {
+        if (!client.isConnected()) {
+            return;
+        }
+        final TCollectorListRequest request = new TCollectorListRequest();
+        request.setAgentId(agentId);
+        dataSender.request(request, new FutureListener<ResponseMessage>() {
+            @Override
+            public void onComplete(Future<ResponseMessage> future) {
+                try {
+                    if (future != null && future.isSuccess()) {
+                        final TBase<?, ?> tbase = deserialize(future);
+                        if (tbase instanceof TCollectorList) {
+                            // called on the i/o thread, which reconnecting would block
+                            final List<TCollectorInfo> collectorList = ((TCollectorList) tbase).getCollectorList();
+                            executor.execute(new Runnable() {
+                                @Override
+                                public void run() {
+                                    rebalance(collectorList);
+                                }
+                            });
+                        } else {
+                            logger.debug("Invalid Class. {}", tbase);
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.warn("collector list request fail. caused:{}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private TBase<?, ?> deserialize(Future<ResponseMessage> future) {
+        final ResponseMessage responseMessage = future.getResult();
+        return SerializationUtils.deserialize(responseMessage.getMessage(), HeaderTBaseDeserializerFactory.DEFAULT_FACTORY, null);
+    }
+
+    void rebalance(List<TCollectorInfo> collectorList) {
+        if (cooldownCount > 0) {
+            cooldownCount--;
+            return;
+        }
+        if (collectorList == null || collectorList.size() < 2) {
+            imbalanceCount = 0;
+            return;
+        }
+        final TCollectorInfo current = findCurrent(collectorList, client.getRemoteAddress());
+        if (current == null) {
+            // connected through an address the cluster does not advertise (e.g. L4), leave it alone
+            logger.debug("current collector not found in {}", collectorList);
+            imbalanceCount = 0;
+            return;
+        }
+        final List<TCollectorInfo> candidateList = new ArrayList<TCollectorInfo>();
+        for (TCollectorInfo collectorInfo : collectorList) {
+            if (collectorInfo.getWeight() - current.getWeight() >= threshold) {
+                candidateList.add(collectorInfo);
+            }
+        }
+        if (candidateList.isEmpty()) {
+            imbalanceCount = 0;
+            return;
+        }
+        if (++imbalanceCount < IMBALANCE_COUNT_TO_MOVE) {
+            return;
+        }
+        // every agent on the loaded collector sees the same list, only some of them move this time
+        if (random.nextDouble() * 100 >= movePercent) {
+            return;
+        }
+        final TCollectorInfo selected = select(candidateList);
+        if (selected == null) {
+            return;
+        }
+        imbalanceCount = 0;
+        cooldownCount = COOLDOWN_INTERVAL_COUNT;
+        logger.info("move to collector {}:{} (weight:{}) from {}:{} (weight:{})", selected.getIp(), selected.getPort(), selected.getWeight(), current.getIp(), current.getPort(), current.getWeight());
+        client.reconnect(new InetSocketAddress(selected.getIp(), selected.getPort()));
+    }
+
+    private TCollectorInfo findCurrent(List<TCollectorInfo> collectorList, SocketAddress remoteAddress) {
+        if (!(remoteAddress instanceof InetSocketAddress)) {
+            return null;
+        }
+        final InetSocketAddress inetSocketAddress = (InetSocketAddress) remoteAddress;
+        final String hostAddress = inetSocketAddress.getAddress() != null ? inetSocketAddress.getAddress().getHostAddress() : inetSocketAddress.getHostName();
+        for (TCollectorInfo collectorInfo : collectorList) {
+            if (collectorInfo.getPort() == inetSocketAddress.getPort() && collectorInfo.getIp().equals(hostAddress)) {
+                return collectorInfo;
+            }
+        }
+        return null;
+    }
+
+    private TCollectorInfo select(List<TCollectorInfo> collectorList) {
+        long totalWeight = 0;
+        for (TCollectorInfo collectorInfo : collectorList) {
+            totalWeight += Math.max(collectorInfo.getWeight(), 0);
+        }
+        if (totalWeight <= 0) {
+            return null;
+        }
+        long pick = (long) (random.nextDouble() * totalWeight);
+        for (TCollectorInfo collectorInfo : collectorList) {
+            pick -= Math.max(collectorInfo.getWeight(), 0);
+            if (pick < 0) {
+                return collectorInfo;
+            }
+        }
+        return null;
+    }
+}
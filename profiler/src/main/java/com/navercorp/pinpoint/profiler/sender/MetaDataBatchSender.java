@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.rpc.Future;
+import com.navercorp.pinpoint.rpc.FutureListener;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TMetaDataBatch;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.dto.TSqlMetaData;
+import com.navercorp.pinpoint.thrift.dto.TStringMetaData;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+import org.apache.thrift.TBase;
+import org.jboss.netty.util.Timeout;
+import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends sql, api and string metadata as {@link TMetaDataBatch} requests with a bounded number of batches in flight.
+ * The window is halved when a batch fails and grows by one for every successful batch.
+ * Failed batches are retried with an exponentially growing delay.
+ */
+public class MetaDataBatchSender {
+
+    private static final long BASE_RETRY_DELAY = 1000;
+    private static final long MAX_RETRY_DELAY = 1000 * 30;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PinpointClient client;
+    private final Timer timer;
+    private final int batchSize;
+    private final int maxWindowSize;
+    private final int maxRetryCount;
+    private final int maxPendingSize;
+
+    private final Object lock = new Object();
+    private final LinkedList<Batch> pending = new LinkedList<Batch>();
+    private int windowSize;
+    private int inFlight;
+
+    public MetaDataBatchSender(PinpointClient client, Timer timer, int batchSize, int maxWindowSize) {
+        this(client, timer, batchSize, maxWindowSize, 3, 1024);
+    }
+
+    public MetaDataBatchSender(PinpointClient client, Timer timer, int batchSize, int maxWindowSize, int maxRetryCount, int maxPendingSize) {
+        if (client == null) {
+            throw new NullPointerException("client must not be null");
+        }
+        if (timer == null) {
+            throw new NullPointerException("timer must not be null");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive. batchSize:" + batchSize);
+        }
+        if (maxWindowSize < 1) {
+            throw new IllegalArgumentException("maxWindowSize must be positive. maxWindowSize:" + maxWindowSize);
+        }
+        this.client = client;
+        this.timer = timer;
+        this.batchSize = batchSize;
+        this.maxWindowSize = maxWindowSize;
+        this.maxRetryCount = maxRetryCount;
+        this.maxPendingSize = maxPendingSize;
+        this.windowSize = maxWindowSize;
+    }
+
+    public static boolean isMetaData(Object message) {
+        return message instanceof TSqlMetaData || message instanceof TApiMetaData || message instanceof TStringMetaData;
+    }
+
+    /**
+     * Must be called from a single thread as the serializer is not thread safe.
+     */
+    public void send(List<TBase<?, ?>> metaDataList, HeaderTBaseSerializer serializer) {
+        TMetaDataBatch metaDataBatch = new TMetaDataBatch();
+        int count = 0;
+        for (TBase<?, ?> metaData : metaDataList) {
+            add(metaDataBatch, metaData);
+            if (++count == batchSize) {
+                enqueue(serializer, metaDataBatch, count);
+                metaDataBatch = new TMetaDataBatch();
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            enqueue(serializer, metaDataBatch, count);
+        }
+        drain();
+    }
+
+    private void add(TMetaDataBatch metaDataBatch, TBase<?, ?> metaData) {
+        if (metaData instanceof TSqlMetaData) {
+            metaDataBatch.addToSqlMetaDataList((TSqlMetaData) metaData);
+        } else if (metaData instanceof TApiMetaData) {
+            metaDataBatch.addToApiMetaDataList((TApiMetaData) metaData);
+        } else if (metaData instanceof TStringMetaData) {
+            metaDataBatch.addToStringMetaDataList((TStringMetaData) metaData);
+        } else {
+            throw new IllegalArgumentException("unsupported metadata:" + metaData);
+        }
+    }
+
+    private void enqueue(HeaderTBaseSerializer serializer, TMetaDataBatch metaDataBatch, int size) {
+        final byte[] bytes = SerializationUtils.serialize(metaDataBatch, serializer, null);
+        if (bytes == null) {
+            logger.warn("metadata batch serialize fail. size:{}", size);
+            return;
+        }
+        enqueue(new Batch(bytes, size));
+    }
+
+    private void enqueue(Batch batch) {
+        synchronized (lock) {
+            if (pending.size() >= maxPendingSize) {
+                logger.warn("discard metadata batch({}). pendingSize:{}", batch, pending.size());
+                return;
+            }
+            pending.add(batch);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            final Batch batch;
+            synchronized (lock) {
+                if (inFlight >= windowSize) {
+                    return;
+                }
+                batch = pending.poll();
+                if (batch == null) {
+                    return;
+                }
+                inFlight++;
+            }
+            request(batch);
+        }
+    }
+
+    private void request(final Batch batch) {
+        final Future<ResponseMessage> future = client.request(batch.bytes);
+        future.setListener(new FutureListener<ResponseMessage>() {
+            @Override
+            public void onComplete(Future<ResponseMessage> future) {
+                complete(batch, isSuccess(batch, future));
+            }
+        });
+    }
+
+    private boolean isSuccess(Batch batch, Future<ResponseMessage> future) {
+        if (!future.isSuccess()) {
+            logger.info("metadata batch request fail. request:{} Caused:{}", batch, future.getCause().getMessage());
+            return false;
+        }
+        final HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+        final TBase<?, ?> response = SerializationUtils.deserialize(future.getResult().getMessage(), deserializer, null);
+        if (response instanceof TResult) {
+            final TResult result = (TResult) response;
+            if (result.isSuccess()) {
+                return true;
+            }
+            logger.info("metadata batch request fail. request:{} Caused:{}", batch, result.getMessage());
+            return false;
+        }
+        // not retransmitted, same as single metadata requests
+        logger.warn("Invalid response:{}", response);
+        return true;
+    }
+
+    private void complete(Batch batch, boolean success) {
+        synchronized (lock) {
+            inFlight--;
+            if (success) {
+                if (windowSize < maxWindowSize) {
+                    windowSize++;
+                }
+            } else {
+                windowSize = Math.max(1, windowSize / 2);
+            }
+        }
+        if (!success) {
+            retry(batch);
+        }
+        drain();
+    }
+
+    private void retry(final Batch batch) {
+        final int retryCount = batch.fail();
+        if (retryCount > maxRetryCount) {
+            logger.warn("discard metadata batch({}). maxRetryCount:{}", batch, maxRetryCount);
+            return;
+        }
+        final long delay = Math.min(BASE_RETRY_DELAY << (retryCount - 1), MAX_RETRY_DELAY);
+        try {
+            timer.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) throws Exception {
+                    enqueue(batch);
+                    drain();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // timer already stopped
+            logger.debug("discard metadata batch({}). Caused:{}", batch, e.getMessage());
+        }
+    }
+
+    int getWindowSize() {
+        synchronized (lock) {
+            return windowSize;
+        }
+    }
+
+    int getPendingSize() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    private static class Batch {
+        private final byte[] bytes;
+        private final int size;
+        private int retryCount;
+
+        private Batch(byte[] bytes, int size) {
+            this.bytes = bytes;
+            this.size = size;
+        }
+
+        private int fail() {
+            return ++retryCount;
+        }
+
+        @Override
+        public String toString() {
+            return "MetaDataBatch{size=" + size + ", bytes=" + bytes.length + ", retryCount=" + retryCount + '}';
+        }
+    }
+}
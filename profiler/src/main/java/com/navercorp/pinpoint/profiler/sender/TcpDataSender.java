@@ -17,6 +17,10 @@
 package com.navercorp.pinpoint.profiler.sender;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -69,10 +73,26 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
 
     private AsyncQueueingExecutor<Object> executor;
 
+    // null when metadata is sent one request at a time
+    private final MetaDataBatchSender metaDataBatchSender;
+
     public TcpDataSender(PinpointClient client) {
+        this(client, 0, 0);
+    }
+
+    /**
+     * @param metaDataBatchSize max number of metadata per batch request. 0 disables batching.
+     * @param metaDataBatchWindowSize max number of batch requests waiting for a response
+     */
+    public TcpDataSender(PinpointClient client, int metaDataBatchSize, int metaDataBatchWindowSize) {
         this.client = client;
         this.timer = createTimer();
         writeFailFutureListener = new WriteFailFutureListener(logger, "io write fail.", "host", -1);
+        if (metaDataBatchSize > 0) {
+            this.metaDataBatchSender = new MetaDataBatchSender(client, timer, metaDataBatchSize, Math.max(1, metaDataBatchWindowSize));
+        } else {
+            this.metaDataBatchSender = null;
+        }
         this.executor = createAsyncQueueingExecutor(1024 * 5, "Pinpoint-TcpDataExecutor");
     }
     
@@ -124,8 +144,60 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
         }
     }
 
+    @Override
+    protected void sendPacketN(Collection<Object> messageList) {
+        if (metaDataBatchSender == null) {
+            super.sendPacketN(messageList);
+            return;
+        }
+
+        final Object[] dataList = messageList.toArray();
+        List<TBase<?, ?>> metaDataList = null;
+        for (Object message : dataList) {
+            if (isBatchMetaData(message)) {
+                if (metaDataList == null) {
+                    metaDataList = new ArrayList<TBase<?, ?>>();
+                }
+                metaDataList.add(((RequestMarker) message).getTBase());
+                continue;
+            }
+            try {
+                sendPacket(message);
+            } catch (Throwable th) {
+                logger.warn("Unexpected Error. Cause:{}", th.getMessage(), th);
+            }
+        }
+        if (metaDataList != null) {
+            sendMetaData(metaDataList);
+        }
+    }
+
+    private boolean isBatchMetaData(Object message) {
+        if (metaDataBatchSender == null) {
+            return false;
+        }
+        if (!(message instanceof RequestMarker)) {
+            return false;
+        }
+        final RequestMarker requestMarker = (RequestMarker) message;
+        return requestMarker.getFutureListener() == null && MetaDataBatchSender.isMetaData(requestMarker.getTBase());
+    }
+
+    private void sendMetaData(List<TBase<?, ?>> metaDataList) {
+        try {
+            metaDataBatchSender.send(metaDataList, serializer);
+        } catch (Exception e) {
+            logger.warn("tcp send fail. Caused:{}", e.getMessage(), e);
+        }
+    }
+
     @Override
     protected void sendPacket(Object message) {
+        if (isBatchMetaData(message)) {
+            final TBase<?, ?> metaData = ((RequestMarker) message).getTBase();
+            sendMetaData(Collections.<TBase<?, ?>>singletonList(metaData));
+            return;
+        }
         try {
             if (message instanceof TBase) {
                 byte[] copy = serialize(serializer, (TBase) message);
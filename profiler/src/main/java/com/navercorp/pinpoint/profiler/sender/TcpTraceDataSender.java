@@ -0,0 +1,477 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.rpc.Future;
+import com.navercorp.pinpoint.rpc.FutureListener;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
+import com.navercorp.pinpoint.profiler.sender.spool.EmptyDataSpool;
+import com.navercorp.pinpoint.profiler.sender.spool.SpoolEntry;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.rpc.client.PinpointClientReconnectEventListener;
+import com.navercorp.pinpoint.rpc.util.TimerFactory;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderBufferedTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderBufferedTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderBufferedTBaseSerializerFlushHandler;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.jboss.netty.util.HashedWheelTimer;
+import org.jboss.netty.util.Timeout;
+import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends span or stat data over the pinpoint tcp connection instead of udp.
+ * Messages drained from the queue are packed into chunks of about chunkSize bytes, the format read by the collector's chunked udp receiver,
+ * and each chunk is sent as a trace send packet the collector acknowledges.
+ * At most windowSize chunks wait for an ack, the others are kept in a bounded buffer.
+ * Chunks the collector did not acknowledge are resent, and chunks that can not be delivered are discarded and counted.
+ * With a {@link DataSpool}, chunks that do not fit in the buffer or ran out of retries are spooled instead, and replayed
+ * at replayRate chunks per second while the connection is up and the buffer is empty, so live data goes first.
+ * Collectors that predate trace send packets close the connection on one, so messages go to the fallback sender (udp)
+ * until the collector confirms trace send in the handshake, and again whenever it connects to one that does not.
+ */
+public class TcpTraceDataSender extends AbstractDataSender implements DataSender {
+
+    private static final long RETRY_DELAY = 1000;
+    private static final long STOP_TIMEOUT = 1000 * 3;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PinpointClient client;
+    private final Timer timer;
+    private final int windowSize;
+    private final int maxBufferSize;
+    private final int maxRetryCount;
+    private final DataSpool spool;
+    private final long replayIntervalNanos;
+    private final DataSender fallbackSender;
+    // answer of the last handshake, kept while reconnecting so that an outage is buffered and spooled
+    private volatile boolean traceSendConfirmed;
+
+    // used by the executor thread only
+    private final ChunkHeaderBufferedTBaseSerializer serializer = new ChunkHeaderBufferedTBaseSerializerFactory().createSerializer();
+    private int chunkMessageCount;
+
+    private final Object lock = new Object();
+    private final LinkedList<Chunk> buffer = new LinkedList<Chunk>();
+    private int inFlight;
+    // set while waiting for the retry delay after a failed chunk
+    private boolean suspended;
+    private long nextReplayTime = System.nanoTime();
+    private boolean replayScheduled;
+
+    private final PinpointClientReconnectEventListener reconnectEventListener = new PinpointClientReconnectEventListener() {
+        @Override
+        public void reconnectPerformed(PinpointClient client) {
+            drain();
+        }
+    };
+
+    private final AtomicLong sentMessageCount = new AtomicLong();
+    private final AtomicLong ackedMessageCount = new AtomicLong();
+    private final AtomicLong discardedMessageCount = new AtomicLong();
+
+    private final AsyncQueueingExecutor<Object> executor;
+
+    public TcpTraceDataSender(PinpointClient client, String threadName, int queueSize, int chunkSize, int windowSize, int maxBufferSize, DataSender fallbackSender) {
+        this(client, threadName, queueSize, chunkSize, windowSize, maxBufferSize, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+    }
+
+    public TcpTraceDataSender(PinpointClient client, String threadName, int queueSize, int chunkSize, int windowSize, int maxBufferSize, DataSpool spool, int replayRate,
+                              DataSender fallbackSender) {
+        this(client, createTimer(threadName), threadName, queueSize, chunkSize, windowSize, maxBufferSize, 3, spool, replayRate, fallbackSender);
+    }
+
+    TcpTraceDataSender(PinpointClient client, Timer timer, String threadName, int queueSize, int chunkSize, int windowSize, int maxBufferSize, int maxRetryCount,
+                       DataSpool spool, int replayRate, DataSender fallbackSender) {
+        if (client == null) {
+            throw new NullPointerException("client must not be null");
+        }
+        if (timer == null) {
+            throw new NullPointerException("timer must not be null");
+        }
+        if (threadName == null) {
+            throw new NullPointerException("threadName must not be null");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize must be positive. queueSize:" + queueSize);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive. chunkSize:" + chunkSize);
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive. windowSize:" + windowSize);
+        }
+        if (maxBufferSize < 0) {
+            throw new IllegalArgumentException("maxBufferSize must not be negative. maxBufferSize:" + maxBufferSize);
+        }
+        if (spool == null) {
+            throw new NullPointerException("spool must not be null");
+        }
+        if (replayRate <= 0) {
+            throw new IllegalArgumentException("replayRate must be positive. replayRate:" + replayRate);
+        }
+        if (fallbackSender == null) {
+            throw new NullPointerException("fallbackSender must not be null");
+        }
+        this.client = client;
+        this.timer = timer;
+        this.windowSize = windowSize;
+        this.maxBufferSize = maxBufferSize;
+        this.maxRetryCount = maxRetryCount;
+        this.spool = spool;
+        this.replayIntervalNanos = TimeUnit.SECONDS.toNanos(1) / replayRate;
+        this.fallbackSender = fallbackSender;
+
+        this.serializer.setChunkSize(chunkSize);
+        this.serializer.setFlushHandler(new ChunkHeaderBufferedTBaseSerializerFlushHandler() {
+            @Override
+            public void handle(byte[] buffer, int offset, int length) {
+                final Chunk chunk = new Chunk(Arrays.copyOfRange(buffer, offset, offset + length), chunkMessageCount);
+                chunkMessageCount = 0;
+                enqueue(chunk);
+            }
+        });
+        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.client.addPinpointClientReconnectEventListener(reconnectEventListener);
+        logger.info("TcpTraceDataSender initialized. chunkSize={}, windowSize={}, maxBufferSize={}, spool={}", chunkSize, windowSize, maxBufferSize, spool);
+    }
+
+    private static Timer createTimer(String threadName) {
+        HashedWheelTimer timer = TimerFactory.createHashedWheelTimer(threadName + "-Timer", 100, TimeUnit.MILLISECONDS, 512);
+        timer.start();
+        return timer;
+    }
+
+    @Override
+    public boolean send(TBase<?, ?> data) {
+        if (!isTraceSendConfirmed()) {
+            return fallbackSender.send(data);
+        }
+        return executor.execute(data);
+    }
+
+    private boolean isTraceSendConfirmed() {
+        if (client.isTraceSendSupported()) {
+            traceSendConfirmed = true;
+        } else if (client.isConnected()) {
+            // the collector did not confirm trace send, or the handshake is not finished yet
+            traceSendConfirmed = false;
+        }
+        return traceSendConfirmed;
+    }
+
+    @Override
+    protected void sendPacketN(Collection<Object> messageList) {
+        for (Object message : messageList) {
+            add(message);
+        }
+        flush();
+    }
+
+    @Override
+    protected void sendPacket(Object message) {
+        add(message);
+        flush();
+    }
+
+    private void add(Object message) {
+        if (!(message instanceof TBase)) {
+            logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
+            return;
+        }
+        try {
+            chunkMessageCount++;
+            sentMessageCount.incrementAndGet();
+            serializer.add((TBase<?, ?>) message);
+        } catch (TException e) {
+            logger.warn("sendPacket fail. message:{}", message, e);
+        }
+    }
+
+    private void flush() {
+        try {
+            serializer.flush();
+        } catch (TException e) {
+            logger.warn("Failed to flush. caused={}", e.getMessage(), e);
+        }
+        drain();
+    }
+
+    private void enqueue(Chunk chunk) {
+        final boolean full;
+        synchronized (lock) {
+            full = buffer.size() >= maxBufferSize;
+            if (!full) {
+                buffer.add(chunk);
+            }
+        }
+        if (full) {
+            spool(chunk, "buffer full");
+            return;
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            Chunk chunk;
+            synchronized (lock) {
+                if (suspended || inFlight >= windowSize) {
+                    return;
+                }
+                chunk = buffer.poll();
+                if (chunk != null) {
+                    inFlight++;
+                }
+            }
+            if (chunk == null) {
+                chunk = replay();
+                if (chunk == null) {
+                    return;
+                }
+            }
+            send(chunk);
+        }
+    }
+
+    private Chunk replay() {
+        if (spool.isEmpty() || !client.isConnected() || !client.isTraceSendSupported()) {
+            // reconnectEventListener drains once the connection is back
+            return null;
+        }
+        synchronized (lock) {
+            if (suspended || inFlight >= windowSize || !buffer.isEmpty() || replayScheduled) {
+                return null;
+            }
+            final long now = System.nanoTime();
+            if (now - nextReplayTime < 0) {
+                replayLater(nextReplayTime - now);
+                return null;
+            }
+            final SpoolEntry entry = spool.poll();
+            if (entry == null) {
+                return null;
+            }
+            nextReplayTime = Math.max(now, nextReplayTime) + replayIntervalNanos;
+            inFlight++;
+            return new Chunk(entry.getData(), entry.getMessageCount(), true);
+        }
+    }
+
+    private void replayLater(long delayNanos) {
+        try {
+            timer.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) throws Exception {
+                    synchronized (lock) {
+                        replayScheduled = false;
+                        // the timer may fire a tick early
+                        nextReplayTime = System.nanoTime();
+                    }
+                    drain();
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+            replayScheduled = true;
+        } catch (IllegalStateException e) {
+            // timer already stopped
+            logger.debug("replay fail. Caused:{}", e.getMessage());
+        }
+    }
+
+    private void send(final Chunk chunk) {
+        final Future<ResponseMessage> future = client.sendTrace(chunk.bytes);
+        future.setListener(new FutureListener<ResponseMessage>() {
+            @Override
+            public void onComplete(Future<ResponseMessage> future) {
+                if (future.isSuccess()) {
+                    ack(chunk);
+                } else {
+                    fail(chunk, future.getCause());
+                }
+            }
+        });
+    }
+
+    private void ack(Chunk chunk) {
+        ackedMessageCount.addAndGet(chunk.messageCount);
+        synchronized (lock) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void fail(Chunk chunk, Throwable cause) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("trace chunk not acknowledged. chunk:{} Caused:{}", chunk, cause != null ? cause.getMessage() : null);
+        }
+        final boolean retry = chunk.fail() <= maxRetryCount;
+        final boolean resume;
+        synchronized (lock) {
+            inFlight--;
+            if (retry) {
+                // resent before newer chunks
+                buffer.addFirst(chunk);
+            }
+            resume = !suspended;
+            suspended = true;
+        }
+        if (!retry) {
+            if (chunk.replayed) {
+                discard(chunk, "maxRetryCount");
+            } else {
+                spool(chunk, "maxRetryCount");
+            }
+        }
+        if (resume) {
+            resumeLater();
+        }
+    }
+
+    private void resumeLater() {
+        try {
+            timer.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) throws Exception {
+                    synchronized (lock) {
+                        suspended = false;
+                    }
+                    drain();
+                }
+            }, RETRY_DELAY, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // timer already stopped
+            logger.debug("resume fail. Caused:{}", e.getMessage());
+        }
+    }
+
+    private void spool(Chunk chunk, String reason) {
+        if (spool.offer(chunk.bytes, chunk.messageCount)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("spool trace chunk({}). Caused:{}", chunk, reason);
+            }
+            return;
+        }
+        discard(chunk, reason);
+    }
+
+    private void discard(Chunk chunk, String reason) {
+        final long discarded = discardedMessageCount.addAndGet(chunk.messageCount);
+        logger.warn("discard trace chunk({}). Caused:{} total discarded messages:{}", chunk, reason, discarded);
+    }
+
+    @Override
+    public void stop() {
+        client.removePinpointClientReconnectEventListener(reconnectEventListener);
+        executor.stop();
+        awaitDelivery(STOP_TIMEOUT);
+        timer.stop();
+
+        final int undelivered;
+        synchronized (lock) {
+            undelivered = buffer.size() + inFlight;
+            for (Chunk chunk : buffer) {
+                discardedMessageCount.addAndGet(chunk.messageCount);
+            }
+            buffer.clear();
+        }
+        // the spool file does not survive the agent
+        discardedMessageCount.addAndGet(spool.getMessageCount());
+        spool.close();
+        fallbackSender.stop();
+        logger.info("TcpTraceDataSender stopped. sent:{}, acked:{}, discarded:{} messages, undelivered chunks:{}",
+                sentMessageCount.get(), ackedMessageCount.get(), discardedMessageCount.get(), undelivered);
+    }
+
+    private void awaitDelivery(long timeoutMillis) {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (lock) {
+                if (buffer.isEmpty() && inFlight == 0) {
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public long getSentMessageCount() {
+        return sentMessageCount.get();
+    }
+
+    public long getAckedMessageCount() {
+        return ackedMessageCount.get();
+    }
+
+    public long getDiscardedMessageCount() {
+        return discardedMessageCount.get();
+    }
+
+    int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    int getBufferSize() {
+        synchronized (lock) {
+            return buffer.size();
+        }
+    }
+
+    private static class Chunk {
+        private final byte[] bytes;
+        private final int messageCount;
+        // read back from the spool, discarded when it fails again
+        private final boolean replayed;
+        private int retryCount;
+
+        private Chunk(byte[] bytes, int messageCount) {
+            this(bytes, messageCount, false);
+        }
+
+        private Chunk(byte[] bytes, int messageCount, boolean replayed) {
+            this.bytes = bytes;
+            this.messageCount = messageCount;
+            this.replayed = replayed;
+        }
+
+        private int fail() {
+            return ++retryCount;
+        }
+
+        @Override
+        public String toString() {
+            return "TraceChunk{messageCount=" + messageCount + ", bytes=" + bytes.length + ", retryCount=" + retryCount + ", replayed=" + replayed + '}';
+        }
+    }
+}
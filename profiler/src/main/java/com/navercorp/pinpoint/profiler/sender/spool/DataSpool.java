@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spool;
+
+/**
+ * Keeps serialized chunks the collector could not take, to replay them once it is reachable again.
+ * Chunks are polled in the order they were offered.
+ */
+public interface DataSpool {
+
+    /**
+     * @return false if the spool has no room left for the chunk
+     */
+    boolean offer(byte[] data, int messageCount);
+
+    /**
+     * @return the oldest chunk, or null if the spool is empty
+     */
+    SpoolEntry poll();
+
+    boolean isEmpty();
+
+    /**
+     * @return bytes used by the spooled chunks
+     */
+    long getSpoolSize();
+
+    /**
+     * @return messages waiting in the spool
+     */
+    int getMessageCount();
+
+    /**
+     * @return offer time of the oldest spooled chunk in milliseconds, 0 if the spool is empty
+     */
+    long getOldestTimestamp();
+
+    long getSpooledMessageCount();
+
+    long getReplayedMessageCount();
+
+    /**
+     * @return messages rejected because the spool was full
+     */
+    long getDroppedMessageCount();
+
+    void close();
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spool;
+
+/**
+ * Used when the spool is disabled. Rejects every chunk.
+ */
+public class EmptyDataSpool implements DataSpool {
+
+    public static final DataSpool INSTANCE = new EmptyDataSpool();
+
+    @Override
+    public boolean offer(byte[] data, int messageCount) {
+        return false;
+    }
+
+    @Override
+    public SpoolEntry poll() {
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return true;
+    }
+
+    @Override
+    public long getSpoolSize() {
+        return 0;
+    }
+
+    @Override
+    public int getMessageCount() {
+        return 0;
+    }
+
+    @Override
+    public long getOldestTimestamp() {
+        return 0;
+    }
+
+    @Override
+    public long getSpooledMessageCount() {
+        return 0;
+    }
+
+    @Override
+    public long getReplayedMessageCount() {
+        return 0;
+    }
+
+    @Override
+    public long getDroppedMessageCount() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        return "EmptyDataSpool";
+    }
+}
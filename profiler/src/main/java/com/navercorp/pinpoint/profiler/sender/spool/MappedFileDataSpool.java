@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Spools chunks into a memory-mapped file of a fixed size.
+ * Chunks are appended behind each other and read from the front. When the end of the file is reached,
+ * the unread chunks are moved back to the start, and a chunk that still does not fit is rejected.
+ * The file only outlives collector outages, it is deleted when the spool is closed.
+ */
+public class MappedFileDataSpool implements DataSpool {
+
+    // data length, message count, offer timestamp
+    private static final int ENTRY_HEADER_SIZE = 4 + 4 + 8;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File file;
+    private final int capacity;
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+
+    private int readPosition;
+    private int writePosition;
+    private int messageCount;
+    private boolean closed;
+
+    private long spooledMessageCount;
+    private long replayedMessageCount;
+    private long droppedMessageCount;
+
+    public MappedFileDataSpool(File file, int capacity) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("file must not be null");
+        }
+        if (capacity <= ENTRY_HEADER_SIZE) {
+            throw new IllegalArgumentException("capacity too small. capacity:" + capacity);
+        }
+        this.file = file;
+        this.capacity = capacity;
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(capacity);
+            this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            closeFile();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the spool in a new file of the given directory.
+     */
+    public static MappedFileDataSpool create(File directory, String prefix, int capacity) throws IOException {
+        final File file = File.createTempFile(prefix, ".spool", directory);
+        file.deleteOnExit();
+        return new MappedFileDataSpool(file, capacity);
+    }
+
+    @Override
+    public synchronized boolean offer(byte[] data, int messageCount) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        if (closed) {
+            return false;
+        }
+        final int entrySize = ENTRY_HEADER_SIZE + data.length;
+        if (capacity - writePosition < entrySize) {
+            compact();
+            if (capacity - writePosition < entrySize) {
+                droppedMessageCount += messageCount;
+                return false;
+            }
+        }
+        buffer.position(writePosition);
+        buffer.putInt(data.length);
+        buffer.putInt(messageCount);
+        buffer.putLong(System.currentTimeMillis());
+        buffer.put(data);
+        writePosition = buffer.position();
+
+        this.messageCount += messageCount;
+        this.spooledMessageCount += messageCount;
+        return true;
+    }
+
+    private void compact() {
+        if (readPosition == 0) {
+            return;
+        }
+        buffer.limit(writePosition);
+        buffer.position(readPosition);
+        buffer.compact();
+        buffer.clear();
+        writePosition -= readPosition;
+        readPosition = 0;
+    }
+
+    @Override
+    public synchronized SpoolEntry poll() {
+        if (readPosition == writePosition) {
+            return null;
+        }
+        buffer.position(readPosition);
+        final int length = buffer.getInt();
+        final int count = buffer.getInt();
+        final long timestamp = buffer.getLong();
+        final byte[] data = new byte[length];
+        buffer.get(data);
+        readPosition = buffer.position();
+        if (readPosition == writePosition) {
+            // empty again, start over at the front of the file
+            readPosition = 0;
+            writePosition = 0;
+        }
+
+        this.messageCount -= count;
+        this.replayedMessageCount += count;
+        return new SpoolEntry(data, count, timestamp);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    @Override
+    public synchronized long getSpoolSize() {
+        return writePosition - readPosition;
+    }
+
+    @Override
+    public synchronized int getMessageCount() {
+        return messageCount;
+    }
+
+    @Override
+    public synchronized long getOldestTimestamp() {
+        if (readPosition == writePosition) {
+            return 0;
+        }
+        return buffer.getLong(readPosition + 8);
+    }
+
+    @Override
+    public synchronized long getSpooledMessageCount() {
+        return spooledMessageCount;
+    }
+
+    @Override
+    public synchronized long getReplayedMessageCount() {
+        return replayedMessageCount;
+    }
+
+    @Override
+    public synchronized long getDroppedMessageCount() {
+        return droppedMessageCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        readPosition = 0;
+        writePosition = 0;
+        messageCount = 0;
+        closeFile();
+        // the mapping is released by the gc, deleteOnExit covers platforms refusing to delete a mapped file
+        if (!file.delete()) {
+            logger.debug("spool file not deleted. file:{}", file);
+        }
+    }
+
+    private void closeFile() {
+        try {
+            randomAccessFile.close();
+        } catch (IOException e) {
+            logger.warn("spool file close fail. file:{} Caused:{}", file, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedFileDataSpool{file=" + file + ", capacity=" + capacity + '}';
+    }
+}
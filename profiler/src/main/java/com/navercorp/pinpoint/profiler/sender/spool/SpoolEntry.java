@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spool;
+
+/**
+ * A chunk read back from a {@link DataSpool}.
+ */
+public class SpoolEntry {
+
+    private final byte[] data;
+    private final int messageCount;
+    private final long timestamp;
+
+    public SpoolEntry(byte[] data, int messageCount, long timestamp) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        this.data = data;
+        this.messageCount = messageCount;
+        this.timestamp = timestamp;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "SpoolEntry{bytes=" + data.length + ", messageCount=" + messageCount + ", timestamp=" + timestamp + '}';
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FastRejectClassFilterTest {
+
+    @Test
+    public void accept() throws Exception {
+        List<String> classNames = Arrays.asList("org/apache/catalina/core/StandardHostValve", "org/apache/catalina/connector/Request", "Default");
+        ClassFileFilter filter = new FastRejectClassFilter(classNames);
+
+        for (String className : classNames) {
+            Assert.assertSame(filter.accept(null, className, null, null, null), ClassFileFilter.CONTINUE);
+        }
+    }
+
+    @Test
+    public void reject_package() throws Exception {
+        ClassFileFilter filter = new FastRejectClassFilter(Arrays.asList("org/apache/catalina/core/StandardHostValve"));
+
+        Assert.assertSame(filter.accept(null, "java/lang/String", null, null, null), ClassFileFilter.SKIP);
+        Assert.assertSame(filter.accept(null, "org/apache/catalina/StandardHostValve", null, null, null), ClassFileFilter.SKIP);
+        Assert.assertSame(filter.accept(null, "org/apache/catalina/core/sub/StandardHostValve", null, null, null), ClassFileFilter.SKIP);
+        Assert.assertSame(filter.accept(null, "StandardHostValve", null, null, null), ClassFileFilter.SKIP);
+        Assert.assertSame(filter.accept(null, "org/apache/catalina/core/", null, null, null), ClassFileFilter.SKIP);
+    }
+
+    @Test
+    public void reject_className() throws Exception {
+        List<String> classNames = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            classNames.add("com/test/Target" + i);
+        }
+        ClassFileFilter filter = new FastRejectClassFilter(classNames);
+
+        int falsePositive = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.accept(null, "com/test/Other" + i, null, null, null)) {
+                falsePositive++;
+            }
+        }
+        Assert.assertTrue("falsePositive:" + falsePositive, falsePositive < 100);
+    }
+}
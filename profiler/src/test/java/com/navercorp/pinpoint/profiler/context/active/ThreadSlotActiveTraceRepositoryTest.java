@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ThreadSlotActiveTraceRepositoryTest {
+
+    @Test
+    public void putAndRemove() {
+        ThreadSlotActiveTraceRepository repository = new ThreadSlotActiveTraceRepository(4);
+
+        ActiveTrace activeTrace = newActiveTrace(1, 100);
+        repository.put(activeTrace);
+
+        List<ActiveTraceInfo> collect = repository.collect();
+        Assert.assertEquals(1, collect.size());
+        Assert.assertEquals(1, collect.get(0).getLocalTraceId());
+        Assert.assertArrayEquals(new long[]{100}, repository.collectStartTime());
+
+        Assert.assertSame(activeTrace, repository.remove(1L));
+        Assert.assertTrue(repository.collect().isEmpty());
+        Assert.assertEquals(0, repository.collectStartTime().length);
+        Assert.assertNull(repository.remove(1L));
+    }
+
+    @Test
+    public void notStarted() {
+        ThreadSlotActiveTraceRepository repository = new ThreadSlotActiveTraceRepository(4);
+        repository.put(newActiveTrace(1, 0));
+
+        Assert.assertTrue(repository.collect().isEmpty());
+        Assert.assertEquals(0, repository.collectStartTime().length);
+    }
+
+    @Test
+    public void removeFromOtherThread() throws Exception {
+        final ThreadSlotActiveTraceRepository repository = new ThreadSlotActiveTraceRepository(4);
+        final ActiveTrace activeTrace = newActiveTrace(1, 100);
+        repository.put(activeTrace);
+
+        final AtomicReference<ActiveTrace> removedById = new AtomicReference<ActiveTrace>();
+        final AtomicReference<ActiveTrace> removed = new AtomicReference<ActiveTrace>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                // another thread's slot is not looked up by id
+                removedById.set(repository.remove(1L));
+                removed.set(repository.remove(activeTrace));
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertNull(removedById.get());
+        Assert.assertSame(activeTrace, removed.get());
+        Assert.assertTrue(repository.collect().isEmpty());
+        Assert.assertNull(repository.remove(activeTrace));
+    }
+
+    @Test
+    public void removeDroppedTrace() throws Exception {
+        final ThreadSlotActiveTraceRepository repository = new ThreadSlotActiveTraceRepository(1);
+        final ActiveTrace activeTrace = newActiveTrace(1, 100);
+        repository.put(activeTrace);
+
+        final ActiveTrace droppedTrace = newActiveTrace(1, 200);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                repository.put(droppedTrace);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertEquals(1, repository.getDroppedTraceCount());
+        Assert.assertNull(repository.remove(droppedTrace));
+        Assert.assertEquals(1, repository.collect().size());
+        Assert.assertSame(activeTrace, repository.remove(activeTrace));
+    }
+
+    @Test
+    public void slotFull() throws Exception {
+        final ThreadSlotActiveTraceRepository repository = new ThreadSlotActiveTraceRepository(1);
+        repository.put(newActiveTrace(1, 100));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                repository.put(newActiveTrace(2, 200));
+                latch.countDown();
+            }
+        });
+        thread.start();
+        latch.await();
+        thread.join();
+
+        Assert.assertEquals(1, repository.getDroppedTraceCount());
+        Assert.assertEquals(1, repository.collect().size());
+    }
+
+    @Test
+    public void reclaimDeadThreadSlot() throws Exception {
+        final ThreadSlotActiveTraceRepository repository = new ThreadSlotActiveTraceRepository(1);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                repository.put(newActiveTrace(1, 100));
+            }
+        });
+        thread.start();
+        thread.join();
+
+        repository.put(newActiveTrace(2, 200));
+
+        Assert.assertEquals(0, repository.getDroppedTraceCount());
+        List<ActiveTraceInfo> collect = repository.collect();
+        Assert.assertEquals(1, collect.size());
+        Assert.assertEquals(2, collect.get(0).getLocalTraceId());
+    }
+
+    private static ActiveTrace newActiveTrace(long id, long startTime) {
+        Trace trace = Mockito.mock(Trace.class);
+        Mockito.when(trace.getId()).thenReturn(id);
+        Mockito.when(trace.getStartTime()).thenReturn(startTime);
+        Mockito.when(trace.canSampled()).thenReturn(false);
+        return new ActiveTrace(trace);
+    }
+}
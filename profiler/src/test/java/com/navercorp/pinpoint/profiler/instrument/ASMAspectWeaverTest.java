@@ -17,6 +17,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -50,6 +51,7 @@ public class ASMAspectWeaverTest {
     private final String ERROR_ASPECT_INVALID_EXTENTS = "com.navercorp.pinpoint.profiler.instrument.mock.AspectInterceptorInvalidExtendClass";
 
     private final InstrumentContext pluginContext = mock(InstrumentContext.class);
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache = new ClassHierarchyMetadataCache(ClassHierarchyMetadataCache.DEFAULT_MAXIMUM_SIZE);
 
     @Before
     public void setUp() {
@@ -134,8 +136,8 @@ public class ASMAspectWeaverTest {
                         final ClassNode classNode = new ClassNode();
                         cr.accept(classNode, 0);
 
-                        final ASMClassNodeAdapter sourceClassNode = new ASMClassNodeAdapter(pluginContext, defaultClassLoader, classNode);
-                        final ASMClassNodeAdapter adviceClassNode = ASMClassNodeAdapter.get(pluginContext, defaultClassLoader, JavaAssistUtils.javaNameToJvmName(aspectName));
+                        final ASMClassNodeAdapter sourceClassNode = new ASMClassNodeAdapter(pluginContext, classHierarchyMetadataCache, defaultClassLoader, classNode);
+                        final ASMClassNodeAdapter adviceClassNode = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, defaultClassLoader, JavaAssistUtils.javaNameToJvmName(aspectName));
 
                         final ASMAspectWeaver aspectWeaver = new ASMAspectWeaver();
                         aspectWeaver.weaving(sourceClassNode, adviceClassNode);
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.bootstrap.instrument.aspect.Aspect;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -41,6 +42,7 @@ import static org.mockito.Mockito.when;
 public class ASMClassNodeAdapterTest {
 
     private final InstrumentContext pluginContext = mock(InstrumentContext.class);
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache = new ClassHierarchyMetadataCache(ClassHierarchyMetadataCache.DEFAULT_MAXIMUM_SIZE);
 
 
     @Before
@@ -75,14 +77,14 @@ public class ASMClassNodeAdapterTest {
     @Test
     public void get() {
         final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        ASMClassNodeAdapter adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseClass");
+        ASMClassNodeAdapter adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseClass");
         assertNotNull(adapter);
 
-        adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/NotExistClass");
+        adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/NotExistClass");
         assertNull(adapter);
 
         // skip code
-        adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseClass", true);
+        adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseClass", true);
         try {
             adapter.getDeclaredMethods();
             fail("can't throw IllegalStateException");
@@ -99,7 +101,7 @@ public class ASMClassNodeAdapterTest {
     @Test
     public void getter() {
         final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        ASMClassNodeAdapter adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/ExtendedClass");
+        ASMClassNodeAdapter adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/ExtendedClass");
         // name
         assertEquals("com/navercorp/pinpoint/profiler/instrument/mock/ExtendedClass", adapter.getInternalName());
         assertEquals("com.navercorp.pinpoint.profiler.instrument.mock.ExtendedClass", adapter.getName());
@@ -131,17 +133,17 @@ public class ASMClassNodeAdapterTest {
         assertNull(field);
 
         // interface
-        adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseInterface");
+        adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseInterface");
         assertEquals(true, adapter.isInterface());
 
         // implement
-        adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseImplementClass");
+        adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, classLoader, "com/navercorp/pinpoint/profiler/instrument/mock/BaseImplementClass");
         String[] interfaceNames = adapter.getInterfaceNames();
         assertEquals(1, interfaceNames.length);
         assertEquals("com.navercorp.pinpoint.profiler.instrument.mock.BaseInterface", interfaceNames[0]);
 
         // annotation
-        adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, "com/navercorp/pinpoint/bootstrap/instrument/aspect/Aspect");
+        adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, classLoader, "com/navercorp/pinpoint/bootstrap/instrument/aspect/Aspect");
         assertEquals(true, adapter.isAnnotation());
 
 
@@ -156,7 +158,7 @@ public class ASMClassNodeAdapterTest {
         classLoader.setCallbackHandler(new ASMClassNodeLoader.CallbackHandler() {
             @Override
             public void handle(ClassNode classNode) {
-                ASMClassNodeAdapter adapter = new ASMClassNodeAdapter(pluginContext, null, classNode);
+                ASMClassNodeAdapter adapter = new ASMClassNodeAdapter(pluginContext, classHierarchyMetadataCache, null, classNode);
                 ASMFieldNodeAdapter field = adapter.getField("i", null);
                 adapter.addGetterMethod(getterMethodName, field);
             }
@@ -176,7 +178,7 @@ public class ASMClassNodeAdapterTest {
         classLoader.setCallbackHandler(new ASMClassNodeLoader.CallbackHandler() {
             @Override
             public void handle(ClassNode classNode) {
-                ASMClassNodeAdapter adapter = new ASMClassNodeAdapter(pluginContext, null, classNode);
+                ASMClassNodeAdapter adapter = new ASMClassNodeAdapter(pluginContext, classHierarchyMetadataCache, null, classNode);
                 ASMFieldNodeAdapter field = adapter.getField("i", null);
                 adapter.addSetterMethod(setterMethodName, field);
             }
@@ -195,7 +197,7 @@ public class ASMClassNodeAdapterTest {
         classLoader.setCallbackHandler(new ASMClassNodeLoader.CallbackHandler() {
             @Override
             public void handle(ClassNode classNode) {
-                ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(pluginContext, null, classNode);
+                ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(pluginContext, classHierarchyMetadataCache, null, classNode);
                 classNodeAdapter.addField("_$PINPOINT$_" + JavaAssistUtils.javaClassNameToVariableName(accessorClassName), int.class);
                 classNodeAdapter.addInterface(accessorClassName);
                 ASMFieldNodeAdapter fieldNode = classNodeAdapter.getField("_$PINPOINT$_" + JavaAssistUtils.javaClassNameToVariableName(accessorClassName), null);
@@ -216,7 +218,7 @@ public class ASMClassNodeAdapterTest {
 
     @Test
     public void hasAnnotation() throws Exception {
-        ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(pluginContext, null, "com/navercorp/pinpoint/profiler/instrument/mock/AnnotationClass");
+        ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, null, "com/navercorp/pinpoint/profiler/instrument/mock/AnnotationClass");
         Assert.assertTrue(classNodeAdapter.hasAnnotation(Aspect.class));
         Assert.assertFalse(classNodeAdapter.hasAnnotation(Override.class));
     }
@@ -232,7 +234,7 @@ public class ASMClassNodeAdapterTest {
         testClassLoader.setCallbackHandler(new ASMClassNodeLoader.CallbackHandler() {
             @Override
             public void handle(ClassNode classNode) {
-                ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(pluginContext, null, classNode);
+                ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(pluginContext, classHierarchyMetadataCache, null, classNode);
                 classNodeAdapter.copyMethod(adapter);
             }
         });
@@ -243,7 +245,7 @@ public class ASMClassNodeAdapterTest {
 
     @Test
     public void subclassOf() {
-        ASMClassNodeAdapter adapter = ASMClassNodeAdapter.get(pluginContext, null, "com/navercorp/pinpoint/profiler/instrument/mock/ExtendedClass");
+        ASMClassNodeAdapter adapter = ASMClassNodeAdapter.get(pluginContext, classHierarchyMetadataCache, null, "com/navercorp/pinpoint/profiler/instrument/mock/ExtendedClass");
         // self
         assertEquals(true, adapter.subclassOf("com/navercorp/pinpoint/profiler/instrument/mock/ExtendedClass"));
 
@@ -17,6 +17,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.objectweb.asm.ClassReader;
@@ -42,6 +43,7 @@ import static org.mockito.Mockito.when;
 public class ASMClassNodeLoader {
 
     private final static InstrumentContext pluginContext = mock(InstrumentContext.class);
+    private final static ClassHierarchyMetadataCache classHierarchyMetadataCache = new ClassHierarchyMetadataCache(ClassHierarchyMetadataCache.DEFAULT_MAXIMUM_SIZE);
 
 
     static {
@@ -131,7 +133,7 @@ public class ASMClassNodeLoader {
 
                     if (this.trace) {
                         logger.debug("## original #############################################################");
-                        ASMClassWriter cw = new ASMClassWriter(pluginContext, classNode.name, classNode.superName, 0, null);
+                        ASMClassWriter cw = new ASMClassWriter(pluginContext, classHierarchyMetadataCache, classNode.name, classNode.superName, 0, null);
                         TraceClassVisitor tcv = new TraceClassVisitor(cw, new PrintWriter(System.out));
                         classNode.accept(tcv);
                     }
@@ -140,7 +142,7 @@ public class ASMClassNodeLoader {
                         callbackHandler.handle(classNode);
                     }
 
-                     ASMClassWriter cw = new ASMClassWriter(pluginContext, classNode.name, classNode.superName, ClassWriter.COMPUTE_FRAMES, null);
+                     ASMClassWriter cw = new ASMClassWriter(pluginContext, classHierarchyMetadataCache, classNode.name, classNode.superName, ClassWriter.COMPUTE_FRAMES, null);
                     if (this.trace) {
                         logger.debug("## modified #############################################################");
                         TraceClassVisitor tcv = new TraceClassVisitor(cw, new PrintWriter(System.out));
@@ -29,6 +29,7 @@ import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryB
 
 import com.navercorp.pinpoint.profiler.metadata.ApiMetaDataService;
 import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -59,6 +60,7 @@ public class ASMClassTest {
     private final DataSourceMonitorRegistryService dataSourceMonitorRegistryService = mock(DataSourceMonitorRegistryService.class);
     private final Provider<ApiMetaDataService> apiMetaDataService = Providers.of(mock(ApiMetaDataService.class));
     private final InstrumentContext pluginContext = mock(InstrumentContext.class);
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache = new ClassHierarchyMetadataCache(ClassHierarchyMetadataCache.DEFAULT_MAXIMUM_SIZE);
     private final ObjectBinderFactory objectBinderFactory = new ObjectBinderFactory(profilerConfig, traceContextProvider, dataSourceMonitorRegistryService, apiMetaDataService);
 
     @Before
@@ -592,6 +594,6 @@ public class ASMClassTest {
     private ASMClass getClass(final String targetClassName) throws Exception {
         ClassNode classNode = ASMClassNodeLoader.get(targetClassName);
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        return new ASMClass(objectBinderFactory, pluginContext, interceptorRegistryBinder, apiMetaDataService.get(), classLoader, classNode);
+        return new ASMClass(objectBinderFactory, pluginContext, classHierarchyMetadataCache, interceptorRegistryBinder, apiMetaDataService.get(), classLoader, classNode);
     }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHierarchyMetadataCache;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -39,6 +40,7 @@ import static org.mockito.Mockito.when;
 public class ASMClassWriterTest {
 
     private final InstrumentContext pluginContext = mock(InstrumentContext.class);
+    private final ClassHierarchyMetadataCache classHierarchyMetadataCache = new ClassHierarchyMetadataCache(ClassHierarchyMetadataCache.DEFAULT_MAXIMUM_SIZE);
 
     @Before
     public void setUp() {
@@ -74,14 +76,14 @@ public class ASMClassWriterTest {
         final String className = "com.navercorp.pinpoint.profiler.instrument.mock.SampleClass";
         ClassNode classNode = ASMClassNodeLoader.get(JavaAssistUtils.javaNameToJvmName(className));
 
-        ASMClassWriter cw = new ASMClassWriter(pluginContext, classNode.name, classNode.superName, 0, null);
+        ASMClassWriter cw = new ASMClassWriter(pluginContext, classHierarchyMetadataCache, classNode.name, classNode.superName, 0, null);
         TraceClassVisitor tcv = new TraceClassVisitor(cw, new PrintWriter(System.out));
         classNode.accept(tcv);
     }
 
     @Test
     public void getCommonSuperClass() throws Exception {
-        ASMClassWriter cw = new ASMClassWriter(pluginContext, "", "", 0, null);
+        ASMClassWriter cw = new ASMClassWriter(pluginContext, classHierarchyMetadataCache, "", "", 0, null);
         // java/lang/object.
         assertEquals("java/lang/Object", cw.getCommonSuperClass("java/util/Iterator", "java/lang/Object"));
         assertEquals("java/lang/Object", cw.getCommonSuperClass("java/lang/Object", "java/lang/String"));
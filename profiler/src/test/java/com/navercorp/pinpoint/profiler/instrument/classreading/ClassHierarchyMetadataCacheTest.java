@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClassHierarchyMetadataCacheTest {
+
+    private static final String THREAD = "java/lang/Thread";
+    private static final String RUNNABLE = "java/lang/Runnable";
+
+    @Test
+    public void hit() {
+        ClassHierarchyMetadataCache cache = new ClassHierarchyMetadataCache(16);
+        InstrumentContext context = newInstrumentContext();
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        ClassHierarchyMetadata first = cache.get(context, classLoader, THREAD);
+        ClassHierarchyMetadata second = cache.get(context, classLoader, THREAD);
+
+        Assert.assertEquals("java/lang/Object", first.getSuperClassInternalName());
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.size());
+        verify(context, times(1)).getResourceAsStream(classLoader, THREAD + ".class");
+    }
+
+    @Test
+    public void missOnOtherClassLoader() {
+        ClassHierarchyMetadataCache cache = new ClassHierarchyMetadataCache(16);
+        InstrumentContext context = newInstrumentContext();
+        ClassLoader classLoader = getClass().getClassLoader();
+        ClassLoader otherClassLoader = new URLClassLoader(new URL[0], classLoader);
+
+        cache.get(context, classLoader, THREAD);
+        cache.get(context, otherClassLoader, THREAD);
+        cache.get(context, null, THREAD);
+
+        Assert.assertEquals(3, cache.size());
+        verify(context, times(3)).getResourceAsStream(any(ClassLoader.class), eq(THREAD + ".class"));
+    }
+
+    @Test
+    public void missOnOtherContext() {
+        ClassHierarchyMetadataCache cache = new ClassHierarchyMetadataCache(16);
+        InstrumentContext context = newInstrumentContext();
+        InstrumentContext otherContext = newInstrumentContext();
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        cache.get(context, classLoader, THREAD);
+        cache.get(otherContext, classLoader, THREAD);
+
+        Assert.assertEquals(2, cache.size());
+        verify(context, times(1)).getResourceAsStream(classLoader, THREAD + ".class");
+        verify(otherContext, times(1)).getResourceAsStream(classLoader, THREAD + ".class");
+    }
+
+    @Test
+    public void notFoundIsNotCached() {
+        ClassHierarchyMetadataCache cache = new ClassHierarchyMetadataCache(16);
+        InstrumentContext context = newInstrumentContext();
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        Assert.assertNull(cache.get(context, classLoader, "not/exist/Class"));
+        Assert.assertNull(cache.get(context, classLoader, "not/exist/Class"));
+
+        Assert.assertEquals(0, cache.size());
+        verify(context, times(2)).getResourceAsStream(classLoader, "not/exist/Class.class");
+    }
+
+    @Test
+    public void eviction() {
+        ClassHierarchyMetadataCache cache = new ClassHierarchyMetadataCache(1);
+        InstrumentContext context = newInstrumentContext();
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        cache.get(context, classLoader, THREAD);
+        cache.get(context, classLoader, RUNNABLE);
+        Assert.assertEquals(1, cache.size());
+
+        // evicted by RUNNABLE, read again
+        cache.get(context, classLoader, THREAD);
+        Assert.assertEquals(1, cache.size());
+        verify(context, times(2)).getResourceAsStream(classLoader, THREAD + ".class");
+        verify(context, times(1)).getResourceAsStream(classLoader, RUNNABLE + ".class");
+    }
+
+    private InstrumentContext newInstrumentContext() {
+        InstrumentContext context = mock(InstrumentContext.class);
+        when(context.getResourceAsStream(any(ClassLoader.class), anyString())).thenAnswer(new Answer<InputStream>() {
+            @Override
+            public InputStream answer(InvocationOnMock invocation) throws Throwable {
+                String classPath = (String) invocation.getArguments()[1];
+                return ClassLoader.getSystemResourceAsStream(classPath);
+            }
+        });
+        return context;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import com.navercorp.pinpoint.common.util.ClassLoaderUtils;
+import com.navercorp.pinpoint.profiler.util.BytecodeUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+
+public class ClassHierarchyMetadataReaderTest {
+
+    @Test
+    public void testClassHierarchyMetadata() {
+        byte[] classFile = BytecodeUtils.getClassFile(ClassLoaderUtils.getDefaultClassLoader(), AnnotatedClass.class.getName());
+
+        ClassHierarchyMetadata metadata = ClassHierarchyMetadataReader.readClassHierarchyMetadata(classFile);
+
+        Assert.assertEquals(metadata.getClassInternalName(), AnnotatedClass.class.getName().replace('.', '/'));
+        Assert.assertEquals(metadata.getSuperClassInternalName(), "java/lang/Thread");
+        Assert.assertFalse(metadata.isInterface());
+
+        List<String> interfaceNames = metadata.getInterfaceInternalNames();
+        Assert.assertThat(interfaceNames, contains("java/lang/Comparable"));
+
+        Assert.assertTrue(metadata.hasAnnotation("Ljava/lang/Deprecated;"));
+    }
+
+    @Test
+    public void testInterface() {
+        byte[] classFile = BytecodeUtils.getClassFile(ClassLoaderUtils.getDefaultClassLoader(), Runnable.class.getName());
+
+        ClassHierarchyMetadata metadata = ClassHierarchyMetadataReader.readClassHierarchyMetadata(classFile);
+
+        Assert.assertTrue(metadata.isInterface());
+        Assert.assertTrue(metadata.getInterfaceInternalNames().isEmpty());
+    }
+
+    @Deprecated
+    public static class AnnotatedClass extends Thread implements Comparable<AnnotatedClass> {
+        @Override
+        public int compareTo(AnnotatedClass o) {
+            return 0;
+        }
+    }
+}
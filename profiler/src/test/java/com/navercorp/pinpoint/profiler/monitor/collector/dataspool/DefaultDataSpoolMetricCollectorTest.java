@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.dataspool;
+
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
+import com.navercorp.pinpoint.thrift.dto.TDataSpool;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultDataSpoolMetricCollectorTest {
+
+    @Test
+    public void collect() {
+        DataSpool spanSpool = mock(DataSpool.class);
+        DataSpool statSpool = mock(DataSpool.class);
+        when(spanSpool.getSpoolSize()).thenReturn(100L);
+        when(spanSpool.getMessageCount()).thenReturn(3);
+        when(spanSpool.getSpooledMessageCount()).thenReturn(5L, 8L);
+        when(spanSpool.getReplayedMessageCount()).thenReturn(2L, 5L);
+        when(statSpool.getSpoolSize()).thenReturn(50L);
+        when(statSpool.getMessageCount()).thenReturn(1);
+        when(statSpool.getDroppedMessageCount()).thenReturn(4L, 4L);
+
+        DefaultDataSpoolMetricCollector collector = new DefaultDataSpoolMetricCollector(Arrays.asList(spanSpool, statSpool));
+
+        TDataSpool first = collector.collect();
+        Assert.assertEquals(150, first.getSpoolSize());
+        Assert.assertEquals(4, first.getMessageCount());
+        Assert.assertEquals(5, first.getSpooledCount());
+        Assert.assertEquals(2, first.getReplayedCount());
+        Assert.assertEquals(4, first.getDroppedCount());
+
+        // counters are reported per collect interval
+        TDataSpool second = collector.collect();
+        Assert.assertEquals(3, second.getSpooledCount());
+        Assert.assertEquals(3, second.getReplayedCount());
+        Assert.assertEquals(0, second.getDroppedCount());
+    }
+}
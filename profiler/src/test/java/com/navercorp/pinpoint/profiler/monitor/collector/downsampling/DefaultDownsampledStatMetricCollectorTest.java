@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.downsampling;
+
+import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CachedCpuLoadMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.cpu.CpuLoadMetric;
+import com.navercorp.pinpoint.thrift.dto.TDownsampledStat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultDownsampledStatMetricCollectorTest {
+
+    @Test
+    public void collect() {
+        MemoryMXBean memoryMXBean = mock(MemoryMXBean.class);
+        when(memoryMXBean.getHeapMemoryUsage()).thenReturn(heap(100), heap(300), heap(200));
+        CpuLoadMetric cpuLoadMetric = mock(CpuLoadMetric.class);
+        when(cpuLoadMetric.jvmCpuLoad()).thenReturn(0.1, 0.3, 0.2);
+        when(cpuLoadMetric.systemCpuLoad()).thenReturn(0.5, -1D, 0.7);
+
+        DownsampledStatMetricCollector collector = new DefaultDownsampledStatMetricCollector(memoryMXBean, cpuLoadMetric, 100);
+        Assert.assertNull(collector.collect());
+
+        collector.sample();
+        collector.sample();
+        collector.sample();
+        TDownsampledStat downsampledStat = collector.collect();
+
+        Assert.assertEquals(3, downsampledStat.getSampleCount());
+        Assert.assertEquals(100, downsampledStat.getSamplingInterval());
+        Assert.assertEquals(100, downsampledStat.getHeapUsedMin());
+        Assert.assertEquals(300, downsampledStat.getHeapUsedMax());
+        Assert.assertEquals(200, downsampledStat.getHeapUsedAvg());
+        Assert.assertEquals(0.1, downsampledStat.getJvmCpuLoadMin(), 0.0001);
+        Assert.assertEquals(0.3, downsampledStat.getJvmCpuLoadMax(), 0.0001);
+        Assert.assertEquals(0.2, downsampledStat.getJvmCpuLoadAvg(), 0.0001);
+        // unavailable readings are left out
+        Assert.assertEquals(0.5, downsampledStat.getSystemCpuLoadMin(), 0.0001);
+        Assert.assertEquals(0.7, downsampledStat.getSystemCpuLoadMax(), 0.0001);
+        Assert.assertEquals(0.6, downsampledStat.getSystemCpuLoadAvg(), 0.0001);
+
+        // samples are drained by collect
+        Assert.assertNull(collector.collect());
+    }
+
+    @Test
+    public void cachedCpuLoad() {
+        CpuLoadMetric cpuLoadMetric = mock(CpuLoadMetric.class);
+        when(cpuLoadMetric.jvmCpuLoad()).thenReturn(0.1);
+        when(cpuLoadMetric.systemCpuLoad()).thenReturn(0.2);
+
+        CpuLoadMetric cachedCpuLoadMetric = new CachedCpuLoadMetric(cpuLoadMetric, 60000);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(0.1, cachedCpuLoadMetric.jvmCpuLoad(), 0.0001);
+            Assert.assertEquals(0.2, cachedCpuLoadMetric.systemCpuLoad(), 0.0001);
+        }
+        verify(cpuLoadMetric, times(1)).jvmCpuLoad();
+        verify(cpuLoadMetric, times(1)).systemCpuLoad();
+    }
+
+    private MemoryUsage heap(long used) {
+        return new MemoryUsage(0, used, 1000, 1000);
+    }
+}
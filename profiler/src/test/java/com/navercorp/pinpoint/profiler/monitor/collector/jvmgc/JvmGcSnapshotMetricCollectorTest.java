@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.jvmgc;
+
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TJvmGcType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JvmGcSnapshotMetricCollectorTest {
+
+    @Test
+    public void collect() {
+        MemoryMXBean memoryMXBean = mock(MemoryMXBean.class);
+        when(memoryMXBean.getHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 100, 200, 400));
+        when(memoryMXBean.getNonHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 10, 20, -1));
+
+        MemoryPoolMXBean eden = memoryPool("G1 Eden Space", new MemoryUsage(0, 25, 100, -1));
+        MemoryPoolMXBean old = memoryPool("G1 Old Gen", new MemoryUsage(0, 50, 100, 200));
+        MemoryPoolMXBean metaspace = memoryPool("Metaspace", new MemoryUsage(0, 10, 40, -1));
+
+        GarbageCollectorMXBean young = garbageCollector("G1 Young Generation", 3, 30);
+        GarbageCollectorMXBean full = garbageCollector("G1 Old Generation", 1, 100);
+
+        JvmGcSnapshotMetricCollector collector = new JvmGcSnapshotMetricCollector(memoryMXBean, Arrays.asList(eden, old, metaspace),
+                Arrays.asList(young, full), true);
+        TJvmGc jvmGc = collector.collect();
+
+        Assert.assertEquals(TJvmGcType.G1, jvmGc.getType());
+        Assert.assertEquals(100, jvmGc.getJvmMemoryHeapUsed());
+        Assert.assertEquals(400, jvmGc.getJvmMemoryHeapMax());
+        Assert.assertEquals(10, jvmGc.getJvmMemoryNonHeapUsed());
+        Assert.assertEquals(1, jvmGc.getJvmGcOldCount());
+        Assert.assertEquals(100, jvmGc.getJvmGcOldTime());
+
+        Assert.assertEquals(0.25, jvmGc.getJvmGcDetailed().getJvmPoolNewGenUsed(), 0.0001);
+        Assert.assertEquals(0.25, jvmGc.getJvmGcDetailed().getJvmPoolOldGenUsed(), 0.0001);
+        Assert.assertEquals(0.25, jvmGc.getJvmGcDetailed().getJvmPoolMetaspaceUsed(), 0.0001);
+        Assert.assertFalse(jvmGc.getJvmGcDetailed().isSetJvmPoolPermGenUsed());
+        Assert.assertEquals(-1, jvmGc.getJvmGcDetailed().getJvmPoolSurvivorSpaceUsed(), 0.0001);
+        Assert.assertEquals(3, jvmGc.getJvmGcDetailed().getJvmGcNewCount());
+
+        // a single read per bean
+        verify(memoryMXBean, times(1)).getHeapMemoryUsage();
+        verify(old, times(1)).getUsage();
+    }
+
+    @Test
+    public void collect_unknownCollector() {
+        MemoryMXBean memoryMXBean = mock(MemoryMXBean.class);
+        when(memoryMXBean.getHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 100, 200, 400));
+        when(memoryMXBean.getNonHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 10, 20, -1));
+
+        JvmGcSnapshotMetricCollector collector = new JvmGcSnapshotMetricCollector(memoryMXBean, Collections.<MemoryPoolMXBean>emptyList(),
+                Collections.singletonList(garbageCollector("Unknown", 1, 1)), false);
+        TJvmGc jvmGc = collector.collect();
+
+        Assert.assertEquals(TJvmGcType.UNKNOWN, jvmGc.getType());
+        Assert.assertEquals(-1, jvmGc.getJvmGcOldCount());
+        Assert.assertFalse(jvmGc.isSetJvmGcDetailed());
+    }
+
+    @Test
+    public void collect_currentJvm() {
+        JvmGcSnapshotMetricCollector collector = new JvmGcSnapshotMetricCollector(ManagementFactory.getMemoryMXBean(),
+                ManagementFactory.getMemoryPoolMXBeans(), ManagementFactory.getGarbageCollectorMXBeans(), true);
+        TJvmGc jvmGc = collector.collect();
+
+        Assert.assertNotEquals(TJvmGcType.UNKNOWN, jvmGc.getType());
+        Assert.assertTrue(jvmGc.getJvmMemoryHeapUsed() > 0);
+        Assert.assertTrue(jvmGc.getJvmGcDetailed().getJvmPoolOldGenUsed() >= 0);
+    }
+
+    private MemoryPoolMXBean memoryPool(String name, MemoryUsage memoryUsage) {
+        MemoryPoolMXBean memoryPoolMXBean = mock(MemoryPoolMXBean.class);
+        when(memoryPoolMXBean.getName()).thenReturn(name);
+        when(memoryPoolMXBean.getUsage()).thenReturn(memoryUsage);
+        return memoryPoolMXBean;
+    }
+
+    private GarbageCollectorMXBean garbageCollector(String name, long count, long time) {
+        GarbageCollectorMXBean garbageCollectorMXBean = mock(GarbageCollectorMXBean.class);
+        when(garbageCollectorMXBean.getName()).thenReturn(name);
+        when(garbageCollectorMXBean.getCollectionCount()).thenReturn(count);
+        when(garbageCollectorMXBean.getCollectionTime()).thenReturn(time);
+        return garbageCollectorMXBean;
+    }
+}
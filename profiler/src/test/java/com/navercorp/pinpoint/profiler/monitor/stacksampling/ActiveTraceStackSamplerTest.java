@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTrace;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ActiveTraceStackSamplerTest {
+
+    @Test
+    public void sampleAndAttach() {
+        ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository();
+        SpanRecorder spanRecorder = mock(SpanRecorder.class);
+        Trace trace = newTrace(1, System.currentTimeMillis() - 2000, spanRecorder);
+        activeTraceRepository.put(new ActiveTrace(trace));
+
+        ActiveTraceStackSampler stackSampler = new ActiveTraceStackSampler(activeTraceRepository, 100, 1000, 64, 256, 64, 100);
+        stackSampler.sample();
+        stackSampler.sample();
+        Assert.assertEquals(2, stackSampler.getSampleCount());
+        Assert.assertEquals(0, stackSampler.getSkipCount());
+
+        activeTraceRepository.remove(trace.getId());
+        stackSampler.attachStackSample(trace);
+        verify(spanRecorder).recordAttribute(eq(AnnotationKey.STACK_SAMPLE), anyString());
+    }
+
+    @Test
+    public void threshold() {
+        ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository();
+        SpanRecorder spanRecorder = mock(SpanRecorder.class);
+        Trace trace = newTrace(1, System.currentTimeMillis(), spanRecorder);
+        activeTraceRepository.put(new ActiveTrace(trace));
+
+        ActiveTraceStackSampler stackSampler = new ActiveTraceStackSampler(activeTraceRepository, 100, 60000, 64, 256, 64, 100);
+        stackSampler.sample();
+        Assert.assertEquals(0, stackSampler.getSampleCount());
+
+        stackSampler.attachStackSample(trace);
+        verify(spanRecorder, never()).recordAttribute(eq(AnnotationKey.STACK_SAMPLE), anyString());
+    }
+
+    @Test
+    public void maxTraceSize() {
+        ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository();
+        final long startTime = System.currentTimeMillis() - 2000;
+        activeTraceRepository.put(new ActiveTrace(newTrace(1, startTime, mock(SpanRecorder.class))));
+        activeTraceRepository.put(new ActiveTrace(newTrace(2, startTime, mock(SpanRecorder.class))));
+
+        ActiveTraceStackSampler stackSampler = new ActiveTraceStackSampler(activeTraceRepository, 100, 1000, 64, 256, 1, 100);
+        stackSampler.sample();
+        Assert.assertEquals(1, stackSampler.getSampleCount());
+        Assert.assertEquals(1, stackSampler.getDroppedCount());
+    }
+
+    @Test
+    public void overheadBudget() {
+        ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository();
+        activeTraceRepository.put(new ActiveTrace(newTrace(1, System.currentTimeMillis() - 2000, mock(SpanRecorder.class))));
+
+        ActiveTraceStackSampler stackSampler = new ActiveTraceStackSampler(activeTraceRepository, 100, 1000, 64, 256, 64, 1);
+        stackSampler.sample();
+        // the next run falls into the idle time of the first one
+        stackSampler.sample();
+        Assert.assertEquals(1, stackSampler.getSampleCount());
+        Assert.assertEquals(1, stackSampler.getSkipCount());
+    }
+
+    private Trace newTrace(long id, long startTime, SpanRecorder spanRecorder) {
+        Trace trace = mock(Trace.class);
+        when(trace.getId()).thenReturn(id);
+        when(trace.getStartTime()).thenReturn(startTime);
+        when(trace.getBindThread()).thenReturn(Thread.currentThread());
+        when(trace.canSampled()).thenReturn(true);
+        when(trace.getSpanRecorder()).thenReturn(spanRecorder);
+        return trace;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StackSampleTreeTest {
+
+    @Test
+    public void addSample() {
+        StackSampleTree sampleTree = new StackSampleTree(100);
+        sampleTree.addSample(stack("A.read", "B.query", "C.service"));
+        sampleTree.addSample(stack("A.read", "B.query", "C.service"));
+        sampleTree.addSample(stack("D.compute", "C.service"));
+
+        Assert.assertEquals(3, sampleTree.getSampleCount());
+        Assert.assertEquals(5, sampleTree.getNodeSize());
+
+        String expected = "0 2 A.read\n" +
+                "1 2 B.query\n" +
+                "2 2 C.service\n" +
+                "0 1 D.compute\n" +
+                "1 1 C.service\n";
+        Assert.assertEquals(expected, sampleTree.toSampleString());
+    }
+
+    @Test
+    public void maxNodeSize() {
+        StackSampleTree sampleTree = new StackSampleTree(2);
+        sampleTree.addSample(stack("A.read", "B.query", "C.service"));
+        sampleTree.addSample(stack("D.compute", "C.service"));
+
+        Assert.assertEquals(2, sampleTree.getSampleCount());
+        Assert.assertEquals(2, sampleTree.getNodeSize());
+        Assert.assertEquals("0 1 A.read\n1 1 B.query\n", sampleTree.toSampleString());
+    }
+
+    private StackTraceElement[] stack(String... frames) {
+        StackTraceElement[] stackTrace = new StackTraceElement[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            int index = frames[i].lastIndexOf('.');
+            stackTrace[i] = new StackTraceElement(frames[i].substring(0, index), frames[i].substring(index + 1), null, -1);
+        }
+        return stackTrace;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stacksampling;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.profiler.context.BaseTraceFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StackSamplingTraceTest {
+
+    @Test
+    public void attachBeforeClose() {
+        Trace trace = mock(Trace.class);
+        StackSampler stackSampler = mock(StackSampler.class);
+
+        new StackSamplingTrace(trace, stackSampler).close();
+
+        InOrder inOrder = inOrder(stackSampler, trace);
+        inOrder.verify(stackSampler).attachStackSample(trace);
+        inOrder.verify(trace).close();
+    }
+
+    @Test
+    public void wrapSampledTrace() {
+        Trace sampledTrace = mock(Trace.class);
+        when(sampledTrace.canSampled()).thenReturn(true);
+        Trace unsampledTrace = mock(Trace.class);
+        BaseTraceFactory baseTraceFactory = mock(BaseTraceFactory.class);
+        when(baseTraceFactory.newTraceObject()).thenReturn(sampledTrace);
+        when(baseTraceFactory.disableSampling()).thenReturn(unsampledTrace);
+
+        BaseTraceFactory traceFactory = StackSamplingBaseTraceFactory.wrap(baseTraceFactory, mock(StackSampler.class));
+
+        Trace trace = traceFactory.newTraceObject();
+        Assert.assertTrue(trace instanceof StackSamplingTrace);
+        Assert.assertSame(sampledTrace, ((StackSamplingTrace) trace).unwrap());
+        Assert.assertSame(unsampledTrace, traceFactory.disableSampling());
+    }
+}
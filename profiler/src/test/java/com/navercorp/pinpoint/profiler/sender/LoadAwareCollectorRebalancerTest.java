@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.rpc.DefaultFuture;
+import com.navercorp.pinpoint.rpc.FutureListener;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.thrift.dto.TCollectorInfo;
+import com.navercorp.pinpoint.thrift.dto.TCollectorList;
+import com.navercorp.pinpoint.thrift.dto.TCollectorListRequest;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LoadAwareCollectorRebalancerTest {
+
+    private EnhancedDataSender dataSender;
+    private PinpointClient client;
+
+    @Before
+    public void setUp() {
+        dataSender = mock(EnhancedDataSender.class);
+        client = mock(PinpointClient.class);
+        when(client.isConnected()).thenReturn(true);
+        when(client.getRemoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 9994));
+    }
+
+    @Test
+    public void rebalance() {
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.1, 0.5);
+
+        rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90)));
+        // a single imbalanced response is not enough
+        verify(client, never()).reconnect(any(SocketAddress.class));
+
+        rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90)));
+        verify(client).reconnect(new InetSocketAddress("10.0.0.2", 9994));
+    }
+
+    @Test
+    public void rebalance_belowThreshold() {
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.1, 0.9);
+
+        for (int i = 0; i < LoadAwareCollectorRebalancer.IMBALANCE_COUNT_TO_MOVE; i++) {
+            rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 50), collectorInfo("10.0.0.2", 70)));
+        }
+
+        verify(client, never()).reconnect(any(SocketAddress.class));
+    }
+
+    @Test
+    public void rebalance_imbalanceNotConsecutive() {
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.1, 0.5);
+
+        rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90)));
+        rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 60), collectorInfo("10.0.0.2", 70)));
+        rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90)));
+
+        verify(client, never()).reconnect(any(SocketAddress.class));
+    }
+
+    @Test
+    public void rebalance_notChosenToMove() {
+        // 20% of the agents move, this one rolled 50
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.5);
+
+        for (int i = 0; i < LoadAwareCollectorRebalancer.IMBALANCE_COUNT_TO_MOVE; i++) {
+            rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90)));
+        }
+
+        verify(client, never()).reconnect(any(SocketAddress.class));
+    }
+
+    @Test
+    public void rebalance_cooldown() {
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.1);
+        final List<TCollectorInfo> collectorList = Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90));
+
+        for (int i = 0; i < LoadAwareCollectorRebalancer.IMBALANCE_COUNT_TO_MOVE; i++) {
+            rebalancer.rebalance(collectorList);
+        }
+        verify(client, times(1)).reconnect(any(SocketAddress.class));
+
+        for (int i = 0; i < LoadAwareCollectorRebalancer.COOLDOWN_INTERVAL_COUNT + LoadAwareCollectorRebalancer.IMBALANCE_COUNT_TO_MOVE - 1; i++) {
+            rebalancer.rebalance(collectorList);
+        }
+        verify(client, times(1)).reconnect(any(SocketAddress.class));
+
+        rebalancer.rebalance(collectorList);
+        verify(client, times(2)).reconnect(any(SocketAddress.class));
+    }
+
+    @Test
+    public void rebalance_currentLeastLoaded() {
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.05);
+
+        for (int i = 0; i < LoadAwareCollectorRebalancer.IMBALANCE_COUNT_TO_MOVE; i++) {
+            rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 90), collectorInfo("10.0.0.2", 10)));
+        }
+
+        verify(client, never()).reconnect(any(SocketAddress.class));
+    }
+
+    @Test
+    public void rebalance_currentNotAdvertised() {
+        when(client.getRemoteAddress()).thenReturn(new InetSocketAddress("10.0.0.9", 9994));
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.1, 0.5);
+
+        for (int i = 0; i < LoadAwareCollectorRebalancer.IMBALANCE_COUNT_TO_MOVE; i++) {
+            rebalancer.rebalance(Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90)));
+        }
+
+        verify(client, never()).reconnect(any(SocketAddress.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void requestCollectorList() {
+        LoadAwareCollectorRebalancer rebalancer = newRebalancer(0.1, 0.5);
+
+        rebalancer.requestCollectorList();
+
+        ArgumentCaptor<TCollectorListRequest> request = ArgumentCaptor.forClass(TCollectorListRequest.class);
+        ArgumentCaptor<FutureListener> listener = ArgumentCaptor.forClass(FutureListener.class);
+        verify(dataSender).request(request.capture(), listener.capture());
+        Assert.assertEquals("agentId", request.getValue().getAgentId());
+
+        TCollectorList collectorList = new TCollectorList();
+        collectorList.setCollectorList(Arrays.asList(collectorInfo("127.0.0.1", 10), collectorInfo("10.0.0.2", 90)));
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage(SerializationUtils.serialize(collectorList, HeaderTBaseSerializerFactory.DEFAULT_FACTORY, (byte[]) null));
+        DefaultFuture<ResponseMessage> future = new DefaultFuture<ResponseMessage>();
+        future.setResult(responseMessage);
+        for (int i = 0; i < LoadAwareCollectorRebalancer.IMBALANCE_COUNT_TO_MOVE; i++) {
+            listener.getValue().onComplete(future);
+        }
+
+        // reconnected on the rebalancer thread
+        verify(client, timeout(3000)).reconnect(new InetSocketAddress("10.0.0.2", 9994));
+        rebalancer.stop();
+    }
+
+    /**
+     * @param randomValues returned by nextDouble() in turn, the last one repeats
+     */
+    private LoadAwareCollectorRebalancer newRebalancer(final double... randomValues) {
+        Random random = new Random() {
+            private int index;
+
+            @Override
+            public double nextDouble() {
+                return randomValues[Math.min(index++, randomValues.length - 1)];
+            }
+        };
+        return new LoadAwareCollectorRebalancer(dataSender, client, "agentId", 60000, 30, 20, random);
+    }
+
+    private TCollectorInfo collectorInfo(String ip, int weight) {
+        return new TCollectorInfo(ip, 9994, weight);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.rpc.DefaultFuture;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TMetaDataBatch;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.dto.TSqlMetaData;
+import com.navercorp.pinpoint.thrift.dto.TStringMetaData;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+import org.apache.thrift.TBase;
+import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetaDataBatchSenderTest {
+
+    private final HeaderTBaseSerializer serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+
+    private PinpointClient client;
+    private Timer timer;
+    private final List<byte[]> requests = new ArrayList<byte[]>();
+    private final List<DefaultFuture<ResponseMessage>> futures = new ArrayList<DefaultFuture<ResponseMessage>>();
+
+    @Before
+    public void setUp() {
+        client = mock(PinpointClient.class);
+        timer = mock(Timer.class);
+        when(client.request(any(byte[].class))).thenAnswer(new Answer<DefaultFuture<ResponseMessage>>() {
+            @Override
+            public DefaultFuture<ResponseMessage> answer(InvocationOnMock invocation) throws Throwable {
+                requests.add((byte[]) invocation.getArguments()[0]);
+                DefaultFuture<ResponseMessage> future = new DefaultFuture<ResponseMessage>();
+                futures.add(future);
+                return future;
+            }
+        });
+    }
+
+    @Test
+    public void send_batch() throws Exception {
+        MetaDataBatchSender sender = new MetaDataBatchSender(client, timer, 2, 8);
+
+        sender.send(metaDataList(5), serializer);
+
+        Assert.assertEquals(3, requests.size());
+        TMetaDataBatch first = deserialize(requests.get(0));
+        Assert.assertEquals(1, first.getSqlMetaDataListSize());
+        Assert.assertEquals(1, first.getApiMetaDataListSize());
+        TMetaDataBatch last = deserialize(requests.get(2));
+        Assert.assertEquals(1, last.getStringMetaDataListSize() + last.getSqlMetaDataListSize() + last.getApiMetaDataListSize());
+    }
+
+    @Test
+    public void window() throws Exception {
+        MetaDataBatchSender sender = new MetaDataBatchSender(client, timer, 1, 2);
+
+        sender.send(metaDataList(4), serializer);
+        Assert.assertEquals(2, requests.size());
+        Assert.assertEquals(2, sender.getPendingSize());
+
+        futures.get(0).setResult(response(true));
+        Assert.assertEquals(3, requests.size());
+        Assert.assertEquals(1, sender.getPendingSize());
+    }
+
+    @Test
+    public void retry() throws Exception {
+        MetaDataBatchSender sender = new MetaDataBatchSender(client, timer, 1, 4);
+
+        sender.send(metaDataList(1), serializer);
+        futures.get(0).setResult(response(false));
+        Assert.assertEquals(2, sender.getWindowSize());
+
+        ArgumentCaptor<TimerTask> retryTask = ArgumentCaptor.forClass(TimerTask.class);
+        verify(timer).newTimeout(retryTask.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        retryTask.getValue().run(null);
+        Assert.assertEquals(2, requests.size());
+        Assert.assertArrayEquals(requests.get(0), requests.get(1));
+
+        futures.get(1).setFailure(new RuntimeException("timeout"));
+        Assert.assertEquals(1, sender.getWindowSize());
+        verify(timer).newTimeout(any(TimerTask.class), eq(2000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void retry_discard() throws Exception {
+        MetaDataBatchSender sender = new MetaDataBatchSender(client, timer, 1, 4, 0, 16);
+
+        sender.send(metaDataList(1), serializer);
+        futures.get(0).setResult(response(false));
+
+        verify(timer, org.mockito.Mockito.never()).newTimeout(any(TimerTask.class), anyLong(), any(TimeUnit.class));
+    }
+
+    private List<TBase<?, ?>> metaDataList(int size) {
+        List<TBase<?, ?>> metaDataList = new ArrayList<TBase<?, ?>>();
+        for (int i = 0; i < size; i++) {
+            switch (i % 3) {
+                case 0:
+                    metaDataList.add(new TSqlMetaData("agentId", 1L, i, "select " + i));
+                    break;
+                case 1:
+                    metaDataList.add(new TApiMetaData("agentId", 1L, i, "api" + i));
+                    break;
+                default:
+                    metaDataList.add(new TStringMetaData("agentId", 1L, i, "string" + i));
+            }
+        }
+        return metaDataList;
+    }
+
+    private ResponseMessage response(boolean success) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage(SerializationUtils.serialize(new TResult(success), serializer, (byte[]) null));
+        return responseMessage;
+    }
+
+    private TMetaDataBatch deserialize(byte[] bytes) {
+        return (TMetaDataBatch) SerializationUtils.deserialize(bytes, HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer(), (TBase) null);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.profiler.sender.spool.DataSpool;
+import com.navercorp.pinpoint.profiler.sender.spool.EmptyDataSpool;
+import com.navercorp.pinpoint.profiler.sender.spool.MappedFileDataSpool;
+import com.navercorp.pinpoint.rpc.DefaultFuture;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.rpc.client.PinpointClientReconnectEventListener;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializerFactory;
+import org.apache.thrift.TBase;
+import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TcpTraceDataSenderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PinpointClient client;
+    private Timer timer;
+    private DataSender fallbackSender;
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+    private final List<DefaultFuture<ResponseMessage>> futures = new ArrayList<DefaultFuture<ResponseMessage>>();
+    private TcpTraceDataSender sender;
+
+    @Before
+    public void setUp() {
+        client = mock(PinpointClient.class);
+        timer = mock(Timer.class);
+        fallbackSender = mock(DataSender.class);
+        when(client.isTraceSendSupported()).thenReturn(true);
+        when(client.sendTrace(any(byte[].class))).thenAnswer(new Answer<DefaultFuture<ResponseMessage>>() {
+            @Override
+            public DefaultFuture<ResponseMessage> answer(InvocationOnMock invocation) throws Throwable {
+                chunks.add((byte[]) invocation.getArguments()[0]);
+                DefaultFuture<ResponseMessage> future = new DefaultFuture<ResponseMessage>();
+                futures.add(future);
+                return future;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        if (sender != null) {
+            // an ack sends the next buffered chunk
+            for (int i = 0; i < futures.size(); i++) {
+                futures.get(i).setResult(new ResponseMessage());
+            }
+            sender.stop();
+        }
+    }
+
+    @Test
+    public void send_chunk() throws Exception {
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1024 * 16, 8, 8, 3, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+
+        sender.sendPacketN(agentStatList(3));
+
+        Assert.assertEquals(1, chunks.size());
+        List<TBase<?, ?>> messages = ChunkHeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer().deserialize(chunks.get(0), 0, chunks.get(0).length);
+        Assert.assertEquals(3, messages.size());
+        Assert.assertEquals("agentId2", ((TAgentStat) messages.get(2)).getAgentId());
+
+        futures.get(0).setResult(new ResponseMessage());
+        Assert.assertEquals(3, sender.getAckedMessageCount());
+        Assert.assertEquals(0, sender.getInFlight());
+    }
+
+    @Test
+    public void send_fallbackUntilConfirmed() throws Exception {
+        when(client.isConnected()).thenReturn(true);
+        when(client.isTraceSendSupported()).thenReturn(false);
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1024 * 16, 8, 8, 3, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+
+        TAgentStat agentStat = new TAgentStat();
+        sender.send(agentStat);
+        verify(fallbackSender).send(agentStat);
+
+        when(client.isTraceSendSupported()).thenReturn(true);
+        sender.send(new TAgentStat());
+        verify(fallbackSender, times(1)).send(any(TBase.class));
+    }
+
+    @Test
+    public void send_keepTcpWhileReconnecting() throws Exception {
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1024 * 16, 8, 8, 3, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+        sender.send(new TAgentStat());
+
+        // the reconnecting client neither is connected nor supports trace send
+        when(client.isTraceSendSupported()).thenReturn(false);
+        when(client.isConnected()).thenReturn(false);
+        sender.send(new TAgentStat());
+
+        verify(fallbackSender, never()).send(any(TBase.class));
+    }
+
+    @Test
+    public void window() throws Exception {
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1, 2, 8, 3, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+
+        sender.sendPacketN(agentStatList(5));
+        Assert.assertEquals(2, chunks.size());
+        Assert.assertEquals(3, sender.getBufferSize());
+
+        futures.get(0).setResult(new ResponseMessage());
+        Assert.assertEquals(3, chunks.size());
+        Assert.assertEquals(2, sender.getBufferSize());
+    }
+
+    @Test
+    public void bufferFull() throws Exception {
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1, 1, 1, 3, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+
+        sender.sendPacketN(agentStatList(4));
+        Assert.assertEquals(1, chunks.size());
+        Assert.assertEquals(1, sender.getBufferSize());
+        Assert.assertEquals(2, sender.getDiscardedMessageCount());
+    }
+
+    @Test
+    public void retry() throws Exception {
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1024 * 16, 8, 8, 3, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+
+        sender.sendPacketN(agentStatList(2));
+        futures.get(0).setFailure(new RuntimeException("timeout"));
+        Assert.assertEquals(1, sender.getBufferSize());
+
+        // suspended until the retry delay passed
+        sender.sendPacketN(agentStatList(1));
+        Assert.assertEquals(1, chunks.size());
+        Assert.assertEquals(2, sender.getBufferSize());
+
+        ArgumentCaptor<TimerTask> resumeTask = ArgumentCaptor.forClass(TimerTask.class);
+        verify(timer).newTimeout(resumeTask.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        resumeTask.getValue().run(null);
+        Assert.assertEquals(3, chunks.size());
+        Assert.assertArrayEquals(chunks.get(0), chunks.get(1));
+    }
+
+    @Test
+    public void retry_discard() throws Exception {
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1024 * 16, 8, 8, 0, EmptyDataSpool.INSTANCE, 1, fallbackSender);
+
+        sender.sendPacketN(agentStatList(2));
+        futures.get(0).setFailure(new RuntimeException("timeout"));
+
+        Assert.assertEquals(0, sender.getBufferSize());
+        Assert.assertEquals(2, sender.getDiscardedMessageCount());
+    }
+
+    @Test
+    public void spool_replay() throws Exception {
+        DataSpool spool = MappedFileDataSpool.create(temporaryFolder.getRoot(), "test", 1024 * 16);
+        when(client.isConnected()).thenReturn(true);
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1, 1, 1, 3, spool, 1, fallbackSender);
+
+        sender.sendPacketN(agentStatList(4));
+        Assert.assertEquals(1, chunks.size());
+        Assert.assertEquals(1, sender.getBufferSize());
+        Assert.assertEquals(2, spool.getMessageCount());
+        Assert.assertEquals(0, sender.getDiscardedMessageCount());
+
+        // buffered chunks go first
+        futures.get(0).setResult(new ResponseMessage());
+        Assert.assertEquals(2, chunks.size());
+        Assert.assertEquals(2, spool.getMessageCount());
+
+        futures.get(1).setResult(new ResponseMessage());
+        Assert.assertEquals(3, chunks.size());
+        Assert.assertEquals(1, spool.getMessageCount());
+        Assert.assertEquals("agentId2", deserializeAgentId(chunks.get(2)));
+
+        // one chunk per second
+        futures.get(2).setResult(new ResponseMessage());
+        Assert.assertEquals(3, chunks.size());
+        ArgumentCaptor<TimerTask> replayTask = ArgumentCaptor.forClass(TimerTask.class);
+        verify(timer).newTimeout(replayTask.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        replayTask.getValue().run(null);
+        Assert.assertEquals(4, chunks.size());
+        Assert.assertEquals("agentId3", deserializeAgentId(chunks.get(3)));
+        Assert.assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    public void spool_replayAfterReconnect() throws Exception {
+        DataSpool spool = MappedFileDataSpool.create(temporaryFolder.getRoot(), "test", 1024 * 16);
+        sender = new TcpTraceDataSender(client, timer, "test", 16, 1024 * 16, 8, 8, 0, spool, 1, fallbackSender);
+
+        sender.sendPacketN(agentStatList(2));
+        futures.get(0).setFailure(new RuntimeException("disconnected"));
+        Assert.assertEquals(2, spool.getMessageCount());
+        Assert.assertEquals(0, sender.getDiscardedMessageCount());
+
+        ArgumentCaptor<TimerTask> resumeTask = ArgumentCaptor.forClass(TimerTask.class);
+        verify(timer).newTimeout(resumeTask.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        resumeTask.getValue().run(null);
+        Assert.assertEquals(1, chunks.size());
+
+        ArgumentCaptor<PinpointClientReconnectEventListener> listener = ArgumentCaptor.forClass(PinpointClientReconnectEventListener.class);
+        verify(client).addPinpointClientReconnectEventListener(listener.capture());
+        when(client.isConnected()).thenReturn(true);
+        listener.getValue().reconnectPerformed(client);
+        Assert.assertEquals(2, chunks.size());
+        Assert.assertArrayEquals(chunks.get(0), chunks.get(1));
+
+        // not spooled twice
+        futures.get(1).setFailure(new RuntimeException("timeout"));
+        Assert.assertTrue(spool.isEmpty());
+        Assert.assertEquals(2, sender.getDiscardedMessageCount());
+    }
+
+    private String deserializeAgentId(byte[] chunk) throws Exception {
+        List<TBase<?, ?>> messages = ChunkHeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer().deserialize(chunk, 0, chunk.length);
+        return ((TAgentStat) messages.get(0)).getAgentId();
+    }
+
+    private Collection<Object> agentStatList(int size) {
+        List<Object> agentStatList = new ArrayList<Object>();
+        for (int i = 0; i < size; i++) {
+            TAgentStat agentStat = new TAgentStat();
+            agentStat.setAgentId("agentId" + i);
+            agentStat.setTimestamp(i);
+            agentStatList.add(agentStat);
+        }
+        return agentStatList;
+    }
+}
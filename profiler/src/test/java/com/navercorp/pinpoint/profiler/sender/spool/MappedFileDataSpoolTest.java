@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spool;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+public class MappedFileDataSpoolTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+    private MappedFileDataSpool spool;
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile("test.spool");
+        // room for two 10 byte chunks
+        spool = new MappedFileDataSpool(file, 2 * (16 + 10));
+    }
+
+    @After
+    public void tearDown() {
+        spool.close();
+    }
+
+    @Test
+    public void offerAndPoll() {
+        Assert.assertTrue(spool.isEmpty());
+        Assert.assertNull(spool.poll());
+
+        Assert.assertTrue(spool.offer(bytes(10, 1), 3));
+        Assert.assertTrue(spool.offer(bytes(10, 2), 4));
+        Assert.assertEquals(7, spool.getMessageCount());
+        Assert.assertEquals(2 * (16 + 10), spool.getSpoolSize());
+        Assert.assertTrue(spool.getOldestTimestamp() > 0);
+
+        SpoolEntry first = spool.poll();
+        Assert.assertArrayEquals(bytes(10, 1), first.getData());
+        Assert.assertEquals(3, first.getMessageCount());
+        SpoolEntry second = spool.poll();
+        Assert.assertArrayEquals(bytes(10, 2), second.getData());
+
+        Assert.assertTrue(spool.isEmpty());
+        Assert.assertEquals(0, spool.getOldestTimestamp());
+        Assert.assertEquals(7, spool.getSpooledMessageCount());
+        Assert.assertEquals(7, spool.getReplayedMessageCount());
+    }
+
+    @Test
+    public void full() {
+        Assert.assertTrue(spool.offer(bytes(10, 1), 1));
+        Assert.assertTrue(spool.offer(bytes(10, 2), 1));
+        Assert.assertFalse(spool.offer(bytes(10, 3), 5));
+        Assert.assertEquals(5, spool.getDroppedMessageCount());
+
+        Assert.assertFalse(spool.offer(bytes(100, 4), 1));
+    }
+
+    @Test
+    public void compact() {
+        Assert.assertTrue(spool.offer(bytes(10, 1), 1));
+        Assert.assertTrue(spool.offer(bytes(10, 2), 1));
+        spool.poll();
+
+        // the unread chunk is moved to the front
+        Assert.assertTrue(spool.offer(bytes(10, 3), 1));
+        Assert.assertArrayEquals(bytes(10, 2), spool.poll().getData());
+        Assert.assertArrayEquals(bytes(10, 3), spool.poll().getData());
+        Assert.assertNull(spool.poll());
+    }
+
+    @Test
+    public void close() {
+        Assert.assertTrue(spool.offer(bytes(10, 1), 1));
+        spool.close();
+
+        Assert.assertFalse(file.exists());
+        Assert.assertFalse(spool.offer(bytes(10, 2), 1));
+        Assert.assertTrue(spool.isEmpty());
+    }
+
+    private byte[] bytes(int length, int value) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) value;
+        }
+        return bytes;
+    }
+}
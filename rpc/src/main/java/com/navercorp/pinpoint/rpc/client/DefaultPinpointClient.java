@@ -75,6 +75,16 @@ public class DefaultPinpointClient implements PinpointClient {
     }
 
 
+    @Override
+    public boolean reconnect(SocketAddress remoteAddress) {
+        AssertUtils.assertNotNull(remoteAddress, "remoteAddress");
+
+        if (closed) {
+            return false;
+        }
+        return this.pinpointClientHandler.reconnect(remoteAddress);
+    }
+
     /*
         because reconnectEventListener's constructor contains Dummy and can't be access through setter,
         guarantee it is not null.
@@ -129,6 +139,14 @@ public class DefaultPinpointClient implements PinpointClient {
         return pinpointClientHandler.request(bytes);
     }
 
+    @Override
+    public Future<ResponseMessage> sendTrace(byte[] bytes) {
+        if (pinpointClientHandler == null) {
+            return returnFailureFuture();
+        }
+        return pinpointClientHandler.sendTrace(bytes);
+    }
+
     @Override
     public void response(RequestPacket requestPacket, byte[] payload) {
         response(requestPacket.getRequestId(), payload);
@@ -225,4 +243,9 @@ public class DefaultPinpointClient implements PinpointClient {
     public boolean isConnected() {
         return this.pinpointClientHandler.isConnected();
     }
+
+    @Override
+    public boolean isTraceSendSupported() {
+        return this.pinpointClientHandler.isTraceSendSupported();
+    }
 }
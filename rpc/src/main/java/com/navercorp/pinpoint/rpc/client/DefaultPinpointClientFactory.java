@@ -67,6 +67,8 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
     private static final long DEFAULT_TIMEOUTMILLIS = 3 * 1000;
     private static final long DEFAULT_PING_DELAY = 60 * 1000 * 5;
     private static final long DEFAULT_ENABLE_WORKER_PACKET_DELAY = 60 * 1000 * 1;
+    private static final long DEFAULT_TIMER_TICK_DURATION = 100;
+    private static final int DEFAULT_TIMER_TICKS_PER_WHEEL = 512;
 
     private final AtomicInteger socketId = new AtomicInteger(1);
 
@@ -75,7 +77,9 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
     private Map<String, Object> properties = Collections.emptyMap();
 
     private long reconnectDelay = 3 * 1000;
+    // shared by the factory and every connection it creates. stopped when the last of them releases it.
     private final Timer timer;
+    private final AtomicInteger timerReferenceCount = new AtomicInteger(1);
 
     // it's better to be a long value. even though keeping ping period from client to server short,
     // disconnection between them dose not be detected quickly.
@@ -100,12 +104,22 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
     }
 
     public DefaultPinpointClientFactory(int bossCount, int workerCount) {
+        this(bossCount, workerCount, DEFAULT_TIMER_TICK_DURATION, DEFAULT_TIMER_TICKS_PER_WHEEL);
+    }
+
+    public DefaultPinpointClientFactory(int bossCount, int workerCount, long timerTickDurationMillis, int timerTicksPerWheel) {
         if (bossCount < 1) {
             throw new IllegalArgumentException("bossCount is negative: " + bossCount);
         }
+        if (timerTickDurationMillis < 1) {
+            throw new IllegalArgumentException("timerTickDurationMillis is negative: " + timerTickDurationMillis);
+        }
+        if (timerTicksPerWheel < 1) {
+            throw new IllegalArgumentException("timerTicksPerWheel is negative: " + timerTicksPerWheel);
+        }
 
         // create a timer earlier because it is used for connectTimeout
-        Timer timer = createTimer();
+        Timer timer = createTimer(timerTickDurationMillis, timerTicksPerWheel);
         ClientBootstrap bootstrap = createBootStrap(bossCount, workerCount, timer);
         setOptions(bootstrap);
         addPipeline(bootstrap);
@@ -114,12 +128,41 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
         this.timer = timer;
     }
 
-    private Timer createTimer() {
-        HashedWheelTimer timer = TimerFactory.createHashedWheelTimer("Pinpoint-SocketFactory-Timer", 100, TimeUnit.MILLISECONDS, 512);
+    private Timer createTimer(long tickDurationMillis, int ticksPerWheel) {
+        HashedWheelTimer timer = TimerFactory.createHashedWheelTimer("Pinpoint-SocketFactory-Timer", tickDurationMillis, TimeUnit.MILLISECONDS, ticksPerWheel);
         timer.start();
         return timer;
     }
 
+    Timer retainTimer() {
+        while (true) {
+            final int referenceCount = timerReferenceCount.get();
+            if (referenceCount <= 0) {
+                throw new IllegalStateException("timer already released");
+            }
+            if (timerReferenceCount.compareAndSet(referenceCount, referenceCount + 1)) {
+                return timer;
+            }
+        }
+    }
+
+    void releaseTimer() {
+        if (timerReferenceCount.decrementAndGet() == 0) {
+            stopTimer();
+        }
+    }
+
+    int getTimerReferenceCount() {
+        return timerReferenceCount.get();
+    }
+
+    private void stopTimer() {
+        Set<Timeout> stop = this.timer.stop();
+        if (!stop.isEmpty()) {
+            logger.info("stop Timeout:{}", stop.size());
+        }
+    }
+
     private void addPipeline(ClientBootstrap bootstrap) {
         PinpointClientPipelineFactory pinpointClientPipelineFactory = new PinpointClientPipelineFactory(this);
         bootstrap.setPipelineFactory(pinpointClientPipelineFactory);
@@ -313,7 +356,14 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
     }
 
     void reconnect(final PinpointClient pinpointClient, final SocketAddress socketAddress) {
-        DefaultPinpointClientFactory.ConnectEvent connectEvent = new DefaultPinpointClientFactory.ConnectEvent(pinpointClient, socketAddress);
+        reconnect(pinpointClient, socketAddress, socketAddress);
+    }
+
+    /**
+     * reconnects to socketAddress, and to configuredSocketAddress once that fails.
+     */
+    void reconnect(final PinpointClient pinpointClient, final SocketAddress socketAddress, final SocketAddress configuredSocketAddress) {
+        DefaultPinpointClientFactory.ConnectEvent connectEvent = new DefaultPinpointClientFactory.ConnectEvent(pinpointClient, socketAddress, configuredSocketAddress);
         timer.newTimeout(connectEvent, reconnectDelay, TimeUnit.MILLISECONDS);
     }
 
@@ -322,17 +372,22 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
         private final Logger logger = LoggerFactory.getLogger(getClass());
         private final PinpointClient pinpointClient;
         private final SocketAddress socketAddress;
+        private final SocketAddress configuredSocketAddress;
 
-        private ConnectEvent(PinpointClient pinpointClient, SocketAddress socketAddress) {
+        private ConnectEvent(PinpointClient pinpointClient, SocketAddress socketAddress, SocketAddress configuredSocketAddress) {
             if (pinpointClient == null) {
                 throw new NullPointerException("pinpointClient must not be null");
             }
             if (socketAddress == null) {
                 throw new NullPointerException("socketAddress must not be null");
             }
+            if (configuredSocketAddress == null) {
+                throw new NullPointerException("configuredSocketAddress must not be null");
+            }
 
             this.pinpointClient = pinpointClient;
             this.socketAddress = socketAddress;
+            this.configuredSocketAddress = configuredSocketAddress;
         }
 
         @Override
@@ -352,6 +407,7 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
             Channel channel = channelFuture.getChannel();
             final PinpointClientHandler pinpointClientHandler = getSocketHandler(channel);
             pinpointClientHandler.setConnectSocketAddress(socketAddress);
+            pinpointClientHandler.setConfiguredSocketAddress(configuredSocketAddress);
             pinpointClientHandler.setPinpointClient(pinpointClient);
 
             channelFuture.addListener(new ChannelFutureListener() {
@@ -371,7 +427,10 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
                                 logger.warn("reconnect fail. {} Caused:{}", socketAddress, cause.getMessage());
                             }
                           */
-                            reconnect(pinpointClient, socketAddress);
+                            if (!socketAddress.equals(configuredSocketAddress)) {
+                                logger.info("reconnect to {} failed. fall back to configured address {}", socketAddress, configuredSocketAddress);
+                            }
+                            reconnect(pinpointClient, configuredSocketAddress, configuredSocketAddress);
                         } else {
                             logger.info("pinpointClient is closed. stop reconnect.");
                         }
@@ -393,9 +452,13 @@ public class DefaultPinpointClientFactory implements PinpointClientFactory {
         if (bootstrap != null) {
             bootstrap.releaseExternalResources();
         }
-        Set<Timeout> stop = this.timer.stop();
-        if (!stop.isEmpty()) {
-            logger.info("stop Timeout:{}", stop.size());
+        // every channel is closed at this point, so connections still holding the timer have leaked it.
+        final int referenceCount = timerReferenceCount.getAndSet(0);
+        if (referenceCount > 0) {
+            if (referenceCount > 1) {
+                logger.info("timer still referenced by {} connections", referenceCount - 1);
+            }
+            stopTimer();
         }
 
         // stop, cancel something?
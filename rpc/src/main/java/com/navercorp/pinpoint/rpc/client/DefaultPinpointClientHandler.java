@@ -19,6 +19,9 @@ package com.navercorp.pinpoint.rpc.client;
 import com.navercorp.pinpoint.rpc.*;
 import com.navercorp.pinpoint.rpc.client.ConnectFuture.Result;
 import com.navercorp.pinpoint.rpc.cluster.ClusterOption;
+import com.navercorp.pinpoint.rpc.codec.PacketCompression;
+import com.navercorp.pinpoint.rpc.codec.PacketDecoder;
+import com.navercorp.pinpoint.rpc.codec.PacketEncoder;
 import com.navercorp.pinpoint.rpc.common.SocketStateChangeResult;
 import com.navercorp.pinpoint.rpc.common.SocketStateCode;
 import com.navercorp.pinpoint.rpc.packet.*;
@@ -26,9 +29,7 @@ import com.navercorp.pinpoint.rpc.packet.stream.StreamPacket;
 import com.navercorp.pinpoint.rpc.stream.*;
 import com.navercorp.pinpoint.rpc.util.ClassUtils;
 import com.navercorp.pinpoint.rpc.util.IDGenerator;
-import com.navercorp.pinpoint.rpc.util.TimerFactory;
 import org.jboss.netty.channel.*;
-import org.jboss.netty.util.HashedWheelTimer;
 import org.jboss.netty.util.Timeout;
 import org.jboss.netty.util.Timer;
 import org.jboss.netty.util.TimerTask;
@@ -39,6 +40,7 @@ import java.net.SocketAddress;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -68,9 +70,13 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
     private int maxHandshakeCount = DEFAULT_ENABLE_WORKER_PACKET_RETRY_COUNT;
     
     private final Timer channelTimer;
+    private final AtomicBoolean channelTimerReleased = new AtomicBoolean(false);
+    private volatile Timeout pingTimeout;
 
     private final DefaultPinpointClientFactory clientFactory;
-    private SocketAddress connectSocketAddress;
+    private volatile SocketAddress connectSocketAddress;
+    // differs from connectSocketAddress after reconnect(SocketAddress)
+    private volatile SocketAddress configuredSocketAddress;
     private volatile PinpointClient pinpointClient;
 
     private final MessageListener messageListener;
@@ -101,9 +107,9 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
             throw new NullPointerException("pinpointClientFactory must not be null");
         }
         
-        HashedWheelTimer timer = TimerFactory.createHashedWheelTimer("Pinpoint-PinpointClientHandler-Timer", 100, TimeUnit.MILLISECONDS, 512);
-        timer.start();
-        
+        // the factory timer is shared by all connections instead of one timer thread per connection
+        Timer timer = clientFactory.retainTimer();
+
         this.channelTimer = timer;
         this.clientFactory = clientFactory;
         this.requestManager = new RequestManager(timer, timeoutMillis);
@@ -135,6 +141,17 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
             throw new NullPointerException("connectSocketAddress must not be null");
         }
         this.connectSocketAddress = connectSocketAddress;
+        if (this.configuredSocketAddress == null) {
+            this.configuredSocketAddress = connectSocketAddress;
+        }
+    }
+
+    @Override
+    public void setConfiguredSocketAddress(SocketAddress configuredSocketAddress) {
+        if (configuredSocketAddress == null) {
+            throw new NullPointerException("configuredSocketAddress must not be null");
+        }
+        this.configuredSocketAddress = configuredSocketAddress;
     }
 
     @Override
@@ -209,7 +226,7 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
     }
 
     private void newPingTimeout(TimerTask pingTask) {
-        this.channelTimer.newTimeout(pingTask, pingDelay, TimeUnit.MILLISECONDS);
+        this.pingTimeout = this.channelTimer.newTimeout(pingTask, pingDelay, TimeUnit.MILLISECONDS);
     }
 
     private class PingTask implements TimerTask {
@@ -225,6 +242,7 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
             }
 
             writePing();
+            logCompressionMetric(channel);
             newPingTimeout(this);
         }
     }
@@ -353,6 +371,32 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         write0(request, messageFuture);
         return messageFuture;
     }
+
+    @Override
+    public Future<ResponseMessage> sendTrace(byte[] bytes) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes");
+        }
+
+        boolean isEnable = state.isEnableCommunication();
+        if (!isEnable) {
+            DefaultFuture<ResponseMessage> closedException = new DefaultFuture<ResponseMessage>();
+            closedException.setFailure(new PinpointSocketException("invalid state:" + state.getCurrentStateCode() + " channel:" + channel));
+            return closedException;
+        }
+        if (!isTraceSendSupported()) {
+            // the server did not confirm trace send during the handshake, or the handshake is not finished yet
+            DefaultFuture<ResponseMessage> unsupported = new DefaultFuture<ResponseMessage>();
+            unsupported.setFailure(new PinpointSocketException("trace send not supported. channel:" + channel));
+            return unsupported;
+        }
+
+        TraceSendPacket traceSend = new TraceSendPacket(bytes);
+        final ChannelWriteFailListenableFuture<ResponseMessage> messageFuture = this.requestManager.register(traceSend, this.timeoutMillis);
+
+        write0(traceSend, messageFuture);
+        return messageFuture;
+    }
     
     @Override
     public ClientStreamChannelContext openStream(byte[] payload, ClientStreamChannelMessageListener messageListener) {
@@ -385,6 +429,9 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
                 case PacketType.APPLICATION_RESPONSE:
                     this.requestManager.messageReceived((ResponsePacket) message, objectUniqName);
                     return;
+                case PacketType.APPLICATION_TRACE_SEND_ACK:
+                    this.requestManager.messageReceived((TraceSendAckPacket) message, objectUniqName);
+                    return;
                 // have to handle a request message through connector
                 case PacketType.APPLICATION_REQUEST:
                     this.messageListener.handleRequest((RequestPacket) message, pinpointClient);
@@ -416,6 +463,43 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         }
     }
 
+    private void enableCompression(Channel channel) {
+        final PacketEncoder encoder = channel.getPipeline().get(PacketEncoder.class);
+        if (encoder == null) {
+            logger.warn("{} enableCompression() failed. PacketEncoder not found.", objectUniqName);
+            return;
+        }
+        encoder.enableCompression();
+        logger.info("{} compression enabled.", objectUniqName);
+    }
+
+    // logged every ping while compression is on, and once more when the channel closes
+    private void logCompressionMetric(Channel channel) {
+        if (channel == null) {
+            return;
+        }
+        final PacketEncoder encoder = channel.getPipeline().get(PacketEncoder.class);
+        final PacketDecoder decoder = channel.getPipeline().get(PacketDecoder.class);
+        if (encoder == null || decoder == null) {
+            return;
+        }
+        if (encoder.isCompressionEnabled() || decoder.getCompressionMetric().getPacketCount() > 0) {
+            logger.info("{} compression deflate:{}, inflate:{}", objectUniqName, encoder.getCompressionMetric(), decoder.getCompressionMetric());
+        }
+    }
+
+    private void releaseCompression(Channel channel) {
+        logCompressionMetric(channel);
+        final PacketEncoder encoder = channel.getPipeline().get(PacketEncoder.class);
+        if (encoder != null) {
+            encoder.release();
+        }
+        final PacketDecoder decoder = channel.getPipeline().get(PacketDecoder.class);
+        if (decoder != null) {
+            decoder.release();
+        }
+    }
+
     private void handleClosedPacket(Channel channel) {
         logger.info("{} handleClosedPacket() started. channel:{}", objectUniqName, channel);
 
@@ -442,6 +526,10 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
                 return;
             }
 
+            if (PacketCompression.DEFLATE.equals(handshaker.getCompression())) {
+                enableCompression(channel);
+            }
+
             logger.info("{} handleHandshakePacket() completed. code:{}", channel, code);
         } else if (handshaker.isFinished()){
             logger.warn("{} handleHandshakePacket() failed. Error:Handshake already completed.");
@@ -485,6 +573,27 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         throw new PinpointSocketException("Invalid socket state:" + currentStateCode);
     }
 
+    @Override
+    public boolean reconnect(SocketAddress remoteAddress) {
+        if (remoteAddress == null) {
+            throw new NullPointerException("remoteAddress must not be null");
+        }
+
+        final SocketStateCode currentStateCode = state.getCurrentStateCode();
+        if (!currentStateCode.isRun()) {
+            logger.warn("{} reconnect() failed. caused:unexpected state:{}", objectUniqName, currentStateCode);
+            return false;
+        }
+
+        logger.info("{} reconnect() started. {} -> {}", objectUniqName, connectSocketAddress, remoteAddress);
+        this.connectSocketAddress = remoteAddress;
+        // leave the state as is, so that channelClosed() schedules a reconnect to the new address
+        final Channel channel = this.channel;
+        sendClosedPacket(channel);
+        channel.close();
+        return true;
+    }
+
     // Calling this method on a closed PinpointClientHandler has no effect.
     public void close() {
         logger.debug("{} close() started.", objectUniqName);
@@ -522,7 +631,18 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         closeStreamChannelManager(channel);
         this.handshaker.handshakeAbort();
         this.requestManager.close();
-        this.channelTimer.stop();
+        releaseChannelTimer();
+    }
+
+    private void releaseChannelTimer() {
+        if (!channelTimerReleased.compareAndSet(false, true)) {
+            return;
+        }
+        final Timeout pingTimeout = this.pingTimeout;
+        if (pingTimeout != null) {
+            pingTimeout.cancel();
+        }
+        this.clientFactory.releaseTimer();
     }
 
     private void closeStreamChannelManager(Channel channel) {
@@ -575,9 +695,10 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
             }
 
             if (needReconnect) {
-                clientFactory.reconnect(this.pinpointClient, this.connectSocketAddress);
+                clientFactory.reconnect(this.pinpointClient, this.connectSocketAddress, this.configuredSocketAddress);
             }
         } finally {
+            releaseCompression(e.getChannel());
             closeResources();
             connectFuture.setResult(Result.FAIL);
         }
@@ -627,6 +748,11 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         return messageListener != SimpleMessageListener.INSTANCE;
     }
 
+    @Override
+    public boolean isTraceSendSupported() {
+        return handshaker.isTraceSendSupported();
+    }
+
     @Override
     public ClusterOption getLocalClusterOption() {
         return localClusterOption;
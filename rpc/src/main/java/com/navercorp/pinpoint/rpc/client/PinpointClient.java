@@ -47,10 +47,24 @@ public interface PinpointClient extends PinpointSocket {
 
     void reconnectSocketHandler(PinpointClientHandler pinpointClientHandler);
 
+    /**
+     * closes the current connection and reconnects to remoteAddress.
+     * reconnect event listeners are notified once the new connection is established.
+     *
+     * @return false if the client is not connected
+     */
+    boolean reconnect(SocketAddress remoteAddress);
+
     void sendSync(byte[] bytes) ;
 
     Future sendAsync(byte[] bytes);
 
+    /**
+     * sends the payload as a trace send packet.
+     * the returned future succeeds when the server acknowledged the packet and fails on timeout or disconnection.
+     */
+    Future<ResponseMessage> sendTrace(byte[] bytes);
+
     StreamChannelContext findStreamChannel(int streamChannelId);
 
     /**
@@ -64,4 +78,9 @@ public interface PinpointClient extends PinpointSocket {
     boolean isClosed();
 
     boolean isConnected();
+
+    /**
+     * @return true if the server of the current connection confirmed during the handshake that it accepts {@link #sendTrace(byte[])}
+     */
+    boolean isTraceSendSupported();
 }
@@ -32,8 +32,15 @@ public interface PinpointClientHandler {
 
     void setConnectSocketAddress(SocketAddress address);
 
+    /**
+     * address the client was created with. reconnects fall back to it when the address given to {@link #reconnect(SocketAddress)} fails.
+     */
+    void setConfiguredSocketAddress(SocketAddress address);
+
     void initReconnect();
 
+    boolean reconnect(SocketAddress remoteAddress);
+
     ConnectFuture getConnectFuture();
     
     void setPinpointClient(PinpointClient pinpointClient);
@@ -48,6 +55,8 @@ public interface PinpointClientHandler {
 
     Future<ResponseMessage> request(byte[] bytes);
 
+    Future<ResponseMessage> sendTrace(byte[] bytes);
+
     void response(int requestId, byte[] payload);
 
     ClientStreamChannelContext openStream(byte[] payload, ClientStreamChannelMessageListener messageListener);
@@ -60,6 +69,8 @@ public interface PinpointClientHandler {
     boolean isConnected();
 
     boolean isSupportServerMode();
+
+    boolean isTraceSendSupported();
     
     SocketStateCode getCurrentStateCode();
 
@@ -56,12 +56,15 @@ public class PinpointClientHandshaker {
     private final AtomicInteger handshakeCount;
 
     private final Timer handshakerTimer;
+    private volatile Timeout handshakeTimeout;
     private final int retryInterval;
     private final int maxHandshakeCount;
     
     private final Object lock = new Object();
     private final AtomicReference<HandshakeResponseCode> handshakeResult = new AtomicReference<HandshakeResponseCode>(null);
     private final AtomicReference<ClusterOption> clusterOption = new AtomicReference<ClusterOption>(null);
+    private final AtomicReference<String> compression = new AtomicReference<String>(null);
+    private volatile boolean traceSendSupported;
     
     private String simpleName;
     
@@ -142,7 +145,7 @@ public class PinpointClientHandshaker {
         }
 
         logger.debug("{} reserveHandshake() started.", simpleClassNameAndHashCodeString());
-        this.handshakerTimer.newTimeout(handshake, retryInterval, TimeUnit.MILLISECONDS);
+        this.handshakeTimeout = this.handshakerTimer.newTimeout(handshake, retryInterval, TimeUnit.MILLISECONDS);
     }
     
     public boolean handshakeComplete(ControlHandshakeResponsePacket responsePacket) {
@@ -164,6 +167,13 @@ public class PinpointClientHandshaker {
             ClusterOption clusterOption = getClusterOption(handshakeResponse);
             this.clusterOption.compareAndSet(null, clusterOption);
 
+            Object compression = handshakeResponse.get(ControlHandshakeResponsePacket.COMPRESSION);
+            if (compression instanceof String) {
+                this.compression.compareAndSet(null, (String) compression);
+            }
+
+            this.traceSendSupported = MapUtils.getBoolean(handshakeResponse, ControlHandshakeResponsePacket.TRACE_SEND, false);
+
             logger.info("{} handshakeComplete() completed. handshake-response:{}.", simpleClassNameAndHashCodeString(), handshakeResponse);
             return true;
         }
@@ -234,9 +244,28 @@ public class PinpointClientHandshaker {
         return clusterOption.get();
     }
 
+    /**
+     * @return compression accepted by the server, null if the packets are not compressed
+     */
+    public String getCompression() {
+        return compression.get();
+    }
+
+    /**
+     * @return true if the server confirmed it accepts trace send packets
+     */
+    public boolean isTraceSendSupported() {
+        return traceSendSupported;
+    }
+
     public void handshakeAbort() {
         logger.info("{} handshakeAbort() started.", simpleClassNameAndHashCodeString());
 
+        final Timeout handshakeTimeout = this.handshakeTimeout;
+        if (handshakeTimeout != null) {
+            handshakeTimeout.cancel();
+        }
+
         if (!state.compareAndSet(STATE_STARTED, STATE_FINISHED)) {
             // state can be 0 or 2.
             logger.info("{} unexpected state", simpleClassNameAndHashCodeString());
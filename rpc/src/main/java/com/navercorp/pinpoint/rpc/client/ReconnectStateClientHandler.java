@@ -44,11 +44,20 @@ public class ReconnectStateClientHandler implements PinpointClientHandler {
     public void setConnectSocketAddress(SocketAddress connectSocketAddress) {
     }
 
+    @Override
+    public void setConfiguredSocketAddress(SocketAddress configuredSocketAddress) {
+    }
+
     @Override
     public void initReconnect() {
         //To change body of implemented methods use File | Settings | File Templates.
     }
 
+    @Override
+    public boolean reconnect(SocketAddress remoteAddress) {
+        return false;
+    }
+
     @Override
     public ConnectFuture getConnectFuture() {
         return failedConnectFuture;
@@ -92,6 +101,11 @@ public class ReconnectStateClientHandler implements PinpointClientHandler {
         return reconnectFailureFuture();
     }
 
+    @Override
+    public Future<ResponseMessage> sendTrace(byte[] bytes) {
+        return reconnectFailureFuture();
+    }
+
     @Override
     public void response(int requestId, byte[] payload) {
 
@@ -131,6 +145,11 @@ public class ReconnectStateClientHandler implements PinpointClientHandler {
         return false;
     }
 
+    @Override
+    public boolean isTraceSendSupported() {
+        return false;
+    }
+
     @Override
     public SocketAddress getRemoteAddress() {
         return null;
@@ -35,6 +35,8 @@ import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.rpc.packet.RequestPacket;
 import com.navercorp.pinpoint.rpc.packet.ResponsePacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendAckPacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendPacket;
 import com.navercorp.pinpoint.rpc.server.PinpointServer;
 
 /**
@@ -127,6 +129,21 @@ public class RequestManager {
         future.setResult(response);
     }
 
+    public void messageReceived(TraceSendAckPacket traceSendAckPacket, String objectUniqName) {
+        final int traceId = traceSendAckPacket.getTraceId();
+        final DefaultFuture<ResponseMessage> future = removeMessageFuture(traceId);
+        if (future == null) {
+            logger.warn("future not found:{}, objectUniqName:{}", traceSendAckPacket, objectUniqName);
+            return;
+        } else {
+            logger.debug("traceSendAckPacket arrived packet:{}, objectUniqName:{}", traceSendAckPacket, objectUniqName);
+        }
+
+        ResponseMessage response = new ResponseMessage();
+        response.setMessage(traceSendAckPacket.getPayload());
+        future.setResult(response);
+    }
+
     public DefaultFuture<ResponseMessage> removeMessageFuture(int requestId) {
         return this.requestMap.remove(requestId);
     }
@@ -144,6 +161,20 @@ public class RequestManager {
         final int requestId = getNextRequestId();
         requestPacket.setRequestId(requestId);
 
+        return register(requestId, timeoutMillis);
+    }
+
+    /**
+     * trace send packets share the id space of requests. the future completes with an empty message when the ack arrives.
+     */
+    public ChannelWriteFailListenableFuture<ResponseMessage> register(TraceSendPacket traceSendPacket, long timeoutMillis) {
+        final int traceId = getNextRequestId();
+        traceSendPacket.setTraceId(traceId);
+
+        return register(traceId, timeoutMillis);
+    }
+
+    private ChannelWriteFailListenableFuture<ResponseMessage> register(int requestId, long timeoutMillis) {
         final ChannelWriteFailListenableFuture<ResponseMessage> future = new ChannelWriteFailListenableFuture<ResponseMessage>(timeoutMillis);
 
         final DefaultFuture old = this.requestMap.put(requestId, future);
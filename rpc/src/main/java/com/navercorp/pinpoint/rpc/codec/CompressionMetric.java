@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.codec;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a {@link PacketCompression} direction, kept per connection and optionally added up into a parent
+ * shared by every connection of an acceptor or client factory.
+ */
+public class CompressionMetric {
+
+    private final CompressionMetric parent;
+
+    private final AtomicLong packetCount = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong elapsedNanos = new AtomicLong();
+
+    public CompressionMetric() {
+        this(null);
+    }
+
+    public CompressionMetric(CompressionMetric parent) {
+        this.parent = parent;
+    }
+
+    void record(int rawLength, int compressedLength, long elapsedNanos) {
+        this.packetCount.incrementAndGet();
+        this.rawBytes.addAndGet(rawLength);
+        this.compressedBytes.addAndGet(compressedLength);
+        this.elapsedNanos.addAndGet(elapsedNanos);
+        if (parent != null) {
+            parent.record(rawLength, compressedLength, elapsedNanos);
+        }
+    }
+
+    public long getPacketCount() {
+        return packetCount.get();
+    }
+
+    public long getRawBytes() {
+        return rawBytes.get();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * @return cpu time spent compressing or decompressing
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos.get();
+    }
+
+    /**
+     * @return compressed size / raw size, 1.0 if nothing was compressed
+     */
+    public double getRatio() {
+        final long rawBytes = getRawBytes();
+        if (rawBytes == 0) {
+            return 1.0;
+        }
+        return (double) getCompressedBytes() / rawBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionMetric{" +
+                "packetCount=" + getPacketCount() +
+                ", rawBytes=" + getRawBytes() +
+                ", compressedBytes=" + getCompressedBytes() +
+                ", ratio=" + String.format("%.3f", getRatio()) +
+                ", elapsedMillis=" + (getElapsedNanos() / 1000000) +
+                '}';
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.codec;
+
+import com.navercorp.pinpoint.rpc.packet.PacketType;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate framing of application packets, negotiated during the handshake.
+ * <pre>
+ * packetType(2) = APPLICATION_COMPRESSED | rawLength(4) | compressedLength(4) | deflated packet
+ * </pre>
+ * The deflated bytes are a whole uncompressed packet, so each frame is decoded on its own
+ * and compressed and plain packets can be mixed on a connection.
+ */
+public final class PacketCompression {
+
+    public static final String DEFLATE = "deflate";
+
+    public static final int HEADER_SIZE = 2 + 4 + 4;
+
+    // payloads below this size rarely shrink enough to pay for the cpu
+    public static final int DEFAULT_MIN_COMPRESS_SIZE = 512;
+
+    // the agent never sends a single packet this large. anything bigger is a broken or hostile peer
+    public static final int MAX_RAW_LENGTH = 1024 * 1024 * 16;
+
+    private PacketCompression() {
+    }
+
+    public static boolean isCompressible(short packetType) {
+        switch (packetType) {
+            case PacketType.APPLICATION_SEND:
+            case PacketType.APPLICATION_TRACE_SEND:
+            case PacketType.APPLICATION_REQUEST:
+            case PacketType.APPLICATION_RESPONSE:
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the compressed frame, or null if deflate did not make the packet smaller
+     */
+    static ChannelBuffer compress(Deflater deflater, ChannelBuffer packet, CompressionMetric metric) {
+        final long startTime = System.nanoTime();
+
+        final int rawLength = packet.readableBytes();
+        final byte[] raw = new byte[rawLength];
+        packet.getBytes(packet.readerIndex(), raw);
+
+        // deflate output larger than this is dropped anyway
+        final byte[] compressed = new byte[rawLength];
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        final int compressedLength = deflater.deflate(compressed);
+        if (!deflater.finished() || compressedLength + HEADER_SIZE >= rawLength) {
+            return null;
+        }
+
+        final ChannelBuffer frame = ChannelBuffers.buffer(HEADER_SIZE + compressedLength);
+        frame.writeShort(PacketType.APPLICATION_COMPRESSED);
+        frame.writeInt(rawLength);
+        frame.writeInt(compressedLength);
+        frame.writeBytes(compressed, 0, compressedLength);
+
+        metric.record(rawLength, compressedLength, System.nanoTime() - startTime);
+        return frame;
+    }
+
+    /**
+     * Reads a compressed frame whose packet type has already been read.
+     * @return the uncompressed packet, or null if the frame is not complete yet
+     * @throws DataFormatException if the frame is corrupted
+     */
+    static ChannelBuffer decompress(Inflater inflater, ChannelBuffer buffer, CompressionMetric metric) throws DataFormatException {
+        if (buffer.readableBytes() < HEADER_SIZE - 2) {
+            buffer.resetReaderIndex();
+            return null;
+        }
+        final int rawLength = buffer.readInt();
+        final int compressedLength = buffer.readInt();
+        if (rawLength <= 0 || rawLength > MAX_RAW_LENGTH || compressedLength <= 0) {
+            throw new DataFormatException("invalid compressed frame. rawLength:" + rawLength + " compressedLength:" + compressedLength);
+        }
+        if (buffer.readableBytes() < compressedLength) {
+            buffer.resetReaderIndex();
+            return null;
+        }
+
+        final long startTime = System.nanoTime();
+        final byte[] compressed = new byte[compressedLength];
+        buffer.readBytes(compressed);
+
+        final byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        final int inflated = inflater.inflate(raw);
+        if (inflated != rawLength || !inflater.finished()) {
+            throw new DataFormatException("compressed frame length mismatch. expected:" + rawLength + " actual:" + inflated);
+        }
+
+        metric.record(rawLength, compressedLength, System.nanoTime() - startTime);
+        return ChannelBuffers.wrappedBuffer(raw);
+    }
+}
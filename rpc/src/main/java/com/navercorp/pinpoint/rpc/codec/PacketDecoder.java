@@ -24,6 +24,9 @@ import org.jboss.netty.handler.codec.frame.FrameDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
 import com.navercorp.pinpoint.rpc.client.WriteFailFutureListener;
 import com.navercorp.pinpoint.rpc.packet.ClientClosePacket;
 import com.navercorp.pinpoint.rpc.packet.ControlHandshakePacket;
@@ -35,6 +38,8 @@ import com.navercorp.pinpoint.rpc.packet.RequestPacket;
 import com.navercorp.pinpoint.rpc.packet.ResponsePacket;
 import com.navercorp.pinpoint.rpc.packet.SendPacket;
 import com.navercorp.pinpoint.rpc.packet.ServerClosePacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendAckPacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendPacket;
 import com.navercorp.pinpoint.rpc.packet.stream.StreamClosePacket;
 import com.navercorp.pinpoint.rpc.packet.stream.StreamCreateFailPacket;
 import com.navercorp.pinpoint.rpc.packet.stream.StreamCreatePacket;
@@ -52,6 +57,51 @@ public class PacketDecoder extends FrameDecoder {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final WriteFailFutureListener pongWriteFutureListener = new WriteFailFutureListener(logger, "pong write fail.", "pong write success.");
 
+    // netty 3 allocates a new buffer for every read and never writes the cumulation buffer in place,
+    // so a payload slice stays valid after decode() returns. it keeps the read buffer reachable until the packet is dropped.
+    private final boolean slicePayload;
+
+    // compressed frames are accepted whenever they arrive, a peer only sends them after the handshake agreed on it
+    private final CompressionMetric compressionMetric;
+    // guarded by this, release() may be called from a thread other than the i/o thread
+    private Inflater inflater;
+    private boolean released;
+
+    public PacketDecoder() {
+        this(false);
+    }
+
+    /**
+     * @param slicePayload if true, send/trace send/request/response packets carry a slice of the received buffer
+     *                     and the payload is copied only when {@link com.navercorp.pinpoint.rpc.packet.BasicPacket#getPayload()} is called.
+     */
+    public PacketDecoder(boolean slicePayload) {
+        this(slicePayload, null);
+    }
+
+    /**
+     * @param totalMetric also counts the decompressed packets of this connection, may be null
+     */
+    public PacketDecoder(boolean slicePayload, CompressionMetric totalMetric) {
+        this.slicePayload = slicePayload;
+        this.compressionMetric = new CompressionMetric(totalMetric);
+    }
+
+    public CompressionMetric getCompressionMetric() {
+        return compressionMetric;
+    }
+
+    /**
+     * Frees the native zlib stream. Compressed packets received afterwards are dropped.
+     */
+    public synchronized void release() {
+        this.released = true;
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+    }
+
     @Override
     protected Object decode(ChannelHandlerContext ctx, Channel channel, ChannelBuffer buffer) throws Exception {
         if (buffer.readableBytes() < 2) {
@@ -66,6 +116,10 @@ public class PacketDecoder extends FrameDecoder {
                 return readRequest(packetType, buffer);
             case PacketType.APPLICATION_RESPONSE:
                 return readResponse(packetType, buffer);
+            case PacketType.APPLICATION_TRACE_SEND:
+                return readTraceSend(packetType, buffer);
+            case PacketType.APPLICATION_TRACE_SEND_ACK:
+                return readTraceSendAck(packetType, buffer);
             case PacketType.APPLICATION_STREAM_CREATE:
                 return readStreamCreate(packetType, buffer);
             case PacketType.APPLICATION_STREAM_CLOSE:
@@ -101,12 +155,45 @@ public class PacketDecoder extends FrameDecoder {
                 return readEnableWorker(packetType, buffer);
             case PacketType.CONTROL_HANDSHAKE_RESPONSE:
                 return readEnableWorkerConfirm(packetType, buffer);
+            case PacketType.APPLICATION_COMPRESSED:
+                return readCompressed(ctx, channel, buffer);
         }
         logger.error("invalid packetType received. packetType:{}, channel:{}", packetType, channel);
         channel.close();
         return null;
     }
 
+    private Object readCompressed(ChannelHandlerContext ctx, Channel channel, ChannelBuffer buffer) throws Exception {
+        final ChannelBuffer packet;
+        synchronized (this) {
+            if (released) {
+                logger.debug("compressed packet received after release. channel:{}", channel);
+                buffer.skipBytes(buffer.readableBytes());
+                return null;
+            }
+            if (inflater == null) {
+                inflater = new Inflater();
+            }
+            try {
+                packet = PacketCompression.decompress(inflater, buffer, compressionMetric);
+            } catch (DataFormatException e) {
+                logger.error("invalid compressed packet received. channel:{}, caused:{}", channel, e.getMessage());
+                channel.close();
+                return null;
+            }
+        }
+        if (packet == null) {
+            return null;
+        }
+        final short packetType = packet.getShort(packet.readerIndex());
+        if (!PacketCompression.isCompressible(packetType)) {
+            logger.error("invalid compressed packetType received. packetType:{}, channel:{}", packetType, channel);
+            channel.close();
+            return null;
+        }
+        return decode(ctx, channel, packet);
+    }
+
     private void sendPong(Channel channel) {
 
         // a "pong" responds to a "ping" automatically.
@@ -134,16 +221,24 @@ public class PacketDecoder extends FrameDecoder {
 
 
     private Object readSend(short packetType, ChannelBuffer buffer) {
-        return SendPacket.readBuffer(packetType, buffer);
+        return SendPacket.readBuffer(packetType, buffer, slicePayload);
     }
 
 
     private Object readRequest(short packetType, ChannelBuffer buffer) {
-        return RequestPacket.readBuffer(packetType, buffer);
+        return RequestPacket.readBuffer(packetType, buffer, slicePayload);
     }
 
     private Object readResponse(short packetType, ChannelBuffer buffer) {
-        return ResponsePacket.readBuffer(packetType, buffer);
+        return ResponsePacket.readBuffer(packetType, buffer, slicePayload);
+    }
+
+    private Object readTraceSend(short packetType, ChannelBuffer buffer) {
+        return TraceSendPacket.readBuffer(packetType, buffer, slicePayload);
+    }
+
+    private Object readTraceSendAck(short packetType, ChannelBuffer buffer) {
+        return TraceSendAckPacket.readBuffer(packetType, buffer);
     }
 
 
@@ -18,18 +18,42 @@ package com.navercorp.pinpoint.rpc.codec;
 
 import com.navercorp.pinpoint.rpc.packet.Packet;
 
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.zip.Deflater;
+
 /**
  * @author emeroad
  */
 public class PacketEncoder extends OneToOneEncoder {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    private final int minCompressSize;
+    private final CompressionMetric compressionMetric;
+    // created when the peer accepts compression. guarded by itself, writes may come from several threads
+    private volatile Deflater deflater;
+
+    public PacketEncoder() {
+        this(PacketCompression.DEFAULT_MIN_COMPRESS_SIZE);
+    }
+
+    public PacketEncoder(int minCompressSize) {
+        this(minCompressSize, null);
+    }
+
+    /**
+     * @param totalMetric also counts the compressed packets of this connection, may be null
+     */
+    public PacketEncoder(int minCompressSize, CompressionMetric totalMetric) {
+        this.minCompressSize = minCompressSize;
+        this.compressionMetric = new CompressionMetric(totalMetric);
+    }
+
     @Override
     protected Object encode(ChannelHandlerContext ctx, Channel channel, Object msg) throws Exception {
         if (!(msg instanceof Packet)) {
@@ -37,6 +61,54 @@ public class PacketEncoder extends OneToOneEncoder {
             return null;
         }
         Packet packet = (Packet) msg;
-        return packet.toBuffer();
+        final ChannelBuffer buffer = packet.toBuffer();
+
+        final Deflater deflater = this.deflater;
+        if (deflater == null || buffer.readableBytes() < minCompressSize || !PacketCompression.isCompressible(packet.getPacketType())) {
+            return buffer;
+        }
+        final ChannelBuffer compressed;
+        synchronized (deflater) {
+            if (deflater != this.deflater) {
+                // released while waiting for the lock
+                return buffer;
+            }
+            compressed = PacketCompression.compress(deflater, buffer, compressionMetric);
+        }
+        if (compressed == null) {
+            return buffer;
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses application packets written from now on. Call only after the peer accepted {@link PacketCompression#DEFLATE}.
+     */
+    public void enableCompression() {
+        if (this.deflater == null) {
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+    }
+
+    /**
+     * Frees the native zlib stream. Packets written afterwards are sent uncompressed.
+     */
+    public void release() {
+        final Deflater deflater = this.deflater;
+        if (deflater == null) {
+            return;
+        }
+        this.deflater = null;
+        synchronized (deflater) {
+            deflater.end();
+        }
+    }
+
+    public boolean isCompressionEnabled() {
+        return deflater != null;
+    }
+
+    public CompressionMetric getCompressionMetric() {
+        return compressionMetric;
     }
 }
@@ -16,16 +16,28 @@
 
 package com.navercorp.pinpoint.rpc.packet;
 
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+
 /**
  * @author emeroad
  */
 public abstract class BasicPacket implements Packet {
 
     protected byte[] payload;
+    // slice of the received frame. copied into payload only when a byte[] is requested.
+    private ChannelBuffer payloadBuffer;
 
     protected BasicPacket() {
     }
 
+    protected BasicPacket(ChannelBuffer payloadBuffer) {
+        if (payloadBuffer == null) {
+            throw new NullPointerException("payloadBuffer");
+        }
+        this.payloadBuffer = payloadBuffer;
+    }
+
     public BasicPacket(byte[] payload) {
         if (payload == null) {
             throw new NullPointerException("payload");
@@ -34,11 +46,49 @@ public abstract class BasicPacket implements Packet {
     }
 
     public byte[] getPayload() {
+        if (payload == null && payloadBuffer != null) {
+            this.payload = toByteArray(payloadBuffer);
+        }
         return payload;
     }
 
     public void setPayload(byte[] payload) {
         this.payload = payload;
+        this.payloadBuffer = null;
+    }
+
+    /**
+     * Returns the payload without copying it.
+     * The returned buffer has its own indexes and must not be modified.
+     */
+    public ChannelBuffer getPayloadBuffer() {
+        if (payloadBuffer != null) {
+            return payloadBuffer.duplicate();
+        }
+        if (payload == null) {
+            return null;
+        }
+        return ChannelBuffers.wrappedBuffer(payload);
+    }
+
+    public int getPayloadLength() {
+        if (payload != null) {
+            return payload.length;
+        }
+        if (payloadBuffer != null) {
+            return payloadBuffer.readableBytes();
+        }
+        return -1;
+    }
+
+    private static byte[] toByteArray(ChannelBuffer buffer) {
+        final int length = buffer.readableBytes();
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.readerIndex() == 0 && buffer.array().length == length) {
+            return buffer.array();
+        }
+        final byte[] bytes = new byte[length];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return bytes;
     }
 
 }
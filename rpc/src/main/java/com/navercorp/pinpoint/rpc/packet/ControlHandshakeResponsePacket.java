@@ -28,6 +28,10 @@ public class ControlHandshakeResponsePacket extends ControlPacket {
     public static final String SUB_CODE = "subCode";
 
     public static final String CLUSTER = "cluster";
+
+    public static final String COMPRESSION = "compression";
+
+    public static final String TRACE_SEND = "traceSend";
     
     public ControlHandshakeResponsePacket(byte[] payload) {
         super(payload);
@@ -28,6 +28,8 @@ public enum HandshakePropertyType {
 
     SUPPORT_SERVER("supportServer", Boolean.class, false),
     SUPPORT_COMMAND_LIST("supportCommandList", List.class, false),
+    SUPPORT_COMPRESSION("supportCompression", String.class, false),
+    SUPPORT_TRACE_SEND("supportTraceSend", Boolean.class, false),
 
     HOSTNAME("hostName", String.class),
     IP("ip", String.class),
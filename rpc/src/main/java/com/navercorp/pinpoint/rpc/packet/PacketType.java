@@ -40,6 +40,9 @@ public class PacketType {
     
     public static final short APPLICATION_STREAM_RESPONSE = 20;
 
+    // deflated application packet. only sent after the peer accepted compression in the handshake
+    public static final short APPLICATION_COMPRESSED = 30;
+
     
     public static final short CONTROL_CLIENT_CLOSE = 100;
     public static final short CONTROL_SERVER_CLOSE = 110;
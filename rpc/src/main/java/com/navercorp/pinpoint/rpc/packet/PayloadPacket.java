@@ -32,6 +32,13 @@ public class PayloadPacket {
 
 
     public static ChannelBuffer readPayload(ChannelBuffer buffer) {
+        return readPayload(buffer, false);
+    }
+
+    /**
+     * @param slice if true, returns a slice of the given buffer instead of a copy.
+     */
+    public static ChannelBuffer readPayload(ChannelBuffer buffer, boolean slice) {
         if (buffer.readableBytes() < 4) {
             buffer.resetReaderIndex();
             return null;
@@ -46,6 +53,9 @@ public class PayloadPacket {
             buffer.resetReaderIndex();
             return null;
         }
+        if (slice) {
+            return buffer.readSlice(payloadLength);
+        }
         return buffer.readBytes(payloadLength);
     }
 
@@ -62,4 +72,15 @@ public class PayloadPacket {
         }
     }
 
+    public static ChannelBuffer appendPayload(final ChannelBuffer header, final ChannelBuffer payload) {
+        if (payload == null) {
+            // this is also payload header
+            header.writeInt(-1);
+            return header;
+        } else {
+            header.writeInt(payload.readableBytes());
+            return ChannelBuffers.wrappedBuffer(true, header, payload);
+        }
+    }
+
 }
@@ -33,6 +33,11 @@ public class RequestPacket extends BasicPacket {
         super(payload);
     }
 
+    public RequestPacket(int requestId, ChannelBuffer payloadBuffer) {
+        super(payloadBuffer);
+        this.requestId = requestId;
+    }
+
     public RequestPacket(int requestId, byte[] payload) {
         super(payload);
         this.requestId = requestId;
@@ -59,12 +64,16 @@ public class RequestPacket extends BasicPacket {
         header.writeInt(requestId);
 
 
-        return PayloadPacket.appendPayload(header, payload);
+        return PayloadPacket.appendPayload(header, getPayloadBuffer());
 
     }
 
 
     public static RequestPacket readBuffer(short packetType, ChannelBuffer buffer) {
+        return readBuffer(packetType, buffer, false);
+    }
+
+    public static RequestPacket readBuffer(short packetType, ChannelBuffer buffer, boolean slicePayload) {
         assert packetType == PacketType.APPLICATION_REQUEST;
 
         if (buffer.readableBytes() < 8) {
@@ -73,10 +82,13 @@ public class RequestPacket extends BasicPacket {
         }
 
         final int messageId = buffer.readInt();
-        final ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        final ChannelBuffer payload = PayloadPacket.readPayload(buffer, slicePayload);
         if (payload == null) {
             return null;
         }
+        if (slicePayload) {
+            return new RequestPacket(messageId, payload);
+        }
         final RequestPacket requestPacket = new RequestPacket(payload.array());
         requestPacket.setRequestId(messageId);
         return requestPacket;
@@ -88,10 +100,11 @@ public class RequestPacket extends BasicPacket {
         sb.append("RequestPacket");
         sb.append("{requestId=").append(requestId);
         sb.append(", ");
-        if (payload == null) {
+        final int payloadLength = getPayloadLength();
+        if (payloadLength == -1) {
             sb.append("payload=null");
         } else {
-            sb.append("payloadLength=").append(payload.length);
+            sb.append("payloadLength=").append(payloadLength);
         }
         sb.append('}');
         return sb.toString();
@@ -32,6 +32,11 @@ public class ResponsePacket extends BasicPacket {
         super(payload);
     }
 
+    public ResponsePacket(int requestId, ChannelBuffer payloadBuffer) {
+        super(payloadBuffer);
+        this.requestId = requestId;
+    }
+
     public ResponsePacket(int requestId, byte[] payload) {
         super(payload);
         this.requestId = requestId;
@@ -57,11 +62,15 @@ public class ResponsePacket extends BasicPacket {
         header.writeShort(PacketType.APPLICATION_RESPONSE);
         header.writeInt(requestId);
 
-        return PayloadPacket.appendPayload(header, payload);
+        return PayloadPacket.appendPayload(header, getPayloadBuffer());
     }
 
 
     public static ResponsePacket readBuffer(short packetType, ChannelBuffer buffer) {
+        return readBuffer(packetType, buffer, false);
+    }
+
+    public static ResponsePacket readBuffer(short packetType, ChannelBuffer buffer, boolean slicePayload) {
         assert packetType == PacketType.APPLICATION_RESPONSE;
 
         if (buffer.readableBytes() < 8) {
@@ -70,10 +79,13 @@ public class ResponsePacket extends BasicPacket {
         }
 
         final int messageId = buffer.readInt();
-        ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        ChannelBuffer payload = PayloadPacket.readPayload(buffer, slicePayload);
         if (payload == null) {
             return null;
         }
+        if (slicePayload) {
+            return new ResponsePacket(messageId, payload);
+        }
         ResponsePacket responsePacket = new ResponsePacket(payload.array());
         responsePacket.setRequestId(messageId);
 
@@ -87,10 +99,11 @@ public class ResponsePacket extends BasicPacket {
         sb.append("ResponsePacket");
         sb.append("{requestId=").append(requestId);
         sb.append(", ");
-        if (payload == null) {
+        final int payloadLength = getPayloadLength();
+        if (payloadLength == -1) {
             sb.append("payload=null");
         } else {
-            sb.append("payloadLength=").append(payload.length);
+            sb.append("payloadLength=").append(payloadLength);
         }
         sb.append('}');
         return sb.toString();
@@ -32,6 +32,10 @@ public class SendPacket extends BasicPacket {
         super(payload);
     }
 
+    public SendPacket(ChannelBuffer payloadBuffer) {
+        super(payloadBuffer);
+    }
+
     @Override
     public short getPacketType() {
         return PacketType.APPLICATION_SEND;
@@ -43,10 +47,14 @@ public class SendPacket extends BasicPacket {
         header.writeShort(PacketType.APPLICATION_SEND);
 
 
-        return PayloadPacket.appendPayload(header, payload);
+        return PayloadPacket.appendPayload(header, getPayloadBuffer());
     }
 
     public static Packet readBuffer(short packetType, ChannelBuffer buffer) {
+        return readBuffer(packetType, buffer, false);
+    }
+
+    public static Packet readBuffer(short packetType, ChannelBuffer buffer, boolean slicePayload) {
         assert packetType == PacketType.APPLICATION_SEND;
 
         if (buffer.readableBytes() < 4) {
@@ -54,10 +62,13 @@ public class SendPacket extends BasicPacket {
             return null;
         }
 
-        ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        ChannelBuffer payload = PayloadPacket.readPayload(buffer, slicePayload);
         if (payload == null) {
             return null;
         }
+        if (slicePayload) {
+            return new SendPacket(payload);
+        }
         return new SendPacket(payload.array());
     }
 
@@ -65,10 +76,11 @@ public class SendPacket extends BasicPacket {
     public String toString() {
         final StringBuilder sb = new StringBuilder(64);
         sb.append("SendPacket");
-        if (payload == null) {
+        final int payloadLength = getPayloadLength();
+        if (payloadLength == -1) {
             sb.append("{payload=null}");
         } else {
-            sb.append("{payloadLength=").append(payload.length);
+            sb.append("{payloadLength=").append(payloadLength);
             sb.append('}');
         }
 
@@ -36,6 +36,11 @@ public class TraceSendPacket extends SendPacket {
         this.traceId = traceId;
     }
 
+    public TraceSendPacket(int traceId, ChannelBuffer payloadBuffer) {
+        super(payloadBuffer);
+        this.traceId = traceId;
+    }
+
     public int getTraceId() {
         return traceId;
     }
@@ -55,10 +60,14 @@ public class TraceSendPacket extends SendPacket {
         header.writeShort(PacketType.APPLICATION_TRACE_SEND);
         header.writeInt(traceId);
 
-        return PayloadPacket.appendPayload(header, payload);
+        return PayloadPacket.appendPayload(header, getPayloadBuffer());
     }
 
     public static Packet readBuffer(short packetType, ChannelBuffer buffer) {
+        return readBuffer(packetType, buffer, false);
+    }
+
+    public static Packet readBuffer(short packetType, ChannelBuffer buffer, boolean slicePayload) {
         assert packetType == PacketType.APPLICATION_TRACE_SEND;
 
         if (buffer.readableBytes() < 8) {
@@ -67,10 +76,13 @@ public class TraceSendPacket extends SendPacket {
         }
 
         final int traceId = buffer.readInt();
-        ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        ChannelBuffer payload = PayloadPacket.readPayload(buffer, slicePayload);
         if (payload == null) {
             return null;
         }
+        if (slicePayload) {
+            return new TraceSendPacket(traceId, payload);
+        }
         return new TraceSendPacket(traceId, payload.array());
     }
 
@@ -80,10 +92,11 @@ public class TraceSendPacket extends SendPacket {
         sb.append("TraceSendPacket");
         sb.append("{traceId=").append(traceId);
         sb.append(", ");
-        if (payload == null) {
+        final int payloadLength = getPayloadLength();
+        if (payloadLength == -1) {
             sb.append("payload=null}");
         } else {
-            sb.append("payloadLength=").append(payload.length);
+            sb.append("payloadLength=").append(payloadLength);
             sb.append('}');
         }
 
@@ -23,6 +23,9 @@ import com.navercorp.pinpoint.rpc.client.RequestManager;
 import com.navercorp.pinpoint.rpc.client.WriteFailFutureListener;
 import com.navercorp.pinpoint.rpc.cluster.ClusterOption;
 import com.navercorp.pinpoint.rpc.cluster.Role;
+import com.navercorp.pinpoint.rpc.codec.PacketCompression;
+import com.navercorp.pinpoint.rpc.codec.PacketDecoder;
+import com.navercorp.pinpoint.rpc.codec.PacketEncoder;
 import com.navercorp.pinpoint.rpc.common.CyclicStateChecker;
 import com.navercorp.pinpoint.rpc.common.SocketStateChangeResult;
 import com.navercorp.pinpoint.rpc.common.SocketStateCode;
@@ -67,10 +70,12 @@ public class DefaultPinpointServer implements PinpointServer {
     private final String objectUniqName;
 
     private final ClusterOption localClusterOption;
+    private final boolean compressionEnable;
     private ClusterOption remoteClusterOption;
 
     private final ChannelFutureListener serverCloseWriteListener;
     private final ChannelFutureListener responseWriteFailListener;
+    private final ChannelFutureListener traceAckWriteFailListener;
     
     private final WriteFailFutureListener pongWriteFutureListener = new WriteFailFutureListener(logger, "pong write fail.", "pong write success.");
     
@@ -107,11 +112,13 @@ public class DefaultPinpointServer implements PinpointServer {
         
         this.serverCloseWriteListener = new WriteFailFutureListener(logger, objectUniqName + " sendClosePacket() write fail.", "serverClosePacket write success");
         this.responseWriteFailListener = new WriteFailFutureListener(logger, objectUniqName + " response() write fail.");
+        this.traceAckWriteFailListener = new WriteFailFutureListener(logger, objectUniqName + " sendTraceAck() write fail.");
 
         this.state = new DefaultPinpointServerState(this, this.stateChangeEventListeners);
         this.stateChecker = new CyclicStateChecker(5);
 
         this.localClusterOption = serverConfig.getClusterOption();
+        this.compressionEnable = serverConfig.isCompressionEnable();
     }
     
     public void start() {
@@ -152,11 +159,25 @@ public class DefaultPinpointServer implements PinpointServer {
             if (this.channel.isConnected()) {
                 channel.close();
             }
+            releaseCompression();
         } finally {
             streamChannelManager.close();
         }
     }
 
+    private void releaseCompression() {
+        final PacketEncoder encoder = channel.getPipeline().get(PacketEncoder.class);
+        final PacketDecoder decoder = channel.getPipeline().get(PacketDecoder.class);
+        if (encoder == null || decoder == null) {
+            return;
+        }
+        if (encoder.isCompressionEnabled() || decoder.getCompressionMetric().getPacketCount() > 0) {
+            logger.info("{} compression deflate:{}, inflate:{}", objectUniqName, encoder.getCompressionMetric(), decoder.getCompressionMetric());
+        }
+        encoder.release();
+        decoder.release();
+    }
+
     @Override
     public void send(byte[] payload) {
         AssertUtils.assertNotNull(payload, "payload may not be null.");
@@ -196,6 +217,17 @@ public class DefaultPinpointServer implements PinpointServer {
         ResponsePacket responsePacket = new ResponsePacket(requestId, payload);
         write0(responsePacket, responseWriteFailListener);
     }
+
+    @Override
+    public void sendTraceAck(TraceSendPacket traceSendPacket) {
+        AssertUtils.assertNotNull(traceSendPacket, "traceSendPacket may not be null.");
+        if (!isEnableCommunication()) {
+            throw new IllegalStateException("TraceAck fail. Error: Illegal State. pinpointServer:" + toString());
+        }
+
+        TraceSendAckPacket ackPacket = new TraceSendAckPacket(traceSendPacket.getTraceId());
+        write0(ackPacket, traceAckWriteFailListener);
+    }
     
     private ChannelFuture write0(Object message) {
         return write0(message, null);
@@ -283,7 +315,8 @@ public class DefaultPinpointServer implements PinpointServer {
         
         final short packetType = getPacketType(message);
         switch (packetType) {
-            case PacketType.APPLICATION_SEND: {
+            case PacketType.APPLICATION_SEND:
+            case PacketType.APPLICATION_TRACE_SEND: {
                 handleSend((SendPacket) message);
                 return;
             }
@@ -367,12 +400,42 @@ public class DefaultPinpointServer implements PinpointServer {
 
         logger.info("{} handleHandshake(). ResponseCode:{}", objectUniqName, responseCode);
 
+        final boolean compression = isFirst && acceptCompression(handshakeData);
         Map<String, Object> responseData = createHandshakeResponse(responseCode, isFirst);
+        if (compression) {
+            responseData.put(ControlHandshakeResponsePacket.COMPRESSION, PacketCompression.DEFLATE);
+        }
+        if (MapUtils.getBoolean(handshakeData, HandshakePropertyType.SUPPORT_TRACE_SEND.getName(), false)) {
+            // a server without this answer closes the channel on a trace send packet, so the client waits for it
+            responseData.put(ControlHandshakeResponsePacket.TRACE_SEND, true);
+        }
         sendHandshakeResponse0(requestId, responseData);
+        if (compression) {
+            // the response is already queued, so the client reads it uncompressed
+            enableCompression();
+        }
         
         logger.info("{} handleHandshake() completed.", objectUniqName);
     }
 
+    private boolean acceptCompression(Map handshakeData) {
+        if (!compressionEnable) {
+            return false;
+        }
+        final Object supportCompression = handshakeData.get(HandshakePropertyType.SUPPORT_COMPRESSION.getName());
+        return PacketCompression.DEFLATE.equals(supportCompression);
+    }
+
+    private void enableCompression() {
+        final PacketEncoder encoder = channel.getPipeline().get(PacketEncoder.class);
+        if (encoder == null) {
+            logger.warn("{} enableCompression() failed. PacketEncoder not found.", objectUniqName);
+            return;
+        }
+        encoder.enableCompression();
+        logger.info("{} compression enabled.", objectUniqName);
+    }
+
     private ClusterOption getClusterOption(Map handshakeResponse) {
         if (handshakeResponse == Collections.EMPTY_MAP) {
             return ClusterOption.DISABLE_CLUSTER_OPTION;
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.rpc.server;
 
 import com.navercorp.pinpoint.rpc.PinpointSocket;
 import com.navercorp.pinpoint.rpc.common.SocketStateCode;
+import com.navercorp.pinpoint.rpc.packet.TraceSendPacket;
 
 import java.util.Map;
 
@@ -31,5 +32,10 @@ public interface PinpointServer extends PinpointSocket {
     SocketStateCode getCurrentStateCode();
 
     Map<Object, Object> getChannelProperties();
+
+    /**
+     * acknowledges a trace send packet. the sender keeps the packet in its window until the ack arrives.
+     */
+    void sendTraceAck(TraceSendPacket traceSendPacket);
     
 }
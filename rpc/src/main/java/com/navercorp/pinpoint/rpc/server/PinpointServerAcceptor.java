@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.rpc.PinpointSocket;
 import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.client.WriteFailFutureListener;
 import com.navercorp.pinpoint.rpc.cluster.ClusterOption;
+import com.navercorp.pinpoint.rpc.codec.CompressionMetric;
 import com.navercorp.pinpoint.rpc.packet.PingPacket;
 import com.navercorp.pinpoint.rpc.packet.ServerClosePacket;
 import com.navercorp.pinpoint.rpc.server.handler.ServerStateChangeEventHandler;
@@ -86,6 +87,11 @@ public class PinpointServerAcceptor implements PinpointServerConfig {
 
     private long defaultRequestTimeout = DEFAULT_TIMEOUTMILLIS;
 
+    private boolean compressionEnable;
+
+    private final CompressionMetric deflateMetric = new CompressionMetric();
+    private final CompressionMetric inflateMetric = new CompressionMetric();
+
     static {
         LoggerFactorySetup.setupSlf4jLoggerFactory();
     }
@@ -134,9 +140,21 @@ public class PinpointServerAcceptor implements PinpointServerConfig {
     }
 
     private void addPipeline(ServerBootstrap bootstrap) {
-        ServerPipelineFactory serverPipelineFactory = new ServerPipelineFactory(nettyChannelHandler);
+        addPipeline(bootstrap, false);
+    }
+
+    private void addPipeline(ServerBootstrap bootstrap, boolean slicePayload) {
+        ServerPipelineFactory serverPipelineFactory = new ServerPipelineFactory(nettyChannelHandler, slicePayload, deflateMetric, inflateMetric);
         bootstrap.setPipelineFactory(serverPipelineFactory);
     }
+
+    /**
+     * Received send/request/response packets keep a slice of the socket buffer instead of a copied payload.
+     * Must be called before {@link #bind(InetSocketAddress)}.
+     */
+    public void setSlicePayload(boolean slicePayload) {
+        addPipeline(bootstrap, slicePayload);
+    }
     
     void setPipelineFactory(ChannelPipelineFactory channelPipelineFactory) {
         if (channelPipelineFactory == null) {
@@ -245,6 +263,32 @@ public class PinpointServerAcceptor implements PinpointServerConfig {
         return clusterOption;
     }
 
+    @Override
+    public boolean isCompressionEnable() {
+        return compressionEnable;
+    }
+
+    /**
+     * Compress application packets of the clients offering {@link com.navercorp.pinpoint.rpc.codec.PacketCompression#DEFLATE} during the handshake.
+     */
+    public void setCompressionEnable(boolean compressionEnable) {
+        this.compressionEnable = compressionEnable;
+    }
+
+    /**
+     * @return packets compressed for all clients of this acceptor since it was created
+     */
+    public CompressionMetric getDeflateMetric() {
+        return deflateMetric;
+    }
+
+    /**
+     * @return packets decompressed from all clients of this acceptor since it was created
+     */
+    public CompressionMetric getInflateMetric() {
+        return inflateMetric;
+    }
+
     private void sendPing() {
         logger.debug("sendPing");
         final TimerTask pintTask = new TimerTask() {
@@ -41,4 +41,9 @@ public interface PinpointServerConfig {
 
     ClusterOption getClusterOption();
 
+    /**
+     * @return true to compress application packets for clients that support it
+     */
+    boolean isCompressionEnable();
+
 }
@@ -17,6 +17,8 @@
 package com.navercorp.pinpoint.rpc.server;
 
 
+import com.navercorp.pinpoint.rpc.codec.CompressionMetric;
+import com.navercorp.pinpoint.rpc.codec.PacketCompression;
 import com.navercorp.pinpoint.rpc.codec.PacketDecoder;
 import com.navercorp.pinpoint.rpc.codec.PacketEncoder;
 import com.navercorp.pinpoint.rpc.server.PinpointServerAcceptor.PinpointServerChannelHandler;
@@ -30,20 +32,34 @@ import org.jboss.netty.channel.Channels;
  */
 public class ServerPipelineFactory implements ChannelPipelineFactory {
     private PinpointServerChannelHandler pinpointServerChannelHandler;
+    private final boolean slicePayload;
+    private final CompressionMetric deflateMetric;
+    private final CompressionMetric inflateMetric;
 
     public ServerPipelineFactory(PinpointServerChannelHandler pinpointServerChannelHandler) {
+        this(pinpointServerChannelHandler, false);
+    }
+
+    public ServerPipelineFactory(PinpointServerChannelHandler pinpointServerChannelHandler, boolean slicePayload) {
+        this(pinpointServerChannelHandler, slicePayload, null, null);
+    }
+
+    public ServerPipelineFactory(PinpointServerChannelHandler pinpointServerChannelHandler, boolean slicePayload, CompressionMetric deflateMetric, CompressionMetric inflateMetric) {
         if (pinpointServerChannelHandler == null) {
             throw new NullPointerException("PinpointServerFactory");
         }
         this.pinpointServerChannelHandler = pinpointServerChannelHandler;
+        this.slicePayload = slicePayload;
+        this.deflateMetric = deflateMetric;
+        this.inflateMetric = inflateMetric;
     }
 
     @Override
     public ChannelPipeline getPipeline() throws Exception {
         ChannelPipeline pipeline = Channels.pipeline();
 
-        pipeline.addLast("decoder", new PacketDecoder());
-        pipeline.addLast("encoder", new PacketEncoder());
+        pipeline.addLast("decoder", new PacketDecoder(slicePayload, inflateMetric));
+        pipeline.addLast("encoder", new PacketEncoder(PacketCompression.DEFAULT_MIN_COMPRESS_SIZE, deflateMetric));
         pipeline.addLast("handler", pinpointServerChannelHandler);
 
         return pipeline;
@@ -16,10 +16,13 @@
 
 package com.navercorp.pinpoint.rpc.server;
 
+import com.navercorp.pinpoint.rpc.PinpointSocket;
 import com.navercorp.pinpoint.rpc.client.SimpleMessageListener;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseCode;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseType;
 import com.navercorp.pinpoint.rpc.packet.PingPacket;
+import com.navercorp.pinpoint.rpc.packet.SendPacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendPacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +52,14 @@ public class SimpleServerMessageListener extends SimpleMessageListener implement
         this.handshakeResponseCode = handshakeResponseCode;
     }
 
+    @Override
+    public void handleSend(SendPacket sendPacket, PinpointSocket pinpointSocket) {
+        super.handleSend(sendPacket, pinpointSocket);
+        if (sendPacket instanceof TraceSendPacket && pinpointSocket instanceof PinpointServer) {
+            ((PinpointServer) pinpointSocket).sendTraceAck((TraceSendPacket) sendPacket);
+        }
+    }
+
     @Override
     public HandshakeResponseCode handleHandshake(Map properties) {
         logger.info("handleHandshake properties:{}", properties);
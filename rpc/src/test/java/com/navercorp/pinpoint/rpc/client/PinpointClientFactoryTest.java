@@ -16,8 +16,13 @@
 
 package com.navercorp.pinpoint.rpc.client;
 
+import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.PinpointSocketException;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.TestAwaitTaskUtils;
+import com.navercorp.pinpoint.rpc.TestAwaitUtils;
 import com.navercorp.pinpoint.rpc.TestByteUtils;
+import com.navercorp.pinpoint.rpc.packet.HandshakePropertyType;
 import com.navercorp.pinpoint.rpc.packet.PingPacket;
 import com.navercorp.pinpoint.rpc.server.PinpointServer;
 import com.navercorp.pinpoint.rpc.server.PinpointServerAcceptor;
@@ -35,6 +40,8 @@ import org.springframework.util.SocketUtils;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 
@@ -180,6 +187,69 @@ public class PinpointClientFactoryTest {
         }
     }
 
+    @Test
+    public void sendTraceAndAck() throws IOException, InterruptedException {
+        PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, SimpleServerMessageListener.DUPLEX_ECHO_INSTANCE);
+
+        PinpointClientFactory pinpointClientFactory = createTraceSendClientFactory();
+        try {
+            PinpointClient client = pinpointClientFactory.connect("127.0.0.1", bindPort);
+            awaitTraceSendSupported(client);
+
+            Future<ResponseMessage> future = client.sendTrace(TestByteUtils.createRandomByte(20));
+            Assert.assertTrue(future.await());
+            Assert.assertTrue(future.isSuccess());
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            pinpointClientFactory.release();
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+    }
+
+    @Test
+    public void sendTraceNotConfirmed() throws IOException, InterruptedException {
+        PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, SimpleServerMessageListener.DUPLEX_ECHO_INSTANCE);
+
+        try {
+            // the shared factory does not offer trace send during the handshake
+            PinpointClient client = clientFactory.connect("127.0.0.1", bindPort);
+            Assert.assertFalse(client.isTraceSendSupported());
+
+            Future<ResponseMessage> future = client.sendTrace(TestByteUtils.createRandomByte(20));
+            Assert.assertTrue(future.isReady());
+            Assert.assertFalse(future.isSuccess());
+            Assert.assertTrue(client.isConnected());
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+    }
+
+    @Test
+    public void sendTraceWithoutAck() throws IOException, InterruptedException {
+        // the listener keeps the packet without acknowledging it
+        PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, PinpointRPCTestUtils.createEchoServerListener());
+
+        PinpointClientFactory pinpointClientFactory = createTraceSendClientFactory();
+        pinpointClientFactory.setTimeoutMillis(500);
+        try {
+            PinpointClient client = pinpointClientFactory.connect("127.0.0.1", bindPort);
+            awaitTraceSendSupported(client);
+
+            Future<ResponseMessage> future = client.sendTrace(TestByteUtils.createRandomByte(20));
+            // fails once the ack timeout expires
+            Assert.assertTrue(future.await(3000));
+            Assert.assertFalse(future.isSuccess());
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            pinpointClientFactory.release();
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+    }
+
     @Test
     public void connectTimeout() {
         int timeout = 1000;
@@ -196,4 +266,44 @@ public class PinpointClientFactoryTest {
         }
     }
     
+    @Test
+    public void sharedTimer() throws IOException, InterruptedException {
+        PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort);
+
+        DefaultPinpointClientFactory pinpointClientFactory = new DefaultPinpointClientFactory();
+        try {
+            PinpointClient client1 = pinpointClientFactory.connect("127.0.0.1", bindPort);
+            PinpointClient client2 = pinpointClientFactory.connect("127.0.0.1", bindPort);
+            Assert.assertEquals(3, pinpointClientFactory.getTimerReferenceCount());
+
+            PinpointRPCTestUtils.close(client1, client2);
+            for (int i = 0; i < 50 && pinpointClientFactory.getTimerReferenceCount() != 1; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1, pinpointClientFactory.getTimerReferenceCount());
+        } finally {
+            pinpointClientFactory.release();
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+        Assert.assertEquals(0, pinpointClientFactory.getTimerReferenceCount());
+    }
+
+
+    private PinpointClientFactory createTraceSendClientFactory() {
+        Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(HandshakePropertyType.SUPPORT_TRACE_SEND.getName(), true);
+        PinpointClientFactory pinpointClientFactory = new DefaultPinpointClientFactory();
+        pinpointClientFactory.setProperties(properties);
+        return pinpointClientFactory;
+    }
+
+    private void awaitTraceSendSupported(final PinpointClient client) {
+        boolean supported = new TestAwaitUtils(10, 1000).await(new TestAwaitTaskUtils() {
+            @Override
+            public boolean checkCompleted() {
+                return client.isTraceSendSupported();
+            }
+        });
+        Assert.assertTrue(supported);
+    }
 }
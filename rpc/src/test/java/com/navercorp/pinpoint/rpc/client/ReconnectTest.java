@@ -33,6 +33,7 @@ import org.springframework.util.SocketUtils;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 
@@ -107,6 +108,79 @@ public class ReconnectTest {
         Assert.assertTrue(reconnectPerformed.get());
     }
     
+    @Test
+    public void reconnectToOtherAddress() throws IOException, InterruptedException {
+        PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, SimpleServerMessageListener.DUPLEX_ECHO_INSTANCE);
+        final int otherBindPort = SocketUtils.findAvailableTcpPort(bindPort + 1);
+        final PinpointServerAcceptor otherServerAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(otherBindPort, SimpleServerMessageListener.DUPLEX_ECHO_INSTANCE);
+
+        final AtomicBoolean reconnectPerformed = new AtomicBoolean(false);
+        try {
+            final PinpointClient client = clientFactory.connect("localhost", bindPort);
+            client.addPinpointClientReconnectEventListener(new PinpointClientReconnectEventListener() {
+
+                @Override
+                public void reconnectPerformed(PinpointClient client) {
+                    reconnectPerformed.set(true);
+                }
+
+            });
+
+            final InetSocketAddress otherAddress = new InetSocketAddress("localhost", otherBindPort);
+            Assert.assertTrue(client.reconnect(otherAddress));
+
+            boolean pass = awaitUtils.await(new TestAwaitTaskUtils() {
+                @Override
+                public boolean checkCompleted() {
+                    return client.isConnected() && otherAddress.equals(client.getRemoteAddress())
+                            && otherServerAcceptor.getWritableSocketList().size() == 1;
+                }
+            });
+            Assert.assertTrue(pass);
+
+            byte[] randomByte = TestByteUtils.createRandomByte(10);
+            byte[] response = PinpointRPCTestUtils.request(client, randomByte);
+            Assert.assertArrayEquals(randomByte, response);
+
+            PinpointRPCTestUtils.close(client);
+            Assert.assertFalse(client.reconnect(otherAddress));
+        } finally {
+            PinpointRPCTestUtils.close(serverAcceptor, otherServerAcceptor);
+        }
+
+        Assert.assertTrue(reconnectPerformed.get());
+    }
+
+    @Test
+    public void fallBackToConfiguredAddress() throws IOException, InterruptedException {
+        final PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, SimpleServerMessageListener.DUPLEX_ECHO_INSTANCE);
+        // nothing listens on the other address
+        final int otherPort = SocketUtils.findAvailableTcpPort(bindPort + 1);
+
+        try {
+            final PinpointClient client = clientFactory.connect("localhost", bindPort);
+            final InetSocketAddress configuredAddress = new InetSocketAddress("localhost", bindPort);
+            Assert.assertTrue(client.reconnect(new InetSocketAddress("localhost", otherPort)));
+
+            boolean pass = awaitUtils.await(new TestAwaitTaskUtils() {
+                @Override
+                public boolean checkCompleted() {
+                    return client.isConnected() && configuredAddress.equals(client.getRemoteAddress())
+                            && serverAcceptor.getWritableSocketList().size() == 1;
+                }
+            });
+            Assert.assertTrue(pass);
+
+            byte[] randomByte = TestByteUtils.createRandomByte(10);
+            byte[] response = PinpointRPCTestUtils.request(client, randomByte);
+            Assert.assertArrayEquals(randomByte, response);
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+    }
+
     // it takes very long time. 
     // @Test
     @Ignore
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.codec;
+
+import com.navercorp.pinpoint.rpc.packet.PacketType;
+import com.navercorp.pinpoint.rpc.packet.RequestPacket;
+import com.navercorp.pinpoint.rpc.packet.SendPacket;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.handler.codec.embedder.DecoderEmbedder;
+import org.jboss.netty.handler.codec.embedder.EncoderEmbedder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PacketCompressionTest {
+
+    @Test
+    public void compress() {
+        PacketEncoder encoder = new PacketEncoder();
+        encoder.enableCompression();
+        byte[] payload = compressiblePayload(4096);
+
+        ChannelBuffer frame = encode(encoder, new SendPacket(payload));
+
+        Assert.assertEquals(PacketType.APPLICATION_COMPRESSED, frame.getShort(frame.readerIndex()));
+        Assert.assertTrue(frame.readableBytes() < payload.length / 4);
+        Assert.assertEquals(1, encoder.getCompressionMetric().getPacketCount());
+        Assert.assertTrue(encoder.getCompressionMetric().getRatio() < 0.25);
+
+        PacketDecoder decoder = new PacketDecoder();
+        SendPacket sendPacket = (SendPacket) decode(decoder, frame);
+        Assert.assertTrue(Arrays.equals(payload, sendPacket.getPayload()));
+        Assert.assertEquals(1, decoder.getCompressionMetric().getPacketCount());
+    }
+
+    @Test
+    public void compress_requestSlicePayload() {
+        PacketEncoder encoder = new PacketEncoder();
+        encoder.enableCompression();
+        byte[] payload = compressiblePayload(2048);
+
+        ChannelBuffer frame = encode(encoder, new RequestPacket(10, payload));
+
+        RequestPacket requestPacket = (RequestPacket) decode(new PacketDecoder(true), frame);
+        Assert.assertEquals(10, requestPacket.getRequestId());
+        Assert.assertTrue(Arrays.equals(payload, requestPacket.getPayload()));
+    }
+
+    @Test
+    public void compress_disabled() {
+        PacketEncoder encoder = new PacketEncoder();
+
+        ChannelBuffer frame = encode(encoder, new SendPacket(compressiblePayload(4096)));
+
+        Assert.assertEquals(PacketType.APPLICATION_SEND, frame.getShort(frame.readerIndex()));
+        Assert.assertEquals(0, encoder.getCompressionMetric().getPacketCount());
+    }
+
+    @Test
+    public void compress_smallPacket() {
+        PacketEncoder encoder = new PacketEncoder();
+        encoder.enableCompression();
+
+        ChannelBuffer frame = encode(encoder, new SendPacket(compressiblePayload(100)));
+
+        Assert.assertEquals(PacketType.APPLICATION_SEND, frame.getShort(frame.readerIndex()));
+    }
+
+    @Test
+    public void compress_incompressible() {
+        PacketEncoder encoder = new PacketEncoder();
+        encoder.enableCompression();
+        byte[] payload = new byte[4096];
+        new Random(0).nextBytes(payload);
+
+        ChannelBuffer frame = encode(encoder, new SendPacket(payload));
+
+        Assert.assertEquals(PacketType.APPLICATION_SEND, frame.getShort(frame.readerIndex()));
+        Assert.assertEquals(0, encoder.getCompressionMetric().getPacketCount());
+    }
+
+    @Test
+    public void decompress_partialFrame() {
+        PacketEncoder encoder = new PacketEncoder();
+        encoder.enableCompression();
+        byte[] payload = compressiblePayload(4096);
+        ChannelBuffer frame = encode(encoder, new SendPacket(payload));
+
+        DecoderEmbedder<Object> decoder = new DecoderEmbedder<Object>(new PacketDecoder());
+        int half = frame.readableBytes() / 2;
+        decoder.offer(frame.readSlice(half));
+        Assert.assertNull(decoder.poll());
+        decoder.offer(frame);
+
+        SendPacket sendPacket = (SendPacket) decoder.poll();
+        Assert.assertTrue(Arrays.equals(payload, sendPacket.getPayload()));
+    }
+
+    @Test
+    public void compress_totalMetric() {
+        CompressionMetric deflateMetric = new CompressionMetric();
+        CompressionMetric inflateMetric = new CompressionMetric();
+        byte[] payload = compressiblePayload(4096);
+        for (int i = 0; i < 2; i++) {
+            PacketEncoder encoder = new PacketEncoder(PacketCompression.DEFAULT_MIN_COMPRESS_SIZE, deflateMetric);
+            encoder.enableCompression();
+            ChannelBuffer frame = encode(encoder, new SendPacket(payload));
+            decode(new PacketDecoder(false, inflateMetric), frame);
+        }
+
+        Assert.assertEquals(2, deflateMetric.getPacketCount());
+        Assert.assertEquals(deflateMetric.getRawBytes(), inflateMetric.getRawBytes());
+        Assert.assertEquals(2, inflateMetric.getPacketCount());
+        Assert.assertEquals(deflateMetric.getCompressedBytes(), inflateMetric.getCompressedBytes());
+    }
+
+    @Test
+    public void release() {
+        PacketEncoder encoder = new PacketEncoder();
+        encoder.enableCompression();
+        byte[] payload = compressiblePayload(4096);
+        ChannelBuffer frame = encode(encoder, new SendPacket(payload));
+
+        PacketDecoder decoder = new PacketDecoder();
+        Assert.assertNotNull(decode(decoder, frame.duplicate()));
+
+        encoder.release();
+        decoder.release();
+
+        Assert.assertFalse(encoder.isCompressionEnabled());
+        ChannelBuffer raw = encode(encoder, new SendPacket(payload));
+        Assert.assertEquals(PacketType.APPLICATION_SEND, raw.getShort(raw.readerIndex()));
+        Assert.assertNull(decode(decoder, frame));
+    }
+
+    private byte[] compressiblePayload(int size) {
+        byte[] payload = new byte[size];
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) (i % 16);
+        }
+        return payload;
+    }
+
+    private ChannelBuffer encode(PacketEncoder encoder, Object packet) {
+        EncoderEmbedder<ChannelBuffer> embedder = new EncoderEmbedder<ChannelBuffer>(encoder);
+        embedder.offer(packet);
+        return embedder.poll();
+    }
+
+    private Object decode(PacketDecoder decoder, ChannelBuffer frame) {
+        DecoderEmbedder<Object> embedder = new DecoderEmbedder<Object>(decoder);
+        embedder.offer(frame);
+        return embedder.poll();
+    }
+}
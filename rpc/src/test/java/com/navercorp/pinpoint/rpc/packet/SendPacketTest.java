@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.packet;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class SendPacketTest {
+
+    @Test
+    public void readBuffer_slicePayload() throws Exception {
+        byte[] payload = new byte[] {1, 2, 3, 4, 5};
+        ChannelBuffer buffer = new SendPacket(payload).toBuffer();
+        ChannelBuffer frame = ChannelBuffers.buffer(buffer.readableBytes() + 2);
+        frame.writeBytes(buffer);
+        frame.writeShort(0);
+
+        short packetType = frame.readShort();
+        SendPacket sendPacket = (SendPacket) SendPacket.readBuffer(packetType, frame, true);
+
+        ChannelBuffer payloadBuffer = sendPacket.getPayloadBuffer();
+        Assert.assertEquals(payload.length, sendPacket.getPayloadLength());
+        Assert.assertSame(frame.array(), payloadBuffer.array());
+        Assert.assertEquals(2, frame.readableBytes());
+
+        Assert.assertTrue(Arrays.equals(payload, sendPacket.getPayload()));
+    }
+
+    @Test
+    public void toBuffer_slicePayload() throws Exception {
+        byte[] payload = new byte[] {1, 2, 3};
+        ChannelBuffer buffer = new SendPacket(payload).toBuffer();
+
+        short packetType = buffer.readShort();
+        SendPacket sendPacket = (SendPacket) SendPacket.readBuffer(packetType, buffer, true);
+
+        ChannelBuffer copy = sendPacket.toBuffer();
+        Assert.assertEquals(PacketType.APPLICATION_SEND, copy.readShort());
+        SendPacket decoded = (SendPacket) SendPacket.readBuffer(PacketType.APPLICATION_SEND, copy);
+        Assert.assertTrue(Arrays.equals(payload, decoded.getPayload()));
+    }
+}
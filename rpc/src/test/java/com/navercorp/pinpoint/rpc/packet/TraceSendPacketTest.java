@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.packet;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class TraceSendPacketTest {
+
+    @Test
+    public void toBuffer_slicePayload() throws Exception {
+        byte[] payload = new byte[] {1, 2, 3, 4, 5};
+        ChannelBuffer buffer = new TraceSendPacket(7, payload).toBuffer();
+
+        short packetType = buffer.readShort();
+        TraceSendPacket traceSendPacket = (TraceSendPacket) TraceSendPacket.readBuffer(packetType, buffer, true);
+        Assert.assertEquals(7, traceSendPacket.getTraceId());
+        Assert.assertEquals(payload.length, traceSendPacket.getPayloadLength());
+
+        ChannelBuffer copy = traceSendPacket.toBuffer();
+        Assert.assertEquals(PacketType.APPLICATION_TRACE_SEND, copy.readShort());
+        TraceSendPacket decoded = (TraceSendPacket) TraceSendPacket.readBuffer(PacketType.APPLICATION_TRACE_SEND, copy);
+        Assert.assertEquals(7, decoded.getTraceId());
+        Assert.assertTrue(Arrays.equals(payload, decoded.getPayload()));
+    }
+
+    @Test
+    public void ack() throws Exception {
+        ChannelBuffer buffer = new TraceSendAckPacket(7).toBuffer();
+
+        short packetType = buffer.readShort();
+        TraceSendAckPacket ackPacket = TraceSendAckPacket.readBuffer(packetType, buffer);
+        Assert.assertEquals(7, ackPacket.getTraceId());
+    }
+}
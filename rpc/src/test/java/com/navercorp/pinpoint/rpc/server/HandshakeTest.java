@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.rpc.TestAwaitUtils;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
 import com.navercorp.pinpoint.rpc.client.PinpointClientHandshaker;
+import com.navercorp.pinpoint.rpc.codec.PacketCompression;
 import com.navercorp.pinpoint.rpc.packet.HandshakePropertyType;
 import com.navercorp.pinpoint.rpc.util.PinpointRPCTestUtils;
 import com.navercorp.pinpoint.rpc.util.TimerFactory;
@@ -128,6 +129,89 @@ public class HandshakeTest {
         }
     }
 
+    @Test
+    public void handshakeCompression() throws InterruptedException {
+        final PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, PinpointRPCTestUtils.createEchoServerListener());
+        serverAcceptor.setCompressionEnable(true);
+
+        Map<String, Object> params = PinpointRPCTestUtils.getParams();
+        params.put(HandshakePropertyType.SUPPORT_COMPRESSION.getName(), PacketCompression.DEFLATE);
+        PinpointClientFactory clientFactory = PinpointRPCTestUtils.createClientFactory(params, PinpointRPCTestUtils.createEchoClientListener());
+        try {
+            PinpointClient client = clientFactory.connect("127.0.0.1", bindPort);
+            awaitUtils.await(new TestAwaitTaskUtils() {
+                @Override
+                public boolean checkCompleted() {
+                    return serverAcceptor.getWritableSocketList().size() == 1;
+                }
+            });
+
+            byte[] payload = new byte[8192];
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] = (byte) (i % 32);
+            }
+            // client -> server and the response back
+            Assert.assertArrayEquals(payload, PinpointRPCTestUtils.request(client, payload));
+
+            // server -> client and the response back
+            PinpointSocket writableServer = serverAcceptor.getWritableSocketList().get(0);
+            Assert.assertArrayEquals(payload, PinpointRPCTestUtils.request(writableServer, payload));
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            clientFactory.release();
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+    }
+
+    @Test
+    public void handshakeTraceSend() throws InterruptedException {
+        PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, PinpointRPCTestUtils.createEchoServerListener());
+
+        Map<String, Object> params = PinpointRPCTestUtils.getParams();
+        params.put(HandshakePropertyType.SUPPORT_TRACE_SEND.getName(), true);
+        PinpointClientFactory clientFactory = PinpointRPCTestUtils.createClientFactory(params, PinpointRPCTestUtils.createEchoClientListener());
+        try {
+            final PinpointClient client = clientFactory.connect("127.0.0.1", bindPort);
+            boolean supported = awaitUtils.await(new TestAwaitTaskUtils() {
+                @Override
+                public boolean checkCompleted() {
+                    return client.isTraceSendSupported();
+                }
+            });
+            Assert.assertTrue(supported);
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            clientFactory.release();
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+    }
+
+    @Test
+    public void handshakeWithoutTraceSend() throws InterruptedException {
+        final PinpointServerAcceptor serverAcceptor = PinpointRPCTestUtils.createPinpointServerFactory(bindPort, PinpointRPCTestUtils.createEchoServerListener());
+
+        PinpointClientFactory clientFactory = PinpointRPCTestUtils.createClientFactory(PinpointRPCTestUtils.getParams(), PinpointRPCTestUtils.createEchoClientListener());
+        try {
+            final PinpointClient client = clientFactory.connect("127.0.0.1", bindPort);
+            awaitUtils.await(new TestAwaitTaskUtils() {
+                @Override
+                public boolean checkCompleted() {
+                    return serverAcceptor.getWritableSocketList().size() == 1;
+                }
+            });
+            // the request is answered after the handshake response
+            Assert.assertNotNull(PinpointRPCTestUtils.request(client, new byte[10]));
+            Assert.assertFalse(client.isTraceSendSupported());
+
+            PinpointRPCTestUtils.close(client);
+        } finally {
+            clientFactory.release();
+            PinpointRPCTestUtils.close(serverAcceptor);
+        }
+    }
+
     @Test
     public void testExecuteCompleteWithoutStart() {
         int retryInterval = 100;
@@ -24,7 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.2)", date = "2017-1-24")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.2)", date = "2017-3-14")
 public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentStat._Fields>, java.io.Serializable, Cloneable, Comparable<TAgentStat> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TAgentStat");
 
@@ -37,6 +37,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final org.apache.thrift.protocol.TField TRANSACTION_FIELD_DESC = new org.apache.thrift.protocol.TField("transaction", org.apache.thrift.protocol.TType.STRUCT, (short)30);
   private static final org.apache.thrift.protocol.TField ACTIVE_TRACE_FIELD_DESC = new org.apache.thrift.protocol.TField("activeTrace", org.apache.thrift.protocol.TType.STRUCT, (short)40);
   private static final org.apache.thrift.protocol.TField DATA_SOURCE_LIST_FIELD_DESC = new org.apache.thrift.protocol.TField("dataSourceList", org.apache.thrift.protocol.TType.STRUCT, (short)50);
+  private static final org.apache.thrift.protocol.TField STACK_SAMPLING_FIELD_DESC = new org.apache.thrift.protocol.TField("stackSampling", org.apache.thrift.protocol.TType.STRUCT, (short)60);
+  private static final org.apache.thrift.protocol.TField DOWNSAMPLED_STAT_FIELD_DESC = new org.apache.thrift.protocol.TField("downsampledStat", org.apache.thrift.protocol.TType.STRUCT, (short)70);
+  private static final org.apache.thrift.protocol.TField DATA_SPOOL_FIELD_DESC = new org.apache.thrift.protocol.TField("dataSpool", org.apache.thrift.protocol.TType.STRUCT, (short)80);
   private static final org.apache.thrift.protocol.TField METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("metadata", org.apache.thrift.protocol.TType.STRING, (short)200);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
@@ -54,6 +57,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private TTransaction transaction; // optional
   private TActiveTrace activeTrace; // optional
   private TDataSourceList dataSourceList; // optional
+  private TStackSampling stackSampling; // optional
+  private TDownsampledStat downsampledStat; // optional
+  private TDataSpool dataSpool; // optional
   private String metadata; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
@@ -67,6 +73,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     TRANSACTION((short)30, "transaction"),
     ACTIVE_TRACE((short)40, "activeTrace"),
     DATA_SOURCE_LIST((short)50, "dataSourceList"),
+    STACK_SAMPLING((short)60, "stackSampling"),
+    DOWNSAMPLED_STAT((short)70, "downsampledStat"),
+    DATA_SPOOL((short)80, "dataSpool"),
     METADATA((short)200, "metadata");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
@@ -100,6 +109,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           return ACTIVE_TRACE;
         case 50: // DATA_SOURCE_LIST
           return DATA_SOURCE_LIST;
+        case 60: // STACK_SAMPLING
+          return STACK_SAMPLING;
+        case 70: // DOWNSAMPLED_STAT
+          return DOWNSAMPLED_STAT;
+        case 80: // DATA_SPOOL
+          return DATA_SPOOL;
         case 200: // METADATA
           return METADATA;
         default:
@@ -146,7 +161,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final int __TIMESTAMP_ISSET_ID = 1;
   private static final int __COLLECTINTERVAL_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.METADATA};
+  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.STACK_SAMPLING,_Fields.DOWNSAMPLED_STAT,_Fields.DATA_SPOOL,_Fields.METADATA};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -168,6 +183,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TActiveTrace.class)));
     tmpMap.put(_Fields.DATA_SOURCE_LIST, new org.apache.thrift.meta_data.FieldMetaData("dataSourceList", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TDataSourceList")));
+    tmpMap.put(_Fields.STACK_SAMPLING, new org.apache.thrift.meta_data.FieldMetaData("stackSampling", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TStackSampling.class)));
+    tmpMap.put(_Fields.DOWNSAMPLED_STAT, new org.apache.thrift.meta_data.FieldMetaData("downsampledStat", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TDownsampledStat.class)));
+    tmpMap.put(_Fields.DATA_SPOOL, new org.apache.thrift.meta_data.FieldMetaData("dataSpool", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TDataSpool.class)));
     tmpMap.put(_Fields.METADATA, new org.apache.thrift.meta_data.FieldMetaData("metadata", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
@@ -203,6 +224,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (other.isSetDataSourceList()) {
       this.dataSourceList = other.dataSourceList;
     }
+    if (other.isSetStackSampling()) {
+      this.stackSampling = new TStackSampling(other.stackSampling);
+    }
+    if (other.isSetDownsampledStat()) {
+      this.downsampledStat = new TDownsampledStat(other.downsampledStat);
+    }
+    if (other.isSetDataSpool()) {
+      this.dataSpool = new TDataSpool(other.dataSpool);
+    }
     if (other.isSetMetadata()) {
       this.metadata = other.metadata;
     }
@@ -226,6 +256,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     this.transaction = null;
     this.activeTrace = null;
     this.dataSourceList = null;
+    this.stackSampling = null;
+    this.downsampledStat = null;
+    this.dataSpool = null;
     this.metadata = null;
   }
 
@@ -433,6 +466,75 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     }
   }
 
+  public TStackSampling getStackSampling() {
+    return this.stackSampling;
+  }
+
+  public void setStackSampling(TStackSampling stackSampling) {
+    this.stackSampling = stackSampling;
+  }
+
+  public void unsetStackSampling() {
+    this.stackSampling = null;
+  }
+
+  /** Returns true if field stackSampling is set (has been assigned a value) and false otherwise */
+  public boolean isSetStackSampling() {
+    return this.stackSampling != null;
+  }
+
+  public void setStackSamplingIsSet(boolean value) {
+    if (!value) {
+      this.stackSampling = null;
+    }
+  }
+
+  public TDownsampledStat getDownsampledStat() {
+    return this.downsampledStat;
+  }
+
+  public void setDownsampledStat(TDownsampledStat downsampledStat) {
+    this.downsampledStat = downsampledStat;
+  }
+
+  public void unsetDownsampledStat() {
+    this.downsampledStat = null;
+  }
+
+  /** Returns true if field downsampledStat is set (has been assigned a value) and false otherwise */
+  public boolean isSetDownsampledStat() {
+    return this.downsampledStat != null;
+  }
+
+  public void setDownsampledStatIsSet(boolean value) {
+    if (!value) {
+      this.downsampledStat = null;
+    }
+  }
+
+  public TDataSpool getDataSpool() {
+    return this.dataSpool;
+  }
+
+  public void setDataSpool(TDataSpool dataSpool) {
+    this.dataSpool = dataSpool;
+  }
+
+  public void unsetDataSpool() {
+    this.dataSpool = null;
+  }
+
+  /** Returns true if field dataSpool is set (has been assigned a value) and false otherwise */
+  public boolean isSetDataSpool() {
+    return this.dataSpool != null;
+  }
+
+  public void setDataSpoolIsSet(boolean value) {
+    if (!value) {
+      this.dataSpool = null;
+    }
+  }
+
   public String getMetadata() {
     return this.metadata;
   }
@@ -530,6 +632,30 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       break;
 
+    case STACK_SAMPLING:
+      if (value == null) {
+        unsetStackSampling();
+      } else {
+        setStackSampling((TStackSampling)value);
+      }
+      break;
+
+    case DOWNSAMPLED_STAT:
+      if (value == null) {
+        unsetDownsampledStat();
+      } else {
+        setDownsampledStat((TDownsampledStat)value);
+      }
+      break;
+
+    case DATA_SPOOL:
+      if (value == null) {
+        unsetDataSpool();
+      } else {
+        setDataSpool((TDataSpool)value);
+      }
+      break;
+
     case METADATA:
       if (value == null) {
         unsetMetadata();
@@ -570,6 +696,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     case DATA_SOURCE_LIST:
       return getDataSourceList();
 
+    case STACK_SAMPLING:
+      return getStackSampling();
+
+    case DOWNSAMPLED_STAT:
+      return getDownsampledStat();
+
+    case DATA_SPOOL:
+      return getDataSpool();
+
     case METADATA:
       return getMetadata();
 
@@ -602,6 +737,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       return isSetActiveTrace();
     case DATA_SOURCE_LIST:
       return isSetDataSourceList();
+    case STACK_SAMPLING:
+      return isSetStackSampling();
+    case DOWNSAMPLED_STAT:
+      return isSetDownsampledStat();
+    case DATA_SPOOL:
+      return isSetDataSpool();
     case METADATA:
       return isSetMetadata();
     }
@@ -702,6 +843,33 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return false;
     }
 
+    boolean this_present_stackSampling = true && this.isSetStackSampling();
+    boolean that_present_stackSampling = true && that.isSetStackSampling();
+    if (this_present_stackSampling || that_present_stackSampling) {
+      if (!(this_present_stackSampling && that_present_stackSampling))
+        return false;
+      if (!this.stackSampling.equals(that.stackSampling))
+        return false;
+    }
+
+    boolean this_present_downsampledStat = true && this.isSetDownsampledStat();
+    boolean that_present_downsampledStat = true && that.isSetDownsampledStat();
+    if (this_present_downsampledStat || that_present_downsampledStat) {
+      if (!(this_present_downsampledStat && that_present_downsampledStat))
+        return false;
+      if (!this.downsampledStat.equals(that.downsampledStat))
+        return false;
+    }
+
+    boolean this_present_dataSpool = true && this.isSetDataSpool();
+    boolean that_present_dataSpool = true && that.isSetDataSpool();
+    if (this_present_dataSpool || that_present_dataSpool) {
+      if (!(this_present_dataSpool && that_present_dataSpool))
+        return false;
+      if (!this.dataSpool.equals(that.dataSpool))
+        return false;
+    }
+
     boolean this_present_metadata = true && this.isSetMetadata();
     boolean that_present_metadata = true && that.isSetMetadata();
     if (this_present_metadata || that_present_metadata) {
@@ -763,6 +931,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (present_dataSourceList)
       list.add(dataSourceList);
 
+    boolean present_stackSampling = true && (isSetStackSampling());
+    list.add(present_stackSampling);
+    if (present_stackSampling)
+      list.add(stackSampling);
+
+    boolean present_downsampledStat = true && (isSetDownsampledStat());
+    list.add(present_downsampledStat);
+    if (present_downsampledStat)
+      list.add(downsampledStat);
+
+    boolean present_dataSpool = true && (isSetDataSpool());
+    list.add(present_dataSpool);
+    if (present_dataSpool)
+      list.add(dataSpool);
+
     boolean present_metadata = true && (isSetMetadata());
     list.add(present_metadata);
     if (present_metadata)
@@ -869,6 +1052,36 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetStackSampling()).compareTo(other.isSetStackSampling());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStackSampling()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.stackSampling, other.stackSampling);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetDownsampledStat()).compareTo(other.isSetDownsampledStat());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetDownsampledStat()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.downsampledStat, other.downsampledStat);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetDataSpool()).compareTo(other.isSetDataSpool());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetDataSpool()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.dataSpool, other.dataSpool);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     lastComparison = Boolean.valueOf(isSetMetadata()).compareTo(other.isSetMetadata());
     if (lastComparison != 0) {
       return lastComparison;
@@ -976,6 +1189,36 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       first = false;
     }
+    if (isSetStackSampling()) {
+      if (!first) sb.append(", ");
+      sb.append("stackSampling:");
+      if (this.stackSampling == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.stackSampling);
+      }
+      first = false;
+    }
+    if (isSetDownsampledStat()) {
+      if (!first) sb.append(", ");
+      sb.append("downsampledStat:");
+      if (this.downsampledStat == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.downsampledStat);
+      }
+      first = false;
+    }
+    if (isSetDataSpool()) {
+      if (!first) sb.append(", ");
+      sb.append("dataSpool:");
+      if (this.dataSpool == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.dataSpool);
+      }
+      first = false;
+    }
     if (isSetMetadata()) {
       if (!first) sb.append(", ");
       sb.append("metadata:");
@@ -1005,6 +1248,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (activeTrace != null) {
       activeTrace.validate();
     }
+    if (stackSampling != null) {
+      stackSampling.validate();
+    }
+    if (downsampledStat != null) {
+      downsampledStat.validate();
+    }
+    if (dataSpool != null) {
+      dataSpool.validate();
+    }
   }
 
   private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -1120,6 +1372,33 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 60: // STACK_SAMPLING
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.stackSampling = new TStackSampling();
+              struct.stackSampling.read(iprot);
+              struct.setStackSamplingIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 70: // DOWNSAMPLED_STAT
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.downsampledStat = new TDownsampledStat();
+              struct.downsampledStat.read(iprot);
+              struct.setDownsampledStatIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 80: // DATA_SPOOL
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.dataSpool = new TDataSpool();
+              struct.dataSpool.read(iprot);
+              struct.setDataSpoolIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           case 200: // METADATA
             if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
               struct.metadata = iprot.readString();
@@ -1198,6 +1477,27 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           oprot.writeFieldEnd();
         }
       }
+      if (struct.stackSampling != null) {
+        if (struct.isSetStackSampling()) {
+          oprot.writeFieldBegin(STACK_SAMPLING_FIELD_DESC);
+          struct.stackSampling.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.downsampledStat != null) {
+        if (struct.isSetDownsampledStat()) {
+          oprot.writeFieldBegin(DOWNSAMPLED_STAT_FIELD_DESC);
+          struct.downsampledStat.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.dataSpool != null) {
+        if (struct.isSetDataSpool()) {
+          oprot.writeFieldBegin(DATA_SPOOL_FIELD_DESC);
+          struct.dataSpool.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
       if (struct.metadata != null) {
         if (struct.isSetMetadata()) {
           oprot.writeFieldBegin(METADATA_FIELD_DESC);
@@ -1250,10 +1550,19 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDataSourceList()) {
         optionals.set(8);
       }
-      if (struct.isSetMetadata()) {
+      if (struct.isSetStackSampling()) {
         optionals.set(9);
       }
-      oprot.writeBitSet(optionals, 10);
+      if (struct.isSetDownsampledStat()) {
+        optionals.set(10);
+      }
+      if (struct.isSetDataSpool()) {
+        optionals.set(11);
+      }
+      if (struct.isSetMetadata()) {
+        optionals.set(12);
+      }
+      oprot.writeBitSet(optionals, 13);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -1281,6 +1590,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDataSourceList()) {
         struct.dataSourceList.write(oprot);
       }
+      if (struct.isSetStackSampling()) {
+        struct.stackSampling.write(oprot);
+      }
+      if (struct.isSetDownsampledStat()) {
+        struct.downsampledStat.write(oprot);
+      }
+      if (struct.isSetDataSpool()) {
+        struct.dataSpool.write(oprot);
+      }
       if (struct.isSetMetadata()) {
         oprot.writeString(struct.metadata);
       }
@@ -1289,7 +1607,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TAgentStat struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(10);
+      BitSet incoming = iprot.readBitSet(13);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -1332,6 +1650,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         struct.setDataSourceListIsSet(true);
       }
       if (incoming.get(9)) {
+        struct.stackSampling = new TStackSampling();
+        struct.stackSampling.read(iprot);
+        struct.setStackSamplingIsSet(true);
+      }
+      if (incoming.get(10)) {
+        struct.downsampledStat = new TDownsampledStat();
+        struct.downsampledStat.read(iprot);
+        struct.setDownsampledStatIsSet(true);
+      }
+      if (incoming.get(11)) {
+        struct.dataSpool = new TDataSpool();
+        struct.dataSpool.read(iprot);
+        struct.setDataSpoolIsSet(true);
+      }
+      if (incoming.get(12)) {
         struct.metadata = iprot.readString();
         struct.setMetadataIsSet(true);
       }
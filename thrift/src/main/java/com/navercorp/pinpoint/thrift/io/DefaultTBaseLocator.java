@@ -23,6 +23,9 @@ import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
 import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TCollectorList;
+import com.navercorp.pinpoint.thrift.dto.TCollectorListRequest;
+import com.navercorp.pinpoint.thrift.dto.TMetaDataBatch;
 import com.navercorp.pinpoint.thrift.dto.TResult;
 import com.navercorp.pinpoint.thrift.dto.TSpan;
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
@@ -71,6 +74,15 @@ class DefaultTBaseLocator implements TBaseLocator {
 
     private static final short STRINGMETADATA = 330;
     private static final Header STRINGMETADATA_HEADER = createHeader(STRINGMETADATA);
+
+    private static final short METADATA_BATCH = 340;
+    private static final Header METADATA_BATCH_HEADER = createHeader(METADATA_BATCH);
+
+    private static final short COLLECTOR_LIST_REQUEST = 350;
+    private static final Header COLLECTOR_LIST_REQUEST_HEADER = createHeader(COLLECTOR_LIST_REQUEST);
+
+    private static final short COLLECTOR_LIST = 360;
+    private static final Header COLLECTOR_LIST_HEADER = createHeader(COLLECTOR_LIST);
     
     private static final short CHUNK = 400;
     private static final Header CHUNK_HEADER = createHeader(CHUNK);
@@ -98,6 +110,12 @@ class DefaultTBaseLocator implements TBaseLocator {
                 return new TResult();
             case STRINGMETADATA:
                 return new TStringMetaData();
+            case METADATA_BATCH:
+                return new TMetaDataBatch();
+            case COLLECTOR_LIST_REQUEST:
+                return new TCollectorListRequest();
+            case COLLECTOR_LIST:
+                return new TCollectorList();
             case NETWORK_CHECK:
                 return new NetworkAvailabilityCheckPacket();
         }
@@ -138,6 +156,15 @@ class DefaultTBaseLocator implements TBaseLocator {
         if (tbase instanceof TStringMetaData) {
             return STRINGMETADATA_HEADER;
         }
+        if (tbase instanceof TMetaDataBatch) {
+            return METADATA_BATCH_HEADER;
+        }
+        if (tbase instanceof TCollectorListRequest) {
+            return COLLECTOR_LIST_REQUEST_HEADER;
+        }
+        if (tbase instanceof TCollectorList) {
+            return COLLECTOR_LIST_HEADER;
+        }
         if (tbase instanceof NetworkAvailabilityCheckPacket) {
             return NETWORK_CHECK_HEADER;
         }
@@ -186,6 +213,15 @@ class DefaultTBaseLocator implements TBaseLocator {
         if (clazz.equals(TStringMetaData.class)) {
             return true;
         }
+        if (clazz.equals(TMetaDataBatch.class)) {
+            return true;
+        }
+        if (clazz.equals(TCollectorListRequest.class)) {
+            return true;
+        }
+        if (clazz.equals(TCollectorList.class)) {
+            return true;
+        }
         if (clazz.equals(NetworkAvailabilityCheckPacket.class)) {
             return true;
         }
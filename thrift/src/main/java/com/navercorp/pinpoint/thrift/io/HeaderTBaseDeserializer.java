@@ -56,8 +56,19 @@ public class HeaderTBaseDeserializer {
      * @param bytes   The array to read from
      */
     public TBase<?, ?> deserialize(byte[] bytes) throws TException {
+        return deserialize(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Deserialize the Thrift object from a region of a byte array without copying it.
+     *
+     * @param bytes   The array to read from
+     * @param offset  The offset of the serialized object
+     * @param length  The length of the serialized object
+     */
+    public TBase<?, ?> deserialize(byte[] bytes, int offset, int length) throws TException {
         try {
-            trans.reset(bytes);
+            trans.reset(bytes, offset, length);
             Header header = readHeader();
             final int validate = validate(header);
             if (validate == HeaderUtils.OK) {
@@ -91,6 +91,37 @@ struct TActiveTrace {
 	1: optional TActiveTraceHistogram   histogram
 }
 
+// stack sampler overhead. transport only, the collector does not store it
+struct TStackSampling {
+    1: optional i64     sampleCount
+    2: optional i64     skipCount
+    3: optional i64     droppedCount
+    4: optional i64     samplingTime
+}
+
+struct TDownsampledStat {
+    1: optional i32     sampleCount
+    2: optional i64     samplingInterval
+    3: optional i64     heapUsedMin
+    4: optional i64     heapUsedMax
+    5: optional i64     heapUsedAvg
+    6: optional double  jvmCpuLoadMin
+    7: optional double  jvmCpuLoadMax
+    8: optional double  jvmCpuLoadAvg
+    9: optional double  systemCpuLoadMin
+    10: optional double systemCpuLoadMax
+    11: optional double systemCpuLoadAvg
+}
+
+struct TDataSpool {
+    1: optional i64     spoolSize
+    2: optional i32     messageCount
+    3: optional i64     oldestAge
+    4: optional i64     spooledCount
+    5: optional i64     replayedCount
+    6: optional i64     droppedCount
+}
+
 struct TAgentStat {
     1: optional string      agentId
     2: optional i64         startTimestamp
@@ -101,6 +132,9 @@ struct TAgentStat {
     30: optional TTransaction   transaction
     40: optional TActiveTrace   activeTrace
     50: optional TDataSourceList dataSourceList
+    60: optional TStackSampling stackSampling
+    70: optional TDownsampledStat downsampledStat
+    80: optional TDataSpool     dataSpool
     200: optional string    metadata
 }
 
@@ -122,3 +156,20 @@ struct TDataSource {
 struct TDataSourceList {
     1: list<TDataSource> dataSourceList
 }
+
+struct TCollectorListRequest {
+    1: optional string          agentId
+}
+
+struct TCollectorInfo {
+    1: string                   ip
+    2: i32                      port
+    3: i32                      weight
+    4: optional i64             receiveRate
+    5: optional i64             queueDepth
+    6: optional i64             hbaseBacklog
+}
+
+struct TCollectorList {
+    1: optional list<TCollectorInfo> collectorList
+}
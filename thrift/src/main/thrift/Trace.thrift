@@ -157,6 +157,12 @@ struct TApiMetaData {
   10: optional i32 type;
 }
 
+struct TMetaDataBatch {
+  1: optional list<TSqlMetaData>    sqlMetaDataList
+  2: optional list<TApiMetaData>    apiMetaDataList
+  3: optional list<TStringMetaData> stringMetaDataList
+}
+
 struct TResult {
   1: bool success
   2: optional string message
@@ -74,6 +74,24 @@ public class HeaderTBaseSerializerTest {
         Assert.assertEquals(deserialize, tAgentInfo);
     }
 
+    @Test
+    public void testDeserializeRegion() throws Exception {
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory().createSerializer();
+        HeaderTBaseDeserializer deserializer = new HeaderTBaseDeserializerFactory().createDeserializer();
+
+        TAgentInfo tAgentInfo = new TAgentInfo();
+        tAgentInfo.setAgentId("agentId");
+        tAgentInfo.setHostname("host");
+        tAgentInfo.setApplicationName("applicationName");
+
+        byte[] serialize = serializer.serialize(tAgentInfo);
+        byte[] region = new byte[serialize.length + 10];
+        System.arraycopy(serialize, 0, region, 4, serialize.length);
+
+        TAgentInfo deserialize = (TAgentInfo) deserializer.deserialize(region, 4, serialize.length);
+        Assert.assertEquals(tAgentInfo, deserialize);
+    }
+
     public void dump(byte[] data) {
         String s = Arrays.toString(data);
         logger.debug("size:{} data:{}", data.length, s);
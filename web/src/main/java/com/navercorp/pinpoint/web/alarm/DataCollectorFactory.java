@@ -24,6 +24,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import com.navercorp.pinpoint.web.alarm.collector.AgentStatDataCollector;
+import com.navercorp.pinpoint.web.alarm.collector.AgentStatWindowCache;
 import com.navercorp.pinpoint.web.alarm.collector.DataCollector;
 import com.navercorp.pinpoint.web.alarm.collector.MapStatisticsCallerDataCollector;
 import com.navercorp.pinpoint.web.alarm.collector.ResponseTimeDataCollector;
@@ -56,6 +57,9 @@ public class DataCollectorFactory {
     @Autowired
     private HbaseApplicationIndexDao hbaseApplicationIndexDao;
 
+    @Autowired
+    private AgentStatWindowCache agentStatWindowCache;
+
     @Autowired
     private HbaseMapStatisticsCallerDao mapStatisticsCallerDao;
 
@@ -64,7 +68,7 @@ public class DataCollectorFactory {
         case RESPONSE_TIME:
             return new ResponseTimeDataCollector(DataCollectorCategory.RESPONSE_TIME, application, hbaseMapResponseTimeDao, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
         case AGENT_STAT:
-            return new AgentStatDataCollector(DataCollectorCategory.AGENT_STAT, application, jvmGcDao, cpuLoadDao, hbaseApplicationIndexDao, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
+            return new AgentStatDataCollector(DataCollectorCategory.AGENT_STAT, application, jvmGcDao, cpuLoadDao, hbaseApplicationIndexDao, agentStatWindowCache, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
         case CALLER_STAT:
             return new MapStatisticsCallerDataCollector(DataCollectorCategory.CALLER_STAT, application, mapStatisticsCallerDao, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
         }
@@ -38,6 +38,7 @@ public class AgentStatDataCollector extends DataCollector {
     private final AgentStatDao<JvmGcBo> jvmGcDao;
     private final AgentStatDao<CpuLoadBo> cpuLoadDao;
     private final ApplicationIndexDao applicationIndexDao;
+    private final AgentStatWindowCache agentStatWindowCache;
     private final long timeSlotEndTime;
     private final long slotInterval;
     private final AtomicBoolean init = new AtomicBoolean(false); // need to consider a race condition when checkers start simultaneously.
@@ -47,11 +48,19 @@ public class AgentStatDataCollector extends DataCollector {
     private final Map<String, Long> agentJvmCpuUsageRate = new HashMap<>();
 
     public AgentStatDataCollector(DataCollectorCategory category, Application application, AgentStatDao<JvmGcBo> jvmGcDao, AgentStatDao<CpuLoadBo> cpuLoadDao, ApplicationIndexDao applicationIndexDao, long timeSlotEndTime, long slotInterval) {
+        this(category, application, jvmGcDao, cpuLoadDao, applicationIndexDao, null, timeSlotEndTime, slotInterval);
+    }
+
+    /**
+     * @param agentStatWindowCache fetches agents concurrently, and incrementally when enabled. agents are read one by one if null
+     */
+    public AgentStatDataCollector(DataCollectorCategory category, Application application, AgentStatDao<JvmGcBo> jvmGcDao, AgentStatDao<CpuLoadBo> cpuLoadDao, ApplicationIndexDao applicationIndexDao, AgentStatWindowCache agentStatWindowCache, long timeSlotEndTime, long slotInterval) {
         super(category);
         this.application = application;
         this.jvmGcDao = jvmGcDao;
         this.cpuLoadDao = cpuLoadDao;
         this.applicationIndexDao = applicationIndexDao;
+        this.agentStatWindowCache = agentStatWindowCache;
         this.timeSlotEndTime = timeSlotEndTime;
         this.slotInterval = slotInterval;
     }
@@ -65,39 +74,48 @@ public class AgentStatDataCollector extends DataCollector {
         Range range = Range.createUncheckedRange(timeSlotEndTime - slotInterval, timeSlotEndTime);
         List<String> agentIds = applicationIndexDao.selectAgentIds(application.getName());
 
-        for(String agentId : agentIds) {
-            List<JvmGcBo> jvmGcBos = jvmGcDao.getAgentStatList(agentId, range);
-            List<CpuLoadBo> cpuLoadBos = cpuLoadDao.getAgentStatList(agentId, range);
-            long totalHeapSize = 0;
-            long usedHeapSize = 0;
-            long jvmCpuUsaged = 0;
-
-            for (JvmGcBo jvmGcBo : jvmGcBos) {
-                totalHeapSize += jvmGcBo.getHeapMax();
-                usedHeapSize += jvmGcBo.getHeapUsed();
+        if (agentStatWindowCache == null) {
+            for (String agentId : agentIds) {
+                List<JvmGcBo> jvmGcBos = jvmGcDao.getAgentStatList(agentId, range);
+                List<CpuLoadBo> cpuLoadBos = cpuLoadDao.getAgentStatList(agentId, range);
+                record(agentId, jvmGcBos, cpuLoadBos);
             }
-
-            for (CpuLoadBo cpuLoadBo : cpuLoadBos) {
-                jvmCpuUsaged += cpuLoadBo.getJvmCpuLoad() * 100;
+        } else {
+            for (AgentStatWindowCache.AgentStats agentStats : agentStatWindowCache.getAgentStats(agentIds, range)) {
+                record(agentStats.getAgentId(), agentStats.getJvmGcBos(), agentStats.getCpuLoadBos());
             }
+        }
 
-            if (!jvmGcBos.isEmpty()) {
-                long percent = calculatePercent(usedHeapSize, totalHeapSize);
-                agentHeapUsageRate.put(agentId, percent);
+        init.set(true);
 
-                long accruedLastGcCount = jvmGcBos.get(0).getGcOldCount();
-                long accruedFirstGcCount = jvmGcBos.get(jvmGcBos.size() - 1).getGcOldCount();
-                agentGcCount.put(agentId, accruedLastGcCount - accruedFirstGcCount);
-            }
-            if (!cpuLoadBos.isEmpty()) {
-                long percent = calculatePercent(jvmCpuUsaged, 100 * cpuLoadBos.size());
-                agentJvmCpuUsageRate.put(agentId, percent);
-            }
+    }
 
+    private void record(String agentId, List<JvmGcBo> jvmGcBos, List<CpuLoadBo> cpuLoadBos) {
+        long totalHeapSize = 0;
+        long usedHeapSize = 0;
+        long jvmCpuUsaged = 0;
+
+        for (JvmGcBo jvmGcBo : jvmGcBos) {
+            totalHeapSize += jvmGcBo.getHeapMax();
+            usedHeapSize += jvmGcBo.getHeapUsed();
         }
 
-        init.set(true);
+        for (CpuLoadBo cpuLoadBo : cpuLoadBos) {
+            jvmCpuUsaged += cpuLoadBo.getJvmCpuLoad() * 100;
+        }
+
+        if (!jvmGcBos.isEmpty()) {
+            long percent = calculatePercent(usedHeapSize, totalHeapSize);
+            agentHeapUsageRate.put(agentId, percent);
 
+            long accruedLastGcCount = jvmGcBos.get(0).getGcOldCount();
+            long accruedFirstGcCount = jvmGcBos.get(jvmGcBos.size() - 1).getGcOldCount();
+            agentGcCount.put(agentId, accruedLastGcCount - accruedFirstGcCount);
+        }
+        if (!cpuLoadBos.isEmpty()) {
+            long percent = calculatePercent(jvmCpuUsaged, 100 * cpuLoadBos.size());
+            agentJvmCpuUsageRate.put(agentId, percent);
+        }
     }
 
     private long calculatePercent(long used, long total) {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.alarm.collector;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.web.vo.Range;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Jvm gc and cpu load data points of a single agent kept between alarm runs, keyed by timestamp.
+ * Not thread safe, callers synchronize on the window.
+ */
+class AgentStatWindow {
+
+    private final NavigableMap<Long, JvmGcBo> jvmGcBos = new TreeMap<>();
+    private final NavigableMap<Long, CpuLoadBo> cpuLoadBos = new TreeMap<>();
+
+    private long fetchedTo = -1;
+    private long lastAccessTime;
+
+    /**
+     * @param lateArrivalMargin already fetched time re-read for stat batches that arrived after the previous run
+     */
+    Range getFetchRange(Range range, long lateArrivalMargin) {
+        if (fetchedTo < range.getFrom() || fetchedTo > range.getTo()) {
+            return range;
+        }
+        final long from = Math.max(range.getFrom(), fetchedTo - lateArrivalMargin);
+        return Range.createUncheckedRange(from, range.getTo());
+    }
+
+    void update(Range range, Range fetchRange, List<JvmGcBo> fetchedJvmGcBos, List<CpuLoadBo> fetchedCpuLoadBos, long currentTime) {
+        put(jvmGcBos, range, fetchRange, fetchedJvmGcBos);
+        put(cpuLoadBos, range, fetchRange, fetchedCpuLoadBos);
+        this.fetchedTo = range.getTo();
+        this.lastAccessTime = currentTime;
+    }
+
+    private <T extends AgentStatDataPoint> void put(NavigableMap<Long, T> dataPoints, Range range, Range fetchRange, List<T> fetched) {
+        // re-fetched points replace the cached ones
+        dataPoints.tailMap(fetchRange.getFrom(), true).clear();
+        for (T dataPoint : fetched) {
+            dataPoints.put(dataPoint.getTimestamp(), dataPoint);
+        }
+        dataPoints.headMap(range.getFrom(), false).clear();
+    }
+
+    /**
+     * @return data points within the range, latest first as returned by the agent stat daos
+     */
+    List<JvmGcBo> getJvmGcBos(Range range) {
+        return get(jvmGcBos, range);
+    }
+
+    List<CpuLoadBo> getCpuLoadBos(Range range) {
+        return get(cpuLoadBos, range);
+    }
+
+    private <T extends AgentStatDataPoint> List<T> get(NavigableMap<Long, T> dataPoints, Range range) {
+        return new ArrayList<>(dataPoints.subMap(range.getFrom(), true, range.getTo(), true).descendingMap().values());
+    }
+
+    long getLastAccessTime() {
+        return lastAccessTime;
+    }
+}
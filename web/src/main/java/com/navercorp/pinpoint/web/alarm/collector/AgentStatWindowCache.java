@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.alarm.collector;
+
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatDao;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the jvm gc and cpu load stats of an application's agents concurrently.
+ * In incremental mode the data points of each agent are kept between alarm runs, so a run only reads the time
+ * after the previous run (plus a margin for late stat batches) instead of the whole evaluation range.
+ */
+@Component
+public class AgentStatWindowCache {
+
+    private static final long LATE_ARRIVAL_MARGIN = TimeUnit.MINUTES.toMillis(1);
+    private static final long EXPIRE_TIME = TimeUnit.MINUTES.toMillis(10);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    @Qualifier("jvmGcDaoFactory")
+    private AgentStatDao<JvmGcBo> jvmGcDao;
+
+    @Autowired
+    @Qualifier("cpuLoadDaoFactory")
+    private AgentStatDao<CpuLoadBo> cpuLoadDao;
+
+    @Value("#{batchProps['alarm.agentStat.incremental.enable'] ?: false}")
+    private boolean incremental;
+
+    @Value("#{batchProps['alarm.agentStat.fetch.threadSize'] ?: 8}")
+    private int threadSize;
+
+    private final ConcurrentMap<String, AgentStatWindow> windows = new ConcurrentHashMap<>();
+
+    private volatile long lastExpireTime;
+
+    private ExecutorService executor;
+
+    public AgentStatWindowCache() {
+    }
+
+    AgentStatWindowCache(AgentStatDao<JvmGcBo> jvmGcDao, AgentStatDao<CpuLoadBo> cpuLoadDao, boolean incremental, int threadSize) {
+        this.jvmGcDao = jvmGcDao;
+        this.cpuLoadDao = cpuLoadDao;
+        this.incremental = incremental;
+        this.threadSize = threadSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.executor = Executors.newFixedThreadPool(threadSize, new PinpointThreadFactory("Pinpoint-AlarmAgentStat", true));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        windows.clear();
+    }
+
+    /**
+     * @return stats of each agent within the range, in the order of agentIds
+     */
+    List<AgentStats> getAgentStats(List<String> agentIds, final Range range) {
+        final List<Future<AgentStats>> futures = new ArrayList<>(agentIds.size());
+        for (final String agentId : agentIds) {
+            futures.add(executor.submit(new Callable<AgentStats>() {
+                @Override
+                public AgentStats call() throws Exception {
+                    return fetch(agentId, range);
+                }
+            }));
+        }
+
+        final List<AgentStats> result = new ArrayList<>(futures.size());
+        try {
+            for (Future<AgentStats> future : futures) {
+                result.add(getResult(future));
+            }
+        } finally {
+            for (Future<AgentStats> future : futures) {
+                future.cancel(true);
+            }
+        }
+        expireWindows(System.currentTimeMillis());
+        return result;
+    }
+
+    private AgentStats fetch(String agentId, Range range) {
+        if (!incremental) {
+            return new AgentStats(agentId, jvmGcDao.getAgentStatList(agentId, range), cpuLoadDao.getAgentStatList(agentId, range));
+        }
+
+        AgentStatWindow window = windows.get(agentId);
+        if (window == null) {
+            final AgentStatWindow newWindow = new AgentStatWindow();
+            window = windows.putIfAbsent(agentId, newWindow);
+            if (window == null) {
+                window = newWindow;
+            }
+        }
+        // applications sharing an agent id and overlapping runs read the window one at a time
+        synchronized (window) {
+            final Range fetchRange = window.getFetchRange(range, LATE_ARRIVAL_MARGIN);
+            if (logger.isDebugEnabled()) {
+                logger.debug("fetch agentId:{} {}", agentId, fetchRange);
+            }
+            final List<JvmGcBo> jvmGcBos = jvmGcDao.getAgentStatList(agentId, fetchRange);
+            final List<CpuLoadBo> cpuLoadBos = cpuLoadDao.getAgentStatList(agentId, fetchRange);
+            window.update(range, fetchRange, jvmGcBos, cpuLoadBos, System.currentTimeMillis());
+            return new AgentStats(agentId, window.getJvmGcBos(range), window.getCpuLoadBos(range));
+        }
+    }
+
+    private AgentStats getResult(Future<AgentStats> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while fetching agent stats", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void expireWindows(long currentTime) {
+        if (currentTime - lastExpireTime < EXPIRE_TIME) {
+            return;
+        }
+        lastExpireTime = currentTime;
+        // agents that were removed or stopped being checked
+        final Iterator<AgentStatWindow> iterator = windows.values().iterator();
+        while (iterator.hasNext()) {
+            final AgentStatWindow window = iterator.next();
+            synchronized (window) {
+                if (currentTime - window.getLastAccessTime() > EXPIRE_TIME) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    int getWindowCount() {
+        return windows.size();
+    }
+
+    static class AgentStats {
+
+        private final String agentId;
+        private final List<JvmGcBo> jvmGcBos;
+        private final List<CpuLoadBo> cpuLoadBos;
+
+        AgentStats(String agentId, List<JvmGcBo> jvmGcBos, List<CpuLoadBo> cpuLoadBos) {
+            this.agentId = agentId;
+            this.jvmGcBos = jvmGcBos;
+            this.cpuLoadBos = cpuLoadBos;
+        }
+
+        String getAgentId() {
+            return agentId;
+        }
+
+        List<JvmGcBo> getJvmGcBos() {
+            return jvmGcBos;
+        }
+
+        List<CpuLoadBo> getCpuLoadBos() {
+            return cpuLoadBos;
+        }
+    }
+}
@@ -18,7 +18,6 @@ package com.navercorp.pinpoint.web.calltree.span;
 
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -26,7 +25,8 @@ import java.util.List;
  */
 public class CallTreeIterator implements Iterator<CallTreeNode> {
 
-    private List<CallTreeNode> nodes = new LinkedList<>();
+    // random access list - every step of the iteration looks nodes up by index
+    private List<CallTreeNode> nodes = new ArrayList<>();
     private int index = -1;
 
     public CallTreeIterator(final CallTreeNode root) {
@@ -42,6 +42,17 @@ public class CallTreeIterator implements Iterator<CallTreeNode> {
         index = -1;
     }
 
+    private CallTreeIterator(final List<CallTreeNode> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * @return an iterator over the same nodes, positioned before the first node
+     */
+    public CallTreeIterator copy() {
+        return new CallTreeIterator(nodes);
+    }
+
 
     void populate(CallTreeNode node) {
         if (node == null) {
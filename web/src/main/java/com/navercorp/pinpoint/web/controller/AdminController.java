@@ -27,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.navercorp.pinpoint.web.service.AdminService;
+import com.navercorp.pinpoint.web.service.RequestCoalescerRegistry;
 
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,9 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private RequestCoalescerRegistry requestCoalescerRegistry;
+
     @RequestMapping(value = "/removeApplicationName")
     @ResponseBody
     public String removeApplicationName(@RequestParam("applicationName") String applicationName) {
@@ -107,4 +111,10 @@ public class AdminController {
         return this.adminService.getInactiveAgents(applicationName, durationDays);
     }
 
+    @RequestMapping(value = "/requestCoalescing")
+    @ResponseBody
+    public Map<String, Map<String, Long>> requestCoalescing() {
+        return this.requestCoalescerRegistry.getStatistics();
+    }
+
 }
\ No newline at end of file
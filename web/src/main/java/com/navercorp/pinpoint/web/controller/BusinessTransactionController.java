@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.web.controller;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import com.navercorp.pinpoint.common.util.DefaultSqlParser;
@@ -36,6 +38,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
+import com.navercorp.pinpoint.web.applicationmap.Link;
+import com.navercorp.pinpoint.web.applicationmap.Node;
 import com.navercorp.pinpoint.web.calltree.span.CallTreeIterator;
 import com.navercorp.pinpoint.web.service.FilteredMapService;
 import com.navercorp.pinpoint.web.service.SpanResult;
@@ -79,6 +83,12 @@ public class BusinessTransactionController {
     /**
      * info lookup for a selected transaction
      *
+     * call stack of huge transactions can be fetched in depth-first pages of {@code limit} nodes,
+     * following {@code callStackNextIndex} of the previous page.
+     * nodes deeper than {@code collapseDepth} are collapsed into a marker record whose id is the negated startIndex of the subtree,
+     * and can be expanded by fetching that startIndex, which collapses again {@code collapseDepth} levels below the expanded nodes.
+     * paged requests reuse the aligned call tree of the first page.
+     *
      * @param traceIdParam
      * @param focusTimestamp
      * @return
@@ -89,20 +99,44 @@ public class BusinessTransactionController {
                                                     @RequestParam(value = "focusTimestamp", required = false, defaultValue = "0") long focusTimestamp,
                                                     @RequestParam(value = "agentId", required = false) String agentId,
                                                     @RequestParam(value = "spanId", required = false, defaultValue = "-1") long spanId,
-                                                    @RequestParam(value = "v", required = false, defaultValue = "0") int viewVersion) {
-        logger.debug("GET /transactionInfo params {traceId={}, focusTimestamp={}, agentId={}, spanId={}, v={}}", traceIdParam, focusTimestamp, agentId, spanId, viewVersion);
+                                                    @RequestParam(value = "v", required = false, defaultValue = "0") int viewVersion,
+                                                    @RequestParam(value = "startIndex", required = false, defaultValue = "0") int startIndex,
+                                                    @RequestParam(value = "limit", required = false, defaultValue = "0") int limit,
+                                                    @RequestParam(value = "collapseDepth", required = false, defaultValue = "0") int collapseDepth) {
+        logger.debug("GET /transactionInfo params {traceId={}, focusTimestamp={}, agentId={}, spanId={}, v={}, startIndex={}, limit={}, collapseDepth={}}",
+                traceIdParam, focusTimestamp, agentId, spanId, viewVersion, startIndex, limit, collapseDepth);
 
         final TransactionId transactionId = TransactionIdUtils.parseTransactionId(traceIdParam);
 
         // select spans
-        final SpanResult spanResult = this.spanService.selectSpan(transactionId, focusTimestamp);
-        final CallTreeIterator callTreeIterator = spanResult.getCallTree();
+        final boolean paged = limit > 0 || startIndex > 0;
+        final SpanResult spanResult;
+        final CallTreeIterator callTreeIterator;
+        if (paged) {
+            // following pages reuse the aligned call tree of the first one
+            spanResult = this.spanService.selectCachedSpan(transactionId, focusTimestamp);
+            callTreeIterator = spanResult.getCallTree().copy();
+        } else {
+            spanResult = this.spanService.selectSpan(transactionId, focusTimestamp);
+            callTreeIterator = spanResult.getCallTree();
+        }
 
-        // application map
-        ApplicationMap map = filteredMapService.selectApplicationMap(transactionId);
-        RecordSet recordSet = this.transactionInfoService.createRecordSet(callTreeIterator, focusTimestamp, agentId, spanId);
+        final int pageLimit = limit > 0 ? limit : Integer.MAX_VALUE;
+        RecordSet recordSet = this.transactionInfoService.createRecordSet(callTreeIterator, focusTimestamp, agentId, spanId, startIndex, pageLimit, collapseDepth);
+
+        // application map, only for the first page
+        final Collection<Node> nodes;
+        final Collection<Link> links;
+        if (startIndex == 0) {
+            ApplicationMap map = filteredMapService.selectApplicationMap(transactionId);
+            nodes = map.getNodes();
+            links = map.getLinks();
+        } else {
+            nodes = Collections.emptyList();
+            links = Collections.emptyList();
+        }
 
-        TransactionInfoViewModel result = new TransactionInfoViewModel(transactionId, map.getNodes(), map.getLinks(), recordSet, spanResult.getCompleteTypeString(), logLinkEnable, logButtonName, logPageUrl, disableButtonMessage);
+        TransactionInfoViewModel result = new TransactionInfoViewModel(transactionId, nodes, links, recordSet, spanResult.getCompleteTypeString(), logLinkEnable, logButtonName, logPageUrl, disableButtonMessage);
         return result;
     }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.controller;
+
+import com.navercorp.pinpoint.web.service.stat.CombinedAgentStatChartService;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.util.TimeWindowSampler;
+import com.navercorp.pinpoint.web.util.TimeWindowSlotCentricSampler;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.stat.chart.AgentStatChartGroup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the charts of several agent stat types with a single request, keyed by the /getAgentStat/{type} names.
+ */
+@Controller
+@RequestMapping("/getAgentStat")
+public class CombinedAgentStatController {
+
+    @Autowired
+    private CombinedAgentStatChartService combinedAgentStatChartService;
+
+    @PreAuthorize("hasPermission(new com.navercorp.pinpoint.web.vo.AgentParam(#agentId, #to), 'agentParam', 'inspector')")
+    @RequestMapping(value = "/chartList", method = RequestMethod.GET)
+    @ResponseBody
+    public Map<String, List<AgentStatChartGroup>> getAgentStatChartList(
+            @RequestParam("agentId") String agentId,
+            @RequestParam("from") long from,
+            @RequestParam("to") long to,
+            @RequestParam(value = "types", required = false) List<String> types) {
+        TimeWindowSampler sampler = new TimeWindowSlotCentricSampler();
+        TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
+        return this.combinedAgentStatChartService.selectAgentChartList(agentId, timeWindow, types);
+    }
+
+    @PreAuthorize("hasPermission(new com.navercorp.pinpoint.web.vo.AgentParam(#agentId, #to), 'agentParam', 'inspector')")
+    @RequestMapping(value = "/chartList", method = RequestMethod.GET, params = {"interval"})
+    @ResponseBody
+    public Map<String, List<AgentStatChartGroup>> getAgentStatChartList(
+            @RequestParam("agentId") String agentId,
+            @RequestParam("from") long from,
+            @RequestParam("to") long to,
+            @RequestParam("interval") Integer interval,
+            @RequestParam(value = "types", required = false) List<String> types) {
+        final int minSamplingInterval = 5;
+        final long intervalMs = interval < minSamplingInterval ? minSamplingInterval * 1000L : interval * 1000L;
+        TimeWindowSampler sampler = new TimeWindowSampler() {
+            @Override
+            public long getWindowSize(Range range) {
+                return intervalMs;
+            }
+        };
+        TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
+        return this.combinedAgentStatChartService.selectAgentChartList(agentId, timeWindow, types);
+    }
+}
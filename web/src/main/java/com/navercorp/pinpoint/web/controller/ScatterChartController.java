@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.common.util.TransactionId;
 import com.navercorp.pinpoint.common.util.TransactionIdComparator;
 import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.filter.FilterBuilder;
+import com.navercorp.pinpoint.web.scatter.ColumnarScatterData;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
 import com.navercorp.pinpoint.web.service.FilteredMapService;
 import com.navercorp.pinpoint.web.service.ScatterChartService;
@@ -187,7 +188,7 @@ public class ScatterChartController {
     private ModelAndView selectScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection, int version) {
         ModelAndView mv = null;
         if (version == 1) {
-            final ScatterData scatterData = scatter.selectScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection);
+            final ColumnarScatterData scatterData = scatter.selectScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection);
             boolean requestComplete = scatterData.getDotSize() < limit;
 
             mv = createScatterDataV1(scatterData, requestComplete);
@@ -243,4 +244,16 @@ public class ScatterChartController {
         return mv;
     }
 
+    private ModelAndView createScatterDataV1(ColumnarScatterData scatterData, boolean complete) {
+        ModelAndView mv = new ModelAndView();
+
+        mv.addObject("resultFrom", scatterData.getOldestAcceptedTime());
+        mv.addObject("resultTo", scatterData.getLatestAcceptedTime());
+
+        mv.addObject("complete", complete);
+        mv.addObject("scatter", scatterData);
+
+        return mv;
+    }
+
 }
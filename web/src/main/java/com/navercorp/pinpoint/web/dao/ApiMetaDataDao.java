@@ -25,4 +25,9 @@ import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
  */
 public interface ApiMetaDataDao {
     List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId);
+
+    /**
+     * Fetches the metadata of every key in one round trip. The result is in the same order as {@code apiMetaDataKeys}.
+     */
+    List<List<ApiMetaDataBo>> getApiMetaDataList(List<ApiMetaDataBo> apiMetaDataKeys);
 }
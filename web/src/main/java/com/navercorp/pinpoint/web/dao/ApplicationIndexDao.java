@@ -31,6 +31,11 @@ public interface ApplicationIndexDao {
 
     List<String> selectAgentIds(String applicationName);
 
+    /**
+     * Returns the agent ids of every application, read with a single scan of the application index.
+     */
+    Map<String, List<String>> selectAllAgentIds();
+
     void deleteApplicationName(String applicationName);
 
     void deleteAgentIds(Map<String, List<String>> applicationAgentIdMap);
@@ -25,4 +25,9 @@ import java.util.List;
  */
 public interface SqlMetaDataDao {
     List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int sqlId);
+
+    /**
+     * Fetches the metadata of every key in one round trip. The result is in the same order as {@code sqlMetaDataKeys}.
+     */
+    List<List<SqlMetaDataBo>> getSqlMetaDataList(List<SqlMetaDataBo> sqlMetaDataKeys);
 }
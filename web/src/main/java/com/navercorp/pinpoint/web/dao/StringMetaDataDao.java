@@ -25,4 +25,9 @@ import java.util.List;
  */
 public interface StringMetaDataDao {
     List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId);
+
+    /**
+     * Fetches the metadata of every key in one round trip. The result is in the same order as {@code stringMetaDataKeys}.
+     */
+    List<List<StringMetaDataBo>> getStringMetaDataList(List<StringMetaDataBo> stringMetaDataKeys);
 }
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
@@ -23,6 +24,8 @@ import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
@@ -39,6 +42,7 @@ import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
 @Repository
 public class HbaseApiMetaDataDao implements ApiMetaDataDao {
     static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #apiId.toString()";
+    static final String CACHE_NAME = "apiMetaData";
     
     @Autowired
     private HbaseOperations2 hbaseOperations2;
@@ -51,8 +55,11 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
     @Qualifier("metadataRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
     @Override
-    @Cacheable(value="apiMetaData", key=SPEL_KEY)
+    @Cacheable(value=CACHE_NAME, key=SPEL_KEY, unless="#result.isEmpty()")
     public List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
@@ -65,6 +72,24 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         return hbaseOperations2.get(HBaseTables.API_METADATA, get, apiMetaDataMapper);
     }
 
+    @Override
+    public List<List<ApiMetaDataBo>> getApiMetaDataList(List<ApiMetaDataBo> apiMetaDataKeys) {
+        if (apiMetaDataKeys == null) {
+            throw new NullPointerException("apiMetaDataKeys must not be null");
+        }
+
+        List<String> cacheKeys = new ArrayList<>(apiMetaDataKeys.size());
+        List<Get> gets = new ArrayList<>(apiMetaDataKeys.size());
+        for (ApiMetaDataBo apiMetaDataKey : apiMetaDataKeys) {
+            cacheKeys.add(MetaDataMultiGet.cacheKey(apiMetaDataKey.getAgentId(), apiMetaDataKey.getStartTime(), apiMetaDataKey.getApiId()));
+            Get get = new Get(getDistributedKey(apiMetaDataKey.toRowKey()));
+            get.addFamily(HBaseTables.API_METADATA_CF_API);
+            gets.add(get);
+        }
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(CACHE_NAME);
+        return MetaDataMultiGet.get(hbaseOperations2, HBaseTables.API_METADATA, apiMetaDataMapper, cache, cacheKeys, gets);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.dao.hbase;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +26,8 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +36,7 @@ import org.springframework.stereotype.Repository;
 
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.dao.ApplicationIndexDao;
 import com.navercorp.pinpoint.web.vo.Application;
@@ -80,6 +84,14 @@ public class HbaseApplicationIndexDao implements ApplicationIndexDao {
         return hbaseOperations2.get(HBaseTables.APPLICATION_INDEX, get, agentIdMapper);
     }
 
+    @Override
+    public Map<String, List<String>> selectAllAgentIds() {
+        Scan scan = new Scan();
+        scan.setCaching(30);
+        scan.addFamily(HBaseTables.APPLICATION_INDEX_CF_AGENTS);
+        return hbaseOperations2.find(HBaseTables.APPLICATION_INDEX, scan, new ApplicationAgentIdsResultsExtractor(agentIdMapper));
+    }
+
     @Override
     public void deleteApplicationName(String applicationName) {
         byte[] rowKey = Bytes.toBytes(applicationName);
@@ -129,4 +141,24 @@ public class HbaseApplicationIndexDao implements ApplicationIndexDao {
         delete.addColumns(HBaseTables.APPLICATION_INDEX_CF_AGENTS, qualifier);
         hbaseOperations2.delete(HBaseTables.APPLICATION_INDEX, delete);
     }
+
+    private static class ApplicationAgentIdsResultsExtractor implements ResultsExtractor<Map<String, List<String>>> {
+
+        private final RowMapper<List<String>> agentIdMapper;
+
+        private ApplicationAgentIdsResultsExtractor(RowMapper<List<String>> agentIdMapper) {
+            this.agentIdMapper = agentIdMapper;
+        }
+
+        @Override
+        public Map<String, List<String>> extractData(ResultScanner results) throws Exception {
+            Map<String, List<String>> applicationAgentIds = new HashMap<>();
+            int rowNum = 0;
+            for (Result result : results) {
+                String applicationName = Bytes.toString(result.getRow());
+                applicationAgentIds.put(applicationName, agentIdMapper.mapRow(result, rowNum++));
+            }
+            return applicationAgentIds;
+        }
+    }
 }
@@ -30,16 +30,15 @@ import com.navercorp.pinpoint.common.util.TimeUtils;
 import com.navercorp.pinpoint.common.util.TransactionId;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.mapper.TraceIndexScatterMapper2;
-import com.navercorp.pinpoint.web.mapper.TraceIndexScatterMapper3;
+import com.navercorp.pinpoint.web.mapper.TraceIndexScatterResultsExtractor;
 import com.navercorp.pinpoint.web.mapper.TransactionIdMapper;
-import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.scatter.ColumnarScatterData;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.ResponseTimeRange;
 import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
 import com.navercorp.pinpoint.web.vo.scatter.Dot;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Result;
@@ -55,6 +54,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
@@ -88,10 +88,18 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
     private int scanCacheSize = 256;
 
+    // scan every salt partition at once and merge them in time order, so the limit cuts off at an exact time
+    @Value("#{pinpointWebProps['web.hbase.applicationTraceIndex.mergedScan.enable'] ?: false}")
+    private boolean mergedScan = false;
+
     public void setScanCacheSize(int scanCacheSize) {
         this.scanCacheSize = scanCacheSize;
     }
 
+    public void setMergedScan(boolean mergedScan) {
+        this.mergedScan = mergedScan;
+    }
+
     @Override
     public LimitedScanResult<List<TransactionId>> scanTraceIndex(final String applicationName, Range range, int limit, boolean scanBackward) {
         if (applicationName == null) {
@@ -108,8 +116,7 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
         final LimitedScanResult<List<TransactionId>> limitedScanResult = new LimitedScanResult<>();
         LastRowAccessor lastRowAccessor = new LastRowAccessor();
-        List<List<TransactionId>> traceIndexList = hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX,
-                scan, traceIdRowKeyDistributor, limit, traceIndexMapper, lastRowAccessor, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
+        List<List<TransactionId>> traceIndexList = findTraceIndex(scan, limit, lastRowAccessor);
 
         List<TransactionId> transactionIdSum = new ArrayList<>(128);
         for(List<TransactionId> transactionId: traceIndexList) {
@@ -149,8 +156,7 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
         final LimitedScanResult<List<TransactionId>> limitedScanResult = new LimitedScanResult<>();
         LastRowAccessor lastRowAccessor = new LastRowAccessor();
-        List<List<TransactionId>> traceIndexList = hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX,
-                scan, traceIdRowKeyDistributor, limit, traceIndexMapper, lastRowAccessor, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
+        List<List<TransactionId>> traceIndexList = findTraceIndex(scan, limit, lastRowAccessor);
 
         List<TransactionId> transactionIdSum = new ArrayList<>(128);
         for(List<TransactionId> transactionId: traceIndexList) {
@@ -174,6 +180,14 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         return limitedScanResult;
     }
 
+    private List<List<TransactionId>> findTraceIndex(Scan scan, int limit, LastRowAccessor lastRowAccessor) {
+        if (mergedScan) {
+            return hbaseOperations2.findParallelMerged(HBaseTables.APPLICATION_TRACE_INDEX, scan, traceIdRowKeyDistributor, limit, traceIndexMapper, lastRowAccessor);
+        }
+        return hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX,
+                scan, traceIdRowKeyDistributor, limit, traceIndexMapper, lastRowAccessor, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
+    }
+
     private class LastRowAccessor implements LimitEventHandler {
         private Long lastRowTimestamp = -1L;
         private TransactionId lastTransactionId = null;
@@ -280,7 +294,7 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
     }
 
     @Override
-    public ScatterData scanTraceScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean scanBackward) {
+    public ColumnarScatterData scanTraceScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean scanBackward) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -293,19 +307,12 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         logger.debug("scanTraceScatterDataMadeOfDotGroup");
         Scan scan = createScan(applicationName, range, scanBackward);
 
-        TraceIndexScatterMapper3 mapper = new TraceIndexScatterMapper3(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
-        List<ScatterData> dotGroupList = hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX, scan, traceIdRowKeyDistributor, limit, mapper, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
-
-        if (CollectionUtils.isEmpty(dotGroupList)) {
-            return new ScatterData(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
-        } else {
-            ScatterData firstScatterData = dotGroupList.get(0);
-            for (int i = 1; i < dotGroupList.size(); i++) {
-                firstScatterData.merge(dotGroupList.get(i));
-            }
-
-            return firstScatterData;
+        // decode every row into a single columnar accumulator instead of merging one ScatterData per row
+        TraceIndexScatterResultsExtractor extractor = new TraceIndexScatterResultsExtractor(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit, limit);
+        if (mergedScan) {
+            return hbaseOperations2.findParallelMerged(HBaseTables.APPLICATION_TRACE_INDEX, scan, traceIdRowKeyDistributor, extractor);
         }
+        return hbaseOperations2.findParallel(HBaseTables.APPLICATION_TRACE_INDEX, scan, traceIdRowKeyDistributor, extractor, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
     }
 
     /**
@@ -20,7 +20,10 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.util.TimeSlot;
 import com.navercorp.pinpoint.web.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.RangeFactory;
@@ -32,11 +35,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Reads minute rows, or the 5 minute / 1 hour rolled-up rows written by the collector when rollup is enabled.
+ * The resolution follows the {@link TimeWindow} slot size the histogram builders use for the same range,
+ * so every rolled-up row falls into exactly one window slot. Rolled-up rows are only read for slots lying completely
+ * inside the range, the edges are read from minute rows so that totals match those of the minute rows.
+ *
  * @author netspider
  * @author emeroad
  */
@@ -64,6 +74,8 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
     @Qualifier("statisticsSelfRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Value("#{pinpointWebProps['web.hbase.mapStatisticsSelf.rollup.enable'] ?: false}")
+    private boolean rollup;
 
     @Override
     public List<ResponseTime> selectResponseTime(Application application, Range range) {
@@ -74,22 +86,67 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
             logger.debug("selectResponseTime applicationName:{}, {}", application, range);
         }
 
-        Scan scan = createScan(application, range, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER);
-
-        List<ResponseTime> responseTimeList = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_SELF_VER2, scan, rowKeyDistributorByHashPrefix, responseTimeMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
+        final List<ResponseTime> responseTimeList = new ArrayList<>();
+        for (Scan scan : createScans(application, range)) {
+            responseTimeList.addAll(hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_SELF_VER2, scan, rowKeyDistributorByHashPrefix, responseTimeMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS));
+        }
         if (logger.isDebugEnabled()) {
             logger.debug("Self data {}", responseTimeList);
         }
+        return responseTimeList;
+    }
+
+    private Scan createScan(Application application, Range range, byte[] family) {
+        range = rangeFactory.createStatisticsRange(range);
+        return createScan(application, family, range);
+    }
 
-        if (!responseTimeList.isEmpty()) {
-            return responseTimeList;
+    private List<Scan> createScans(Application application, Range range) {
+        if (!rollup) {
+            return Collections.singletonList(createScan(application, range, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER));
+        }
+        final Resolution resolution = Resolution.of(new TimeWindow(range).getWindowSlotSize());
+        if (resolution == Resolution.MINUTE) {
+            return Collections.singletonList(createScan(application, range, resolution.getFamily()));
+        }
+        final List<Scan> scans = new ArrayList<>();
+        for (ScanRange scanRange : splitScanRange(range, resolution)) {
+            scans.add(createScan(application, scanRange.getResolution().getFamily(), scanRange.getRange()));
         }
+        return scans;
+    }
 
-        return new ArrayList<>();
+    /**
+     * rolled-up rows are read only for the slots the minute range of {@link RangeFactory#createStatisticsRange(Range)} covers completely,
+     * the partially covered slots at both ends are read from minute rows.
+     * like createStatisticsRange, the returned ranges are reversed : from is exclusive and to is inclusive.
+     */
+    static List<ScanRange> splitScanRange(Range range, Resolution resolution) {
+        final TimeSlot minuteSlot = Resolution.MINUTE.getTimeSlot();
+        final long minuteFrom = minuteSlot.getTimeSlot(range.getFrom());
+        final long minuteTo = minuteSlot.getTimeSlot(range.getTo());
+
+        final TimeSlot rollupSlot = resolution.getTimeSlot();
+        // first rollup slot starting in the range, and end of the last one ending in it
+        final long rollupFrom = rollupSlot.getTimeSlot(minuteFrom + resolution.getSize() - 1);
+        final long rollupTo = rollupSlot.getTimeSlot(minuteTo + Resolution.MINUTE.getSize());
+
+        final List<ScanRange> scanRanges = new ArrayList<>(3);
+        if (rollupFrom >= rollupTo) {
+            scanRanges.add(new ScanRange(Resolution.MINUTE, Range.createUncheckedRange(minuteFrom - 1, minuteTo)));
+            return scanRanges;
+        }
+        if (minuteFrom < rollupFrom) {
+            scanRanges.add(new ScanRange(Resolution.MINUTE, Range.createUncheckedRange(minuteFrom - 1, rollupFrom - Resolution.MINUTE.getSize())));
+        }
+        scanRanges.add(new ScanRange(resolution, Range.createUncheckedRange(rollupFrom - 1, rollupTo - resolution.getSize())));
+        if (rollupTo <= minuteTo) {
+            scanRanges.add(new ScanRange(Resolution.MINUTE, Range.createUncheckedRange(rollupTo - 1, minuteTo)));
+        }
+        return scanRanges;
     }
 
-    private Scan createScan(Application application, Range range, byte[] family) {
-        range = rangeFactory.createStatisticsRange(range);
+    private Scan createScan(Application application, byte[] family, Range range) {
         if (logger.isDebugEnabled()) {
             logger.debug("scan time:{} ", range.prettyToString());
         }
@@ -107,4 +164,68 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
 
         return scan;
     }
-}
\ No newline at end of file
+
+    static class ScanRange {
+        private final Resolution resolution;
+        private final Range range;
+
+        ScanRange(Resolution resolution, Range range) {
+            this.resolution = resolution;
+            this.range = range;
+        }
+
+        Resolution getResolution() {
+            return resolution;
+        }
+
+        Range getRange() {
+            return range;
+        }
+
+        @Override
+        public String toString() {
+            return resolution + " " + range.prettyToString();
+        }
+    }
+
+    enum Resolution {
+        MINUTE(TimeUnit.MINUTES.toMillis(1), HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER),
+        FIVE_MINUTES(TimeUnit.MINUTES.toMillis(5), HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER_5M),
+        ONE_HOUR(TimeUnit.HOURS.toMillis(1), HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER_1H);
+
+        private final long size;
+        private final byte[] family;
+        private final TimeSlot timeSlot;
+
+        Resolution(long size, byte[] family) {
+            this.size = size;
+            this.family = family;
+            this.timeSlot = new DefaultTimeSlot(size);
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        byte[] getFamily() {
+            return family;
+        }
+
+        TimeSlot getTimeSlot() {
+            return timeSlot;
+        }
+
+        /**
+         * coarsest resolution whose rows never straddle a window slot of the given size
+         */
+        static Resolution of(long windowSlotSize) {
+            if (windowSlotSize % ONE_HOUR.size == 0) {
+                return ONE_HOUR;
+            }
+            if (windowSlotSize % FIVE_MINUTES.size == 0) {
+                return FIVE_MINUTES;
+            }
+            return MINUTE;
+        }
+    }
+}
@@ -16,12 +16,16 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 
 import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
@@ -35,6 +39,8 @@ import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
  */
 //@Repository
 public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
+    static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #sqlId.toString()";
+    static final String CACHE_NAME = "sqlMetaData";
 
     @Autowired
     private HbaseOperations2 hbaseOperations2;
@@ -47,7 +53,11 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
 //    @Qualifier("metadataRowKeyDistributor2")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
     @Override
+    @Cacheable(value=CACHE_NAME, key=SPEL_KEY, unless="#result.isEmpty()")
     public List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int sqlId) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
@@ -62,6 +72,24 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         return hbaseOperations2.get(HBaseTables.SQL_METADATA_VER2, get, sqlMetaDataMapper);
     }
 
+    @Override
+    public List<List<SqlMetaDataBo>> getSqlMetaDataList(List<SqlMetaDataBo> sqlMetaDataKeys) {
+        if (sqlMetaDataKeys == null) {
+            throw new NullPointerException("sqlMetaDataKeys must not be null");
+        }
+
+        List<String> cacheKeys = new ArrayList<>(sqlMetaDataKeys.size());
+        List<Get> gets = new ArrayList<>(sqlMetaDataKeys.size());
+        for (SqlMetaDataBo sqlMetaDataKey : sqlMetaDataKeys) {
+            cacheKeys.add(MetaDataMultiGet.cacheKey(sqlMetaDataKey.getAgentId(), sqlMetaDataKey.getStartTime(), sqlMetaDataKey.getSqlId()));
+            Get get = new Get(getDistributedKey(sqlMetaDataKey.toRowKey()));
+            get.addFamily(HBaseTables.SQL_METADATA_VER2_CF_SQL);
+            gets.add(get);
+        }
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(CACHE_NAME);
+        return MetaDataMultiGet.get(hbaseOperations2, HBaseTables.SQL_METADATA_VER2, sqlMetaDataMapper, cache, cacheKeys, gets);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
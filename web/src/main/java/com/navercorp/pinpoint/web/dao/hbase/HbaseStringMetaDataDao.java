@@ -26,8 +26,12 @@ import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.client.Get;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -35,6 +39,8 @@ import java.util.List;
  */
 @Repository
 public class HbaseStringMetaDataDao implements StringMetaDataDao {
+    static final String SPEL_KEY = "#agentId.toString() + '.' + #time.toString() + '.' + #stringId.toString()";
+    static final String CACHE_NAME = "stringMetaData";
 
     @Autowired
     private HbaseOperations2 hbaseOperations2;
@@ -47,7 +53,11 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
     @Qualifier("metadataRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
     @Override
+    @Cacheable(value=CACHE_NAME, key=SPEL_KEY, unless="#result.isEmpty()")
     public List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
@@ -62,6 +72,24 @@ public class HbaseStringMetaDataDao implements StringMetaDataDao {
         return hbaseOperations2.get(HBaseTables.STRING_METADATA, get, stringMetaDataMapper);
     }
 
+    @Override
+    public List<List<StringMetaDataBo>> getStringMetaDataList(List<StringMetaDataBo> stringMetaDataKeys) {
+        if (stringMetaDataKeys == null) {
+            throw new NullPointerException("stringMetaDataKeys must not be null");
+        }
+
+        List<String> cacheKeys = new ArrayList<>(stringMetaDataKeys.size());
+        List<Get> gets = new ArrayList<>(stringMetaDataKeys.size());
+        for (StringMetaDataBo stringMetaDataKey : stringMetaDataKeys) {
+            cacheKeys.add(MetaDataMultiGet.cacheKey(stringMetaDataKey.getAgentId(), stringMetaDataKey.getStartTime(), stringMetaDataKey.getStringId()));
+            Get get = new Get(getDistributedKey(stringMetaDataKey.toRowKey()));
+            get.addFamily(HBaseTables.STRING_METADATA_CF_STR);
+            gets.add(get);
+        }
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(CACHE_NAME);
+        return MetaDataMultiGet.get(hbaseOperations2, HBaseTables.STRING_METADATA, stringMetaDataMapper, cache, cacheKeys, gets);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
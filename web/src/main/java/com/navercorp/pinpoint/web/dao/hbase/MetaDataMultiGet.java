@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves several metadata rows with a single multi-get.
+ * Rows found in the cache are not fetched, and fetched rows are put back using the same key as the single row {@code @Cacheable} lookups.
+ * Empty rows are not cached, metadata may be written after the first lookup.
+ */
+final class MetaDataMultiGet {
+
+    private MetaDataMultiGet() {
+    }
+
+    static String cacheKey(String agentId, long time, int id) {
+        return agentId + '.' + time + '.' + id;
+    }
+
+    static <T> List<List<T>> get(HbaseOperations2 hbaseOperations2, TableName tableName, RowMapper<List<T>> rowMapper,
+                                 Cache cache, List<String> cacheKeys, List<Get> gets) {
+        if (cacheKeys.size() != gets.size()) {
+            throw new IllegalArgumentException("cacheKeys and gets size mismatch");
+        }
+
+        final int size = gets.size();
+        final List<List<T>> result = new ArrayList<List<T>>(size);
+        final List<Integer> missIndexes = new ArrayList<Integer>(size);
+        final List<Get> missGets = new ArrayList<Get>(size);
+        for (int i = 0; i < size; i++) {
+            final List<T> cached = getCached(cache, cacheKeys.get(i));
+            result.add(cached);
+            if (cached == null) {
+                missIndexes.add(i);
+                missGets.add(gets.get(i));
+            }
+        }
+        if (missGets.isEmpty()) {
+            return result;
+        }
+
+        final List<List<T>> fetched = hbaseOperations2.get(tableName, missGets, rowMapper);
+        for (int i = 0; i < missIndexes.size(); i++) {
+            final int index = missIndexes.get(i);
+            final List<T> value = fetched.get(i);
+            result.set(index, value);
+            if (cache != null && value != null && !value.isEmpty()) {
+                cache.put(cacheKeys.get(index), value);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> getCached(Cache cache, String cacheKey) {
+        if (cache == null) {
+            return null;
+        }
+        final Cache.ValueWrapper valueWrapper = cache.get(cacheKey);
+        if (valueWrapper == null) {
+            return null;
+        }
+        return (List<T>) valueWrapper.get();
+    }
+}
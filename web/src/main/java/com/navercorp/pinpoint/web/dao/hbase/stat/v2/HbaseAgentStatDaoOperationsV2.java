@@ -27,6 +27,9 @@ import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
 import com.navercorp.pinpoint.web.mapper.RangeTimestampFilter;
 import com.navercorp.pinpoint.web.mapper.TimestampFilter;
 import com.navercorp.pinpoint.web.mapper.stat.AgentStatMapperV2;
+import com.navercorp.pinpoint.web.util.RequestCoalescer;
+import com.navercorp.pinpoint.web.service.RequestCoalescerRegistry;
+import com.navercorp.pinpoint.web.util.RequestKey;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
 import org.apache.hadoop.hbase.client.Scan;
@@ -35,8 +38,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * @author HyunGil Jeong
@@ -55,7 +60,18 @@ public class HbaseAgentStatDaoOperationsV2 {
     @Autowired
     private AgentStatHbaseOperationFactory operationFactory;
 
-    <T extends AgentStatDataPoint> List<T> getAgentStatList(AgentStatType agentStatType, AgentStatMapperV2<T> mapper, String agentId, Range range) {
+    @Autowired
+    private RequestCoalescerRegistry requestCoalescerRegistry;
+
+    private RequestCoalescer<RequestKey, List<? extends AgentStatDataPoint>> agentStatCoalescer;
+
+    @PostConstruct
+    public void init() {
+        this.agentStatCoalescer = requestCoalescerRegistry.newRequestCoalescer("agentStat");
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends AgentStatDataPoint> List<T> getAgentStatList(final AgentStatType agentStatType, final AgentStatMapperV2<T> mapper, final String agentId, final Range range) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
         }
@@ -63,6 +79,18 @@ public class HbaseAgentStatDaoOperationsV2 {
             throw new NullPointerException("range must not be null");
         }
 
+        RequestKey requestKey = new RequestKey(agentStatType, agentId, range.getFrom(), range.getTo());
+        List<? extends AgentStatDataPoint> agentStatList = agentStatCoalescer.execute(requestKey, new Callable<List<? extends AgentStatDataPoint>>() {
+            @Override
+            public List<? extends AgentStatDataPoint> call() throws Exception {
+                return getAgentStatList0(agentStatType, mapper, agentId, range);
+            }
+        });
+        // shared by coalesced requests
+        return new ArrayList<>((List<T>) agentStatList);
+    }
+
+    private <T extends AgentStatDataPoint> List<T> getAgentStatList0(AgentStatType agentStatType, AgentStatMapperV2<T> mapper, String agentId, Range range) {
         Scan scan = this.createScan(agentStatType, agentId, range);
 
         List<List<T>> intermediate = hbaseOperations2.findParallel(HBaseTables.AGENT_STAT_VER2, scan, this.operationFactory.getRowKeyDistributor(), mapper, AGENT_STAT_VER2_NUM_PARTITIONS);
@@ -64,7 +64,7 @@ public class ResponseTimeMapper implements RowMapper<ResponseTime> {
 
         ResponseTime responseTime = createResponseTime(rowKey);
         for (Cell cell : result.rawCells()) {
-            if (CellUtil.matchingFamily(cell, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER)) {
+            if (isCounterFamily(cell)) {
                 recordColumn(responseTime, cell);
             }
 
@@ -75,6 +75,13 @@ public class ResponseTimeMapper implements RowMapper<ResponseTime> {
         return responseTime;
     }
 
+    private boolean isCounterFamily(Cell cell) {
+        // minute rows and rolled-up rows share the same row key and qualifier layout
+        return CellUtil.matchingFamily(cell, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER)
+                || CellUtil.matchingFamily(cell, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER_5M)
+                || CellUtil.matchingFamily(cell, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER_1H);
+    }
+
     void recordColumn(ResponseTime responseTime, Cell cell) {
 
         final byte[] qArray = cell.getQualifierArray();
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.scatter;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.navercorp.pinpoint.web.view.ColumnarScatterDataSerializer;
+import com.navercorp.pinpoint.web.vo.scatter.Dot;
+import com.navercorp.pinpoint.web.vo.scatter.DotAgentInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scatter data kept in parallel primitive arrays instead of a {@link Dot} per transaction.
+ * Dots are binned into x/y group units as they are added, so serialization only needs one sort of the dot indexes.
+ */
+@JsonSerialize(using = ColumnarScatterDataSerializer.class)
+public class ColumnarScatterData {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final long from;
+    private final long to;
+    private final int xGroupUnitMillis;
+    private final int yGroupUnitMillis;
+
+    // dot columns
+    private int size;
+    private long[] acceptedTimeDiff;
+    private int[] elapsedTime;
+    private int[] agentIndex;
+    private long[] transactionSequence;
+    private boolean[] error;
+    private int[] groupIndex;
+
+    // group columns, open addressing table of group keys
+    private int groupCount;
+    private int[] groupSize;
+    private int[] groupLeader;
+    private long[] groupKeyTable;
+    private int[] groupIndexTable;
+
+    private final Map<DotAgentInfo, Integer> agentIndexMap = new HashMap<>();
+    private final List<DotAgentInfo> agentList = new ArrayList<>();
+
+    private long oldestAcceptedTime = Long.MAX_VALUE;
+    private long latestAcceptedTime = Long.MIN_VALUE;
+
+    public ColumnarScatterData(long from, long to, int xGroupUnitMillis, int yGroupUnitMillis) {
+        if (from <= 0) {
+            throw new IllegalArgumentException("from value must be higher than 0");
+        }
+        if (from > to) {
+            throw new IllegalArgumentException("from value must be lower or equal to to value");
+        }
+        if (xGroupUnitMillis <= 0) {
+            throw new IllegalArgumentException("xGroupUnitMillis must be positive");
+        }
+        if (yGroupUnitMillis <= 0) {
+            throw new IllegalArgumentException("yGroupUnitMillis must be positive");
+        }
+
+        this.from = from;
+        this.to = to;
+        this.xGroupUnitMillis = xGroupUnitMillis;
+        this.yGroupUnitMillis = yGroupUnitMillis;
+
+        this.acceptedTimeDiff = new long[DEFAULT_CAPACITY];
+        this.elapsedTime = new int[DEFAULT_CAPACITY];
+        this.agentIndex = new int[DEFAULT_CAPACITY];
+        this.transactionSequence = new long[DEFAULT_CAPACITY];
+        this.error = new boolean[DEFAULT_CAPACITY];
+        this.groupIndex = new int[DEFAULT_CAPACITY];
+
+        this.groupSize = new int[DEFAULT_CAPACITY];
+        this.groupLeader = new int[DEFAULT_CAPACITY];
+        this.groupKeyTable = new long[DEFAULT_CAPACITY * 2];
+        this.groupIndexTable = new int[DEFAULT_CAPACITY * 2];
+    }
+
+    /**
+     * @return index of the agent to pass to {@link #addDot(long, int, int, long, int)}
+     */
+    public int getAgentIndex(String agentId, String transactionAgentId, long transactionAgentStartTime) {
+        final DotAgentInfo dotAgentInfo = new DotAgentInfo(agentId, transactionAgentId, transactionAgentStartTime);
+        final Integer index = agentIndexMap.get(dotAgentInfo);
+        if (index != null) {
+            return index;
+        }
+        final int newIndex = agentList.size();
+        agentList.add(dotAgentInfo);
+        agentIndexMap.put(dotAgentInfo, newIndex);
+        return newIndex;
+    }
+
+    public void addDot(long acceptedTime, int elapsedTime, int agentIndex, long transactionSequence, int exceptionCode) {
+        if (agentIndex < 0 || agentIndex >= agentList.size()) {
+            throw new IllegalArgumentException("unknown agentIndex:" + agentIndex);
+        }
+        ensureDotCapacity(size + 1);
+
+        final long acceptedTimeDiff = acceptedTime - from;
+        final boolean error = exceptionCode != Dot.EXCEPTION_NONE;
+
+        final int index = size++;
+        this.acceptedTimeDiff[index] = acceptedTimeDiff;
+        this.elapsedTime[index] = elapsedTime;
+        this.agentIndex[index] = agentIndex;
+        this.transactionSequence[index] = transactionSequence;
+        this.error[index] = error;
+        this.groupIndex[index] = addToGroup(groupKey(acceptedTimeDiff, elapsedTime, error), index);
+
+        if (oldestAcceptedTime > acceptedTime) {
+            oldestAcceptedTime = acceptedTime;
+        }
+        if (latestAcceptedTime < acceptedTime) {
+            latestAcceptedTime = acceptedTime;
+        }
+    }
+
+    private long groupKey(long acceptedTimeDiff, int elapsedTime, boolean error) {
+        final long x = Math.max(acceptedTimeDiff / xGroupUnitMillis, 0L);
+        final long y = Math.max(elapsedTime / yGroupUnitMillis, 0);
+        return (x << 32) | (y << 1) | (error ? 1 : 0);
+    }
+
+    private int addToGroup(long groupKey, int dotIndex) {
+        int slot = slotOf(groupKey, groupKeyTable.length);
+        while (groupIndexTable[slot] != 0) {
+            if (groupKeyTable[slot] == groupKey) {
+                final int group = groupIndexTable[slot] - 1;
+                groupSize[group]++;
+                return group;
+            }
+            slot = (slot + 1) & (groupKeyTable.length - 1);
+        }
+
+        final int group = groupCount++;
+        if (group == groupSize.length) {
+            groupSize = Arrays.copyOf(groupSize, group * 2);
+            groupLeader = Arrays.copyOf(groupLeader, group * 2);
+        }
+        groupSize[group] = 1;
+        groupLeader[group] = dotIndex;
+        groupKeyTable[slot] = groupKey;
+        groupIndexTable[slot] = group + 1;
+
+        // keep the table at most half full
+        if (groupCount * 2 > groupKeyTable.length) {
+            rehashGroups();
+        }
+        return group;
+    }
+
+    private void rehashGroups() {
+        final long[] oldKeyTable = groupKeyTable;
+        final int[] oldIndexTable = groupIndexTable;
+        final int capacity = oldKeyTable.length * 2;
+        groupKeyTable = new long[capacity];
+        groupIndexTable = new int[capacity];
+        for (int i = 0; i < oldKeyTable.length; i++) {
+            if (oldIndexTable[i] == 0) {
+                continue;
+            }
+            int slot = slotOf(oldKeyTable[i], capacity);
+            while (groupIndexTable[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            groupKeyTable[slot] = oldKeyTable[i];
+            groupIndexTable[slot] = oldIndexTable[i];
+        }
+    }
+
+    private static int slotOf(long key, int capacity) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+
+    private void ensureDotCapacity(int capacity) {
+        if (capacity <= acceptedTimeDiff.length) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, acceptedTimeDiff.length * 2);
+        acceptedTimeDiff = Arrays.copyOf(acceptedTimeDiff, newCapacity);
+        elapsedTime = Arrays.copyOf(elapsedTime, newCapacity);
+        agentIndex = Arrays.copyOf(agentIndex, newCapacity);
+        transactionSequence = Arrays.copyOf(transactionSequence, newCapacity);
+        error = Arrays.copyOf(error, newCapacity);
+        groupIndex = Arrays.copyOf(groupIndex, newCapacity);
+    }
+
+    /**
+     * @return dot indexes, latest accepted time first
+     */
+    public int[] getSortedDotIndexes() {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        int[] buffer = new int[size];
+        // bottom-up merge sort, stable for dots accepted at the same time
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size - width; low += width * 2) {
+                merge(indexes, buffer, low, low + width, Math.min(low + width * 2, size));
+            }
+        }
+        return indexes;
+    }
+
+    private void merge(int[] indexes, int[] buffer, int low, int middle, int high) {
+        System.arraycopy(indexes, low, buffer, low, high - low);
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+            if (right >= high || (left < middle && acceptedTimeDiff[buffer[left]] >= acceptedTimeDiff[buffer[right]])) {
+                indexes[i] = buffer[left++];
+            } else {
+                indexes[i] = buffer[right++];
+            }
+        }
+    }
+
+    public int getDotSize() {
+        return size;
+    }
+
+    public long getAcceptedTimeDiff(int dotIndex) {
+        return acceptedTimeDiff[dotIndex];
+    }
+
+    public int getElapsedTime(int dotIndex) {
+        return elapsedTime[dotIndex];
+    }
+
+    public int getAgentIndex(int dotIndex) {
+        return agentIndex[dotIndex];
+    }
+
+    public long getTransactionSequence(int dotIndex) {
+        return transactionSequence[dotIndex];
+    }
+
+    public int getSimpleExceptionCode(int dotIndex) {
+        return error[dotIndex] ? Dot.FAILED_STATE : Dot.SUCCESS_STATE;
+    }
+
+    /**
+     * @return size of the dot's group if the dot is the first one added to it, otherwise 0
+     */
+    public int getThick(int dotIndex) {
+        final int group = groupIndex[dotIndex];
+        if (groupLeader[group] != dotIndex) {
+            return 0;
+        }
+        return groupSize[group];
+    }
+
+    public List<DotAgentInfo> getAgentList() {
+        return agentList;
+    }
+
+    public long getFrom() {
+        return from;
+    }
+
+    public long getTo() {
+        return to;
+    }
+
+    public long getOldestAcceptedTime() {
+        if (oldestAcceptedTime == Long.MAX_VALUE) {
+            return -1;
+        }
+        return oldestAcceptedTime;
+    }
+
+    public long getLatestAcceptedTime() {
+        if (latestAcceptedTime == Long.MIN_VALUE) {
+            return -1;
+        }
+        return latestAcceptedTime;
+    }
+
+}
@@ -40,13 +40,16 @@ import org.apache.commons.collections.PredicateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -58,6 +61,8 @@ import java.util.TreeMap;
 @Service
 public class AgentInfoServiceImpl implements AgentInfoService {
 
+    private static final int AGENT_INVENTORY_CHUNK_SIZE = 500;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
@@ -72,19 +77,78 @@ public class AgentInfoServiceImpl implements AgentInfoService {
     @Autowired
     private AgentLifeCycleDao agentLifeCycleDao;
 
+    // 0 or less disables caching
+    @Value("#{pinpointWebProps['web.agentList.cache.ttl'] ?: 5000}")
+    private long agentInventoryCacheTtl;
+
+    private final Object agentInventoryLock = new Object();
+
+    private volatile AgentInventory agentInventory;
+
     @Override
     public ApplicationAgentList getApplicationAgentList(ApplicationAgentList.Key key) {
-        return this.getApplicationAgentList(key, System.currentTimeMillis());
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        return createApplicationAgentList(key, getCurrentAgentInventory());
     }
 
     @Override
     public ApplicationAgentList getApplicationAgentList(ApplicationAgentList.Key key, long timestamp) {
-        ApplicationAgentList applicationAgentList = new ApplicationAgentList();
-        List<Application> applications = applicationIndexDao.selectAllApplicationNames();
-        for (Application application : applications) {
-            applicationAgentList.merge(this.getApplicationAgentList(key, application.getName(), timestamp));
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
         }
-        return applicationAgentList;
+        return createApplicationAgentList(key, selectAgentInventory(timestamp));
+    }
+
+    private List<AgentInfo> getCurrentAgentInventory() {
+        if (agentInventoryCacheTtl <= 0) {
+            return selectAgentInventory(System.currentTimeMillis());
+        }
+        AgentInventory inventory = this.agentInventory;
+        if (inventory != null && inventory.isFresh(System.currentTimeMillis(), agentInventoryCacheTtl)) {
+            return inventory.getAgentInfos();
+        }
+        // concurrent callers share a single refresh
+        synchronized (agentInventoryLock) {
+            inventory = this.agentInventory;
+            if (inventory != null && inventory.isFresh(System.currentTimeMillis(), agentInventoryCacheTtl)) {
+                return inventory.getAgentInfos();
+            }
+            final long timestamp = System.currentTimeMillis();
+            final List<AgentInfo> agentInfos = selectAgentInventory(timestamp);
+            this.agentInventory = new AgentInventory(timestamp, agentInfos);
+            return agentInfos;
+        }
+    }
+
+    /**
+     * Reads every agent with a single application index scan instead of one lookup per application.
+     * Agent infos and statuses are fetched in chunks, each chunk being scanned in parallel.
+     */
+    private List<AgentInfo> selectAgentInventory(long timestamp) {
+        final Map<String, List<String>> applicationAgentIds = this.applicationIndexDao.selectAllAgentIds();
+        final Set<String> agentIdSet = new LinkedHashSet<>();
+        for (List<String> agentIds : applicationAgentIds.values()) {
+            agentIdSet.addAll(agentIds);
+        }
+        final List<String> agentIdList = new ArrayList<>(agentIdSet);
+
+        final List<AgentInfo> result = new ArrayList<>(agentIdList.size());
+        for (int fromIndex = 0; fromIndex < agentIdList.size(); fromIndex += AGENT_INVENTORY_CHUNK_SIZE) {
+            final int toIndex = Math.min(fromIndex + AGENT_INVENTORY_CHUNK_SIZE, agentIdList.size());
+            final List<AgentInfo> agentInfos = this.agentInfoDao.getAgentInfos(agentIdList.subList(fromIndex, toIndex), timestamp);
+            this.agentLifeCycleDao.populateAgentStatuses(agentInfos, timestamp);
+            for (AgentInfo agentInfo : agentInfos) {
+                if (agentInfo != null) {
+                    result.add(agentInfo);
+                }
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("selectAgentInventory applications:{}, agents:{}", applicationAgentIds.size(), result.size());
+        }
+        return result;
     }
 
     @Override
@@ -110,12 +174,20 @@ public class AgentInfoServiceImpl implements AgentInfoService {
             return new ApplicationAgentList(new TreeMap<String, List<AgentInfo>>());
         }
 
+        List<AgentInfo> agentInfos = this.agentInfoDao.getAgentInfos(agentIdList, timestamp);
+        this.agentLifeCycleDao.populateAgentStatuses(agentInfos, timestamp);
+        ApplicationAgentList applicationAgentList = createApplicationAgentList(applicationAgentListKey, agentInfos);
+
+        logger.info("getApplicationAgentList={}", applicationAgentList.getApplicationAgentList());
+
+        return applicationAgentList;
+    }
+
+    private ApplicationAgentList createApplicationAgentList(ApplicationAgentList.Key applicationAgentListKey, List<AgentInfo> agentInfos) {
         // key = hostname
         // value= list fo agentinfo
         SortedMap<String, List<AgentInfo>> result = new TreeMap<>();
 
-        List<AgentInfo> agentInfos = this.agentInfoDao.getAgentInfos(agentIdList, timestamp);
-        this.agentLifeCycleDao.populateAgentStatuses(agentInfos, timestamp);
         for (AgentInfo agentInfo : agentInfos) {
             if (agentInfo != null) {
                 String hostname = applicationAgentListKey.getKey(agentInfo);
@@ -133,9 +205,6 @@ public class AgentInfoServiceImpl implements AgentInfoService {
         for (List<AgentInfo> agentInfoList : result.values()) {
             Collections.sort(agentInfoList, AgentInfo.AGENT_NAME_ASC_COMPARATOR);
         }
-
-        logger.info("getApplicationAgentList={}", result);
-
         return new ApplicationAgentList(result);
     }
 
@@ -267,4 +336,23 @@ public class AgentInfoServiceImpl implements AgentInfoService {
 
         return new InspectorTimeline(agentStatusTimeline, agentEventTimeline);
     }
+
+    private static class AgentInventory {
+
+        private final long timestamp;
+        private final List<AgentInfo> agentInfos;
+
+        private AgentInventory(long timestamp, List<AgentInfo> agentInfos) {
+            this.timestamp = timestamp;
+            this.agentInfos = agentInfos;
+        }
+
+        private boolean isFresh(long now, long ttl) {
+            return now - timestamp < ttl;
+        }
+
+        private List<AgentInfo> getAgentInfos() {
+            return agentInfos;
+        }
+    }
 }
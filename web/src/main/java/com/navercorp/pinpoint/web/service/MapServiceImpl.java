@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.web.service;
 
+import com.navercorp.pinpoint.common.util.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.util.TimeSlot;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMapBuilder;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.AgentHistogramList;
@@ -25,6 +27,8 @@ import com.navercorp.pinpoint.web.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
+import com.navercorp.pinpoint.web.util.RequestCoalescer;
+import com.navercorp.pinpoint.web.util.RequestKey;
 import com.navercorp.pinpoint.web.view.ApplicationTimeHistogramViewModel;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
@@ -36,7 +40,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
 
+import javax.annotation.PostConstruct;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * @author netspider
@@ -69,17 +75,52 @@ public class MapServiceImpl implements MapService {
     @Autowired(required=false)
     private ServerMapDataFilter serverMapDataFilter;
 
+    @Autowired
+    private RequestCoalescerRegistry requestCoalescerRegistry;
+
+    private final TimeSlot timeSlot = new DefaultTimeSlot();
+
+    private RequestCoalescer<RequestKey, ApplicationMap> applicationMapCoalescer;
+
+    private RequestCoalescer<RequestKey, ApplicationTimeHistogramViewModel> responseTimeHistogramCoalescer;
+
+    @PostConstruct
+    public void init() {
+        this.applicationMapCoalescer = requestCoalescerRegistry.newRequestCoalescer("applicationMap");
+        this.responseTimeHistogramCoalescer = requestCoalescerRegistry.newRequestCoalescer("responseTimeHistogram");
+    }
+
     /**
      * Used in the main UI - draws the server map by querying the timeslot by time.
      */
     @Override
-    public ApplicationMap selectApplicationMap(Application sourceApplication, Range range, SearchOption searchOption) {
+    public ApplicationMap selectApplicationMap(final Application sourceApplication, final Range range, final SearchOption searchOption) {
         if (sourceApplication == null) {
             throw new NullPointerException("sourceApplication must not be null");
         }
         if (range == null) {
             throw new NullPointerException("range must not be null");
         }
+        if (searchOption == null) {
+            throw new NullPointerException("searchOption must not be null");
+        }
+        if (serverMapDataFilter != null) {
+            // filtered per user, can not be shared
+            return selectApplicationMap0(sourceApplication, range, searchOption);
+        }
+
+        // map statistics are stored per time slot, so requests within the same slots see the same map
+        RequestKey requestKey = new RequestKey(sourceApplication, timeSlot.getTimeSlot(range.getFrom()), timeSlot.getTimeSlot(range.getTo()),
+                searchOption.getCallerSearchDepth(), searchOption.getCalleeSearchDepth());
+        return applicationMapCoalescer.execute(requestKey, new Callable<ApplicationMap>() {
+            @Override
+            public ApplicationMap call() throws Exception {
+                return selectApplicationMap0(sourceApplication, range, searchOption);
+            }
+        });
+    }
+
+    private ApplicationMap selectApplicationMap0(Application sourceApplication, Range range, SearchOption searchOption) {
         logger.debug("SelectApplicationMap");
 
         StopWatch watch = new StopWatch("ApplicationMap");
@@ -107,9 +148,15 @@ public class MapServiceImpl implements MapService {
     }
 
     @Override
-    public ApplicationTimeHistogramViewModel selectResponseTimeHistogramData(Application application, Range range) {
-        List<ResponseTime> responseTimes = mapResponseDao.selectResponseTime(application, range);
-        return new ApplicationTimeHistogramViewModel(application, range, new AgentHistogramList(application, responseTimes));
+    public ApplicationTimeHistogramViewModel selectResponseTimeHistogramData(final Application application, final Range range) {
+        RequestKey requestKey = new RequestKey(application, timeSlot.getTimeSlot(range.getFrom()), timeSlot.getTimeSlot(range.getTo()));
+        return responseTimeHistogramCoalescer.execute(requestKey, new Callable<ApplicationTimeHistogramViewModel>() {
+            @Override
+            public ApplicationTimeHistogramViewModel call() throws Exception {
+                List<ResponseTime> responseTimes = mapResponseDao.selectResponseTime(application, range);
+                return new ApplicationTimeHistogramViewModel(application, range, new AgentHistogramList(application, responseTimes));
+            }
+        });
     }
 
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.web.util.RequestCoalescer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates the {@link RequestCoalescer}s of the web services and collects their statistics.
+ */
+@Component
+public class RequestCoalescerRegistry {
+
+    @Value("#{pinpointWebProps['web.requestCoalescing.enable'] ?: true}")
+    private boolean enable = true;
+
+    @Value("#{pinpointWebProps['web.requestCoalescing.cache.ttl'] ?: 3000}")
+    private long cacheTtlMillis = 3000;
+
+    private final List<RequestCoalescer<?, ?>> requestCoalescers = new CopyOnWriteArrayList<>();
+
+    public <K, V> RequestCoalescer<K, V> newRequestCoalescer(String name) {
+        RequestCoalescer<K, V> requestCoalescer = new RequestCoalescer<>(name, enable, cacheTtlMillis);
+        requestCoalescers.add(requestCoalescer);
+        return requestCoalescer;
+    }
+
+    public Map<String, Map<String, Long>> getStatistics() {
+        Map<String, Map<String, Long>> statistics = new TreeMap<>();
+        for (RequestCoalescer<?, ?> requestCoalescer : requestCoalescers) {
+            statistics.put(requestCoalescer.getName(), requestCoalescer.getStatistics());
+        }
+        return statistics;
+    }
+}
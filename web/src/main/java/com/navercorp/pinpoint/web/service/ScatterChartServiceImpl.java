@@ -21,7 +21,10 @@ import com.navercorp.pinpoint.common.util.TransactionId;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
 import com.navercorp.pinpoint.web.filter.Filter;
+import com.navercorp.pinpoint.web.scatter.ColumnarScatterData;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.util.RequestCoalescer;
+import com.navercorp.pinpoint.web.util.RequestKey;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.SelectedScatterArea;
 import com.navercorp.pinpoint.web.vo.TransactionMetadataQuery;
@@ -32,8 +35,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * @author netspider
@@ -51,6 +56,16 @@ public class ScatterChartServiceImpl implements ScatterChartService {
     @Qualifier("hbaseTraceDaoFactory")
     private TraceDao traceDao;
 
+    @Autowired
+    private RequestCoalescerRegistry requestCoalescerRegistry;
+
+    private RequestCoalescer<RequestKey, ColumnarScatterData> scatterDataCoalescer;
+
+    @PostConstruct
+    public void init() {
+        this.scatterDataCoalescer = requestCoalescerRegistry.newRequestCoalescer("scatterData");
+    }
+
     @Override
     public List<Dot> selectScatterData(String applicationName, SelectedScatterArea area, TransactionId offsetTransactionId, int offsetTransactionElapsed, int limit) {
         if (applicationName == null) {
@@ -137,14 +152,21 @@ public class ScatterChartServiceImpl implements ScatterChartService {
     }
 
     @Override
-    public ScatterData selectScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection) {
+    public ColumnarScatterData selectScatterData(final String applicationName, final Range range, final int xGroupUnit, final int yGroupUnit, final int limit, final boolean backwardDirection) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
         if (range == null) {
             throw new NullPointerException("range must not be null");
         }
-        return applicationTraceIndexDao.scanTraceScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection);
+        // dots are not bucketed by time slot, so only the exact same range is shared
+        RequestKey requestKey = new RequestKey(applicationName, range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit, limit, backwardDirection);
+        return scatterDataCoalescer.execute(requestKey, new Callable<ColumnarScatterData>() {
+            @Override
+            public ColumnarScatterData call() throws Exception {
+                return applicationTraceIndexDao.scanTraceScatterData(applicationName, range, xGroupUnit, yGroupUnit, limit, backwardDirection);
+            }
+        });
     }
 
     @Override
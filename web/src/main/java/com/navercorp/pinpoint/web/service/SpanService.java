@@ -23,4 +23,10 @@ import com.navercorp.pinpoint.common.util.TransactionId;
  */
 public interface SpanService {
     SpanResult selectSpan(TransactionId transactionId, long selectedSpanHint);
+
+    /**
+     * same as {@link #selectSpan(TransactionId, long)}, but keeps the aligned call tree for the following page requests.
+     * the returned call tree is shared, iterate over a {@link com.navercorp.pinpoint.web.calltree.span.CallTreeIterator#copy()} of it.
+     */
+    SpanResult selectCachedSpan(TransactionId transactionId, long selectedSpanHint);
 }
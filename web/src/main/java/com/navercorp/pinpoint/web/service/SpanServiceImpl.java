@@ -17,7 +17,10 @@
 package com.navercorp.pinpoint.web.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
@@ -50,6 +53,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
 
 /**
  * @author emeroad
@@ -84,6 +88,12 @@ public class SpanServiceImpl implements SpanService {
         this.sqlMetaDataDao = sqlMetaDataDao;
     }
 
+    @Override
+    @Cacheable(value = "callTree", key = "#transactionId.toString() + '.' + #selectedSpanHint.toString()")
+    public SpanResult selectCachedSpan(TransactionId transactionId, long selectedSpanHint) {
+        return selectSpan(transactionId, selectedSpanHint);
+    }
+
     @Override
     public SpanResult selectSpan(TransactionId transactionId, long selectedSpanHint) {
         if (transactionId == null) {
@@ -99,29 +109,88 @@ public class SpanServiceImpl implements SpanService {
         final CallTreeIterator callTreeIterator = result.getCallTree();
         final List<SpanAlign> values = callTreeIterator.values();
         
-        transitionDynamicApiId(values);
-        transitionSqlId(values);
-        transitionCachedString(values);
-        transitionException(values);
+        // fetch every metadata row of the trace up front, then resolve api, sql and string metadata in a single pass over the call tree
+        final MetaDataLookup metaDataLookup = prefetchMetaData(values);
+        transitionAnnotation(values, dynamicApiIdReplacement(metaDataLookup), sqlIdReplacement(metaDataLookup), cachedStringReplacement(metaDataLookup));
+        transitionException(values, metaDataLookup);
         // TODO need to at least show the row data when root span is not found. 
         return result;
     }
 
 
 
-    private void transitionAnnotation(List<SpanAlign> spans, AnnotationReplacementCallback annotationReplacementCallback) {
+    private void transitionAnnotation(List<SpanAlign> spans, AnnotationReplacementCallback... annotationReplacementCallbacks) {
         for (SpanAlign spanAlign : spans) {
             List<AnnotationBo> annotationBoList = spanAlign.getAnnotationBoList();
             if (annotationBoList == null) {
                 annotationBoList = new ArrayList<>();
                 spanAlign.setAnnotationBoList(annotationBoList);
             }
-            annotationReplacementCallback.replacement(spanAlign, annotationBoList);
+            for (AnnotationReplacementCallback annotationReplacementCallback : annotationReplacementCallbacks) {
+                annotationReplacementCallback.replacement(spanAlign, annotationBoList);
+            }
         }
     }
 
-    private void transitionSqlId(final List<SpanAlign> spans) {
-        this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
+    private MetaDataLookup prefetchMetaData(List<SpanAlign> spans) {
+        final Map<String, ApiMetaDataBo> apiKeys = new LinkedHashMap<>();
+        final Map<String, SqlMetaDataBo> sqlKeys = new LinkedHashMap<>();
+        final Map<String, StringMetaDataBo> stringKeys = new LinkedHashMap<>();
+        for (SpanAlign spanAlign : spans) {
+            final String agentId = spanAlign.getAgentId();
+            final long agentStartTime = spanAlign.getAgentStartTime();
+            List<AnnotationBo> annotationBoList = spanAlign.getAnnotationBoList();
+            if (annotationBoList == null) {
+                annotationBoList = new ArrayList<>();
+            }
+
+            final int apiId = spanAlign.getApiId();
+            if (apiId != 0 || AnnotationUtils.findApiAnnotation(annotationBoList) == null) {
+                apiKeys.put(metaDataKey(agentId, agentStartTime, apiId), new ApiMetaDataBo(agentId, agentStartTime, apiId));
+            }
+
+            final AnnotationBo sqlIdAnnotation = findAnnotation(annotationBoList, AnnotationKey.SQL_ID.getCode());
+            if (sqlIdAnnotation != null && !(metaDataFilter != null && metaDataFilter.filter(spanAlign, MetaData.SQL))) {
+                final int sqlId = ((IntStringStringValue) sqlIdAnnotation.getValue()).getIntValue();
+                sqlKeys.put(metaDataKey(agentId, agentStartTime, sqlId), new SqlMetaDataBo(agentId, agentStartTime, sqlId));
+            }
+
+            for (AnnotationBo annotationBo : findCachedStringAnnotation(annotationBoList)) {
+                final int stringId = (Integer) annotationBo.getValue();
+                stringKeys.put(metaDataKey(agentId, agentStartTime, stringId), new StringMetaDataBo(agentId, agentStartTime, stringId));
+            }
+            if (spanAlign.hasException()) {
+                final int exceptionId = spanAlign.getExceptionId();
+                stringKeys.put(metaDataKey(agentId, agentStartTime, exceptionId), new StringMetaDataBo(agentId, agentStartTime, exceptionId));
+            }
+        }
+
+        final MetaDataLookup metaDataLookup = new MetaDataLookup();
+        if (!apiKeys.isEmpty()) {
+            putAll(metaDataLookup.apiMetaData, apiKeys, apiMetaDataDao.getApiMetaDataList(new ArrayList<>(apiKeys.values())));
+        }
+        if (!sqlKeys.isEmpty()) {
+            putAll(metaDataLookup.sqlMetaData, sqlKeys, sqlMetaDataDao.getSqlMetaDataList(new ArrayList<>(sqlKeys.values())));
+        }
+        if (!stringKeys.isEmpty()) {
+            putAll(metaDataLookup.stringMetaData, stringKeys, stringMetaDataDao.getStringMetaDataList(new ArrayList<>(stringKeys.values())));
+        }
+        return metaDataLookup;
+    }
+
+    private static <T> void putAll(Map<String, List<T>> target, Map<String, T> keys, List<List<T>> values) {
+        int index = 0;
+        for (String key : keys.keySet()) {
+            target.put(key, values.get(index++));
+        }
+    }
+
+    private static String metaDataKey(String agentId, long agentStartTime, int id) {
+        return agentId + '.' + agentStartTime + '.' + id;
+    }
+
+    private AnnotationReplacementCallback sqlIdReplacement(final MetaDataLookup metaDataLookup) {
+        return new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
                 AnnotationBo sqlIdAnnotation = findAnnotation(annotationBoList, AnnotationKey.SQL_ID.getCode());
@@ -138,7 +207,7 @@ public class SpanServiceImpl implements SpanService {
                 final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
                 final int sqlId = sqlValue.getIntValue();
                 final String sqlParam = sqlValue.getStringValue1();
-                final List<SqlMetaDataBo> sqlMetaDataList = sqlMetaDataDao.getSqlMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), sqlId);
+                final List<SqlMetaDataBo> sqlMetaDataList = metaDataLookup.getSqlMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), sqlId);
                 final int size = sqlMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -202,7 +271,7 @@ public class SpanServiceImpl implements SpanService {
 
             }
 
-        });
+        };
     }
 
     private AnnotationBo findAnnotation(List<AnnotationBo> annotationBoList, int key) {
@@ -231,8 +300,8 @@ public class SpanServiceImpl implements SpanService {
     }
 
 
-    private void transitionDynamicApiId(List<SpanAlign> spans) {
-        this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
+    private AnnotationReplacementCallback dynamicApiIdReplacement(final MetaDataLookup metaDataLookup) {
+        return new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
 
@@ -255,7 +324,7 @@ public class SpanServiceImpl implements SpanService {
                 }
 
                 // may be able to get a more accurate data using agentIdentifier.
-                List<ApiMetaDataBo> apiMetaDataList = apiMetaDataDao.getApiMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), apiId);
+                List<ApiMetaDataBo> apiMetaDataList = metaDataLookup.getApiMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), apiId);
                 int size = apiMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -292,11 +361,11 @@ public class SpanServiceImpl implements SpanService {
 
             }
 
-        });
+        };
     }
 
-    private void transitionCachedString(List<SpanAlign> spans) {
-        this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
+    private AnnotationReplacementCallback cachedStringReplacement(final MetaDataLookup metaDataLookup) {
+        return new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
 
@@ -307,7 +376,7 @@ public class SpanServiceImpl implements SpanService {
                 for (AnnotationBo annotationBo : cachedStringAnnotation) {
                     final int cachedArgsKey = annotationBo.getKey();
                     int stringMetaDataId = (Integer) annotationBo.getValue();
-                    List<StringMetaDataBo> stringMetaList = stringMetaDataDao.getStringMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), stringMetaDataId);
+                    List<StringMetaDataBo> stringMetaList = metaDataLookup.getStringMetaData(spanAlign.getAgentId(), spanAlign.getAgentStartTime(), stringMetaDataId);
                     int size = stringMetaList.size();
                     if (size == 0) {
                         logger.warn("StringMetaData not Found {}/{}/{}", spanAlign.getAgentId(), stringMetaDataId, spanAlign.getAgentStartTime());
@@ -330,7 +399,7 @@ public class SpanServiceImpl implements SpanService {
                 }
             }
 
-        });
+        };
     }
 
     private List<AnnotationBo> findCachedStringAnnotation(List<AnnotationBo> annotationBoList) {
@@ -343,18 +412,18 @@ public class SpanServiceImpl implements SpanService {
         return findAnnotationBoList;
     }
 
-    private void transitionException(List<SpanAlign> spanAlignList) {
+    private void transitionException(List<SpanAlign> spanAlignList, MetaDataLookup metaDataLookup) {
         for (SpanAlign spanAlign : spanAlignList) {
             if (spanAlign.hasException()) {
-                StringMetaDataBo stringMetaData = selectStringMetaData(spanAlign.getAgentId(), spanAlign.getExceptionId(), spanAlign.getAgentStartTime());
+                StringMetaDataBo stringMetaData = selectStringMetaData(metaDataLookup, spanAlign.getAgentId(), spanAlign.getExceptionId(), spanAlign.getAgentStartTime());
                 spanAlign.setExceptionClass(stringMetaData.getStringValue());
             }
         }
 
     }
 
-    private StringMetaDataBo selectStringMetaData(String agentId, int cacheId, long agentStartTime) {
-        final List<StringMetaDataBo> metaDataList = stringMetaDataDao.getStringMetaData(agentId, agentStartTime, cacheId);
+    private StringMetaDataBo selectStringMetaData(MetaDataLookup metaDataLookup, String agentId, int cacheId, long agentStartTime) {
+        final List<StringMetaDataBo> metaDataList = metaDataLookup.getStringMetaData(agentId, agentStartTime, cacheId);
         if (metaDataList == null || metaDataList.isEmpty()) {
             logger.warn("StringMetaData not Found agent:{}, cacheId{}, agentStartTime:{}", agentId, cacheId, agentStartTime);
             StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(agentId, agentStartTime, cacheId);
@@ -401,6 +470,39 @@ public class SpanServiceImpl implements SpanService {
         void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList);
     }
 
+    /**
+     * Metadata fetched by {@link #prefetchMetaData(List)}. Keys missed by the prefetch fall back to a single row lookup.
+     */
+    private class MetaDataLookup {
+        private final Map<String, List<ApiMetaDataBo>> apiMetaData = new HashMap<>();
+        private final Map<String, List<SqlMetaDataBo>> sqlMetaData = new HashMap<>();
+        private final Map<String, List<StringMetaDataBo>> stringMetaData = new HashMap<>();
+
+        private List<ApiMetaDataBo> getApiMetaData(String agentId, long agentStartTime, int apiId) {
+            final List<ApiMetaDataBo> prefetched = apiMetaData.get(metaDataKey(agentId, agentStartTime, apiId));
+            if (prefetched != null) {
+                return prefetched;
+            }
+            return apiMetaDataDao.getApiMetaData(agentId, agentStartTime, apiId);
+        }
+
+        private List<SqlMetaDataBo> getSqlMetaData(String agentId, long agentStartTime, int sqlId) {
+            final List<SqlMetaDataBo> prefetched = sqlMetaData.get(metaDataKey(agentId, agentStartTime, sqlId));
+            if (prefetched != null) {
+                return prefetched;
+            }
+            return sqlMetaDataDao.getSqlMetaData(agentId, agentStartTime, sqlId);
+        }
+
+        private List<StringMetaDataBo> getStringMetaData(String agentId, long agentStartTime, int stringId) {
+            final List<StringMetaDataBo> prefetched = stringMetaData.get(metaDataKey(agentId, agentStartTime, stringId));
+            if (prefetched != null) {
+                return prefetched;
+            }
+            return stringMetaDataDao.getStringMetaData(agentId, agentStartTime, stringId);
+        }
+    }
+
     private SpanResult order(List<SpanBo> spans, long selectedSpanHint) {
         SpanAligner2 spanAligner = new SpanAligner2(spans, selectedSpanHint);
         final CallTree callTree = spanAligner.sort();
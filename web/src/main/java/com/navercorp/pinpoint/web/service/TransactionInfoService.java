@@ -31,5 +31,12 @@ import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
 public interface TransactionInfoService {
     RecordSet createRecordSet(CallTreeIterator callTreeIterator, long focusTimestamp, String agentId, long spanId);
 
+    /**
+     * creates records for at most {@code limit} call tree nodes starting at {@code startIndex} in depth-first order.
+     * subtrees of nodes at {@code collapseDepth} are replaced by a single marker record, 0 disables collapsing.
+     * a page starting inside a collapsed subtree counts {@code collapseDepth} from the depth of its first node.
+     */
+    RecordSet createRecordSet(CallTreeIterator callTreeIterator, long focusTimestamp, String agentId, long spanId, int startIndex, int limit, int collapseDepth);
+
     BusinessTransactions selectBusinessTransactions(List<TransactionId> traceIds, String applicationName, Range range, Filter filter);
 }
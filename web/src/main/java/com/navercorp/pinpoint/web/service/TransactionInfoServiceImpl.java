@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.web.service;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 
@@ -125,9 +127,20 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
 
     @Override
     public RecordSet createRecordSet(CallTreeIterator callTreeIterator, long focusTimestamp, String agentId, long spanId) {
+        return createRecordSet(callTreeIterator, focusTimestamp, agentId, spanId, 0, Integer.MAX_VALUE, 0);
+    }
+
+    @Override
+    public RecordSet createRecordSet(CallTreeIterator callTreeIterator, long focusTimestamp, String agentId, long spanId, int startIndex, int limit, int collapseDepth) {
         if (callTreeIterator == null) {
             throw new NullPointerException("callTreeIterator must not be null");
         }
+        if (startIndex < 0) {
+            throw new IllegalArgumentException("negative startIndex:" + startIndex);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive. limit:" + limit);
+        }
 
         RecordSet recordSet = new RecordSet();
         final List<SpanAlign> spanAlignList = callTreeIterator.values();
@@ -156,8 +169,12 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
 
         recordSet.setLoggingTransactionInfo(findIsLoggingTransactionInfo(spanAlignList));
 
-        final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate();
+        recordSet.setNodeCount(callTreeIterator.size());
+        recordSet.setStartIndex(startIndex);
+
+        final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate(startIndex, limit, collapseDepth);
         List<Record> recordList = spanAlignPopulate.populateSpanRecord(callTreeIterator);
+        recordSet.setNextIndex(spanAlignPopulate.getNextIndex());
         logger.debug("RecordList:{}", recordList);
 
         if (viewPointSpanAlign != null) {
@@ -340,62 +357,169 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
     }
 
     private class SpanAlignPopulate {
+        private final int startIndex;
+        private final int limit;
+        private final int collapseDepth;
+
+        private int nextIndex = -1;
+        // depth from which subtrees are collapsed on this page
+        private int collapseFromDepth;
+
+        private SpanAlignPopulate(int startIndex, int limit, int collapseDepth) {
+            this.startIndex = startIndex;
+            this.limit = limit;
+            this.collapseDepth = collapseDepth;
+            this.collapseFromDepth = collapseDepth;
+        }
+
         private List<Record> populateSpanRecord(CallTreeIterator callTreeIterator) {
             if (callTreeIterator == null) {
                 throw new NullPointerException("callTreeIterator must not be null");
             }
 
-            final List<Record> recordList = new ArrayList<>(callTreeIterator.size() * 2);
+            final int pageSize = Math.max(0, Math.min(callTreeIterator.size() - startIndex, limit));
+            final List<Record> recordList = new ArrayList<>(pageSize * 2);
             final RecordFactory factory = new RecordFactory(registry, annotationKeyRegistryService);
 
             // annotation id has nothing to do with spanAlign's seq and thus may be incremented as long as they don't overlap.
+            int index = -1;
+            int populated = 0;
             while (callTreeIterator.hasNext()) {
                 final CallTreeNode node = callTreeIterator.next();
+                index++;
                 if (node == null) {
                     logger.warn("Corrupt CallTree found : {}", callTreeIterator.toString());
                     throw new IllegalStateException("CallTree corrupted");
                 }
-                final SpanAlign align = node.getValue();
-
-                if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.API)) {
-                    if (align.isSpan()) {
-                        Record record = metaDataFilter.createRecord(node, factory);
-                        recordList.add(record);
-                    }
+                if (index < startIndex) {
+                    // previous pages. only the record ids are needed.
+                    skip(factory, node);
                     continue;
                 }
+                if (populated >= limit) {
+                    nextIndex = index;
+                    break;
+                }
+                if (index == startIndex && node.getDepth() > collapseDepth) {
+                    // the page expands a collapsed subtree. collapsing again from collapseDepth would collapse its first node,
+                    // so collapseDepth counts from the depth of the expanded nodes instead.
+                    collapseFromDepth = node.getDepth() + collapseDepth;
+                }
+                populated++;
 
-                if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.PARAM)) {
-                    metaDataFilter.replaceAnnotationBo(align, MetaData.PARAM);
+                final Record record = populate(factory, node, recordList);
+                if (record != null && isCollapsed(node)) {
+                    index += collapse(factory, callTreeIterator, node, record, index, recordList);
                 }
+            }
+
+            return recordList;
+        }
 
-                final String argument = getArgument(align);
-                final Record record = factory.get(node, argument);
-                recordList.add(record);
+        private int getNextIndex() {
+            return nextIndex;
+        }
 
-                // add exception record.
-                if (align.hasException()) {
-                    final Record exceptionRecord = factory.getException(record.getTab() + 1, record.getId(), align);
-                    if(exceptionRecord != null) {
-                        recordList.add(exceptionRecord);
-                    }
+        private boolean isCollapsed(CallTreeNode node) {
+            return collapseDepth > 0 && node.getDepth() >= collapseFromDepth && node.hasChild();
+        }
+
+        // replaces the subtree of the given node with a single marker record
+        private int collapse(RecordFactory factory, CallTreeIterator callTreeIterator, CallTreeNode node, Record record, int index, List<Record> recordList) {
+            final int collapsedNodeCount = countDescendants(node);
+            final Record collapsedRecord = factory.getCollapsed(record.getTab() + 1, record.getId(), collapsedNodeCount, index + 1);
+            recordList.add(collapsedRecord);
+            for (int i = 0; i < collapsedNodeCount; i++) {
+                skip(factory, callTreeIterator.next());
+            }
+            return collapsedNodeCount;
+        }
+
+        private int countDescendants(CallTreeNode node) {
+            int count = 0;
+            final Deque<CallTreeNode> stack = new ArrayDeque<>();
+            if (node.hasChild()) {
+                stack.push(node.getChild());
+            }
+            while (!stack.isEmpty()) {
+                final CallTreeNode current = stack.pop();
+                count++;
+                if (current.hasSibling()) {
+                    stack.push(current.getSibling());
+                }
+                if (current.hasChild()) {
+                    stack.push(current.getChild());
+                }
+            }
+            return count;
+        }
+
+        private void skip(RecordFactory factory, CallTreeNode node) {
+            final SpanAlign align = node.getValue();
+            if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.API)) {
+                if (align.isSpan()) {
+                    factory.skip(node, 0);
                 }
+                return;
+            }
+            if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.PARAM)) {
+                metaDataFilter.replaceAnnotationBo(align, MetaData.PARAM);
+            }
+
+            int additionalRecordCount = 0;
+            if (align.hasException()) {
+                additionalRecordCount++;
+            }
+            if (!align.getAnnotationBoList().isEmpty()) {
+                additionalRecordCount += factory.countAnnotations(align);
+            }
+            if (align.getRemoteAddr() != null) {
+                additionalRecordCount++;
+            }
+            factory.skip(node, additionalRecordCount);
+        }
 
+        private Record populate(RecordFactory factory, CallTreeNode node, List<Record> recordList) {
+            final SpanAlign align = node.getValue();
 
-                // add annotation record.
-                if (!align.getAnnotationBoList().isEmpty()) {
-                    final List<Record> annotations = factory.getAnnotations(record.getTab() + 1, record.getId(), align);
-                    recordList.addAll(annotations);
+            if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.API)) {
+                if (align.isSpan()) {
+                    Record record = metaDataFilter.createRecord(node, factory);
+                    recordList.add(record);
+                    return record;
                 }
+                return null;
+            }
+
+            if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.PARAM)) {
+                metaDataFilter.replaceAnnotationBo(align, MetaData.PARAM);
+            }
+
+            final String argument = getArgument(align);
+            final Record record = factory.get(node, argument);
+            recordList.add(record);
 
-                // add remote record.(span only)
-                if (align.getRemoteAddr() != null) {
-                    final Record remoteAddressRecord = factory.getParameter(record.getTab() + 1, record.getId(), "REMOTE_ADDRESS", align.getRemoteAddr());
-                    recordList.add(remoteAddressRecord);
+            // add exception record.
+            if (align.hasException()) {
+                final Record exceptionRecord = factory.getException(record.getTab() + 1, record.getId(), align);
+                if(exceptionRecord != null) {
+                    recordList.add(exceptionRecord);
                 }
             }
 
-            return recordList;
+
+            // add annotation record.
+            if (!align.getAnnotationBoList().isEmpty()) {
+                final List<Record> annotations = factory.getAnnotations(record.getTab() + 1, record.getId(), align);
+                recordList.addAll(annotations);
+            }
+
+            // add remote record.(span only)
+            if (align.getRemoteAddr() != null) {
+                final Record remoteAddressRecord = factory.getParameter(record.getTab() + 1, record.getId(), "REMOTE_ADDRESS", align.getRemoteAddr());
+                recordList.add(remoteAddressRecord);
+            }
+            return record;
         }
     }
 }
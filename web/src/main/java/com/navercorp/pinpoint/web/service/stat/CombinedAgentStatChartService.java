@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.service.stat;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.stat.chart.AgentStatChartGroup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the charts of several agent stat types in a single request.
+ * Every type lives in its own row key range, so each one is scanned, decoded and sampled concurrently
+ * instead of one http request and one scan after another.
+ */
+@Service
+public class CombinedAgentStatChartService {
+
+    private final Map<String, AgentStatChartService> chartServices;
+
+    @Value("#{pinpointWebProps['web.agentStat.combined.threadSize'] ?: 16}")
+    private int threadSize;
+
+    private ExecutorService executor;
+
+    @Autowired
+    public CombinedAgentStatChartService(JvmGcChartService jvmGcChartService, JvmGcDetailedChartService jvmGcDetailedChartService,
+                                         CpuLoadChartService cpuLoadChartService, TransactionChartService transactionChartService,
+                                         ActiveTraceChartService activeTraceChartService, DataSourceChartService dataSourceChartService) {
+        // keys follow the /getAgentStat/{type} request mappings
+        Map<String, AgentStatChartService> chartServices = new LinkedHashMap<>();
+        chartServices.put("jvmGc", jvmGcChartService);
+        chartServices.put("jvmGcDetailed", jvmGcDetailedChartService);
+        chartServices.put("cpuLoad", cpuLoadChartService);
+        chartServices.put("transaction", transactionChartService);
+        chartServices.put("activeTrace", activeTraceChartService);
+        chartServices.put("dataSource", dataSourceChartService);
+        this.chartServices = Collections.unmodifiableMap(chartServices);
+    }
+
+    @PostConstruct
+    public void start() {
+        this.executor = Executors.newFixedThreadPool(threadSize, new PinpointThreadFactory("Pinpoint-AgentStatChart", true));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public Collection<String> getTypes() {
+        return chartServices.keySet();
+    }
+
+    /**
+     * @param types agent stat types to chart, all types if empty
+     * @return chart groups keyed by type, in request order
+     */
+    public Map<String, List<AgentStatChartGroup>> selectAgentChartList(final String agentId, final TimeWindow timeWindow, Collection<String> types) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (timeWindow == null) {
+            throw new NullPointerException("timeWindow must not be null");
+        }
+        if (types == null || types.isEmpty()) {
+            types = getTypes();
+        }
+
+        // validate every type before submitting any query
+        final Map<String, AgentStatChartService> requestedChartServices = new LinkedHashMap<>();
+        for (String type : types) {
+            final AgentStatChartService chartService = chartServices.get(type);
+            if (chartService == null) {
+                throw new IllegalArgumentException("unknown agent stat type:" + type);
+            }
+            requestedChartServices.put(type, chartService);
+        }
+
+        final Map<String, Future<List<AgentStatChartGroup>>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, AgentStatChartService> entry : requestedChartServices.entrySet()) {
+            final AgentStatChartService chartService = entry.getValue();
+            Future<List<AgentStatChartGroup>> future = executor.submit(new Callable<List<AgentStatChartGroup>>() {
+                @Override
+                public List<AgentStatChartGroup> call() throws Exception {
+                    return chartService.selectAgentChartList(agentId, timeWindow);
+                }
+            });
+            futures.put(entry.getKey(), future);
+        }
+
+        final Map<String, List<AgentStatChartGroup>> result = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Future<List<AgentStatChartGroup>>> entry : futures.entrySet()) {
+                result.put(entry.getKey(), getResult(entry.getValue()));
+            }
+        } finally {
+            for (Future<List<AgentStatChartGroup>> future : futures.values()) {
+                future.cancel(true);
+            }
+        }
+        return result;
+    }
+
+    private List<AgentStatChartGroup> getResult(Future<List<AgentStatChartGroup>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while selecting agent stat charts", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets concurrent identical requests share one in-flight execution, and reuses its result for a short while.
+ * Keys must implement equals/hashCode, and shared results must not be modified by callers.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final String name;
+    private final boolean enable;
+    private final long cacheTtlMillis;
+
+    private final ConcurrentMap<K, FutureTask<V>> inFlightRepository = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, CachedResult<V>> cacheRepository = new ConcurrentHashMap<>();
+    private final AtomicLong lastEvictTime = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong executeCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong cacheHitCount = new AtomicLong();
+
+    public RequestCoalescer(String name, boolean enable, long cacheTtlMillis) {
+        if (name == null) {
+            throw new NullPointerException("name must not be null");
+        }
+        if (cacheTtlMillis < 0) {
+            throw new IllegalArgumentException("cacheTtlMillis < 0 " + cacheTtlMillis);
+        }
+        this.name = name;
+        this.enable = enable;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    public V execute(K key, Callable<V> callable) {
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        if (callable == null) {
+            throw new NullPointerException("callable must not be null");
+        }
+        requestCount.incrementAndGet();
+        if (!enable) {
+            executeCount.incrementAndGet();
+            return call(callable);
+        }
+
+        final CachedResult<V> cachedResult = cacheRepository.get(key);
+        if (cachedResult != null) {
+            if (!cachedResult.isExpired(System.currentTimeMillis())) {
+                cacheHitCount.incrementAndGet();
+                return cachedResult.getResult();
+            }
+            cacheRepository.remove(key, cachedResult);
+        }
+
+        final FutureTask<V> task = new FutureTask<>(callable);
+        final FutureTask<V> inFlightTask = inFlightRepository.putIfAbsent(key, task);
+        if (inFlightTask != null) {
+            coalescedCount.incrementAndGet();
+            return getResult(inFlightTask);
+        }
+
+        executeCount.incrementAndGet();
+        try {
+            task.run();
+            final V result = getResult(task);
+            if (cacheTtlMillis > 0) {
+                // cached before leaving in-flight, so that no request falls in between and executes again
+                final long currentTime = System.currentTimeMillis();
+                cacheRepository.put(key, new CachedResult<>(result, currentTime + cacheTtlMillis));
+                evictExpired(currentTime);
+            }
+            return result;
+        } finally {
+            inFlightRepository.remove(key, task);
+        }
+    }
+
+    private V call(Callable<V> callable) {
+        try {
+            return callable.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private V getResult(FutureTask<V> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " interrupted while waiting for in-flight request", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private void evictExpired(long currentTime) {
+        final long lastEvictTime = this.lastEvictTime.get();
+        if (currentTime - lastEvictTime < cacheTtlMillis) {
+            return;
+        }
+        if (!this.lastEvictTime.compareAndSet(lastEvictTime, currentTime)) {
+            return;
+        }
+        Iterator<CachedResult<V>> iterator = cacheRepository.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(currentTime)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getExecuteCount() {
+        return executeCount.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("requestCount", getRequestCount());
+        statistics.put("executeCount", getExecuteCount());
+        statistics.put("coalescedCount", getCoalescedCount());
+        statistics.put("cacheHitCount", getCacheHitCount());
+        return statistics;
+    }
+
+    private static class CachedResult<V> {
+
+        private final V result;
+        private final long expireTime;
+
+        private CachedResult(V result, long expireTime) {
+            this.result = result;
+            this.expireTime = expireTime;
+        }
+
+        private V getResult() {
+            return result;
+        }
+
+        private boolean isExpired(long currentTime) {
+            return expireTime <= currentTime;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.util;
+
+import java.util.Arrays;
+
+/**
+ * {@link RequestCoalescer} key made of the request parameters that decide the result.
+ */
+public final class RequestKey {
+
+    private final Object[] elements;
+
+    public RequestKey(Object... elements) {
+        if (elements == null) {
+            throw new NullPointerException("elements must not be null");
+        }
+        this.elements = elements;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        RequestKey that = (RequestKey) o;
+        return Arrays.equals(elements, that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(elements);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestKey" + Arrays.toString(elements);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.navercorp.pinpoint.web.scatter.ColumnarScatterData;
+import com.navercorp.pinpoint.web.vo.scatter.DotAgentInfo;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes {@link ColumnarScatterData} in the same format as {@link ScatterDataSerializer}, straight from the dot columns.
+ */
+public class ColumnarScatterDataSerializer extends JsonSerializer<ColumnarScatterData> {
+
+    @Override
+    public void serialize(ColumnarScatterData value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        jgen.writeStartObject();
+
+        writeScatterAgentMetaData(value.getAgentList(), jgen);
+        writeScatterData(value, jgen);
+
+        jgen.writeEndObject();
+    }
+
+    private void writeScatterAgentMetaData(List<DotAgentInfo> agentList, JsonGenerator jgen) throws IOException {
+        jgen.writeObjectFieldStart("metadata");
+        for (int i = 0; i < agentList.size(); i++) {
+            DotAgentInfo agentInfo = agentList.get(i);
+            // metadata ids start from 1
+            jgen.writeArrayFieldStart(String.valueOf(i + 1));
+            jgen.writeString(agentInfo.getAgentId());
+            jgen.writeString(agentInfo.getTransactionAgentId());
+            jgen.writeNumber(agentInfo.getTransactionAgentStartTime());
+            jgen.writeEndArray();
+        }
+        jgen.writeEndObject();
+    }
+
+    private void writeScatterData(ColumnarScatterData scatterData, JsonGenerator jgen) throws IOException {
+        jgen.writeArrayFieldStart("dotList");
+
+        int[] sortedDotIndexes = scatterData.getSortedDotIndexes();
+        for (int dotIndex : sortedDotIndexes) {
+            jgen.writeStartArray();
+            jgen.writeNumber(scatterData.getAcceptedTimeDiff(dotIndex));
+            jgen.writeNumber(scatterData.getElapsedTime(dotIndex));
+            jgen.writeNumber(scatterData.getAgentIndex(dotIndex) + 1);
+            jgen.writeNumber(scatterData.getTransactionSequence(dotIndex));
+            jgen.writeNumber(scatterData.getSimpleExceptionCode(dotIndex));
+            jgen.writeNumber(scatterData.getThick(dotIndex));
+            jgen.writeEndArray();
+        }
+
+        jgen.writeEndArray();
+    }
+
+}
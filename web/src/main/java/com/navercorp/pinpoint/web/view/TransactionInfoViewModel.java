@@ -128,6 +128,21 @@ public class TransactionInfoViewModel {
         return disableButtonMessage;
     }
 
+    @JsonProperty("callStackStartIndex")
+    public int getCallStackStartIndex() {
+        return recordSet.getStartIndex();
+    }
+
+    @JsonProperty("callStackNextIndex")
+    public int getCallStackNextIndex() {
+        return recordSet.getNextIndex();
+    }
+
+    @JsonProperty("callStackNodeCount")
+    public int getCallStackNodeCount() {
+        return recordSet.getNodeCount();
+    }
+
     @JsonProperty("callStackIndex")
     public Map<String, Integer> getCallStackIndex() {
         final Map<String, Integer> index = new HashMap<String, Integer>();
@@ -141,9 +156,13 @@ public class TransactionInfoViewModel {
     @JsonProperty("callStack")
     public List<CallStack> getCallStack() {
 
-        List<CallStack> list = new ArrayList<CallStack>();
-        boolean first = true;
+        List<CallStack> list = new ArrayList<CallStack>(recordSet.getRecordList().size());
+        // pages after the first one start in the middle of the tree, use the root's time range instead
+        boolean first = recordSet.getStartIndex() == 0;
         long barRatio = 0;
+        if (!first && recordSet.getEndTime() - recordSet.getStartTime() > 0) {
+            barRatio = 100 / (recordSet.getEndTime() - recordSet.getStartTime());
+        }
         for(Record record : recordSet.getRecordList()) {
             if(first) {
                 if(record.isMethod()) {
@@ -16,7 +16,9 @@
 package com.navercorp.pinpoint.web.vo.callstacks;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
@@ -42,6 +44,8 @@ public class RecordFactory {
 
     // spans with id = 0 are regarded as root - start at 1
     private int idGen = 1;
+    // record ids of this call stack. the call tree may be shared by concurrent requests, so ids are not stored in its SpanAligns
+    private final Map<SpanAlign, Integer> recordIds = new IdentityHashMap<>();
     private ServiceTypeRegistryService registry;
     private AnnotationKeyRegistryService annotationKeyRegistryService;
     private final ApiDescriptionParser apiDescriptionParser = new ApiDescriptionParser();
@@ -53,13 +57,13 @@ public class RecordFactory {
     
     public Record get(final CallTreeNode node, final String argument) {
         final SpanAlign align = node.getValue();
-        align.setId(getNextId());
+        final int id = assignId(align);
 
         final int parentId = getParentId(node);
         Api api = getApi(align);
         
         final Record record = new Record(align.getDepth(), 
-                align.getId(), 
+                id, 
                 parentId, 
                 true, 
                 api.getTitle(),
@@ -86,13 +90,13 @@ public class RecordFactory {
     
     public Record getFilteredRecord(final CallTreeNode node, String apiTitle) {
         final SpanAlign align = node.getValue();
-        align.setId(getNextId());
+        final int id = assignId(align);
 
         final int parentId = getParentId(node);
 //        Api api = getApi(align);
 
         final Record record = new Record(align.getDepth(), 
-                align.getId(), 
+                id, 
                 parentId, 
                 true, 
                 apiTitle, 
@@ -168,6 +172,45 @@ public class RecordFactory {
         return list;
     }
     
+    public int countAnnotations(SpanAlign align) {
+        int count = 0;
+        for (AnnotationBo annotation : align.getAnnotationBoList()) {
+            final AnnotationKey key = findAnnotationKey(annotation.getKey());
+            if (key.isViewInRecordSet()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * assigns the ids the records of this node would have been given without creating them,
+     * so that a page of the call stack has the same record ids as the whole call stack.
+     */
+    public void skip(final CallTreeNode node, final int additionalRecordCount) {
+        assignId(node.getValue());
+        idGen += additionalRecordCount;
+    }
+
+    /**
+     * marks a subtree that was left out of the record list.
+     * record ids are positive, so the marker takes the negated {@code startIndex} of the subtree,
+     * which is unique and the same on every page.
+     */
+    public Record getCollapsed(final int depth, final int parentId, final int collapsedNodeCount, final int startIndex) {
+        if (startIndex <= 0) {
+            throw new IllegalArgumentException("startIndex must be positive. startIndex:" + startIndex);
+        }
+        return new Record(depth,
+                -startIndex,
+                parentId,
+                false,
+                "COLLAPSED",
+                collapsedNodeCount + " calls collapsed. startIndex=" + startIndex,
+                0L, 0L, 0, null, null, null, null, false, false, null, 0, 0,
+                MethodTypeEnum.DEFAULT, true);
+    }
+
     public Record getParameter(final int depth, final int parentId, final String method, final String argument) {
         return new Record(depth, 
                 getNextId(), 
@@ -190,7 +233,12 @@ public class RecordFactory {
             return 0;
         }
 
-        return parent.getValue().getId();
+        final Integer parentId = recordIds.get(parent.getValue());
+        if (parentId == null) {
+            // parent filtered out without a record
+            return 0;
+        }
+        return parentId;
     }
 
     private Api getApi(final SpanAlign align) {
@@ -251,6 +299,12 @@ public class RecordFactory {
         return idGen++;
     }
 
+    private int assignId(final SpanAlign align) {
+        final int id = getNextId();
+        recordIds.put(align, id);
+        return id;
+    }
+
     private static class Api {
         private String title = "";
         private String className = "";
@@ -36,6 +36,11 @@ public class RecordSet {
     
     private boolean loggingTransactionInfo;
 
+    // paging of the call tree nodes, in depth-first order
+    private int startIndex;
+    private int nextIndex = -1;
+    private int nodeCount;
+
     public RecordSet() {
     }
 
@@ -111,4 +116,31 @@ public class RecordSet {
     public void setLoggingTransactionInfo(boolean loggingTransactionInfo) {
         this.loggingTransactionInfo = loggingTransactionInfo;
     }
+
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    public void setStartIndex(int startIndex) {
+        this.startIndex = startIndex;
+    }
+
+    /**
+     * @return index of the first node of the next page, or -1 if this is the last page
+     */
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    public void setNextIndex(int nextIndex) {
+        this.nextIndex = nextIndex;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeCount(int nodeCount) {
+        this.nodeCount = nodeCount;
+    }
 }
@@ -39,6 +39,7 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -79,6 +80,12 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
     private final long healthCheckDelay;
 
     private java.util.Timer reactiveTimer;
+
+    // agent streams of an application outlive its last session for this long, so reloading browsers join them again.
+    // web.activethread.release.delay in pinpoint-web.properties
+    private static final long DEFAULT_RELEASE_DELAY = 10 * 1000;
+    private final long releaseDelay;
+    private final Map<String, java.util.TimerTask> releaseTaskRepository = new HashMap<>();
     
     @Autowired(required=false)
     ServerMapDataFilter serverMapDataFilter;
@@ -96,10 +103,15 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
     }
 
     public ActiveThreadCountHandler(String requestMapping, AgentService agentService, long flushDelay, long healthCheckDelay) {
+        this(requestMapping, agentService, flushDelay, healthCheckDelay, DEFAULT_RELEASE_DELAY);
+    }
+
+    public ActiveThreadCountHandler(String requestMapping, AgentService agentService, long flushDelay, long healthCheckDelay, long releaseDelay) {
         this.requestMapping = requestMapping;
         this.agentService = agentService;
         this.flushDelay = flushDelay;
         this.healthCheckDelay = healthCheckDelay;
+        this.releaseDelay = releaseDelay;
     }
 
     @Override
@@ -114,6 +126,13 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
 
     @Override
     public void stop() {
+        synchronized (lock) {
+            for (java.util.TimerTask releaseTask : releaseTaskRepository.values()) {
+                releaseTask.cancel();
+            }
+            releaseTaskRepository.clear();
+        }
+
         for (PinpointWebSocketResponseAggregator aggregator : aggregatorRepository.values()) {
             if (aggregator != null) {
                 aggregator.stop();
@@ -254,6 +273,11 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
             return;
         }
 
+        java.util.TimerTask releaseTask = releaseTaskRepository.remove(applicationName);
+        if (releaseTask != null) {
+            releaseTask.cancel();
+        }
+
         PinpointWebSocketResponseAggregator responseAggregator = aggregatorRepository.get(applicationName);
         if (responseAggregator == null) {
             responseAggregator = new ActiveThreadCountResponseAggregator(applicationName, agentService, reactiveTimer);
@@ -278,8 +302,44 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
 
         boolean cleared = responseAggregator.removeWebSocketSessionAndGetIsCleared(webSocketSession);
         if (cleared) {
-            aggregatorRepository.remove(applicationName);
-            responseAggregator.stop();
+            if (releaseDelay > 0) {
+                ReleaseTimerTask releaseTask = new ReleaseTimerTask(applicationName, responseAggregator);
+                releaseTaskRepository.put(applicationName, releaseTask);
+                reactiveTimer.schedule(releaseTask, releaseDelay);
+            } else {
+                aggregatorRepository.remove(applicationName);
+                responseAggregator.stop();
+            }
+        }
+    }
+
+    PinpointWebSocketResponseAggregator getResponseAggregator(String applicationName) {
+        return aggregatorRepository.get(applicationName);
+    }
+
+    private class ReleaseTimerTask extends java.util.TimerTask {
+
+        private final String applicationName;
+        private final PinpointWebSocketResponseAggregator responseAggregator;
+
+        public ReleaseTimerTask(String applicationName, PinpointWebSocketResponseAggregator responseAggregator) {
+            this.applicationName = applicationName;
+            this.responseAggregator = responseAggregator;
+        }
+
+        @Override
+        public void run() {
+            synchronized (lock) {
+                // a new session cancelled this task, or bound the application again.
+                if (releaseTaskRepository.get(applicationName) != this) {
+                    return;
+                }
+                releaseTaskRepository.remove(applicationName);
+
+                logger.info("release ResponseAggregator. applicationName:{}", applicationName);
+                aggregatorRepository.remove(applicationName);
+                responseAggregator.stop();
+            }
         }
     }
 
@@ -71,12 +71,16 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
     private Map<String, AgentActiveThreadCount> activeThreadCountMap = new HashMap<>();
 
     public ActiveThreadCountResponseAggregator(String applicationName, AgentService agentService, Timer timer) {
+        this(applicationName, agentService, timer, new PinpointWebSocketMessageConverter());
+    }
+
+    ActiveThreadCountResponseAggregator(String applicationName, AgentService agentService, Timer timer, PinpointWebSocketMessageConverter messageConverter) {
         this.applicationName = applicationName;
         this.agentService = agentService;
 
         this.timer = timer;
 
-        this.messageConverter = new PinpointWebSocketMessageConverter();
+        this.messageConverter = messageConverter;
     }
 
     @Override
@@ -113,18 +117,22 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
 
         logger.info("addWebSocketSession. applicationName:{}, webSocketSession:{}", applicationName, webSocketSession);
 
-        List<AgentInfo> agentInfoList = agentService.getRecentAgentInfoList(applicationName);
         synchronized (workerManagingLock) {
             if (isStopped) {
                 return;
             }
 
-            for (AgentInfo agentInfo : agentInfoList) {
-                AgentStatus agentStatus = agentInfo.getStatus();
-                if (agentStatus != null && agentStatus.getState() != AgentLifeCycleState.UNKNOWN) {
-                    activeWorker(agentInfo);
-                } else if (agentService.isConnected(agentInfo)) {
-                    activeWorker(agentInfo);
+            // agent streams are shared by every session of this application.
+            // once they are opened, WorkerActiveManager keeps them up to date, so later sessions just join.
+            if (activeThreadCountWorkerRepository.isEmpty()) {
+                List<AgentInfo> agentInfoList = agentService.getRecentAgentInfoList(applicationName);
+                for (AgentInfo agentInfo : agentInfoList) {
+                    AgentStatus agentStatus = agentInfo.getStatus();
+                    if (agentStatus != null && agentStatus.getState() != AgentLifeCycleState.UNKNOWN) {
+                        activeWorker(agentInfo);
+                    } else if (agentService.isConnected(agentInfo)) {
+                        activeWorker(agentInfo);
+                    }
                 }
             }
 
@@ -135,7 +143,7 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
         }
     }
 
-    // return when aggregator cleared.
+    // return when the last session is removed. agent streams are kept open until stop() is called.
     @Override
     public boolean removeWebSocketSessionAndGetIsCleared(WebSocketSession webSocketSession) {
         if (webSocketSession == null) {
@@ -151,10 +159,6 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
 
             boolean removed = webSocketSessions.remove(webSocketSession);
             if (removed && webSocketSessions.isEmpty()) {
-                for (ActiveThreadCountWorker activeThreadCountWorker : activeThreadCountWorkerRepository.values()) {
-                    activeThreadCountWorker.stop();
-                }
-                activeThreadCountWorkerRepository.clear();
                 return true;
             }
         }
@@ -235,6 +239,11 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
             activeThreadCountMap = new HashMap<>(activeThreadCountWorkerRepository.size());
         }
 
+        if (webSocketSessions.isEmpty()) {
+            return;
+        }
+
+        // serialized once per flush, the same frame is written to every session.
         TextMessage webSocketTextMessage = createWebSocketTextMessage(response);
         if (webSocketTextMessage != null) {
             if (executor == null) {
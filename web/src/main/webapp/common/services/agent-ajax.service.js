@@ -14,11 +14,7 @@
 		"agentEvent"		: "/getAgentEvent.pinpoint", 						// agentId, eventTimestamp, eventTypeCode
 		"agentStatus"		: "/getAgentStatus.pinpoint", 						// agentId, timestamp
 		"agentEventList"	: "/getAgentEvents.pinpoint", 						// agentId, from, to
-		"jvmChart"			: "/getAgentStat/jvmGc/chart.pinpoint",
-		"cpuLoadChart"		: "/getAgentStat/cpuLoad/chart.pinpoint",
-		"tpsChart"			: "/getAgentStat/transaction/chart.pinpoint",
-		"activeTraceChart"	: "/getAgentStat/activeTrace/chart.pinpoint",
-		"dataSourceChart"	: "/getAgentStat/dataSource/chartList.pinpoint",
+		"agentStatChartList": "/getAgentStat/chartList.pinpoint",				// agentId, from, to, types ( jvmGc,cpuLoad,... )
 		"agentStateForChart": "/getAgentStat.pinpoint"
 	});
 
@@ -29,20 +25,8 @@
 		this.getAgentStateForChart = function( data, callback ) {
 			retrieve($config.agentStateForChart, data, callback);
 		};
-		this.getJVMChartData = function( data, callback ) {
-			retrieve($config.jvmChart, data, callback);
-		};
-		this.getCpuLoadChartData = function( data, callback ) {
-			retrieve($config.cpuLoadChart, data, callback);
-		};
-		this.getTPSChartData = function( data, callback ) {
-			retrieve($config.tpsChart, data, callback);
-		};
-		this.getActiveTraceChartData = function( data, callback ) {
-			retrieve($config.activeTraceChart, data, callback);
-		};
-		this.getDataSourceChartData = function( data, callback ) {
-			retrieve($config.dataSourceChart, data, callback);
+		this.getAgentStatChartList = function( data, callback ) {
+			retrieve($config.agentStatChartList, data, callback);
 		};
 		this.getAgentInfo = function( data, callback ) {
 			retrieve($config.agentInfo, data, callback);
@@ -59,62 +59,37 @@
 					}
 
 					function loadChartData( agentId, aFromTo, period, callback ) {
-						var hasError = false;
-						var responseCount = 0;
 						var oParam = {
 							"agentId": agentId,
 							"from": aFromTo[0],
 							"to": aFromTo[1],
-							"sampleRate": AgentDaoService.getSampleRate( period )
+							"sampleRate": AgentDaoService.getSampleRate( period ),
+							"types": "jvmGc,cpuLoad,transaction,activeTrace,dataSource"
 						};
 						oProgressBarService.startLoading();
 						oProgressBarService.setLoading(20);
 
-						AgentAjaxService.getJVMChartData( oParam, function (result) {
-							if ( checkResponse( result ) ) {
-								if (angular.isDefined(result.type) && result.type) {
-									scope.agent['jvmGcType'] = result.type;
-								}
-								showJvmChart(result);
-							}
-						});
-						AgentAjaxService.getCpuLoadChartData( oParam, function (result) {
-							if ( checkResponse( result ) ) {
-								showCpuLoadChart(result);
-							}
-						});
-						AgentAjaxService.getTPSChartData( oParam, function (result) {
-							if ( checkResponse( result ) ) {
-								showTpsChart(result);
-							}
-						});
-						AgentAjaxService.getActiveTraceChartData( oParam, function (result) {
-							if ( checkResponse( result ) ) {
-								showActiveTraceChart(result);
-							}
-						});
-						AgentAjaxService.getDataSourceChartData( oParam, function (result) {
-							if ( checkResponse( result ) ) {
-								dataSourceChartData = result;
-								showDataSourceChart();
-							}
-						});
-						function checkResponse( result ) {
-							responseCount++;
-							oProgressBarService.setLoading(20 + (responseCount * 16) );
-							if ( responseCount >= 5 ) {
-								oProgressBarService.stopLoading();
-								if ( hasError ) {
-									oAlertService.showError('There is some error.');
-								}
+						// all inspector charts in a single request
+						AgentAjaxService.getAgentStatChartList( oParam, function (result) {
+							oProgressBarService.setLoading(100);
+							oProgressBarService.stopLoading();
+							if ( result.errorCode || result.status ) {
+								oAlertService.showError('There is some error.');
 								callback();
+								return;
 							}
-							if ( result.errorCode || result.status ) {
-								hasError = true;
-								return false;
+							var jvmGc = result.jvmGc[0];
+							if (angular.isDefined(jvmGc.type) && jvmGc.type) {
+								scope.agent['jvmGcType'] = jvmGc.type;
 							}
-							return true;
-						}
+							showJvmChart(jvmGc);
+							showCpuLoadChart(result.cpuLoad[0]);
+							showTpsChart(result.transaction[0]);
+							showActiveTraceChart(result.activeTrace[0]);
+							dataSourceChartData = result.dataSource;
+							showDataSourceChart();
+							callback();
+						});
 					}
 					function loadAgentInfo( time ) {
 						oProgressBarService.startLoading();
@@ -60,6 +60,11 @@ public class AlarmPartitionerTest {
                 return null;
             }
             
+            @Override
+            public Map<String, List<String>> selectAllAgentIds() {
+                return null;
+            }
+
             @Override
             public void deleteApplicationName(String applicationName) {
             }
@@ -116,6 +116,7 @@ public class ReaderTest {
             }
 
             @Override public List<String> selectAgentIds(String applicationName) {return null;}
+            @Override public Map<String, List<String>> selectAllAgentIds() {return null;}
             @Override public void deleteApplicationName(String applicationName) { }
 
             @Override
@@ -96,6 +96,11 @@ public class GcCountCheckerTest {
                 throw new IllegalArgumentException();
             }
 
+            @Override
+            public Map<String, List<String>> selectAllAgentIds() {
+                throw new UnsupportedOperationException();
+            }
+
             @Override
             public void deleteApplicationName(String applicationName) {
                 throw new UnsupportedOperationException();
@@ -106,6 +106,11 @@ public class HeapUsageRateCheckerTest {
                 throw new IllegalArgumentException();
             }
 
+            @Override
+            public Map<String, List<String>> selectAllAgentIds() {
+                throw new UnsupportedOperationException();
+            }
+
             @Override
             public void deleteApplicationName(String applicationName) {
                 throw new UnsupportedOperationException();
@@ -103,6 +103,11 @@ public class JvmCpuUsageRateCheckerTest {
                 throw new IllegalArgumentException();
             }
 
+            @Override
+            public Map<String, List<String>> selectAllAgentIds() {
+                throw new UnsupportedOperationException();
+            }
+
             @Override
             public void deleteApplicationName(String applicationName) {
                 throw new UnsupportedOperationException();
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.alarm.collector;
+
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatDao;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AgentStatWindowCacheTest {
+
+    private static final String AGENT_ID = "agentId";
+    private static final long MINUTE = 60000;
+
+    @SuppressWarnings("unchecked")
+    private final AgentStatDao<JvmGcBo> jvmGcDao = mock(AgentStatDao.class);
+
+    @SuppressWarnings("unchecked")
+    private final AgentStatDao<CpuLoadBo> cpuLoadDao = mock(AgentStatDao.class);
+
+    private AgentStatWindowCache agentStatWindowCache;
+
+    @After
+    public void tearDown() {
+        agentStatWindowCache.stop();
+    }
+
+    @Test
+    public void incremental() {
+        agentStatWindowCache = new AgentStatWindowCache(jvmGcDao, cpuLoadDao, true, 2);
+        agentStatWindowCache.start();
+        when(cpuLoadDao.getAgentStatList(eq(AGENT_ID), any(Range.class))).thenReturn(Collections.<CpuLoadBo>emptyList());
+
+        Range firstRange = Range.createUncheckedRange(0, 5 * MINUTE);
+        when(jvmGcDao.getAgentStatList(AGENT_ID, firstRange)).thenReturn(jvmGcBos(0, 2 * MINUTE, 4 * MINUTE));
+        List<JvmGcBo> first = agentStatWindowCache.getAgentStats(Arrays.asList(AGENT_ID), firstRange).get(0).getJvmGcBos();
+        Assert.assertEquals(Arrays.asList(4 * MINUTE, 2 * MINUTE, 0L), timestamps(first));
+
+        // only the minute after the previous run and the late arrival margin are read
+        Range secondRange = Range.createUncheckedRange(MINUTE, 6 * MINUTE);
+        Range fetchRange = Range.createUncheckedRange(4 * MINUTE, 6 * MINUTE);
+        when(jvmGcDao.getAgentStatList(AGENT_ID, fetchRange)).thenReturn(jvmGcBos(4 * MINUTE, 5 * MINUTE + 1));
+        List<JvmGcBo> second = agentStatWindowCache.getAgentStats(Arrays.asList(AGENT_ID), secondRange).get(0).getJvmGcBos();
+
+        verify(jvmGcDao).getAgentStatList(AGENT_ID, fetchRange);
+        Assert.assertEquals(Arrays.asList(5 * MINUTE + 1, 4 * MINUTE, 2 * MINUTE), timestamps(second));
+    }
+
+    @Test
+    public void incremental_gap() {
+        agentStatWindowCache = new AgentStatWindowCache(jvmGcDao, cpuLoadDao, true, 2);
+        agentStatWindowCache.start();
+        when(jvmGcDao.getAgentStatList(eq(AGENT_ID), any(Range.class))).thenReturn(Collections.<JvmGcBo>emptyList());
+        when(cpuLoadDao.getAgentStatList(eq(AGENT_ID), any(Range.class))).thenReturn(Collections.<CpuLoadBo>emptyList());
+
+        agentStatWindowCache.getAgentStats(Arrays.asList(AGENT_ID), Range.createUncheckedRange(0, 5 * MINUTE));
+        // previous run is out of the range, the whole range is read again
+        Range range = Range.createUncheckedRange(10 * MINUTE, 15 * MINUTE);
+        agentStatWindowCache.getAgentStats(Arrays.asList(AGENT_ID), range);
+
+        verify(jvmGcDao).getAgentStatList(AGENT_ID, range);
+    }
+
+    @Test
+    public void notIncremental() {
+        agentStatWindowCache = new AgentStatWindowCache(jvmGcDao, cpuLoadDao, false, 2);
+        agentStatWindowCache.start();
+        Range range = Range.createUncheckedRange(0, 5 * MINUTE);
+        when(jvmGcDao.getAgentStatList(eq("agent1"), eq(range))).thenReturn(jvmGcBos(MINUTE));
+        when(jvmGcDao.getAgentStatList(eq("agent2"), eq(range))).thenReturn(jvmGcBos(2 * MINUTE));
+        when(cpuLoadDao.getAgentStatList(any(String.class), eq(range))).thenReturn(Collections.<CpuLoadBo>emptyList());
+
+        List<AgentStatWindowCache.AgentStats> agentStats = agentStatWindowCache.getAgentStats(Arrays.asList("agent1", "agent2"), range);
+
+        Assert.assertEquals("agent1", agentStats.get(0).getAgentId());
+        Assert.assertEquals(Arrays.asList(MINUTE), timestamps(agentStats.get(0).getJvmGcBos()));
+        Assert.assertEquals("agent2", agentStats.get(1).getAgentId());
+        Assert.assertEquals(Arrays.asList(2 * MINUTE), timestamps(agentStats.get(1).getJvmGcBos()));
+        Assert.assertEquals(0, agentStatWindowCache.getWindowCount());
+    }
+
+    private List<JvmGcBo> jvmGcBos(long... timestamps) {
+        List<JvmGcBo> jvmGcBos = new ArrayList<>();
+        for (long timestamp : timestamps) {
+            JvmGcBo jvmGcBo = new JvmGcBo();
+            jvmGcBo.setAgentId(AGENT_ID);
+            jvmGcBo.setTimestamp(timestamp);
+            jvmGcBos.add(jvmGcBo);
+        }
+        return jvmGcBos;
+    }
+
+    private List<Long> timestamps(List<JvmGcBo> jvmGcBos) {
+        List<Long> timestamps = new ArrayList<>();
+        for (JvmGcBo jvmGcBo : jvmGcBos) {
+            timestamps.add(jvmGcBo.getTimestamp());
+        }
+        return timestamps;
+    }
+}
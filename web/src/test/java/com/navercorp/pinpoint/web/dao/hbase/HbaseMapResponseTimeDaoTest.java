@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class HbaseMapResponseTimeDaoTest {
+
+    @Test
+    public void resolution() {
+        assertEquals(HbaseMapResponseTimeDao.Resolution.MINUTE, resolutionOf(TimeUnit.MINUTES.toMillis(20)));
+        assertEquals(HbaseMapResponseTimeDao.Resolution.MINUTE, resolutionOf(TimeUnit.HOURS.toMillis(1)));
+        assertEquals(HbaseMapResponseTimeDao.Resolution.FIVE_MINUTES, resolutionOf(TimeUnit.HOURS.toMillis(6)));
+        assertEquals(HbaseMapResponseTimeDao.Resolution.FIVE_MINUTES, resolutionOf(TimeUnit.DAYS.toMillis(2)));
+        assertEquals(HbaseMapResponseTimeDao.Resolution.ONE_HOUR, resolutionOf(TimeUnit.DAYS.toMillis(7)));
+    }
+
+    @Test
+    public void splitScanRange() {
+        // 10:02:30 ~ 10:23:10 reads the minute rows 10:02 ~ 10:23
+        final long base = TimeUnit.HOURS.toMillis(10);
+        final Range range = new Range(base + minutes(2) + TimeUnit.SECONDS.toMillis(30), base + minutes(23) + TimeUnit.SECONDS.toMillis(10));
+
+        List<HbaseMapResponseTimeDao.ScanRange> scanRanges = HbaseMapResponseTimeDao.splitScanRange(range, HbaseMapResponseTimeDao.Resolution.FIVE_MINUTES);
+        assertEquals(3, scanRanges.size());
+        // minute rows 10:02 ~ 10:04
+        assertScanRange(HbaseMapResponseTimeDao.Resolution.MINUTE, base + minutes(2) - 1, base + minutes(4), scanRanges.get(0));
+        // 5 minute rows 10:05 ~ 10:15, the 10:20 row would also count 10:24
+        assertScanRange(HbaseMapResponseTimeDao.Resolution.FIVE_MINUTES, base + minutes(5) - 1, base + minutes(15), scanRanges.get(1));
+        // minute rows 10:20 ~ 10:23
+        assertScanRange(HbaseMapResponseTimeDao.Resolution.MINUTE, base + minutes(20) - 1, base + minutes(23), scanRanges.get(2));
+    }
+
+    @Test
+    public void splitScanRange_aligned() {
+        // 10:00 ~ 10:59 reads the minute rows 10:00 ~ 10:59, all covered by rollup rows
+        final long base = TimeUnit.HOURS.toMillis(10);
+        final Range range = new Range(base, base + minutes(59));
+
+        List<HbaseMapResponseTimeDao.ScanRange> scanRanges = HbaseMapResponseTimeDao.splitScanRange(range, HbaseMapResponseTimeDao.Resolution.FIVE_MINUTES);
+        assertEquals(1, scanRanges.size());
+        assertScanRange(HbaseMapResponseTimeDao.Resolution.FIVE_MINUTES, base - 1, base + minutes(55), scanRanges.get(0));
+
+        scanRanges = HbaseMapResponseTimeDao.splitScanRange(range, HbaseMapResponseTimeDao.Resolution.ONE_HOUR);
+        assertEquals(1, scanRanges.size());
+        assertScanRange(HbaseMapResponseTimeDao.Resolution.ONE_HOUR, base - 1, base, scanRanges.get(0));
+    }
+
+    @Test
+    public void splitScanRange_noFullSlot() {
+        // 10:02 ~ 10:08 does not cover any 5 minute slot completely
+        final long base = TimeUnit.HOURS.toMillis(10);
+        final Range range = new Range(base + minutes(2), base + minutes(8));
+
+        List<HbaseMapResponseTimeDao.ScanRange> scanRanges = HbaseMapResponseTimeDao.splitScanRange(range, HbaseMapResponseTimeDao.Resolution.FIVE_MINUTES);
+        assertEquals(1, scanRanges.size());
+        assertScanRange(HbaseMapResponseTimeDao.Resolution.MINUTE, base + minutes(2) - 1, base + minutes(8), scanRanges.get(0));
+    }
+
+    private void assertScanRange(HbaseMapResponseTimeDao.Resolution resolution, long from, long to, HbaseMapResponseTimeDao.ScanRange scanRange) {
+        assertEquals(resolution, scanRange.getResolution());
+        assertEquals(from, scanRange.getRange().getFrom());
+        assertEquals(to, scanRange.getRange().getTo());
+    }
+
+    private long minutes(long minutes) {
+        return TimeUnit.MINUTES.toMillis(minutes);
+    }
+
+    private HbaseMapResponseTimeDao.Resolution resolutionOf(long duration) {
+        long to = System.currentTimeMillis();
+        TimeWindow timeWindow = new TimeWindow(new Range(to - duration, to));
+        return HbaseMapResponseTimeDao.Resolution.of(timeWindow.getWindowSlotSize());
+    }
+}
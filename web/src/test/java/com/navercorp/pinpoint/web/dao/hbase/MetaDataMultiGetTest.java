@@ -0,0 +1,61 @@
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MetaDataMultiGetTest {
+
+    @Test
+    public void cacheKeyMatchesCacheable() {
+        // multi-get entries must be shared with the single row @Cacheable lookups
+        assertEquals(evaluate(HbaseApiMetaDataDao.SPEL_KEY, "apiId"), MetaDataMultiGet.cacheKey("foo", 1, 2));
+        assertEquals(evaluate(HbaseSqlMetaDataDao.SPEL_KEY, "sqlId"), MetaDataMultiGet.cacheKey("foo", 1, 2));
+        assertEquals(evaluate(HbaseStringMetaDataDao.SPEL_KEY, "stringId"), MetaDataMultiGet.cacheKey("foo", 1, 2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void emptyRowIsNotCached() {
+        HbaseOperations2 hbaseOperations2 = mock(HbaseOperations2.class);
+        List<List<String>> fetched = Arrays.asList(Collections.<String>emptyList(), Collections.singletonList("sql"));
+        when(hbaseOperations2.get(any(TableName.class), anyListOf(Get.class), any(RowMapper.class))).thenReturn(fetched);
+        Cache cache = new ConcurrentMapCache("test");
+
+        List<String> cacheKeys = Arrays.asList("empty", "found");
+        List<Get> gets = Arrays.asList(new Get(new byte[] {1}), new Get(new byte[] {2}));
+        List<List<String>> result = MetaDataMultiGet.get(hbaseOperations2, TableName.valueOf("test"), mock(RowMapper.class), cache, cacheKeys, gets);
+
+        assertEquals(fetched, result);
+        assertNull(cache.get("empty"));
+        assertNotNull(cache.get("found"));
+    }
+
+    private String evaluate(String spelKey, String idName) {
+        ExpressionParser parser = new SpelExpressionParser();
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("agentId", "foo");
+        context.setVariable("time", (long) 1);
+        context.setVariable(idName, (int) 2);
+        return (String) parser.parseExpression(spelKey).getValue(context);
+    }
+}
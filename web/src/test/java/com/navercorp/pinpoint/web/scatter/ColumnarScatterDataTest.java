@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.scatter;
+
+import com.navercorp.pinpoint.web.vo.scatter.Dot;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ColumnarScatterDataTest {
+
+    @Test
+    public void groupDots() {
+        ColumnarScatterData scatterData = new ColumnarScatterData(1000, 10000, 100, 100);
+        int agentIndex = scatterData.getAgentIndex("agent", "transactionAgent", 1);
+        Assert.assertEquals(agentIndex, scatterData.getAgentIndex("agent", "transactionAgent", 1));
+
+        // same x/y group and state
+        scatterData.addDot(1010, 10, agentIndex, 1, 0);
+        scatterData.addDot(1020, 20, agentIndex, 2, 0);
+        // failed dot in the same x/y group
+        scatterData.addDot(1030, 30, agentIndex, 3, 1);
+        // next x group
+        scatterData.addDot(1110, 10, agentIndex, 4, 0);
+
+        Assert.assertEquals(4, scatterData.getDotSize());
+        Assert.assertEquals(2, scatterData.getThick(0));
+        Assert.assertEquals(0, scatterData.getThick(1));
+        Assert.assertEquals(1, scatterData.getThick(2));
+        Assert.assertEquals(1, scatterData.getThick(3));
+        Assert.assertEquals(Dot.FAILED_STATE, scatterData.getSimpleExceptionCode(2));
+        Assert.assertEquals(Dot.SUCCESS_STATE, scatterData.getSimpleExceptionCode(3));
+
+        Assert.assertEquals(1010, scatterData.getOldestAcceptedTime());
+        Assert.assertEquals(1110, scatterData.getLatestAcceptedTime());
+    }
+
+    @Test
+    public void sortedDotIndexes() {
+        ColumnarScatterData scatterData = new ColumnarScatterData(1000, 100000, 100, 100);
+        int agentIndex = scatterData.getAgentIndex("agent", "transactionAgent", 1);
+
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            long acceptedTime = 1000 + ((i * 7919L) % 99000);
+            scatterData.addDot(acceptedTime, i % 3000, agentIndex, i, i % 2);
+        }
+
+        int[] sortedDotIndexes = scatterData.getSortedDotIndexes();
+        Assert.assertEquals(count, sortedDotIndexes.length);
+        int totalThick = 0;
+        for (int i = 0; i < sortedDotIndexes.length; i++) {
+            totalThick += scatterData.getThick(sortedDotIndexes[i]);
+            if (i > 0) {
+                Assert.assertTrue(scatterData.getAcceptedTimeDiff(sortedDotIndexes[i - 1]) >= scatterData.getAcceptedTimeDiff(sortedDotIndexes[i]));
+            }
+        }
+        Assert.assertEquals(count, totalThick);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.web.dao.AgentInfoDao;
+import com.navercorp.pinpoint.web.dao.AgentLifeCycleDao;
+import com.navercorp.pinpoint.web.dao.ApplicationIndexDao;
+import com.navercorp.pinpoint.web.vo.AgentInfo;
+import com.navercorp.pinpoint.web.vo.ApplicationAgentList;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AgentInfoServiceImplTest {
+
+    @Mock
+    private ApplicationIndexDao applicationIndexDao;
+
+    @Mock
+    private AgentInfoDao agentInfoDao;
+
+    @Mock
+    private AgentLifeCycleDao agentLifeCycleDao;
+
+    @InjectMocks
+    private final AgentInfoServiceImpl agentInfoService = new AgentInfoServiceImpl();
+
+    @Before
+    public void setUp() {
+        Map<String, List<String>> applicationAgentIds = new HashMap<>();
+        List<String> agentIds = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            agentIds.add("agent" + i);
+        }
+        applicationAgentIds.put("app1", agentIds);
+        applicationAgentIds.put("app2", Arrays.asList("agent0", "agent600"));
+        when(applicationIndexDao.selectAllAgentIds()).thenReturn(applicationAgentIds);
+
+        when(agentInfoDao.getAgentInfos(anyListOf(String.class), anyLong())).thenAnswer(new Answer<List<AgentInfo>>() {
+            @Override
+            public List<AgentInfo> answer(InvocationOnMock invocation) throws Throwable {
+                @SuppressWarnings("unchecked")
+                List<String> agentIds = (List<String>) invocation.getArguments()[0];
+                List<AgentInfo> agentInfos = new ArrayList<>();
+                for (String agentId : agentIds) {
+                    AgentInfo agentInfo = new AgentInfo();
+                    agentInfo.setAgentId(agentId);
+                    agentInfo.setApplicationName("app");
+                    agentInfo.setHostName("host");
+                    agentInfos.add(agentInfo);
+                }
+                return agentInfos;
+            }
+        });
+    }
+
+    @Test
+    public void getApplicationAgentList_chunked() {
+        ReflectionTestUtils.setField(agentInfoService, "agentInventoryCacheTtl", 0L);
+
+        ApplicationAgentList applicationAgentList = agentInfoService.getApplicationAgentList(ApplicationAgentList.Key.APPLICATION_NAME);
+
+        // agent0 is indexed under both applications
+        Assert.assertEquals(601, applicationAgentList.getApplicationAgentList().get("app").size());
+        verify(applicationIndexDao, times(1)).selectAllAgentIds();
+        verify(agentInfoDao, times(2)).getAgentInfos(anyListOf(String.class), anyLong());
+    }
+
+    @Test
+    public void getApplicationAgentList_cached() {
+        ReflectionTestUtils.setField(agentInfoService, "agentInventoryCacheTtl", 60000L);
+
+        ApplicationAgentList byApplication = agentInfoService.getApplicationAgentList(ApplicationAgentList.Key.APPLICATION_NAME);
+        ApplicationAgentList byHost = agentInfoService.getApplicationAgentList(ApplicationAgentList.Key.HOST_NAME);
+
+        Assert.assertEquals(601, byApplication.getApplicationAgentList().get("app").size());
+        Assert.assertEquals(601, byHost.getApplicationAgentList().get("host").size());
+        verify(applicationIndexDao, times(1)).selectAllAgentIds();
+    }
+}
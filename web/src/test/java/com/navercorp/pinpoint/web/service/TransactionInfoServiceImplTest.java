@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.service.AnnotationKeyRegistryService;
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.AnnotationKeyFactory;
+import com.navercorp.pinpoint.common.trace.AnnotationKeyProperty;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import com.navercorp.pinpoint.web.calltree.span.CallTreeFactory;
+import com.navercorp.pinpoint.web.calltree.span.CallTreeIterator;
+import com.navercorp.pinpoint.web.calltree.span.SpanAlign;
+import com.navercorp.pinpoint.web.vo.callstacks.Record;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyShort;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionInfoServiceImplTest {
+
+    private static final AnnotationKey VIEW_IN_RECORD_SET = AnnotationKeyFactory.of(-1, "args[0]", AnnotationKeyProperty.VIEW_IN_RECORD_SET);
+
+    @Mock
+    private AnnotationKeyMatcherService annotationKeyMatcherService;
+
+    @Mock
+    private ServiceTypeRegistryService registry;
+
+    @Mock
+    private AnnotationKeyRegistryService annotationKeyRegistryService;
+
+    @InjectMocks
+    private final TransactionInfoServiceImpl transactionInfoService = new TransactionInfoServiceImpl();
+
+    private CallTreeIterator callTree;
+
+    @Before
+    public void setUp() {
+        when(registry.findServiceType(anyShort())).thenReturn(ServiceType.UNKNOWN);
+        when(annotationKeyRegistryService.findAnnotationKey(anyInt())).thenReturn(VIEW_IN_RECORD_SET);
+
+        List<String> events = Arrays.asList("R", "##", "###", "####", "#####", "###", "##", "###", "####", "####", "#####", "##", "###");
+        callTree = new CallTreeFactory().get(events).iterator();
+
+        // annotation and exception records take record ids of their own
+        int index = 0;
+        for (SpanAlign align : callTree.values()) {
+            align.getSpanBo().setAgentId("agentId");
+            align.getSpanBo().setTransactionId(new TransactionId("agentId", 1, 1));
+            final List<AnnotationBo> annotations = new ArrayList<>();
+            if (index % 2 == 0) {
+                AnnotationBo annotation = new AnnotationBo();
+                annotation.setKey(VIEW_IN_RECORD_SET.getCode());
+                annotation.setValue("arg" + index);
+                annotations.add(annotation);
+            }
+            align.setAnnotationBoList(annotations);
+            if (!align.isSpan() && index % 3 == 0) {
+                align.getSpanEventBo().setExceptionInfo(1, "error" + index);
+            }
+            index++;
+        }
+    }
+
+    @Test
+    public void page() {
+        final List<Record> fullRecordList = createRecordSet(0, Integer.MAX_VALUE, 0).getRecordList();
+
+        final List<Record> pagedRecordList = new ArrayList<>();
+        int startIndex = 0;
+        int pageCount = 0;
+        while (startIndex != -1) {
+            RecordSet recordSet = createRecordSet(startIndex, 4, 0);
+            Assert.assertEquals(callTree.size(), recordSet.getNodeCount());
+            Assert.assertEquals(startIndex, recordSet.getStartIndex());
+            pagedRecordList.addAll(recordSet.getRecordList());
+            startIndex = recordSet.getNextIndex();
+            pageCount++;
+        }
+
+        Assert.assertEquals((callTree.size() + 3) / 4, pageCount);
+        assertRecords(fullRecordList, pagedRecordList);
+    }
+
+    @Test
+    public void collapse() {
+        final Map<Integer, Record> fullRecords = toMap(createRecordSet(0, Integer.MAX_VALUE, 0).getRecordList());
+
+        final List<Record> recordList = createRecordSet(0, Integer.MAX_VALUE, 2).getRecordList();
+        final Set<Integer> ids = new HashSet<>();
+        final List<Record> collapsedList = new ArrayList<>();
+        for (Record record : recordList) {
+            Assert.assertTrue("duplicated id " + record.getId(), ids.add(record.getId()));
+            if (record.getId() < 0) {
+                collapsedList.add(record);
+                Assert.assertTrue(fullRecords.containsKey(record.getParentId()));
+                continue;
+            }
+            assertRecord(fullRecords.get(record.getId()), record);
+        }
+        Assert.assertFalse(collapsedList.isEmpty());
+        Assert.assertTrue(recordList.size() < fullRecords.size());
+
+        // expanding a collapsed subtree gives the records of the full call stack
+        for (Record collapsed : collapsedList) {
+            final int startIndex = -collapsed.getId();
+            final List<Record> expandedList = createRecordSet(startIndex, 1, 0).getRecordList();
+            Assert.assertFalse(expandedList.isEmpty());
+            Assert.assertEquals(collapsed.getParentId(), expandedList.get(0).getParentId());
+            for (Record record : expandedList) {
+                Assert.assertFalse(ids.contains(record.getId()));
+                assertRecord(fullRecords.get(record.getId()), record);
+            }
+        }
+    }
+
+    @Test
+    public void collapsedPage() {
+        final List<Record> collapsedRecordList = createRecordSet(0, Integer.MAX_VALUE, 2).getRecordList();
+
+        final List<Record> pagedRecordList = new ArrayList<>();
+        int startIndex = 0;
+        while (startIndex != -1) {
+            RecordSet recordSet = createRecordSet(startIndex, 2, 2);
+            pagedRecordList.addAll(recordSet.getRecordList());
+            startIndex = recordSet.getNextIndex();
+        }
+
+        assertRecords(collapsedRecordList, pagedRecordList);
+    }
+
+    @Test
+    public void expandWithCollapseDepth() {
+        final Map<Integer, Record> fullRecords = toMap(createRecordSet(0, Integer.MAX_VALUE, 0).getRecordList());
+
+        for (Record collapsed : createRecordSet(0, Integer.MAX_VALUE, 2).getRecordList()) {
+            if (collapsed.getId() > 0) {
+                continue;
+            }
+            final List<Record> expandedList = createRecordSet(-collapsed.getId(), 1, 2).getRecordList();
+            final Record first = expandedList.get(0);
+            assertRecord(fullRecords.get(first.getId()), first);
+            for (Record record : expandedList) {
+                if (record.getId() < 0) {
+                    Assert.assertNotEquals("first node collapsed again", first.getId(), record.getParentId());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void pageCachedCallTreeTwice() {
+        final List<Integer> alignIds = getAlignIds();
+        final List<Record> fullRecordList = createRecordSet(0, Integer.MAX_VALUE, 0).getRecordList();
+
+        for (int i = 0; i < 2; i++) {
+            final List<Record> pagedRecordList = new ArrayList<>();
+            int startIndex = 0;
+            while (startIndex != -1) {
+                RecordSet recordSet = createRecordSet(startIndex, 3, 0);
+                pagedRecordList.addAll(recordSet.getRecordList());
+                startIndex = recordSet.getNextIndex();
+            }
+            assertRecords(fullRecordList, pagedRecordList);
+            // concurrent requests share the cached call tree, record ids must not be written into it
+            Assert.assertEquals(alignIds, getAlignIds());
+        }
+    }
+
+    private List<Integer> getAlignIds() {
+        final List<Integer> alignIds = new ArrayList<>();
+        for (SpanAlign align : callTree.values()) {
+            alignIds.add(align.getId());
+        }
+        return alignIds;
+    }
+
+    private RecordSet createRecordSet(int startIndex, int limit, int collapseDepth) {
+        return transactionInfoService.createRecordSet(callTree.copy(), 0, null, -1, startIndex, limit, collapseDepth);
+    }
+
+    private Map<Integer, Record> toMap(List<Record> recordList) {
+        final Map<Integer, Record> map = new HashMap<>();
+        for (Record record : recordList) {
+            Assert.assertNull("duplicated id " + record.getId(), map.put(record.getId(), record));
+        }
+        return map;
+    }
+
+    private void assertRecords(List<Record> expected, List<Record> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertRecord(expected.get(i), actual.get(i));
+        }
+    }
+
+    private void assertRecord(Record expected, Record actual) {
+        Assert.assertNotNull("unknown record " + actual.getId(), expected);
+        Assert.assertEquals(expected.getId(), actual.getId());
+        Assert.assertEquals(expected.getParentId(), actual.getParentId());
+        Assert.assertEquals(expected.getTitle(), actual.getTitle());
+        Assert.assertEquals(expected.getArguments(), actual.getArguments());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.service.stat;
+
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.stat.chart.AgentStatChartGroup;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class CombinedAgentStatChartServiceTest {
+
+    private static final String AGENT_ID = "agentId";
+
+    private final JvmGcChartService jvmGcChartService = mock(JvmGcChartService.class);
+    private final CpuLoadChartService cpuLoadChartService = mock(CpuLoadChartService.class);
+    private final DataSourceChartService dataSourceChartService = mock(DataSourceChartService.class);
+
+    private CombinedAgentStatChartService combinedAgentStatChartService;
+
+    @Before
+    public void setUp() {
+        combinedAgentStatChartService = new CombinedAgentStatChartService(jvmGcChartService, mock(JvmGcDetailedChartService.class),
+                cpuLoadChartService, mock(TransactionChartService.class), mock(ActiveTraceChartService.class), dataSourceChartService);
+        ReflectionTestUtils.setField(combinedAgentStatChartService, "threadSize", 2);
+        combinedAgentStatChartService.start();
+    }
+
+    @After
+    public void tearDown() {
+        combinedAgentStatChartService.stop();
+    }
+
+    @Test
+    public void selectAgentChartList() {
+        TimeWindow timeWindow = new TimeWindow(new Range(0, 60000));
+        List<AgentStatChartGroup> cpuLoadCharts = new ArrayList<>();
+        List<AgentStatChartGroup> jvmGcCharts = new ArrayList<>();
+        when(cpuLoadChartService.selectAgentChartList(eq(AGENT_ID), any(TimeWindow.class))).thenReturn(cpuLoadCharts);
+        when(jvmGcChartService.selectAgentChartList(eq(AGENT_ID), any(TimeWindow.class))).thenReturn(jvmGcCharts);
+
+        Map<String, List<AgentStatChartGroup>> result = combinedAgentStatChartService.selectAgentChartList(AGENT_ID, timeWindow, Arrays.asList("cpuLoad", "jvmGc"));
+
+        Assert.assertEquals(Arrays.asList("cpuLoad", "jvmGc"), new ArrayList<>(result.keySet()));
+        Assert.assertSame(cpuLoadCharts, result.get("cpuLoad"));
+        Assert.assertSame(jvmGcCharts, result.get("jvmGc"));
+        verifyZeroInteractions(dataSourceChartService);
+    }
+
+    @Test
+    public void selectAgentChartList_allTypes() {
+        TimeWindow timeWindow = new TimeWindow(new Range(0, 60000));
+
+        Map<String, List<AgentStatChartGroup>> result = combinedAgentStatChartService.selectAgentChartList(AGENT_ID, timeWindow, Collections.<String>emptyList());
+
+        Assert.assertEquals(new ArrayList<>(combinedAgentStatChartService.getTypes()), new ArrayList<>(result.keySet()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void selectAgentChartList_unknownType() {
+        TimeWindow timeWindow = new TimeWindow(new Range(0, 60000));
+        combinedAgentStatChartService.selectAgentChartList(AGENT_ID, timeWindow, Arrays.asList("unknown"));
+    }
+
+    @Test
+    public void selectAgentChartList_unknownTypeAfterValidType() {
+        TimeWindow timeWindow = new TimeWindow(new Range(0, 60000));
+        try {
+            combinedAgentStatChartService.selectAgentChartList(AGENT_ID, timeWindow, Arrays.asList("cpuLoad", "unknown"));
+            Assert.fail("unknown type accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+        // nothing was queried for the valid type
+        verifyZeroInteractions(cpuLoadChartService);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestCoalescerTest {
+
+    @Test
+    public void coalesceInFlightRequests() throws Exception {
+        final RequestCoalescer<RequestKey, Integer> requestCoalescer = new RequestCoalescer<>("test", true, 0);
+        final RequestKey requestKey = new RequestKey("app", 1000L, 2000L);
+        final AtomicInteger callCount = new AtomicInteger();
+        final CountDownLatch executing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Callable<Integer> slowQuery = new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                executing.countDown();
+                release.await();
+                return callCount.incrementAndGet();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return requestCoalescer.execute(requestKey, slowQuery);
+                }
+            });
+            Assert.assertTrue(executing.await(5, TimeUnit.SECONDS));
+
+            Future<Integer> second = executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return requestCoalescer.execute(new RequestKey("app", 1000L, 2000L), slowQuery);
+                }
+            });
+            while (requestCoalescer.getCoalescedCount() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Assert.assertEquals(1, first.get(5, TimeUnit.SECONDS).intValue());
+            Assert.assertEquals(1, second.get(5, TimeUnit.SECONDS).intValue());
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, callCount.get());
+        Assert.assertEquals(2, requestCoalescer.getRequestCount());
+        Assert.assertEquals(1, requestCoalescer.getExecuteCount());
+
+        // nothing cached
+        requestCoalescer.execute(requestKey, slowQuery);
+        Assert.assertEquals(2, callCount.get());
+    }
+
+    @Test
+    public void cacheResult() throws Exception {
+        RequestCoalescer<RequestKey, Integer> requestCoalescer = new RequestCoalescer<>("test", true, TimeUnit.MINUTES.toMillis(1));
+        CountingCallable callable = new CountingCallable();
+
+        Assert.assertEquals(1, requestCoalescer.execute(new RequestKey("app", 1000L), callable).intValue());
+        Assert.assertEquals(1, requestCoalescer.execute(new RequestKey("app", 1000L), callable).intValue());
+        Assert.assertEquals(2, requestCoalescer.execute(new RequestKey("app", 2000L), callable).intValue());
+
+        Assert.assertEquals(3, requestCoalescer.getRequestCount());
+        Assert.assertEquals(2, requestCoalescer.getExecuteCount());
+        Assert.assertEquals(1, requestCoalescer.getCacheHitCount());
+    }
+
+    @Test
+    public void failureNotCached() throws Exception {
+        RequestCoalescer<RequestKey, Integer> requestCoalescer = new RequestCoalescer<>("test", true, TimeUnit.MINUTES.toMillis(1));
+        Callable<Integer> failure = new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                throw new IllegalStateException("hbase down");
+            }
+        };
+        try {
+            requestCoalescer.execute(new RequestKey("app"), failure);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            Assert.assertEquals("hbase down", expected.getMessage());
+        }
+
+        Assert.assertEquals(1, requestCoalescer.execute(new RequestKey("app"), new CountingCallable()).intValue());
+    }
+
+    @Test
+    public void disabled() throws Exception {
+        RequestCoalescer<RequestKey, Integer> requestCoalescer = new RequestCoalescer<>("test", false, TimeUnit.MINUTES.toMillis(1));
+        CountingCallable callable = new CountingCallable();
+
+        requestCoalescer.execute(new RequestKey("app"), callable);
+        requestCoalescer.execute(new RequestKey("app"), callable);
+
+        Assert.assertEquals(2, callable.count.get());
+        Assert.assertEquals(0, requestCoalescer.getCacheHitCount());
+    }
+
+    private static class CountingCallable implements Callable<Integer> {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Integer call() throws Exception {
+            return count.incrementAndGet();
+        }
+    }
+}
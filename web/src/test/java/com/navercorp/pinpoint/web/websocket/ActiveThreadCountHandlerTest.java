@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.websocket;
+
+import com.navercorp.pinpoint.web.service.AgentService;
+import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageConverter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ActiveThreadCountHandlerTest {
+
+    private static final String APPLICATION_NAME = "applicationName";
+
+    private final AgentService agentService = Mockito.mock(AgentService.class);
+    private final PinpointWebSocketMessageConverter messageConverter = new PinpointWebSocketMessageConverter();
+
+    private ActiveThreadCountHandler handler;
+
+    @After
+    public void tearDown() {
+        if (handler != null) {
+            handler.stop();
+        }
+    }
+
+    @Test
+    public void rejoinWithinReleaseDelay() throws Exception {
+        handler = newHandler(60 * 1000);
+
+        WebSocketSession session = openSession(APPLICATION_NAME);
+        PinpointWebSocketResponseAggregator aggregator = handler.getResponseAggregator(APPLICATION_NAME);
+        Assert.assertNotNull(aggregator);
+
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        Assert.assertSame(aggregator, handler.getResponseAggregator(APPLICATION_NAME));
+
+        openSession(APPLICATION_NAME);
+        Assert.assertSame(aggregator, handler.getResponseAggregator(APPLICATION_NAME));
+        // agent streams are reused
+        verify(agentService, times(1)).getRecentAgentInfoList(APPLICATION_NAME);
+    }
+
+    @Test
+    public void releaseAfterDelay() throws Exception {
+        handler = newHandler(10);
+
+        WebSocketSession session = openSession(APPLICATION_NAME);
+        PinpointWebSocketResponseAggregator aggregator = handler.getResponseAggregator(APPLICATION_NAME);
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        long timeout = System.currentTimeMillis() + 3000;
+        while (handler.getResponseAggregator(APPLICATION_NAME) != null && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Assert.assertNull(handler.getResponseAggregator(APPLICATION_NAME));
+
+        openSession(APPLICATION_NAME);
+        Assert.assertNotSame(aggregator, handler.getResponseAggregator(APPLICATION_NAME));
+        verify(agentService, times(2)).getRecentAgentInfoList(APPLICATION_NAME);
+    }
+
+    @Test
+    public void releaseImmediately() throws Exception {
+        handler = newHandler(0);
+
+        WebSocketSession session = openSession(APPLICATION_NAME);
+        Assert.assertNotNull(handler.getResponseAggregator(APPLICATION_NAME));
+
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        Assert.assertNull(handler.getResponseAggregator(APPLICATION_NAME));
+    }
+
+    private ActiveThreadCountHandler newHandler(long releaseDelay) {
+        ActiveThreadCountHandler handler = new ActiveThreadCountHandler("/agent/activeThread", agentService, 1000, 60 * 1000, releaseDelay);
+        handler.start();
+        return handler;
+    }
+
+    private WebSocketSession openSession(String applicationName) throws Exception {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        when(session.getAttributes()).thenReturn(new HashMap<String, Object>());
+        when(session.isOpen()).thenReturn(true);
+        handler.afterConnectionEstablished(session);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(ActiveThreadCountHandler.APPLICATION_NAME_KEY, applicationName);
+        String request = messageConverter.getRequestTextMessage(ActiveThreadCountHandler.API_ACTIVE_THREAD_COUNT, params);
+        handler.handleTextMessage(session, new TextMessage(request));
+        return session;
+    }
+}
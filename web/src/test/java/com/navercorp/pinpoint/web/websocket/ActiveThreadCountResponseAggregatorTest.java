@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.websocket;
+
+import com.navercorp.pinpoint.web.service.AgentService;
+import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageConverter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Timer;
+
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ActiveThreadCountResponseAggregatorTest {
+
+    private final AgentService agentService = Mockito.mock(AgentService.class);
+    private final PinpointWebSocketMessageConverter messageConverter = Mockito.spy(new PinpointWebSocketMessageConverter());
+
+    private Timer timer;
+    private ActiveThreadCountResponseAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        timer = new Timer(true);
+        aggregator = new ActiveThreadCountResponseAggregator("applicationName", agentService, timer, messageConverter);
+        aggregator.start();
+    }
+
+    @After
+    public void tearDown() {
+        aggregator.stop();
+        timer.cancel();
+    }
+
+    @Test
+    public void noSerializationWithoutSession() throws Exception {
+        aggregator.flush();
+
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        aggregator.addWebSocketSession(session);
+        Assert.assertTrue(aggregator.removeWebSocketSessionAndGetIsCleared(session));
+        aggregator.flush();
+
+        verify(messageConverter, never()).getResponseTextMessage(anyString(), anyMap());
+        verify(session, never()).sendMessage(Mockito.any(TextMessage.class));
+    }
+
+    @Test
+    public void serializeOncePerFlush() throws Exception {
+        WebSocketSession session1 = Mockito.mock(WebSocketSession.class);
+        WebSocketSession session2 = Mockito.mock(WebSocketSession.class);
+        aggregator.addWebSocketSession(session1);
+        aggregator.addWebSocketSession(session2);
+
+        aggregator.flush();
+
+        verify(messageConverter, times(1)).getResponseTextMessage(anyString(), anyMap());
+        ArgumentCaptor<TextMessage> message1 = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> message2 = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session1).sendMessage(message1.capture());
+        verify(session2).sendMessage(message2.capture());
+        Assert.assertSame(message1.getValue(), message2.getValue());
+    }
+}